@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.benchmark;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import org.ietf.lib.paws.adapter.XmlDouble02PrecisionAdapter;
+import org.ietf.lib.paws.adapter.XmlDouble06PrecisionAdapter;
+import org.ietf.lib.paws.adapter.XmlGeometryAdapter;
+import org.ietf.lib.paws.adapter.XmlZonedDateTimeAdapter;
+import org.locationtech.jts.geom.Geometry;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * XML adapter conversion cost for the values present in every message:
+ * fixed-precision doubles, POINT geometries and timestamps.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdapterBenchmark {
+
+  private final XmlDouble02PrecisionAdapter double02 = new XmlDouble02PrecisionAdapter();
+  private final XmlDouble06PrecisionAdapter double06 = new XmlDouble06PrecisionAdapter();
+  private final XmlGeometryAdapter geometry = new XmlGeometryAdapter();
+  private final XmlZonedDateTimeAdapter zonedDateTime = new XmlZonedDateTimeAdapter();
+
+  private Double power;
+  private Double frequency;
+  private Geometry point;
+  private String pointText;
+  private ZonedDateTime timestamp;
+  private String timestampText;
+
+  @Setup
+  public void setUp() throws Exception {
+    power = 36.123456789;
+    frequency = 473.0000004999;
+    point = Payloads.getEntityBuilder().buildGeolocation().getPoint();
+    pointText = geometry.marshal(point);
+    timestamp = ZonedDateTime.now();
+    timestampText = zonedDateTime.marshal(timestamp);
+  }
+
+  @Benchmark
+  public Double double02Marshal() throws Exception {
+    return double02.marshal(power);
+  }
+
+  @Benchmark
+  public Double double06Marshal() throws Exception {
+    return double06.marshal(frequency);
+  }
+
+  @Benchmark
+  public String geometryMarshal() throws Exception {
+    return geometry.marshal(point);
+  }
+
+  @Benchmark
+  public Geometry geometryUnmarshal() throws Exception {
+    return geometry.unmarshal(pointText);
+  }
+
+  @Benchmark
+  public String zonedDateTimeMarshal() {
+    return zonedDateTime.marshal(timestamp);
+  }
+
+  @Benchmark
+  public ZonedDateTime zonedDateTimeUnmarshal() throws Exception {
+    return zonedDateTime.unmarshal(timestampText);
+  }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.ietf.lib.paws.codec.PawsCodec;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * XML (JAXB) and JSON encode and decode throughput and latency for every PAWS
+ * message type. Run with {@code -prof gc} to report the allocation rate.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageCodecBenchmark {
+
+  @Param
+  public MessageType type;
+
+  private Object message;
+  private byte[] xml;
+  private String json;
+
+  @Setup
+  public void setUp() throws Exception {
+    message = type.build();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PawsCodec.encode(message, out);
+    xml = out.toByteArray();
+    json = type.encodeJson(message);
+  }
+
+  @Benchmark
+  public byte[] xmlEncode() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(xml.length);
+    PawsCodec.encode(message, out);
+    return out.toByteArray();
+  }
+
+  @Benchmark
+  public Object xmlDecode() throws Exception {
+    return PawsCodec.decode(new String(xml, "UTF-8"), type.getMessageClass());
+  }
+
+  @Benchmark
+  public String jsonEncode() {
+    return type.encodeJson(message);
+  }
+
+  @Benchmark
+  public Object jsonDecode() throws Exception {
+    return type.decodeJson(json);
+  }
+
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.benchmark;
+
+import java.text.ParseException;
+import org.ietf.lib.paws.codec.PawsJsonCodec;
+import org.ietf.lib.paws.message.*;
+
+/**
+ * The PAWS message types, with their benchmark payloads and JSON codec
+ * bindings.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public enum MessageType {
+
+  INIT_REQ(InitializationRequest.class) {
+    @Override
+    public Object build() {
+      return Payloads.initializationRequest();
+    }
+
+    @Override
+    public String encodeJson(Object message) {
+      return PawsJsonCodec.encode((InitializationRequest) message, 1);
+    }
+
+    @Override
+    public Object decodeJson(String json) throws ParseException {
+      return PawsJsonCodec.decodeInitializationRequest(json);
+    }
+  },
+  INIT_RESP(InitializationResponse.class) {
+    @Override
+    public Object build() {
+      return Payloads.initializationResponse();
+    }
+
+    @Override
+    public String encodeJson(Object message) {
+      return PawsJsonCodec.encode((InitializationResponse) message, 1);
+    }
+
+    @Override
+    public Object decodeJson(String json) throws ParseException {
+      return PawsJsonCodec.decodeInitializationResponse(json);
+    }
+  },
+  REGISTRATION_REQ(RegistrationRequest.class) {
+    @Override
+    public Object build() {
+      return Payloads.registrationRequest();
+    }
+
+    @Override
+    public String encodeJson(Object message) {
+      return PawsJsonCodec.encode((RegistrationRequest) message, 1);
+    }
+
+    @Override
+    public Object decodeJson(String json) throws ParseException {
+      return PawsJsonCodec.decodeRegistrationRequest(json);
+    }
+  },
+  REGISTRATION_RESP(RegistrationResponse.class) {
+    @Override
+    public Object build() {
+      return Payloads.registrationResponse();
+    }
+
+    @Override
+    public String encodeJson(Object message) {
+      return PawsJsonCodec.encode((RegistrationResponse) message, 1);
+    }
+
+    @Override
+    public Object decodeJson(String json) throws ParseException {
+      return PawsJsonCodec.decodeRegistrationResponse(json);
+    }
+  },
+  AVAIL_SPECTRUM_REQ(AvailableSpectrumRequest.class) {
+    @Override
+    public Object build() {
+      return Payloads.availableSpectrumRequest();
+    }
+
+    @Override
+    public String encodeJson(Object message) {
+      return PawsJsonCodec.encode((AvailableSpectrumRequest) message, 1);
+    }
+
+    @Override
+    public Object decodeJson(String json) throws ParseException {
+      return PawsJsonCodec.decodeAvailableSpectrumRequest(json);
+    }
+  },
+  AVAIL_SPECTRUM_RESP(AvailableSpectrumResponse.class) {
+    @Override
+    public Object build() {
+      return Payloads.availableSpectrumResponse(50);
+    }
+
+    @Override
+    public String encodeJson(Object message) {
+      return PawsJsonCodec.encode((AvailableSpectrumResponse) message, 1);
+    }
+
+    @Override
+    public Object decodeJson(String json) throws ParseException {
+      return PawsJsonCodec.decodeAvailableSpectrumResponse(json);
+    }
+  },
+  SPECTRUM_USE_NOTIFY(SpectrumUseNotify.class) {
+    @Override
+    public Object build() {
+      return Payloads.spectrumUseNotify();
+    }
+
+    @Override
+    public String encodeJson(Object message) {
+      return PawsJsonCodec.encode((SpectrumUseNotify) message, 1);
+    }
+
+    @Override
+    public Object decodeJson(String json) throws ParseException {
+      return PawsJsonCodec.decodeSpectrumUseNotify(json);
+    }
+  },
+  SPECTRUM_USE_RESP(SpectrumUseResponse.class) {
+    @Override
+    public Object build() {
+      return Payloads.spectrumUseResponse();
+    }
+
+    @Override
+    public String encodeJson(Object message) {
+      return PawsJsonCodec.encode((SpectrumUseResponse) message, 1);
+    }
+
+    @Override
+    public Object decodeJson(String json) throws ParseException {
+      return PawsJsonCodec.decodeSpectrumUseResponse(json);
+    }
+  },
+  DEV_VALID_REQ(DeviceValidationRequest.class) {
+    @Override
+    public Object build() {
+      return Payloads.deviceValidationRequest();
+    }
+
+    @Override
+    public String encodeJson(Object message) {
+      return PawsJsonCodec.encode((DeviceValidationRequest) message, 1);
+    }
+
+    @Override
+    public Object decodeJson(String json) throws ParseException {
+      return PawsJsonCodec.decodeDeviceValidationRequest(json);
+    }
+  },
+  DEV_VALID_RESP(DeviceValidationResponse.class) {
+    @Override
+    public Object build() {
+      return Payloads.deviceValidationResponse();
+    }
+
+    @Override
+    public String encodeJson(Object message) {
+      return PawsJsonCodec.encode((DeviceValidationResponse) message, 1);
+    }
+
+    @Override
+    public Object decodeJson(String json) throws ParseException {
+      return PawsJsonCodec.decodeDeviceValidationResponse(json);
+    }
+  };
+
+  private final Class<?> messageClass;
+
+  private MessageType(Class<?> messageClass) {
+    this.messageClass = messageClass;
+  }
+
+  /**
+   * Get the message implementation class.
+   *
+   * @return the message class
+   */
+  public Class<?> getMessageClass() {
+    return messageClass;
+  }
+
+  /**
+   * Build a benchmark payload of this type.
+   *
+   * @return a new message instance
+   */
+  public abstract Object build();
+
+  /**
+   * Encode a message of this type as a JSON-RPC document.
+   *
+   * @param message the message
+   * @return the JSON text
+   */
+  public abstract String encodeJson(Object message);
+
+  /**
+   * Decode a JSON-RPC document carrying a message of this type.
+   *
+   * @param json the JSON text
+   * @return the message
+   * @throws ParseException if the JSON is malformed
+   */
+  public abstract Object decodeJson(String json) throws ParseException;
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.benchmark;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.ietf.lib.paws.*;
+import org.ietf.lib.paws.message.*;
+import org.ietf.lib.paws.type.FccDeviceMode;
+import org.ietf.lib.paws.type.PawsRulesetType;
+import org.ietf.lib.paws.type.SpectrumRequestType;
+import org.ietf.paws.EntityBuilder;
+
+/**
+ * Benchmark payload factory. Device, location, antenna and owner values are
+ * synthesized by the test EntityBuilder; spectrum responses are built here
+ * with a fixed number of entries.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public final class Payloads {
+
+  private static final EntityBuilder ENTITY_BUILDER = new EntityBuilder();
+
+  private Payloads() {
+  }
+
+  public static EntityBuilder getEntityBuilder() {
+    return ENTITY_BUILDER;
+  }
+
+  public static InitializationRequest initializationRequest() {
+    InitializationRequest request = new InitializationRequest();
+    request.setDeviceDesc(ENTITY_BUILDER.buildDeviceDesc(FccDeviceMode.FIXED));
+    request.setLocation(ENTITY_BUILDER.buildGeolocation());
+    return request;
+  }
+
+  public static InitializationResponse initializationResponse() {
+    return new InitializationResponse(PawsRulesetType.FCC_PART_15_H_2019);
+  }
+
+  public static RegistrationRequest registrationRequest() {
+    RegistrationRequest request = new RegistrationRequest();
+    request.setDeviceDesc(ENTITY_BUILDER.buildDeviceDesc(FccDeviceMode.FIXED));
+    request.setLocation(ENTITY_BUILDER.buildGeolocation());
+    request.setAntenna(ENTITY_BUILDER.buildAntennaCharacteristics());
+    request.setDeviceOwner(ENTITY_BUILDER.buildDeviceOwner());
+    request.setCapabilities(ENTITY_BUILDER.buildDeviceCapabilities());
+    return request;
+  }
+
+  public static RegistrationResponse registrationResponse() {
+    RegistrationResponse response = new RegistrationResponse();
+    response.setRulesetIds(PawsRulesetType.FCC_PART_15_H_2019);
+    return response;
+  }
+
+  public static AvailableSpectrumRequest availableSpectrumRequest() {
+    return ENTITY_BUILDER.buildAvailableSpectrumRequest(SpectrumRequestType.SLAVE);
+  }
+
+  /**
+   * Build an available spectrum response. Every fifth entry is a SpectrumInfo
+   * with co- and adjacent-channel consumers; the rest are SpectrumChannels.
+   *
+   * @param entries the number of spectrum entries
+   * @return an available spectrum response
+   */
+  public static AvailableSpectrumResponse availableSpectrumResponse(int entries) {
+    AvailableSpectrumResponse response = new AvailableSpectrumResponse();
+    response.setResponseType(SpectrumRequestType.MASTER);
+    response.setDeviceDesc(ENTITY_BUILDER.buildDeviceDesc(FccDeviceMode.FIXED));
+    response.setLocation(ENTITY_BUILDER.buildGeolocation());
+    response.setRulesetInfo(RulesetInfo.getInstance(PawsRulesetType.FCC_PART_15_H_2019));
+    response.setTimeRange(EventTime.getInstance(48 * 3600));
+    for (AbstractSpectrum spectrum : spectrum(entries)) {
+      response.addSpectrumEntry(spectrum);
+    }
+    return response;
+  }
+
+  /**
+   * Build spectrum entries evenly dividing the 470 to 698 MHz UHF band.
+   *
+   * @param entries the number of spectrum entries
+   * @return the spectrum entries
+   */
+  public static List<AbstractSpectrum> spectrum(int entries) {
+    List<AbstractSpectrum> spectrum = new ArrayList<>(entries);
+    double width = 228.0 / entries;
+    ZonedDateTime now = ZonedDateTime.now();
+    for (int i = 0; i < entries; i++) {
+      double frequencyMin = 470 + i * width;
+      AbstractSpectrum entry;
+      if (i % 5 == 4) {
+        SpectrumInfo info = new SpectrumInfo("CH" + i, frequencyMin, frequencyMin + width);
+        info.setAllowed(false);
+        for (int j = 0; j < 3; j++) {
+          SpectrumConsumer consumer = new SpectrumConsumer();
+          consumer.setUuid("consumer-" + i + "-" + j);
+          consumer.setType("TV");
+          consumer.setAzimuth(j * 120.5);
+          consumer.setDistance(12.5 + j);
+          consumer.setErp(1000.0 * (j + 1));
+          info.getServicesCo().add(consumer);
+        }
+        entry = info;
+      } else {
+        SpectrumChannel channel = new SpectrumChannel("CH" + i, frequencyMin, frequencyMin + width);
+        EventTime timeRange = new EventTime();
+        timeRange.setStartTime(now);
+        timeRange.setStopTime(now.plusHours(48));
+        channel.setTimeRange(timeRange);
+        entry = channel;
+      }
+      entry.setPower(36.0 - i % 7 * 2.5);
+      spectrum.add(entry);
+    }
+    return spectrum;
+  }
+
+  public static SpectrumUseNotify spectrumUseNotify() {
+    return ENTITY_BUILDER.buildSpectrumUseNotify();
+  }
+
+  public static SpectrumUseResponse spectrumUseResponse() {
+    return new SpectrumUseResponse();
+  }
+
+  public static DeviceValidationRequest deviceValidationRequest() {
+    DeviceValidationRequest request = new DeviceValidationRequest();
+    request.setDeviceDesc(ENTITY_BUILDER.buildDeviceDesc(FccDeviceMode.MODE_2));
+    request.setMasterDeviceDesc(ENTITY_BUILDER.buildDeviceDesc(FccDeviceMode.FIXED));
+    return request;
+  }
+
+  public static DeviceValidationResponse deviceValidationResponse() {
+    DeviceValidity validity = new DeviceValidity();
+    validity.setDeviceDesc(ENTITY_BUILDER.buildDeviceDesc(FccDeviceMode.MODE_2));
+    validity.setIsValid(true);
+    DeviceValidationResponse response = new DeviceValidationResponse();
+    response.setDeviceValidity(validity);
+    return response;
+  }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.ietf.lib.paws.AbstractSpectrum;
+import org.ietf.lib.paws.SpectrumIndex;
+import org.ietf.lib.paws.codec.AvailableSpectrumResponseWriter;
+import org.ietf.lib.paws.codec.PawsCodec;
+import org.ietf.lib.paws.codec.PawsJsonCodec;
+import org.ietf.lib.paws.message.AvailableSpectrumResponse;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * AVAIL_SPECTRUM_RESP construction, encoding and decoding with 1 to 500
+ * spectrum entries. Run with {@code -prof gc} to report the allocation rate.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpectrumResponseBenchmark {
+
+  @Param({"1", "10", "100", "500"})
+  public int entries;
+
+  private List<AbstractSpectrum> spectrum;
+  private AvailableSpectrumResponse response;
+  private String xml;
+  private String json;
+
+  @Setup
+  public void setUp() throws Exception {
+    spectrum = Payloads.spectrum(entries);
+    response = Payloads.availableSpectrumResponse(entries);
+    xml = PawsCodec.encode(response);
+    json = PawsJsonCodec.encode(response, 1);
+  }
+
+  @Benchmark
+  public AvailableSpectrumResponse build() {
+    AvailableSpectrumResponse built = new AvailableSpectrumResponse();
+    built.setResponseType(response.getResponseType());
+    built.setDeviceDesc(response.getDeviceDesc());
+    built.setLocation(response.getLocation());
+    built.setRulesetInfo(response.getRulesetInfo());
+    built.setTimeRange(response.getTimeRange());
+    for (AbstractSpectrum entry : spectrum) {
+      built.addSpectrumEntry(entry);
+    }
+    return built;
+  }
+
+  @Benchmark
+  public byte[] xmlEncodeJaxb() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(xml.length());
+    PawsCodec.encode(response, out);
+    return out.toByteArray();
+  }
+
+  @Benchmark
+  public byte[] xmlEncodeStax() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(xml.length());
+    AvailableSpectrumResponseWriter.write(response, out);
+    return out.toByteArray();
+  }
+
+  @Benchmark
+  public AvailableSpectrumResponse xmlDecode() throws Exception {
+    return PawsCodec.decodeAvailableSpectrumResponse(xml);
+  }
+
+  @Benchmark
+  public String jsonEncode() {
+    return PawsJsonCodec.encode(response, 1);
+  }
+
+  @Benchmark
+  public AvailableSpectrumResponse jsonDecode() throws Exception {
+    return PawsJsonCodec.decodeAvailableSpectrumResponse(json);
+  }
+
+  @Benchmark
+  public int indexQuery() {
+    return new SpectrumIndex(spectrum).overlapping(512, 608).size();
+  }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.ietf.lib.paws.ValidationResult;
+import org.ietf.lib.paws.message.AvailableSpectrumRequest;
+import org.ietf.lib.paws.message.RegistrationRequest;
+import org.ietf.lib.paws.message.SpectrumUseNotify;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Message validation cost for valid and malformed requests, comparing the
+ * exception-throwing {@code validate()} with the reusable
+ * {@code validate(ValidationResult)}.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidateBenchmark {
+
+  /**
+   * Indicator that the benchmark messages are malformed: each is missing its
+   * device descriptor.
+   */
+  @Param({"false", "true"})
+  public boolean malformed;
+
+  private AvailableSpectrumRequest availableSpectrumRequest;
+  private SpectrumUseNotify spectrumUseNotify;
+  private RegistrationRequest registrationRequest;
+  private final ValidationResult result = new ValidationResult();
+
+  @Setup
+  public void setUp() {
+    availableSpectrumRequest = Payloads.availableSpectrumRequest();
+    spectrumUseNotify = Payloads.spectrumUseNotify();
+    registrationRequest = Payloads.registrationRequest();
+    if (malformed) {
+      availableSpectrumRequest.setDeviceDesc(null);
+      spectrumUseNotify.setDeviceDesc(null);
+      registrationRequest.setDeviceDesc(null);
+    }
+  }
+
+  @Benchmark
+  public boolean availableSpectrumRequestThrowing() {
+    try {
+      availableSpectrumRequest.validate();
+      return true;
+    } catch (Exception exception) {
+      return false;
+    }
+  }
+
+  @Benchmark
+  public boolean availableSpectrumRequestResult() {
+    availableSpectrumRequest.validate(result.clear());
+    return result.isValid();
+  }
+
+  @Benchmark
+  public boolean spectrumUseNotifyThrowing() {
+    try {
+      spectrumUseNotify.validate();
+      return true;
+    } catch (Exception exception) {
+      return false;
+    }
+  }
+
+  @Benchmark
+  public boolean spectrumUseNotifyResult() {
+    spectrumUseNotify.validate(result.clear());
+    return result.isValid();
+  }
+
+  @Benchmark
+  public boolean registrationRequestThrowing() {
+    try {
+      registrationRequest.validate();
+      return true;
+    } catch (Exception exception) {
+      return false;
+    }
+  }
+
+  @Benchmark
+  public boolean registrationRequestResult() {
+    registrationRequest.validate(result.clear());
+    return result.isValid();
+  }
+
+}
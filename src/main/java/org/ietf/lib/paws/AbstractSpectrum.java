@@ -61,7 +61,7 @@ public abstract class AbstractSpectrum implements Comparable<AbstractSpectrum> {
    * Indicator that the device operation is allowed (TRUE) or forbidden (FALSE).
    */
   @XmlElement(required = true)
-  private Boolean allowed;
+  protected Boolean allowed;
   /**
    * For available spectrum response: The maximum allowable EIRP value on this
    * channel. (dBW) Defaults to NULL if not specified.
@@ -161,11 +161,23 @@ public abstract class AbstractSpectrum implements Comparable<AbstractSpectrum> {
    * @since v0.23.0 added 09/17/19
    */
   public void validate() throws Exception {
+    ValidationResult result = new ValidationResult();
+    validate(result);
+    result.throwIfInvalid();
+  }
+
+  /**
+   * Validate a spectrum container, recording all violations.
+   *
+   * @param result the validation result to record violations
+   * @since v0.23.0 added 10/17/26
+   */
+  public void validate(ValidationResult result) {
     if (frequencyMax == null) {
-      throw new Exception("frequencyMax is required");
+      result.missing("frequencyMax", "frequencyMax is required");
     }
     if (frequencyMin == null) {
-      throw new Exception("frequencyMin is required");
+      result.missing("frequencyMin", "frequencyMin is required");
     }
   }
 
@@ -151,6 +151,17 @@ public class AntennaCharacteristics {
   @XmlJavaTypeAdapter(value = XmlDouble02PrecisionAdapter.class)
   private Double rotation;
 
+  /**
+   * Lookup table built from the radiation pattern on first use. Rebuilt when
+   * the pattern is replaced or its size changes.
+   */
+  private transient RadiationPattern radiationPatternTable;
+  /**
+   * The radiation pattern map and size the lookup table was built from.
+   */
+  private transient Map<Double, Double> radiationPatternTableSource;
+  private transient int radiationPatternTableSize;
+
   public AntennaCharacteristics() {
     this.heightType = AntennaHeightType.AGL;
     this.polarization = AntennaPolarizationType.H;
@@ -247,15 +258,70 @@ public class AntennaCharacteristics {
    * @throws Exception describing the invalid configuration
    */
   public void validate() throws Exception {
-    if (height < 0) {
-      throw new Exception("AntennaCharacteristics::height must be greater than or equal to zero");
+    ValidationResult result = new ValidationResult();
+    validate(result);
+    result.throwIfInvalid();
+  }
+
+  /**
+   * Validate this instance, recording all violations.
+   *
+   * @param result the validation result to record violations
+   * @since v0.23.0 added 10/17/26
+   */
+  public void validate(ValidationResult result) {
+    if (height == null) {
+      result.missing("height", "height is required");
+    } else if (height < 0) {
+      result.invalid("height", "height must be greater than or equal to zero");
     }
     if (heightType == null) {
-      throw new Exception("AntennaCharacteristics::heightType is required");
+      result.missing("heightType", "heightType is required");
     }
     if (!getRadiationPattern().isEmpty() && polarization == null) {
-      throw new Exception("AntennaCharacteristics::polarization is required when specifying a radiation pattern");
+      result.missing("polarization", "polarization is required when specifying a radiation pattern");
+    }
+  }
+
+  /**
+   * Get a lookup table over the radiation pattern for fast gain queries. The
+   * table is built on first use and rebuilt when the pattern is replaced or
+   * its size changes.
+   * <p>
+   * Developer note: a pattern value edited in place is not detected; call
+   * {@code setRadiationPattern} after such changes.
+   *
+   * @return the radiation pattern table; null if no pattern is provided
+   * @since v0.23.0 added 10/17/26
+   */
+  public RadiationPattern getRadiationPatternTable() {
+    if (radiationPattern == null || radiationPattern.isEmpty()) {
+      return null;
+    }
+    if (radiationPatternTable == null
+        || radiationPatternTableSource != radiationPattern
+        || radiationPatternTableSize != radiationPattern.size()) {
+      radiationPatternTable = RadiationPattern.getInstance(radiationPattern);
+      radiationPatternTableSource = radiationPattern;
+      radiationPatternTableSize = radiationPattern.size();
+    }
+    return radiationPatternTable;
+  }
+
+  /**
+   * Get the relative gain of the radiation pattern toward an azimuth,
+   * accounting for the antenna rotation.
+   *
+   * @param azimuth the azimuth in degrees from true North
+   * @return the relative gain in dB; zero if no pattern is provided
+   * @since v0.23.0 added 10/17/26
+   */
+  public double getRelativeGainAt(double azimuth) {
+    RadiationPattern table = getRadiationPatternTable();
+    if (table == null) {
+      return 0;
     }
+    return table.gainAt(azimuth, rotation == null ? 0 : rotation);
   }
 
   /**
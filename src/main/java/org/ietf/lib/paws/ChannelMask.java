@@ -0,0 +1,436 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.util.*;
+
+/**
+ * Channel availability bit set over a channel plan.
+ * <p>
+ * Each channel of a {@code ChannelPlan} is represented by one bit of a
+ * {@code long[]} word array, so availability rules (co-channel, adjacent
+ * channel, taboo, enforcement blocking) can be combined with a few word
+ * operations instead of walking and comparing spectrum collections.
+ * <p>
+ * Like {@code java.util.BitSet} the set algebra methods modify this mask in
+ * place and return it for chaining; use {@code copy()} to preserve an operand.
+ * Masks may only be combined with masks of the same plan.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public final class ChannelMask {
+
+  /**
+   * The channel plan.
+   */
+  private final ChannelPlan plan;
+  /**
+   * The channel bits. Bit i is channel index i in the plan.
+   */
+  private final long[] words;
+
+  /**
+   * Construct an empty channel mask.
+   *
+   * @param plan the channel plan
+   */
+  public ChannelMask(ChannelPlan plan) {
+    this.plan = plan;
+    this.words = new long[(plan.getChannels().size() + 63) >>> 6];
+  }
+
+  private ChannelMask(ChannelPlan plan, long[] words) {
+    this.plan = plan;
+    this.words = words;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Static Builders">
+  /**
+   * Build a mask with every channel in the plan set.
+   *
+   * @param plan the channel plan
+   * @return a full channel mask
+   */
+  public static ChannelMask all(ChannelPlan plan) {
+    ChannelMask mask = new ChannelMask(plan);
+    int size = plan.getChannels().size();
+    Arrays.fill(mask.words, -1L);
+    if ((size & 63) != 0) {
+      mask.words[mask.words.length - 1] = (1L << size) - 1;
+    }
+    return mask;
+  }
+
+  /**
+   * Build a mask from a spectrum collection, such as
+   * {@code AvailableSpectrumResponse.getSpectrum()}. A channel is set if it
+   * lies entirely within an entry that is allowed and, for SpectrumInfo
+   * entries, not blocked by enforcement. Entries missing the allowed indicator
+   * or either frequency, as an unmarshalled message may be, are skipped.
+   *
+   * @param plan     the channel plan
+   * @param spectrum the spectrum entries
+   * @return a channel mask of the available channels
+   */
+  public static ChannelMask valueOf(ChannelPlan plan, Collection<? extends AbstractSpectrum> spectrum) {
+    ChannelMask mask = new ChannelMask(plan);
+    List<ChannelPlan.Channel> channels = plan.getChannels();
+    for (AbstractSpectrum entry : spectrum) {
+      if (!Boolean.TRUE.equals(entry.allowed) || entry.frequencyMin == null || entry.frequencyMax == null
+          || (entry instanceof SpectrumInfo && Boolean.TRUE.equals(((SpectrumInfo) entry).getEnforcementBlocking()))) {
+        continue;
+      }
+      double frequencyMin = entry.frequencyMin;
+      double frequencyMax = entry.frequencyMax;
+      /**
+       * Start at the channel containing the entry minimum frequency, or the
+       * first channel above it if the minimum falls in a band gap.
+       */
+      ChannelPlan.Channel first = plan.getChannel(frequencyMin);
+      int index = first != null ? first.getIndex() : 0;
+      for (; index < channels.size(); index++) {
+        ChannelPlan.Channel channel = channels.get(index);
+        if (channel.getFrequencyMax() > frequencyMax) {
+          break;
+        }
+        if (channel.getFrequencyMin() >= frequencyMin) {
+          mask.words[index >>> 6] |= 1L << index;
+        }
+      }
+    }
+    return mask;
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Channel Access">
+  public ChannelPlan getPlan() {
+    return plan;
+  }
+
+  /**
+   * Indicator that a channel is set.
+   *
+   * @param number the channel number
+   * @return true if the channel is in the plan and set
+   */
+  public boolean get(int number) {
+    ChannelPlan.Channel channel = plan.getChannel(number);
+    return channel != null && get(channel);
+  }
+
+  /**
+   * Indicator that a channel is set.
+   *
+   * @param channel a channel of this plan
+   * @return true if the channel is set
+   */
+  public boolean get(ChannelPlan.Channel channel) {
+    int index = indexOf(channel);
+    return (words[index >>> 6] & (1L << index)) != 0;
+  }
+
+  /**
+   * Set a channel.
+   *
+   * @param number the channel number
+   * @return this mask
+   * @throws IllegalArgumentException if the channel is not in the plan
+   */
+  public ChannelMask set(int number) {
+    return set(requireChannel(number));
+  }
+
+  /**
+   * Set a channel.
+   *
+   * @param channel a channel of this plan
+   * @return this mask
+   */
+  public ChannelMask set(ChannelPlan.Channel channel) {
+    int index = indexOf(channel);
+    words[index >>> 6] |= 1L << index;
+    return this;
+  }
+
+  /**
+   * Clear a channel.
+   *
+   * @param number the channel number
+   * @return this mask
+   * @throws IllegalArgumentException if the channel is not in the plan
+   */
+  public ChannelMask clear(int number) {
+    return clear(requireChannel(number));
+  }
+
+  /**
+   * Clear a channel.
+   *
+   * @param channel a channel of this plan
+   * @return this mask
+   */
+  public ChannelMask clear(ChannelPlan.Channel channel) {
+    int index = indexOf(channel);
+    words[index >>> 6] &= ~(1L << index);
+    return this;
+  }
+
+  /**
+   * Get the number of channels set.
+   *
+   * @return the channel count
+   */
+  public int cardinality() {
+    int count = 0;
+    for (long word : words) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  public boolean isEmpty() {
+    for (long word : words) {
+      if (word != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Get the channels set.
+   *
+   * @return the channels, sorted by number
+   */
+  public List<ChannelPlan.Channel> getChannels() {
+    List<ChannelPlan.Channel> channels = new ArrayList<>(cardinality());
+    List<ChannelPlan.Channel> all = plan.getChannels();
+    for (int w = 0; w < words.length; w++) {
+      long word = words[w];
+      while (word != 0) {
+        channels.add(all.get((w << 6) + Long.numberOfTrailingZeros(word)));
+        word &= word - 1;
+      }
+    }
+    return channels;
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Set Algebra">
+  /**
+   * Union: set every channel set in the other mask.
+   *
+   * @param other a mask of the same plan
+   * @return this mask
+   */
+  public ChannelMask or(ChannelMask other) {
+    requireSamePlan(other);
+    for (int i = 0; i < words.length; i++) {
+      words[i] |= other.words[i];
+    }
+    return this;
+  }
+
+  /**
+   * Intersection: clear every channel not set in the other mask.
+   *
+   * @param other a mask of the same plan
+   * @return this mask
+   */
+  public ChannelMask and(ChannelMask other) {
+    requireSamePlan(other);
+    for (int i = 0; i < words.length; i++) {
+      words[i] &= other.words[i];
+    }
+    return this;
+  }
+
+  /**
+   * Difference: clear every channel set in the other mask.
+   *
+   * @param other a mask of the same plan
+   * @return this mask
+   */
+  public ChannelMask andNot(ChannelMask other) {
+    requireSamePlan(other);
+    for (int i = 0; i < words.length; i++) {
+      words[i] &= ~other.words[i];
+    }
+    return this;
+  }
+
+  /**
+   * Indicator that this mask shares a channel with another.
+   *
+   * @param other a mask of the same plan
+   * @return true if the intersection is not empty
+   */
+  public boolean intersects(ChannelMask other) {
+    requireSamePlan(other);
+    for (int i = 0; i < words.length; i++) {
+      if ((words[i] & other.words[i]) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Copy this mask.
+   *
+   * @return an independent copy
+   */
+  public ChannelMask copy() {
+    return new ChannelMask(plan, words.clone());
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Contiguous Runs">
+  /**
+   * Get the start channels of every run of {@code length} set channels that
+   * are contiguous in frequency. Channels separated by a band gap (e.g. North
+   * American channels 4 and 5) are not contiguous.
+   *
+   * @param length the run length in channels
+   * @return a mask of the first channel of each qualifying run
+   */
+  public ChannelMask runStarts(int length) {
+    if (length < 1) {
+      throw new IllegalArgumentException("Run length must be positive.");
+    }
+    long[] contiguous = contiguous();
+    long[] runs = words.clone();
+    /**
+     * After k steps bit i is set if channels i to i+k are set and contiguous:
+     * runs = words AND contiguous AND (runs shifted down one channel).
+     */
+    for (int k = 1; k < length; k++) {
+      for (int i = 0; i < runs.length; i++) {
+        long next = i + 1 < runs.length ? runs[i + 1] : 0;
+        runs[i] = words[i] & contiguous[i] & ((runs[i] >>> 1) | (next << 63));
+      }
+    }
+    return new ChannelMask(plan, runs);
+  }
+
+  /**
+   * Find the lowest run of {@code length} set channels that are contiguous in
+   * frequency.
+   *
+   * @param length the run length in channels
+   * @return the first channel of the run; null if none
+   */
+  public ChannelPlan.Channel firstRun(int length) {
+    long[] runs = runStarts(length).words;
+    for (int w = 0; w < runs.length; w++) {
+      if (runs[w] != 0) {
+        return plan.getChannels().get((w << 6) + Long.numberOfTrailingZeros(runs[w]));
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Bit i is set if channel i + 1 starts where channel i ends.
+   */
+  private long[] contiguous() {
+    long[] contiguous = new long[words.length];
+    List<ChannelPlan.Channel> channels = plan.getChannels();
+    for (int i = 0; i + 1 < channels.size(); i++) {
+      if (channels.get(i).getFrequencyMax() == channels.get(i + 1).getFrequencyMin()) {
+        contiguous[i >>> 6] |= 1L << i;
+      }
+    }
+    return contiguous;
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Spectrum Conversion">
+  /**
+   * Convert the channels set to allowed spectrum channels. For example
+   * {@code response.setSpectrumChannels(mask.toSpectrumChannels())}.
+   *
+   * @return a list of new SpectrumChannel entries
+   */
+  public List<SpectrumChannel> toSpectrumChannels() {
+    List<SpectrumChannel> spectrum = new ArrayList<>(cardinality());
+    for (ChannelPlan.Channel channel : getChannels()) {
+      spectrum.add(channel.newSpectrumChannel());
+    }
+    return spectrum;
+  }
+
+  /**
+   * Convert the channels set to allowed spectrum info entries.
+   *
+   * @return a list of new SpectrumInfo entries
+   */
+  public List<SpectrumInfo> toSpectrumInfos() {
+    List<SpectrumInfo> spectrum = new ArrayList<>(cardinality());
+    for (ChannelPlan.Channel channel : getChannels()) {
+      spectrum.add(channel.newSpectrumInfo());
+    }
+    return spectrum;
+  }//</editor-fold>
+
+  private ChannelPlan.Channel requireChannel(int number) {
+    ChannelPlan.Channel channel = plan.getChannel(number);
+    if (channel == null) {
+      throw new IllegalArgumentException("Channel " + number + " is not in the " + plan + " plan.");
+    }
+    return channel;
+  }
+
+  private int indexOf(ChannelPlan.Channel channel) {
+    if (plan.getChannel(channel.getNumber()) != channel) {
+      throw new IllegalArgumentException("Channel " + channel + " is not in the " + plan + " plan.");
+    }
+    return channel.getIndex();
+  }
+
+  private void requireSamePlan(ChannelMask other) {
+    if (other.plan != plan) {
+      throw new IllegalArgumentException("Channel masks must use the same plan.");
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * plan.hashCode() + Arrays.hashCode(words);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    final ChannelMask other = (ChannelMask) obj;
+    return plan == other.plan && Arrays.equals(words, other.words);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (ChannelPlan.Channel channel : getChannels()) {
+      sb.append(sb.length() > 1 ? ", " : "").append(channel.getNumber());
+    }
+    return sb.append("]").toString();
+  }
+
+}
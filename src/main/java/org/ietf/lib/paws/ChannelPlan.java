@@ -0,0 +1,334 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.util.*;
+import org.ietf.lib.paws.type.PawsRulesetType;
+
+/**
+ * Television channel plan registry.
+ * <p>
+ * A channel plan is the fixed list of broadcast channels used by a ruleset:
+ * 6 MHz channels 2 to 51 (FCC 2010, ISED) or 2 to 36 (FCC 2019, after the 600
+ * MHz repack) in North America and 8 MHz channels 21 to 60 under ETSI EN 301
+ * 598. Each plan is built once and its channel descriptors are immutable and
+ * shared, so an available spectrum response need not rebuild channel names and
+ * frequencies for every device.
+ * <p>
+ * Lookups by channel number and by frequency are array indexed and run in
+ * constant time. Use the {@code newSpectrumChannel} and {@code newSpectrumInfo}
+ * methods to create per-response spectrum entries: these share the descriptor
+ * name and frequency values and carry only the response specific fields
+ * (allowed, power, time range).
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public final class ChannelPlan {
+
+  /**
+   * North American 6 MHz channels 2 to 51.
+   */
+  private static final ChannelPlan NORTH_AMERICA = new ChannelPlan("North America 6 MHz channels 2-51", 6, 51);
+  /**
+   * North American 6 MHz channels 2 to 36, after the 600 MHz repack.
+   */
+  private static final ChannelPlan NORTH_AMERICA_REPACK = new ChannelPlan("North America 6 MHz channels 2-36", 6, 36);
+  /**
+   * European 8 MHz UHF channels 21 to 60.
+   */
+  private static final ChannelPlan EUROPE = new ChannelPlan("Europe 8 MHz channels 21-60", 8, 60);
+
+  /**
+   * The channel plan for each ruleset.
+   */
+  private static final Map<PawsRulesetType, ChannelPlan> REGISTRY = new EnumMap<>(PawsRulesetType.class);
+
+  static {
+    REGISTRY.put(PawsRulesetType.FCC_PART_15_H_2010, NORTH_AMERICA);
+    REGISTRY.put(PawsRulesetType.FCC_PART_15_H_2019, NORTH_AMERICA_REPACK);
+    REGISTRY.put(PawsRulesetType.ISED_DBS_01_2015, NORTH_AMERICA);
+    REGISTRY.put(PawsRulesetType.ETSI_EN_301_598_111, EUROPE);
+    REGISTRY.put(PawsRulesetType.ETSI_EN_301_598_211, EUROPE);
+  }
+
+  /**
+   * A human readable plan description.
+   */
+  private final String name;
+  /**
+   * The channel bandwidth in MHz.
+   */
+  private final int channelWidth;
+  /**
+   * The channels, sorted by number (and frequency).
+   */
+  private final List<Channel> channels;
+  /**
+   * Channels indexed by number less the first channel number.
+   */
+  private final Channel[] byNumber;
+  /**
+   * Channels indexed by whole MHz less the lowest channel frequency. All
+   * channel edges fall on whole MHz so the integer part of a frequency
+   * identifies its channel.
+   */
+  private final Channel[] byFrequency;
+  /**
+   * Channels indexed by name.
+   */
+  private final Map<String, Channel> byName;
+
+  /**
+   * Build a channel plan.
+   *
+   * @param name         the plan description
+   * @param channelWidth the channel bandwidth: 6 (North America) or 8 (ETSI)
+   * @param lastChannel  the highest channel number
+   */
+  private ChannelPlan(String name, int channelWidth, int lastChannel) {
+    this.name = name;
+    this.channelWidth = channelWidth;
+    List<Channel> list = new ArrayList<>();
+    if (channelWidth == 6) {
+      for (int number = 2; number <= lastChannel; number++) {
+        int frequencyMin = number <= 4 ? 54 + (number - 2) * 6 // 54-72 MHz
+                           : number <= 6 ? 76 + (number - 5) * 6 // 76-88 MHz
+                             : number <= 13 ? 174 + (number - 7) * 6 // 174-216 MHz
+                               : 470 + (number - 14) * 6; // 470-698 MHz
+        list.add(new Channel(list.size(), number, (number <= 13 ? "VHF" : "UHF") + number, frequencyMin, frequencyMin + 6));
+      }
+    } else {
+      for (int number = 21; number <= lastChannel; number++) {
+        int frequencyMin = 470 + (number - 21) * 8; // 470-790 MHz
+        list.add(new Channel(list.size(), number, "UHF" + number, frequencyMin, frequencyMin + 8));
+      }
+    }
+    this.channels = Collections.unmodifiableList(list);
+    Channel first = list.get(0);
+    Channel last = list.get(list.size() - 1);
+    this.byNumber = new Channel[last.number - first.number + 1];
+    this.byFrequency = new Channel[(int) (last.frequencyMax - first.frequencyMin)];
+    this.byName = new HashMap<>();
+    for (Channel channel : list) {
+      byNumber[channel.number - first.number] = channel;
+      for (int mhz = (int) channel.frequencyMin; mhz < channel.frequencyMax; mhz++) {
+        byFrequency[mhz - (int) first.frequencyMin] = channel;
+      }
+      byName.put(channel.name, channel);
+    }
+  }
+
+  /**
+   * Get the channel plan used by a ruleset.
+   *
+   * @param rulesetType the ruleset
+   * @return the channel plan
+   */
+  public static ChannelPlan getInstance(PawsRulesetType rulesetType) {
+    return REGISTRY.get(rulesetType);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get the channel bandwidth.
+   *
+   * @return the channel bandwidth in MHz
+   */
+  public int getChannelWidth() {
+    return channelWidth;
+  }
+
+  /**
+   * Get all channels in this plan.
+   *
+   * @return an unmodifiable list of channels sorted by number and frequency
+   */
+  public List<Channel> getChannels() {
+    return channels;
+  }
+
+  /**
+   * Get a channel by number.
+   *
+   * @param number the channel number, e.g. 21
+   * @return the channel; null if not in this plan
+   */
+  public Channel getChannel(int number) {
+    int index = number - channels.get(0).number;
+    return index >= 0 && index < byNumber.length ? byNumber[index] : null;
+  }
+
+  /**
+   * Get the channel containing a frequency. Channels include their minimum
+   * and exclude their maximum frequency.
+   *
+   * @param frequency the frequency in MHz
+   * @return the channel; null if the frequency is not within a channel of this
+   *         plan
+   */
+  public Channel getChannel(double frequency) {
+    double offset = Math.floor(frequency) - channels.get(0).frequencyMin;
+    return offset >= 0 && offset < byFrequency.length ? byFrequency[(int) offset] : null;
+  }
+
+  /**
+   * Get a channel by name.
+   *
+   * @param name the channel name, e.g. "UHF21"
+   * @return the channel; null if not in this plan
+   */
+  public Channel getChannel(String name) {
+    return byName.get(name);
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+
+  /**
+   * Immutable, shared channel descriptor.
+   */
+  public static final class Channel {
+
+    /**
+     * The position of this channel in its plan.
+     */
+    private final int index;
+    private final int number;
+    private final String name;
+    private final double frequencyMin;
+    private final double frequencyMax;
+    /**
+     * Boxed frequencies shared by every spectrum entry created from this
+     * descriptor.
+     */
+    private final Double boxedFrequencyMin;
+    private final Double boxedFrequencyMax;
+
+    private Channel(int index, int number, String name, double frequencyMin, double frequencyMax) {
+      this.index = index;
+      this.number = number;
+      this.name = name;
+      this.frequencyMin = frequencyMin;
+      this.frequencyMax = frequencyMax;
+      this.boxedFrequencyMin = frequencyMin;
+      this.boxedFrequencyMax = frequencyMax;
+    }
+
+    /**
+     * Get the position of this channel in its plan channel list.
+     *
+     * @return the zero-based channel index
+     */
+    int getIndex() {
+      return index;
+    }
+
+    public int getNumber() {
+      return number;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Get the inclusive minimum frequency.
+     *
+     * @return the minimum frequency in MHz
+     */
+    public double getFrequencyMin() {
+      return frequencyMin;
+    }
+
+    /**
+     * Get the exclusive maximum frequency.
+     *
+     * @return the maximum frequency in MHz
+     */
+    public double getFrequencyMax() {
+      return frequencyMax;
+    }
+
+    /**
+     * Indicator that a frequency is within this channel.
+     *
+     * @param frequency the frequency in MHz
+     * @return true if frequencyMin &lt;= frequency &lt; frequencyMax
+     */
+    public boolean contains(double frequency) {
+      return frequencyMin <= frequency && frequency < frequencyMax;
+    }
+
+    /**
+     * Create an allowed spectrum channel for this channel.
+     *
+     * @return a new spectrum channel
+     */
+    public SpectrumChannel newSpectrumChannel() {
+      return newSpectrumChannel(true, null, null);
+    }
+
+    /**
+     * Create a spectrum channel for this channel. The channel name and
+     * frequency values are shared with this descriptor.
+     *
+     * @param allowed   indicator that device operation is allowed
+     * @param power     the maximum allowable EIRP (dBW); may be null
+     * @param timeRange the time range the channel is available; may be null
+     * @return a new spectrum channel
+     */
+    public SpectrumChannel newSpectrumChannel(boolean allowed, Double power, EventTime timeRange) {
+      SpectrumChannel channel = new SpectrumChannel();
+      channel.name = name;
+      channel.frequencyMin = boxedFrequencyMin;
+      channel.frequencyMax = boxedFrequencyMax;
+      channel.setAllowed(allowed);
+      channel.setPower(power);
+      channel.setTimeRange(timeRange);
+      return channel;
+    }
+
+    /**
+     * Create an allowed spectrum info entry for this channel. The channel name
+     * and frequency values are shared with this descriptor.
+     *
+     * @return a new spectrum info entry
+     */
+    public SpectrumInfo newSpectrumInfo() {
+      SpectrumInfo info = new SpectrumInfo();
+      info.name = name;
+      info.frequencyMin = boxedFrequencyMin;
+      info.frequencyMax = boxedFrequencyMax;
+      info.setAllowed(true);
+      return info;
+    }
+
+    @Override
+    public String toString() {
+      return name + " [" + frequencyMin + " - " + frequencyMax + " MHz]";
+    }
+  }
+
+}
@@ -18,6 +18,8 @@ import javax.xml.bind.annotation.*;
 import org.ietf.lib.paws.type.EtsiDeviceCategory;
 import org.ietf.lib.paws.type.EtsiDeviceMode;
 import org.ietf.lib.paws.type.EtsiEmissionClassType;
+import org.ietf.lib.paws.type.FccDeviceMode;
+import org.ietf.lib.paws.type.IsedDeviceMode;
 import org.ietf.lib.paws.type.PawsRulesetType;
 
 /**
@@ -42,6 +44,8 @@ import org.ietf.lib.paws.type.PawsRulesetType;
  * </pre>
  *
  * @author Key Bridge LLC
+ * @since v0.23.0 ruleset-specific validation and cached device mode 10/17/26
+ * @since v0.23.0 cached DeviceKey identity 10/17/26
  */
 @XmlRootElement(name = "DeviceDescriptor")
 @XmlType(name = "DeviceDescriptor")
@@ -175,6 +179,18 @@ public class DeviceDescriptor {
   @XmlElement
   private Integer etsiEnDeviceEmissionsClass;
 
+  /**
+   * The device mode parsed against the ruleset on first use. Reparsed when the
+   * device mode or ruleset is replaced. The holder is immutable so a
+   * concurrent reader never pairs a mode with another source or ruleset.
+   */
+  private transient ParsedDeviceMode deviceModeType;
+  /**
+   * The device key built on first use. Rebuilt when an identifying field is
+   * replaced.
+   */
+  private transient DeviceKey deviceKey;
+
   /**
    * Default no-arg constructor.
    */
@@ -292,6 +308,46 @@ public class DeviceDescriptor {
     this.emissionDesignator = emissionDesignator;
   }//</editor-fold>
 
+  /**
+   * Get the device mode parsed against the ruleset: an {@link FccDeviceMode},
+   * {@link IsedDeviceMode} or {@link EtsiDeviceMode} constant. The parsed
+   * value is cached so repeated polls do not re-parse the string.
+   *
+   * @return the device mode constant; null if the ruleset or device mode is
+   *         not set or the mode is not valid for the ruleset
+   * @since v0.23.0 added 10/17/26
+   */
+  public Enum<?> getDeviceModeType() {
+    ParsedDeviceMode parsed = deviceModeType;
+    if (parsed == null || parsed.source != deviceMode || parsed.rulesetId != rulesetId) {
+      DeviceRules rules = DeviceRules.getInstance(rulesetId);
+      parsed = new ParsedDeviceMode(deviceMode, rulesetId, rules == null ? null : rules.parseMode(deviceMode));
+      deviceModeType = parsed;
+    }
+    return parsed.mode;
+  }
+
+  /**
+   * Get the immutable identity key for this device. The key is cached and
+   * rebuilt only when the ruleset, manufacturer ID, device ID or serial number
+   * is replaced.
+   *
+   * @return the device key
+   * @since v0.23.0 added 10/17/26
+   */
+  public DeviceKey getDeviceKey() {
+    DeviceKey key = deviceKey;
+    if (key == null
+        || key.getRulesetId() != rulesetId
+        || key.getManufacturerId() != manufacturerId
+        || key.getDeviceId() != deviceId
+        || key.getSerialNumber() != serialNumber) {
+      key = DeviceKey.valueOf(this);
+      deviceKey = key;
+    }
+    return key;
+  }
+
   //<editor-fold defaultstate="collapsed" desc="ETSI Getter and Setter">
   /**
    * Get a string to uniquely identify the technology. This may include: name of
@@ -351,6 +407,15 @@ public class DeviceDescriptor {
    */
   public void setEtsiEnDeviceEmissionsClass(EtsiEmissionClassType etsiEnDeviceEmissionsClass) {
     this.etsiEnDeviceEmissionsClass = etsiEnDeviceEmissionsClass == null ? null : etsiEnDeviceEmissionsClass.getCode();
+  }
+
+  /**
+   * Get the raw emissions class code, which may not be a valid class.
+   *
+   * @return the emissions class code
+   */
+  Integer getEtsiEnDeviceEmissionsClassCode() {
+    return etsiEnDeviceEmissionsClass;
   }//</editor-fold>
 
   /**
@@ -368,17 +433,33 @@ public class DeviceDescriptor {
    * @throws Exception describing the invalid configuration
    */
   public void validate() throws Exception {
+    ValidationResult result = new ValidationResult();
+    validate(result);
+    result.throwIfInvalid();
+  }
+
+  /**
+   * Validate this instance, recording all violations.
+   *
+   * @param result the validation result to record violations
+   * @since v0.23.0 added 10/17/26
+   */
+  public void validate(ValidationResult result) {
     if (rulesetId == null) {
-      throw new Exception("rulesetId is required");
+      result.missing("rulesetId", "rulesetId is required");
     }
     if (deviceId == null) {
-      throw new Exception("deviceId is required");
+      result.missing("deviceId", "deviceId is required");
     }
     if (serialNumber == null) {
-      throw new Exception("serialNumber is required");
+      result.missing("serialNumber", "serialNumber is required");
     }
     if (deviceMode == null) {
-      throw new Exception("deviceMode is required");
+      result.missing("deviceMode", "deviceMode is required");
+    }
+    DeviceRules rules = DeviceRules.getInstance(rulesetId);
+    if (rules != null) {
+      rules.validate(this, result);
     }
   }
 
@@ -436,4 +517,21 @@ public class DeviceDescriptor {
     return rulesetId + " " + deviceMode + " (" + deviceId + ", " + serialNumber + ')';
   }
 
+  /**
+   * An immutable parsed device mode and the device mode string and ruleset it
+   * was parsed from.
+   */
+  private static final class ParsedDeviceMode {
+
+    private final String source;
+    private final PawsRulesetType rulesetId;
+    private final Enum<?> mode;
+
+    private ParsedDeviceMode(String source, PawsRulesetType rulesetId, Enum<?> mode) {
+      this.source = source;
+      this.rulesetId = rulesetId;
+      this.mode = mode;
+    }
+  }
+
 }
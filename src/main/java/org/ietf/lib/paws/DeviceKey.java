@@ -0,0 +1,269 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import org.ietf.lib.paws.type.PawsRulesetType;
+
+/**
+ * An immutable device identity: ruleset, manufacturer, device ID (the
+ * government certification ID) and serial number.
+ * <p>
+ * A 64-bit hash is computed once on construction, so {@code hashCode} is a
+ * field read and {@code equals} rejects almost all unequal keys on the hash
+ * alone before comparing strings. Use as a map key for device registrations,
+ * sessions and caches. The key references the descriptor's strings; nothing
+ * is copied until {@link #toBytes()} encodes them.
+ * <p>
+ * The binary encoding writes the ruleset constant name, manufacturer, device
+ * ID and serial number, each as a varint length and UTF-8 bytes. It is
+ * compact and independent of the ruleset declaration order, so it is stable
+ * across restarts and releases and may be used as an off-heap or persistent
+ * map key. The hash is likewise computed from the ruleset name.
+ * <p>
+ * Developer note: DeviceKey equality includes the ruleset and manufacturer,
+ * whereas DeviceDescriptor equality considers only the device ID and serial
+ * number.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public final class DeviceKey {
+
+  private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final PawsRulesetType rulesetId;
+  private final String manufacturerId;
+  private final String deviceId;
+  private final String serialNumber;
+  private final long hash;
+
+  /**
+   * Build a device key.
+   *
+   * @param rulesetId      the ruleset
+   * @param manufacturerId the manufacturer ID
+   * @param deviceId       the device certification ID
+   * @param serialNumber   the device serial number
+   */
+  public DeviceKey(PawsRulesetType rulesetId, String manufacturerId, String deviceId, String serialNumber) {
+    this.rulesetId = rulesetId;
+    this.manufacturerId = manufacturerId;
+    this.deviceId = deviceId;
+    this.serialNumber = serialNumber;
+    long h = FNV_OFFSET;
+    h = hash(h, rulesetId == null ? null : rulesetId.name());
+    h = hash(h, manufacturerId);
+    h = hash(h, deviceId);
+    h = hash(h, serialNumber);
+    this.hash = mix(h);
+  }
+
+  /**
+   * Build a device key from a device descriptor.
+   *
+   * @param deviceDesc the device descriptor
+   * @return a new device key
+   */
+  public static DeviceKey valueOf(DeviceDescriptor deviceDesc) {
+    return new DeviceKey(deviceDesc.getRulesetId(), deviceDesc.getManufacturerId(), deviceDesc.getDeviceId(), deviceDesc.getSerialNumber());
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Getter">
+  public PawsRulesetType getRulesetId() {
+    return rulesetId;
+  }
+
+  public String getManufacturerId() {
+    return manufacturerId;
+  }
+
+  public String getDeviceId() {
+    return deviceId;
+  }
+
+  public String getSerialNumber() {
+    return serialNumber;
+  }
+
+  /**
+   * Get the precomputed 64-bit hash.
+   *
+   * @return the hash
+   */
+  public long getHash64() {
+    return hash;
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Binary encoding">
+  /**
+   * Encode this key.
+   *
+   * @return the binary encoding
+   */
+  public byte[] toBytes() {
+    byte[] ruleset = bytes(rulesetId == null ? null : rulesetId.name());
+    byte[] manufacturer = bytes(manufacturerId);
+    byte[] device = bytes(deviceId);
+    byte[] serial = bytes(serialNumber);
+    byte[] out = new byte[length(ruleset) + length(manufacturer) + length(device) + length(serial)];
+    int position = write(out, 0, ruleset);
+    position = write(out, position, manufacturer);
+    position = write(out, position, device);
+    write(out, position, serial);
+    return out;
+  }
+
+  /**
+   * Decode a key written by {@link #toBytes()}.
+   *
+   * @param bytes the binary encoding
+   * @return the device key
+   * @throws IllegalArgumentException if the encoding is not valid or names an
+   *                                  unknown ruleset
+   */
+  public static DeviceKey fromBytes(byte[] bytes) {
+    try {
+      int[] position = {0};
+      String ruleset = read(bytes, position);
+      String manufacturer = read(bytes, position);
+      String device = read(bytes, position);
+      String serial = read(bytes, position);
+      if (position[0] != bytes.length) {
+        throw new IllegalArgumentException("Device key encoding has trailing bytes.");
+      }
+      return new DeviceKey(ruleset == null ? null : PawsRulesetType.valueOf(ruleset), manufacturer, device, serial);
+    } catch (ArrayIndexOutOfBoundsException ex) {
+      throw new IllegalArgumentException("Device key encoding is not valid.", ex);
+    }
+  }
+
+  private static byte[] bytes(String value) {
+    return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * The encoded length. The varint holds the byte count plus one; zero
+   * encodes null.
+   */
+  private static int length(byte[] value) {
+    int n = value == null ? 0 : value.length + 1;
+    int length = 1;
+    while ((n >>>= 7) != 0) {
+      length++;
+    }
+    return length + (value == null ? 0 : value.length);
+  }
+
+  private static int write(byte[] out, int position, byte[] value) {
+    int n = value == null ? 0 : value.length + 1;
+    while ((n & ~0x7F) != 0) {
+      out[position++] = (byte) ((n & 0x7F) | 0x80);
+      n >>>= 7;
+    }
+    out[position++] = (byte) n;
+    if (value != null) {
+      System.arraycopy(value, 0, out, position, value.length);
+      position += value.length;
+    }
+    return position;
+  }
+
+  private static String read(byte[] bytes, int[] position) {
+    int n = 0;
+    int shift = 0;
+    byte b;
+    do {
+      if (shift > 28) {
+        throw new IllegalArgumentException("Device key encoding length is not valid.");
+      }
+      b = bytes[position[0]++];
+      if (shift == 28 && (b & 0xF8) != 0) {
+        throw new IllegalArgumentException("Device key encoding length is not valid."); // exceeds 31 bits
+      }
+      n |= (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    if (n == 0) {
+      return null;
+    }
+    int length = n - 1;
+    if (length > bytes.length - position[0]) {
+      throw new IllegalArgumentException("Device key encoding is truncated.");
+    }
+    String value = new String(bytes, position[0], length, StandardCharsets.UTF_8);
+    position[0] += length;
+    return value;
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Hash">
+  /**
+   * FNV-1a over the string characters, followed by a separator so that
+   * ("ab", "c") and ("a", "bc") hash differently.
+   */
+  private static long hash(long h, String value) {
+    if (value != null) {
+      for (int i = 0; i < value.length(); i++) {
+        h = (h ^ value.charAt(i)) * FNV_PRIME;
+      }
+    }
+    return (h ^ (value == null ? 0x10000 : 0x10001)) * FNV_PRIME;
+  }
+
+  /**
+   * MurmurHash3 finalizer to spread the FNV result over all 64 bits.
+   */
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }//</editor-fold>
+
+  @Override
+  public int hashCode() {
+    return (int) (hash ^ (hash >>> 32));
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof DeviceKey)) {
+      return false;
+    }
+    final DeviceKey other = (DeviceKey) obj;
+    return hash == other.hash
+           && rulesetId == other.rulesetId
+           && Objects.equals(serialNumber, other.serialNumber)
+           && Objects.equals(deviceId, other.deviceId)
+           && Objects.equals(manufacturerId, other.manufacturerId);
+  }
+
+  @Override
+  public String toString() {
+    return rulesetId + " " + manufacturerId + " (" + deviceId + ", " + serialNumber + ')';
+  }
+
+}
@@ -163,11 +163,23 @@ public class DeviceOwner {
    * @throws Exception describing the invalid configuration
    */
   public void validate() throws Exception {
+    ValidationResult result = new ValidationResult();
+    validate(result);
+    result.throwIfInvalid();
+  }
+
+  /**
+   * Validate this instance, recording all violations.
+   *
+   * @param result the validation result to record violations
+   * @since v0.23.0 added 10/17/26
+   */
+  public void validate(ValidationResult result) {
     if (owner == null) {
-      throw new Exception("DeviceOwner::owner is required");
+      result.missing("owner", "owner is required");
     }
     if (operator == null) {
-      throw new Exception("DeviceOwner::operator is required");
+      result.missing("operator", "operator is required");
     }
   }
 
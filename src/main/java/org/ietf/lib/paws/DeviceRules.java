@@ -0,0 +1,180 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.util.*;
+import org.ietf.lib.paws.type.*;
+
+/**
+ * Precompiled ruleset-specific device descriptor rules.
+ * <p>
+ * The device mode is a free-form string whose valid values depend on the
+ * ruleset: {@link FccDeviceMode} for FCC, {@link IsedDeviceMode} for ISED and
+ * {@link EtsiDeviceMode} for ETSI rulesets. Each ruleset's mode names are
+ * compiled once into a hash table, so parsing a mode is a single lookup.
+ * Both the enum name ("MODE_2") and the form without underscores ("MODE2") are
+ * accepted, in any case.
+ * <p>
+ * ETSI rulesets additionally require the device category, emissions class and
+ * technology identifier.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public final class DeviceRules {
+
+  /**
+   * Rules indexed by ruleset.
+   */
+  private static final Map<PawsRulesetType, DeviceRules> RULES = new EnumMap<>(PawsRulesetType.class);
+
+  static {
+    DeviceRules fcc = new DeviceRules(FccDeviceMode.class, false);
+    DeviceRules ised = new DeviceRules(IsedDeviceMode.class, false);
+    DeviceRules etsi = new DeviceRules(EtsiDeviceMode.class, true);
+    for (PawsRulesetType rulesetId : PawsRulesetType.values()) {
+      switch (rulesetId) {
+        case FCC_PART_15_H_2010:
+        case FCC_PART_15_H_2019:
+          RULES.put(rulesetId, fcc);
+          break;
+        case ISED_DBS_01_2015:
+          RULES.put(rulesetId, ised);
+          break;
+        case ETSI_EN_301_598_111:
+        case ETSI_EN_301_598_211:
+          RULES.put(rulesetId, etsi);
+          break;
+        default:
+          throw new AssertionError("No device rules for ruleset " + rulesetId);
+      }
+    }
+  }
+
+  /**
+   * The device mode enumeration for this ruleset.
+   */
+  private final Class<? extends Enum<?>> modeType;
+  /**
+   * Device mode lookup by exact name and by alias.
+   */
+  private final Map<String, Enum<?>> modes;
+  /**
+   * Indicator that the ETSI device fields are required.
+   */
+  private final boolean etsi;
+
+  private DeviceRules(Class<? extends Enum<?>> modeType, boolean etsi) {
+    this.modeType = modeType;
+    this.etsi = etsi;
+    Map<String, Enum<?>> map = new HashMap<>();
+    for (Enum<?> mode : modeType.getEnumConstants()) {
+      map.put(mode.name(), mode);
+      map.put(normalize(mode.name()), mode);
+    }
+    this.modes = map;
+  }
+
+  /**
+   * Get the rules for a ruleset.
+   *
+   * @param rulesetId the ruleset
+   * @return the rules; null if the ruleset is null
+   */
+  public static DeviceRules getInstance(PawsRulesetType rulesetId) {
+    return rulesetId == null ? null : RULES.get(rulesetId);
+  }
+
+  /**
+   * Get the device mode enumeration for this ruleset.
+   *
+   * @return the device mode enum class
+   */
+  public Class<? extends Enum<?>> getModeType() {
+    return modeType;
+  }
+
+  /**
+   * Indicator that this ruleset requires the ETSI device fields.
+   *
+   * @return true for ETSI rulesets
+   */
+  public boolean isEtsi() {
+    return etsi;
+  }
+
+  /**
+   * Parse a device mode.
+   *
+   * @param deviceMode the device mode string
+   * @return the device mode constant; null if the mode is null or not valid
+   *         for this ruleset
+   */
+  public Enum<?> parseMode(String deviceMode) {
+    if (deviceMode == null) {
+      return null;
+    }
+    Enum<?> mode = modes.get(deviceMode);
+    return mode != null ? mode : modes.get(normalize(deviceMode));
+  }
+
+  /**
+   * Validate the ruleset-specific fields of a device descriptor, recording all
+   * violations. Fields that are missing regardless of ruleset are reported by
+   * the descriptor itself.
+   *
+   * @param deviceDesc the device descriptor
+   * @param result     the validation result to record violations
+   */
+  public void validate(DeviceDescriptor deviceDesc, ValidationResult result) {
+    if (deviceDesc.getDeviceMode() != null && deviceDesc.getDeviceModeType() == null) {
+      result.invalid("deviceMode", "deviceMode " + deviceDesc.getDeviceMode() + " is not valid for ruleset " + deviceDesc.getRulesetId());
+    }
+    if (!etsi) {
+      return;
+    }
+    if (deviceDesc.getEtsiEnDeviceCategory() == null) {
+      result.missing("etsiEnDeviceCategory", "etsiEnDeviceCategory is required");
+    }
+    Integer emissionsClass = deviceDesc.getEtsiEnDeviceEmissionsClassCode();
+    if (emissionsClass == null) {
+      result.missing("etsiEnDeviceEmissionsClass", "etsiEnDeviceEmissionsClass is required");
+    } else if (emissionsClass < 1 || emissionsClass > EtsiEmissionClassType.values().length) {
+      result.invalid("etsiEnDeviceEmissionsClass", "etsiEnDeviceEmissionsClass " + emissionsClass + " is not valid");
+    }
+    if (deviceDesc.getEtsiEnTechnologyId() == null || deviceDesc.getEtsiEnTechnologyId().isEmpty()) {
+      result.missing("etsiEnTechnologyId", "etsiEnTechnologyId is required");
+    }
+  }
+
+  /**
+   * Upper case with underscores removed.
+   */
+  private static String normalize(String value) {
+    StringBuilder sb = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c != '_') {
+        sb.append(Character.toUpperCase(c));
+      }
+    }
+    return sb.toString();
+  }
+
+}
@@ -142,12 +142,14 @@ public class Error {
   }
 
   public Error(PawsErrorType pawsError) {
+    this.type = pawsError;
     this.code = pawsError.getCode();
     this.message = pawsError.getDescription();
   }
 
   public static Error getInstance(PawsErrorType pawsError) {
     Error error = new Error();
+    error.setType(pawsError);
     error.setCode(pawsError.getCode());
     error.setMessage(pawsError.getDescription());
     return error;
@@ -14,9 +14,11 @@
 package org.ietf.lib.paws;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.*;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 import org.ietf.lib.paws.adapter.XmlDurationAdapter;
@@ -52,12 +54,17 @@ import org.ietf.lib.paws.adapter.XmlZonedDateTimeAdapter;
  * <li> If the event is already active, (stopTime - timestamp) is the duration
  * that the event remains active. If the value is zero or negative, the event is
  * no longer active and MUST be ignored.</li></ul>
+ * <p>
+ * Developer note: the times are held as primitive epoch seconds and nanoseconds
+ * plus the (shared) time zone, and the ZonedDateTime and Duration values are
+ * built when read. Use {@code getStartInstant()} and {@code getStopInstant()}
+ * for time comparisons. The XML and JSON representation is unchanged.
  *
  * @author Key Bridge LLC
  * @see <a href="https://tools.ietf.org/html/rfc3339">RFC3339 Timestamps</a>
  */
 @XmlRootElement(name = "EventTime")
-@XmlType(name = "EventTime")
+@XmlType(name = "EventTime", propOrder = {"xmlStartTime", "xmlStopTime", "xmlDuration"}, factoryMethod = "newUnmarshalInstance")
 @XmlAccessorType(XmlAccessType.FIELD)
 public class EventTime {
 
@@ -74,32 +81,80 @@ public class EventTime {
 
   /**
    * The inclusive start of the event expressed using the format
-   * "YYYY-MM-DDThh:mm:ssZ" in UTC.
+   * "YYYY-MM-DDThh:mm:ssZ" in UTC. The start is held as epoch seconds and
+   * nanoseconds in its time zone; a null zone indicates no start time.
    */
-  @XmlJavaTypeAdapter(XmlZonedDateTimeAdapter.class)
-  @XmlElement(required = true)
-  private ZonedDateTime startTime;
+  @XmlTransient
+  private long startSecond;
+  @XmlTransient
+  private int startNano;
+  @XmlTransient
+  private ZoneId startZone;
   /**
    * The exclusive end of the event expressed using the format
-   * "YYYY-MM-DDThh:mm:ssZ" in UTC.
+   * "YYYY-MM-DDThh:mm:ssZ" in UTC. A null zone indicates no stop time.
    */
-  @XmlJavaTypeAdapter(XmlZonedDateTimeAdapter.class)
-  @XmlElement(required = true)
-  private ZonedDateTime stopTime;
+  @XmlTransient
+  private long stopSecond;
+  @XmlTransient
+  private int stopNano;
+  @XmlTransient
+  private ZoneId stopZone;
 
   /**
    * Key Bridge addition: The calculated event duration. Shown for information
-   * only.
+   * only. The duration is recorded separately from the start and stop times
+   * since an unmarshalled value need not be consistent with them.
    */
-  @XmlJavaTypeAdapter(XmlDurationAdapter.class)
-  private Duration duration;
+  @XmlTransient
+  private long durationSecond;
+  @XmlTransient
+  private int durationNano;
+  @XmlTransient
+  private boolean durationSet;
 
   /**
    * Default no-arg constructor. Sets the `startTime`.
    */
   public EventTime() {
-    this.startTime = ZonedDateTime.now(ZONE_ID);
+    long millis = System.currentTimeMillis();
+    this.startSecond = Math.floorDiv(millis, 1000);
+    this.startNano = (int) Math.floorMod(millis, 1000) * 1_000_000;
+    this.startZone = ZONE_ID;
+  }
 
+  /**
+   * Private constructor for the JAXB factory method. Does not read the clock.
+   *
+   * @param unused not used
+   */
+  private EventTime(boolean unused) {
+  }
+
+  /**
+   * JAXB factory method. The start time is unmarshalled or, if absent, set to
+   * the current time after unmarshalling.
+   *
+   * @return a new EventTime instance without a start time
+   */
+  private static EventTime newUnmarshalInstance() {
+    return new EventTime(false);
+  }
+
+  /**
+   * JAXB callback. Sets the start time to the current time if the unmarshalled
+   * value had none, as the no-arg constructor does.
+   *
+   * @param unmarshaller the unmarshaller
+   * @param parent       the parent object
+   */
+  private void afterUnmarshal(Unmarshaller unmarshaller, Object parent) {
+    if (startZone == null) {
+      EventTime now = new EventTime();
+      this.startSecond = now.startSecond;
+      this.startNano = now.startNano;
+      this.startZone = now.startZone;
+    }
   }
 
   /**
@@ -145,7 +200,7 @@ public class EventTime {
    * @return the event duration
    */
   public Duration getDuration() {
-    return duration;
+    return durationSet ? Duration.ofSeconds(durationSecond, durationNano) : null;
   }
 
   /**
@@ -154,8 +209,14 @@ public class EventTime {
    * @param duration the event duration
    */
   public void setDuration(Duration duration) {
-    this.duration = duration;
-    this.stopTime = startTime.plus(duration);
+    if (startZone == null) {
+      throw new NullPointerException("EventTime startTime is not set.");
+    }
+    setDurationValue(duration);
+    Instant stop = Instant.ofEpochSecond(startSecond, startNano).plus(duration);
+    this.stopSecond = stop.getEpochSecond();
+    this.stopNano = stop.getNano();
+    this.stopZone = startZone;
   }
 
   /**
@@ -164,7 +225,7 @@ public class EventTime {
    * @return the inclusive start of the event
    */
   public ZonedDateTime getStartTime() {
-    return startTime;
+    return startZone == null ? null : ZonedDateTime.ofInstant(Instant.ofEpochSecond(startSecond, startNano), startZone);
   }
 
   /**
@@ -173,7 +234,13 @@ public class EventTime {
    * @param startTime the inclusive start of the event
    */
   public void setStartTime(ZonedDateTime startTime) {
-    this.startTime = startTime;
+    if (startTime == null) {
+      this.startZone = null;
+    } else {
+      this.startSecond = startTime.toEpochSecond();
+      this.startNano = startTime.getNano();
+      this.startZone = startTime.getZone();
+    }
   }
 
   /**
@@ -182,7 +249,7 @@ public class EventTime {
    * @return the exclusive end of the event
    */
   public ZonedDateTime getStopTime() {
-    return stopTime;
+    return stopZone == null ? null : ZonedDateTime.ofInstant(Instant.ofEpochSecond(stopSecond, stopNano), stopZone);
   }
 
   /**
@@ -191,13 +258,91 @@ public class EventTime {
    * @param stopTime the exclusive end of the event
    */
   public void setStopTime(ZonedDateTime stopTime) {
-    this.stopTime = stopTime;
-    this.duration = Duration.between(startTime, stopTime);
+    if (startZone == null) {
+      throw new NullPointerException("EventTime startTime is not set.");
+    }
+    this.stopSecond = stopTime.toEpochSecond();
+    this.stopNano = stopTime.getNano();
+    this.stopZone = stopTime.getZone();
+    setDurationValue(Duration.ofSeconds(stopSecond - startSecond, stopNano - startNano));
+  }
+
+  /**
+   * Get the inclusive start of the event as an instant. This avoids building
+   * a ZonedDateTime.
+   *
+   * @return the start instant; null if not set
+   * @since v0.23.0 added 10/17/26
+   */
+  public Instant getStartInstant() {
+    return startZone == null ? null : Instant.ofEpochSecond(startSecond, startNano);
   }
 
+  /**
+   * Get the exclusive end of the event as an instant. This avoids building a
+   * ZonedDateTime.
+   *
+   * @return the stop instant; null if not set
+   * @since v0.23.0 added 10/17/26
+   */
+  public Instant getStopInstant() {
+    return stopZone == null ? null : Instant.ofEpochSecond(stopSecond, stopNano);
+  }
+
+  private void setDurationValue(Duration duration) {
+    this.durationSecond = duration.getSeconds();
+    this.durationNano = duration.getNano();
+    this.durationSet = true;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="XML Properties">
+  /**
+   * XML binding for the start time. Reads and writes the raw value without
+   * updating the stop time or duration.
+   */
+  @XmlElement(name = "startTime", required = true)
+  @XmlJavaTypeAdapter(XmlZonedDateTimeAdapter.class)
+  private ZonedDateTime getXmlStartTime() {
+    return getStartTime();
+  }
+
+  private void setXmlStartTime(ZonedDateTime startTime) {
+    setStartTime(startTime);
+  }
+
+  @XmlElement(name = "stopTime", required = true)
+  @XmlJavaTypeAdapter(XmlZonedDateTimeAdapter.class)
+  private ZonedDateTime getXmlStopTime() {
+    return getStopTime();
+  }
+
+  private void setXmlStopTime(ZonedDateTime stopTime) {
+    if (stopTime == null) {
+      this.stopZone = null;
+    } else {
+      this.stopSecond = stopTime.toEpochSecond();
+      this.stopNano = stopTime.getNano();
+      this.stopZone = stopTime.getZone();
+    }
+  }
+
+  @XmlElement(name = "duration")
+  @XmlJavaTypeAdapter(XmlDurationAdapter.class)
+  private Duration getXmlDuration() {
+    return getDuration();
+  }
+
+  private void setXmlDuration(Duration duration) {
+    if (duration == null) {
+      this.durationSet = false;
+    } else {
+      setDurationValue(duration);
+    }
+  }//</editor-fold>
+
   @Override
   public String toString() {
-    return "EventTime{" + "startTime=" + startTime + ", stopTime=" + stopTime + ", duration=" + duration + '}';
+    return "EventTime{" + "startTime=" + getStartTime() + ", stopTime=" + getStopTime() + ", duration=" + getDuration() + '}';
   }
 
 }
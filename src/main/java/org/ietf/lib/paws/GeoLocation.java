@@ -171,8 +171,20 @@ public class GeoLocation {
    * @throws Exception describing the invalid configuration
    */
   public void validate() throws Exception {
+    ValidationResult result = new ValidationResult();
+    validate(result);
+    result.throwIfInvalid();
+  }
+
+  /**
+   * Validate this instance, recording all violations.
+   *
+   * @param result the validation result to record violations
+   * @since v0.23.0 added 10/17/26
+   */
+  public void validate(ValidationResult result) {
     if (point == null) {
-      throw new Exception("GeoLocation::point is required");
+      result.missing("point", "point is required");
     }
   }
 
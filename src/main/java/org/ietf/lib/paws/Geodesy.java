@@ -0,0 +1,269 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.util.List;
+import org.locationtech.jts.geom.Point;
+
+/**
+ * Bulk distance and azimuth computation from one position to many.
+ * <p>
+ * The kernels read primitive latitude and longitude arrays (decimal degrees,
+ * WGS84) and write the distance (km) and the initial azimuth (degrees clockwise
+ * from true North, [0, 360)) from the origin to each position into columnar
+ * output arrays. The loops are free of allocation and object access so the
+ * JIT can unroll them; {@code fill} copies the results into SpectrumConsumer
+ * instances.
+ * <p>
+ * Two earth models are provided:
+ * <ul>
+ * <li>{@link Model#SPHERICAL} uses the haversine formula on a sphere of the
+ * WGS84 mean radius (6371.0088 km). Compared to the ellipsoidal geodesic the
+ * distance error is at most 0.57% and, up to 5000 km, the azimuth error is at
+ * most 0.2 degrees.</li>
+ * <li>{@link Model#ELLIPSOIDAL} solves the inverse geodesic problem on the
+ * WGS84 ellipsoid by Vincenty's method, iterated to 1e-12 radians (well under
+ * one millimeter). For nearly antipodal positions, where the method does not
+ * converge, the spherical result is returned.</li>
+ * </ul>
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public final class Geodesy {
+
+  /**
+   * The earth model.
+   */
+  public enum Model {
+    /**
+     * Haversine on a sphere of the WGS84 mean radius. Fast; distance within
+     * 0.57%, azimuth within 0.2 degrees up to 5000 km.
+     */
+    SPHERICAL,
+    /**
+     * Vincenty inverse on the WGS84 ellipsoid. Accurate to under one
+     * millimeter.
+     */
+    ELLIPSOIDAL;
+  }
+
+  /**
+   * The WGS84 mean earth radius (km).
+   */
+  public static final double MEAN_RADIUS_KM = 6371.0088;
+  /**
+   * WGS84 semi-major axis (km).
+   */
+  private static final double A = 6378.137;
+  /**
+   * WGS84 flattening.
+   */
+  private static final double F = 1 / 298.257223563;
+  /**
+   * WGS84 semi-minor axis (km).
+   */
+  private static final double B = A * (1 - F);
+  private static final int MAX_ITERATIONS = 200;
+  private static final double CONVERGENCE = 1e-12;
+
+  private Geodesy() {
+  }
+
+  /**
+   * Compute the distance and azimuth from an origin to many positions.
+   *
+   * @param model      the earth model
+   * @param latitude   the origin latitude (decimal degrees)
+   * @param longitude  the origin longitude (decimal degrees)
+   * @param latitudes  the position latitudes
+   * @param longitudes the position longitudes
+   * @param offset     the first array index to compute
+   * @param length     the number of positions to compute
+   * @param distance   the output distances (km), written at the same indexes
+   * @param azimuth    the output azimuths (degrees), written at the same
+   *                   indexes; may be null if not required
+   */
+  public static void inverse(Model model, double latitude, double longitude,
+                             double[] latitudes, double[] longitudes, int offset, int length,
+                             double[] distance, double[] azimuth) {
+    if (model == Model.ELLIPSOIDAL) {
+      for (int i = offset; i < offset + length; i++) {
+        vincenty(latitude, longitude, latitudes[i], longitudes[i], distance, azimuth, i);
+      }
+    } else {
+      spherical(latitude, longitude, latitudes, longitudes, offset, length, distance, azimuth);
+    }
+  }
+
+  /**
+   * Compute the distance and azimuth from an origin to each position and set
+   * them on the corresponding spectrum consumer.
+   *
+   * @param model      the earth model
+   * @param origin     the origin point (x = longitude, y = latitude)
+   * @param latitudes  the service latitudes, one per consumer
+   * @param longitudes the service longitudes, one per consumer
+   * @param consumers  the spectrum consumers to update
+   */
+  public static void fill(Model model, Point origin, double[] latitudes, double[] longitudes, List<SpectrumConsumer> consumers) {
+    int size = consumers.size();
+    double[] distance = new double[size];
+    double[] azimuth = new double[size];
+    inverse(model, origin.getY(), origin.getX(), latitudes, longitudes, 0, size, distance, azimuth);
+    for (int i = 0; i < size; i++) {
+      SpectrumConsumer consumer = consumers.get(i);
+      consumer.setDistance(distance[i]);
+      consumer.setAzimuth(azimuth[i]);
+    }
+  }
+
+  /**
+   * Compute the distance between two positions.
+   *
+   * @param model      the earth model
+   * @param latitude1  the first latitude
+   * @param longitude1 the first longitude
+   * @param latitude2  the second latitude
+   * @param longitude2 the second longitude
+   * @return the distance (km)
+   */
+  public static double distance(Model model, double latitude1, double longitude1, double latitude2, double longitude2) {
+    double[] distance = new double[1];
+    inverse(model, latitude1, longitude1, new double[]{latitude2}, new double[]{longitude2}, 0, 1, distance, null);
+    return distance[0];
+  }
+
+  /**
+   * Compute the initial azimuth from one position to another.
+   *
+   * @param model      the earth model
+   * @param latitude1  the origin latitude
+   * @param longitude1 the origin longitude
+   * @param latitude2  the destination latitude
+   * @param longitude2 the destination longitude
+   * @return the azimuth in degrees clockwise from true North, [0, 360)
+   */
+  public static double azimuth(Model model, double latitude1, double longitude1, double latitude2, double longitude2) {
+    double[] distance = new double[1];
+    double[] azimuth = new double[1];
+    inverse(model, latitude1, longitude1, new double[]{latitude2}, new double[]{longitude2}, 0, 1, distance, azimuth);
+    return azimuth[0];
+  }
+
+  /**
+   * Haversine distance and spherical initial bearing. The origin terms are
+   * computed once; the loop body is straight line code.
+   */
+  private static void spherical(double latitude, double longitude,
+                                double[] latitudes, double[] longitudes, int offset, int length,
+                                double[] distance, double[] azimuth) {
+    double phi1 = Math.toRadians(latitude);
+    double sinPhi1 = Math.sin(phi1);
+    double cosPhi1 = Math.cos(phi1);
+    for (int i = offset; i < offset + length; i++) {
+      double phi2 = Math.toRadians(latitudes[i]);
+      double dLambda = Math.toRadians(longitudes[i] - longitude);
+      double sinHalfPhi = Math.sin((phi2 - phi1) / 2);
+      double sinHalfLambda = Math.sin(dLambda / 2);
+      double cosPhi2 = Math.cos(phi2);
+      double h = sinHalfPhi * sinHalfPhi + cosPhi1 * cosPhi2 * sinHalfLambda * sinHalfLambda;
+      distance[i] = 2 * MEAN_RADIUS_KM * Math.asin(Math.sqrt(Math.min(1, h)));
+    }
+    if (azimuth == null) {
+      return;
+    }
+    for (int i = offset; i < offset + length; i++) {
+      double phi2 = Math.toRadians(latitudes[i]);
+      double dLambda = Math.toRadians(longitudes[i] - longitude);
+      double cosPhi2 = Math.cos(phi2);
+      double y = Math.sin(dLambda) * cosPhi2;
+      double x = cosPhi1 * Math.sin(phi2) - sinPhi1 * cosPhi2 * Math.cos(dLambda);
+      double theta = Math.toDegrees(Math.atan2(y, x));
+      azimuth[i] = theta < 0 ? theta + 360 : theta;
+    }
+  }
+
+  /**
+   * Vincenty inverse on the WGS84 ellipsoid for a single pair, written to
+   * index {@code i} of the output arrays.
+   */
+  private static void vincenty(double latitude1, double longitude1, double latitude2, double longitude2,
+                               double[] distance, double[] azimuth, int i) {
+    double L = Math.toRadians(longitude2 - longitude1);
+    double U1 = Math.atan((1 - F) * Math.tan(Math.toRadians(latitude1)));
+    double U2 = Math.atan((1 - F) * Math.tan(Math.toRadians(latitude2)));
+    double sinU1 = Math.sin(U1), cosU1 = Math.cos(U1);
+    double sinU2 = Math.sin(U2), cosU2 = Math.cos(U2);
+    double lambda = L;
+    double sinLambda, cosLambda, sinSigma, cosSigma, sigma, cosSqAlpha, cos2SigmaM;
+    int iteration = 0;
+    while (true) {
+      sinLambda = Math.sin(lambda);
+      cosLambda = Math.cos(lambda);
+      double t1 = cosU2 * sinLambda;
+      double t2 = cosU1 * sinU2 - sinU1 * cosU2 * cosLambda;
+      sinSigma = Math.sqrt(t1 * t1 + t2 * t2);
+      if (sinSigma == 0) {
+        distance[i] = 0; // coincident positions
+        if (azimuth != null) {
+          azimuth[i] = 0;
+        }
+        return;
+      }
+      cosSigma = sinU1 * sinU2 + cosU1 * cosU2 * cosLambda;
+      sigma = Math.atan2(sinSigma, cosSigma);
+      double sinAlpha = cosU1 * cosU2 * sinLambda / sinSigma;
+      cosSqAlpha = 1 - sinAlpha * sinAlpha;
+      cos2SigmaM = cosSqAlpha != 0 ? cosSigma - 2 * sinU1 * sinU2 / cosSqAlpha : 0; // equatorial line
+      double C = F / 16 * cosSqAlpha * (4 + F * (4 - 3 * cosSqAlpha));
+      double previous = lambda;
+      lambda = L + (1 - C) * F * sinAlpha
+                   * (sigma + C * sinSigma * (cos2SigmaM + C * cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)));
+      if (Math.abs(lambda - previous) <= CONVERGENCE) {
+        break;
+      }
+      if (++iteration >= MAX_ITERATIONS) {
+        /**
+         * Nearly antipodal: fall back to the spherical solution.
+         */
+        double[] d = new double[1];
+        double[] a = azimuth == null ? null : new double[1];
+        spherical(latitude1, longitude1, new double[]{latitude2}, new double[]{longitude2}, 0, 1, d, a);
+        distance[i] = d[0];
+        if (azimuth != null) {
+          azimuth[i] = a[0];
+        }
+        return;
+      }
+    }
+    double uSq = cosSqAlpha * (A * A - B * B) / (B * B);
+    double bigA = 1 + uSq / 16384 * (4096 + uSq * (-768 + uSq * (320 - 175 * uSq)));
+    double bigB = uSq / 1024 * (256 + uSq * (-128 + uSq * (74 - 47 * uSq)));
+    double deltaSigma = bigB * sinSigma
+                        * (cos2SigmaM + bigB / 4 * (cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)
+                                                    - bigB / 6 * cos2SigmaM * (-3 + 4 * sinSigma * sinSigma) * (-3 + 4 * cos2SigmaM * cos2SigmaM)));
+    distance[i] = B * bigA * (sigma - deltaSigma);
+    if (azimuth != null) {
+      double theta = Math.toDegrees(Math.atan2(cosU2 * sinLambda, cosU1 * sinU2 - sinU1 * cosU2 * cosLambda));
+      azimuth[i] = theta < 0 ? theta + 360 : theta;
+    }
+  }
+
+}
@@ -0,0 +1,643 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Effective maximum power over time and frequency for a list of spectrum
+ * schedules.
+ * <p>
+ * A SpectrumSpec may carry many SpectrumSchedule entries with overlapping
+ * event times, each holding Spectrum profiles at one or more resolution
+ * bandwidths. This class merges them into a normalized, piecewise constant
+ * envelope: a sorted list of disjoint time slices, each holding for every
+ * resolution bandwidth a sorted list of disjoint frequency segments with a
+ * single power level.
+ * <p>
+ * Merge rules:
+ * <ul>
+ * <li>Where schedules (or several Spectrum elements of the same resolution
+ * bandwidth) overlap, the lowest power applies: each is a constraint the
+ * device must satisfy.</li>
+ * <li>Frequencies not covered by any profile are unavailable.</li>
+ * <li>A sloped profile segment is represented by the lower of its two end
+ * points. Ruleset profiles are step functions so this is normally exact.</li>
+ * <li>Schedules without a start and stop time are ignored.</li>
+ * <li>Resolution bandwidths are kept apart, since their power levels are
+ * expressed per a different bandwidth.</li>
+ * </ul>
+ * The envelope is built with a sweep line over the time boundaries. For each
+ * resolution bandwidth the frequency axis is cut at every segment end point of
+ * every schedule, and each elementary interval keeps a sorted multiset of the
+ * power levels of the active schedules covering it. A schedule entering or
+ * leaving the sweep updates only the intervals its own segments cover, and a
+ * slice rebuilds only the bandwidths that changed, so the cost grows with the
+ * schedules' coverage and the envelope size rather than with the square of
+ * the number of overlapping schedules. Adjacent time slices with the same
+ * envelope and adjacent frequency segments with the same power are merged.
+ * <p>
+ * Lookups are binary searches on time then frequency. Instances are
+ * immutable.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public final class PowerEnvelope {
+
+  /**
+   * The sorted distinct resolution bandwidths in hertz.
+   */
+  private final double[] resolutionBwHz;
+  /**
+   * The inclusive start of each time slice, in epoch milliseconds.
+   */
+  private final long[] sliceStart;
+  /**
+   * The exclusive end of each time slice, in epoch milliseconds.
+   */
+  private final long[] sliceStop;
+  /**
+   * The frequency envelope of each time slice, indexed by slice then
+   * resolution bandwidth.
+   */
+  private final Band[][] bands;
+
+  private PowerEnvelope(double[] resolutionBwHz, long[] sliceStart, long[] sliceStop, Band[][] bands) {
+    this.resolutionBwHz = resolutionBwHz;
+    this.sliceStart = sliceStart;
+    this.sliceStop = sliceStop;
+    this.bands = bands;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Static Builders">
+  /**
+   * Build the power envelope of a spectrum specification.
+   *
+   * @param spectrumSpec the spectrum specification
+   * @return the power envelope of its spectrum schedules
+   */
+  public static PowerEnvelope getInstance(SpectrumSpec spectrumSpec) {
+    return getInstance(spectrumSpec.getSpectrumSchedules());
+  }
+
+  /**
+   * Build the power envelope of a list of spectrum schedules.
+   *
+   * @param schedules the spectrum schedules
+   * @return the power envelope
+   */
+  public static PowerEnvelope getInstance(Collection<SpectrumSchedule> schedules) {
+    /**
+     * Collect the resolution bandwidths and the time bounded schedules.
+     */
+    TreeSet<Double> bandwidths = new TreeSet<>();
+    List<SpectrumSchedule> timed = new ArrayList<>(schedules.size());
+    for (SpectrumSchedule schedule : schedules) {
+      EventTime eventTime = schedule.getEventTime();
+      if (eventTime == null || eventTime.getStartInstant() == null || eventTime.getStopInstant() == null
+          || !eventTime.getStartInstant().isBefore(eventTime.getStopInstant())) {
+        continue; // untimed or empty time range
+      }
+      timed.add(schedule);
+      for (Spectrum spectrum : schedule.getSpectra()) {
+        bandwidths.add(spectrum.getResolutionBwHz());
+      }
+    }
+    double[] resolutionBwHz = new double[bandwidths.size()];
+    int r = 0;
+    for (Double bandwidth : bandwidths) {
+      resolutionBwHz[r++] = bandwidth;
+    }
+    /**
+     * Per schedule: the time bounds and the profile segments of each
+     * resolution bandwidth.
+     */
+    int n = timed.size();
+    long[] start = new long[n];
+    long[] stop = new long[n];
+    List<List<double[]>> segments = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      SpectrumSchedule schedule = timed.get(i);
+      start[i] = schedule.getEventTime().getStartInstant().toEpochMilli();
+      stop[i] = schedule.getEventTime().getStopInstant().toEpochMilli();
+      segments.add(segments(schedule, resolutionBwHz));
+    }
+    /**
+     * Sweep the time boundaries. Each schedule enters at its start and leaves
+     * at its stop; between consecutive boundaries the active set is constant.
+     */
+    FrequencySweep[] sweeps = new FrequencySweep[resolutionBwHz.length];
+    for (r = 0; r < resolutionBwHz.length; r++) {
+      sweeps[r] = new FrequencySweep(segments, r);
+    }
+    Integer[] events = new Integer[2 * n];
+    for (int i = 0; i < n; i++) {
+      events[2 * i] = i; // start event
+      events[2 * i + 1] = ~i; // stop event
+    }
+    Arrays.sort(events, (a, b) -> Long.compare(a >= 0 ? start[a] : stop[~a], b >= 0 ? start[b] : stop[~b]));
+    List<long[]> times = new ArrayList<>();
+    List<Band[]> slices = new ArrayList<>();
+    int active = 0;
+    int e = 0;
+    while (e < events.length) {
+      long time = events[e] >= 0 ? start[events[e]] : stop[~events[e]];
+      for (; e < events.length && (events[e] >= 0 ? start[events[e]] : stop[~events[e]]) == time; e++) {
+        int i = events[e] >= 0 ? events[e] : ~events[e];
+        int delta = events[e] >= 0 ? 1 : -1;
+        for (r = 0; r < resolutionBwHz.length; r++) {
+          sweeps[r].update(segments.get(i).get(r), delta);
+        }
+        active += delta;
+      }
+      if (active == 0 || e == events.length) {
+        continue;
+      }
+      long next = events[e] >= 0 ? start[events[e]] : stop[~events[e]];
+      Band[] slice = new Band[resolutionBwHz.length];
+      boolean available = false;
+      for (r = 0; r < resolutionBwHz.length; r++) {
+        slice[r] = sweeps[r].band();
+        available |= slice[r].size() > 0;
+      }
+      if (!available) {
+        continue;
+      }
+      /**
+       * Extend the previous slice if it is adjacent and identical.
+       */
+      int last = slices.size() - 1;
+      if (last >= 0 && times.get(last)[1] == time && Arrays.equals(slices.get(last), slice)) {
+        times.get(last)[1] = next;
+      } else {
+        times.add(new long[]{time, next});
+        slices.add(slice);
+      }
+    }
+    long[] sliceStart = new long[times.size()];
+    long[] sliceStop = new long[times.size()];
+    for (int i = 0; i < sliceStart.length; i++) {
+      sliceStart[i] = times.get(i)[0];
+      sliceStop[i] = times.get(i)[1];
+    }
+    return new PowerEnvelope(resolutionBwHz, sliceStart, sliceStop, slices.toArray(new Band[slices.size()][]));
+  }
+
+  /**
+   * Build a compacted copy of a spectrum specification in which the spectrum
+   * schedules are replaced by the normalized, non-overlapping schedules of
+   * their power envelope. Other fields are copied by reference.
+   *
+   * @param spectrumSpec the spectrum specification
+   * @return a new, compacted spectrum specification
+   */
+  public static SpectrumSpec compact(SpectrumSpec spectrumSpec) {
+    SpectrumSpec compact = new SpectrumSpec();
+    compact.setRulesetInfo(spectrumSpec.getRulesetInfo());
+    compact.setSpectrumSchedules(getInstance(spectrumSpec).toSpectrumSchedules());
+    compact.setTimeRange(spectrumSpec.getTimeRange());
+    compact.setFrequencyRanges(spectrumSpec.getFrequencyRanges());
+    compact.setNeedsSpectrumReport(spectrumSpec.getNeedsSpectrumReport());
+    compact.setMaxTotalBwHz(spectrumSpec.getMaxTotalBwHz());
+    compact.setMaxContiguousBwHz(spectrumSpec.getMaxContiguousBwHz());
+    compact.setEtsiEnSimultaneousChannelOperationRestriction(spectrumSpec.getEtsiEnSimultaneousChannelOperationRestriction());
+    return compact;
+  }
+
+  /**
+   * Extract the piecewise constant segments of a schedule for each resolution
+   * bandwidth as packed {@code [lo, hi, dbm, lo, hi, dbm, ...]} arrays.
+   */
+  private static List<double[]> segments(SpectrumSchedule schedule, double[] resolutionBwHz) {
+    List<double[]> list = new ArrayList<>(resolutionBwHz.length);
+    for (double bandwidth : resolutionBwHz) {
+      List<double[]> spectra = new ArrayList<>();
+      for (Spectrum spectrum : schedule.getSpectra()) {
+        if (spectrum.getResolutionBwHz() != bandwidth) {
+          continue;
+        }
+        double[] packed = new double[0];
+        int size = 0;
+        for (SpectrumProfile profile : spectrum.getProfiles()) {
+          SpectrumProfile compact = profile.isCompact() ? profile : compactCopy(profile);
+          for (int i = 0; i + 1 < compact.size(); i++) {
+            if (compact.getHz(i + 1) > compact.getHz(i)) {
+              if (size + 3 > packed.length) {
+                packed = Arrays.copyOf(packed, Math.max(12, packed.length * 2));
+              }
+              packed[size++] = compact.getHz(i);
+              packed[size++] = compact.getHz(i + 1);
+              packed[size++] = Math.min(compact.getDbm(i), compact.getDbm(i + 1));
+            }
+          }
+        }
+        spectra.add(Arrays.copyOf(packed, size));
+      }
+      /**
+       * Several Spectrum elements of the same bandwidth are combined as one
+       * constraint set.
+       */
+      list.add(spectra.size() == 1 ? spectra.get(0) : Band.merge(spectra).packed());
+    }
+    return list;
+  }
+
+  /**
+   * Copy a point list profile to compact storage, leaving the source
+   * unchanged. The points are read in iteration order and stably sorted by
+   * frequency so both points of a step at a shared frequency are kept; they
+   * must not pass through {@code setList}, whose TreeSet keeps only one point
+   * per frequency.
+   */
+  private static SpectrumProfile compactCopy(SpectrumProfile profile) {
+    List<SpectrumProfilePoint> points = new ArrayList<>(profile.size());
+    for (SpectrumProfilePoint point : profile.getList()) {
+      if (point != null && point.getHz() != null && point.getDbm() != null
+          && Double.isFinite(point.getHz()) && Double.isFinite(point.getDbm())) {
+        points.add(point);
+      }
+    }
+    points.sort(null);
+    double[] hz = new double[points.size()];
+    double[] dbm = new double[points.size()];
+    for (int i = 0; i < hz.length; i++) {
+      hz[i] = points.get(i).getHz();
+      dbm[i] = points.get(i).getDbm();
+    }
+    return SpectrumProfile.getInstance(hz, dbm);
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Queries">
+  /**
+   * Get the resolution bandwidths of this envelope.
+   *
+   * @return the sorted resolution bandwidths in hertz
+   */
+  public double[] getResolutionBwHz() {
+    return resolutionBwHz.clone();
+  }
+
+  /**
+   * Get the number of normalized time slices.
+   *
+   * @return the number of time slices
+   */
+  public int size() {
+    return sliceStart.length;
+  }
+
+  /**
+   * Get the inclusive start of a time slice.
+   *
+   * @param slice the slice index
+   * @return the slice start time
+   */
+  public Instant getStartTime(int slice) {
+    return Instant.ofEpochMilli(sliceStart[slice]);
+  }
+
+  /**
+   * Get the exclusive end of a time slice.
+   *
+   * @param slice the slice index
+   * @return the slice stop time
+   */
+  public Instant getStopTime(int slice) {
+    return Instant.ofEpochMilli(sliceStop[slice]);
+  }
+
+  /**
+   * Get the maximum permissible power at a time and frequency.
+   *
+   * @param resolutionBwHz the resolution bandwidth in hertz
+   * @param time           the time
+   * @param hz             the frequency in hertz
+   * @return the power level in dBm per resolution bandwidth, or NaN if the
+   *         frequency is not available at that time
+   */
+  public double getDbm(double resolutionBwHz, Instant time, double hz) {
+    int r = Arrays.binarySearch(this.resolutionBwHz, resolutionBwHz);
+    int slice = slice(time.toEpochMilli());
+    return r < 0 || slice < 0 ? Double.NaN : bands[slice][r].dbmAt(hz);
+  }
+
+  /**
+   * Find the time slice containing a time.
+   *
+   * @return the slice index; -1 if none
+   */
+  private int slice(long time) {
+    int index = Arrays.binarySearch(sliceStart, time);
+    if (index < 0) {
+      index = -index - 2; // the last slice starting before the time
+    }
+    return index >= 0 && time < sliceStop[index] ? index : -1;
+  }//</editor-fold>
+
+  /**
+   * Convert this envelope to non-overlapping spectrum schedules, one per time
+   * slice, each with one Spectrum per resolution bandwidth. Every contiguous
+   * run of frequency segments becomes one compact SpectrumProfile.
+   *
+   * @return a new list of spectrum schedules
+   */
+  public List<SpectrumSchedule> toSpectrumSchedules() {
+    List<SpectrumSchedule> schedules = new ArrayList<>(sliceStart.length);
+    for (int s = 0; s < sliceStart.length; s++) {
+      EventTime eventTime = new EventTime();
+      eventTime.setStartTime(Instant.ofEpochMilli(sliceStart[s]).atZone(ZoneOffset.UTC));
+      eventTime.setStopTime(Instant.ofEpochMilli(sliceStop[s]).atZone(ZoneOffset.UTC));
+      SpectrumSchedule schedule = new SpectrumSchedule();
+      schedule.setEventTime(eventTime);
+      List<Spectrum> spectra = new ArrayList<>(resolutionBwHz.length);
+      for (int r = 0; r < resolutionBwHz.length; r++) {
+        Spectrum spectrum = new Spectrum();
+        spectrum.setResolutionBwHz(resolutionBwHz[r]);
+        spectrum.setProfiles(bands[s][r].toSpectrumProfiles());
+        spectra.add(spectrum);
+      }
+      schedule.setSpectra(spectra);
+      schedules.add(schedule);
+    }
+    return schedules;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("PowerEnvelope{");
+    for (int s = 0; s < sliceStart.length; s++) {
+      sb.append(s > 0 ? ", " : "").append(getStartTime(s)).append('/').append(getStopTime(s)).append('=').append(Arrays.toString(bands[s]));
+    }
+    return sb.append('}').toString();
+  }
+
+  /**
+   * The power levels of one resolution bandwidth over the elementary frequency
+   * intervals between the segment end points of all schedules, maintained as
+   * schedules enter and leave the time sweep.
+   */
+  private static final class FrequencySweep {
+
+    /**
+     * The sorted distinct segment end points.
+     */
+    private final double[] edges;
+    /**
+     * The multiset of active power levels of each elementary interval; null
+     * until first covered.
+     */
+    private final List<TreeMap<Double, Integer>> levels;
+    /**
+     * The lowest active power level of each elementary interval; NaN if none
+     * is active.
+     */
+    private final double[] min;
+    /**
+     * The band of the current levels; null if they have changed since it was
+     * built.
+     */
+    private Band band;
+
+    private FrequencySweep(List<List<double[]>> segments, int r) {
+      TreeSet<Double> hz = new TreeSet<>();
+      for (List<double[]> schedule : segments) {
+        double[] packed = schedule.get(r);
+        for (int i = 0; i < packed.length; i += 3) {
+          hz.add(packed[i]);
+          hz.add(packed[i + 1]);
+        }
+      }
+      edges = new double[hz.size()];
+      int k = 0;
+      for (Double edge : hz) {
+        edges[k++] = edge;
+      }
+      int intervals = Math.max(0, edges.length - 1);
+      levels = new ArrayList<>(Collections.nCopies(intervals, (TreeMap<Double, Integer>) null));
+      min = new double[intervals];
+      Arrays.fill(min, Double.NaN);
+    }
+
+    /**
+     * Add (delta 1) or remove (delta -1) the packed segments of a schedule.
+     */
+    private void update(double[] packed, int delta) {
+      for (int i = 0; i < packed.length; i += 3) {
+        Double level = packed[i + 2];
+        int to = Arrays.binarySearch(edges, packed[i + 1]);
+        for (int j = Arrays.binarySearch(edges, packed[i]); j < to; j++) {
+          TreeMap<Double, Integer> active = levels.get(j);
+          if (active == null) {
+            active = new TreeMap<>();
+            levels.set(j, active);
+          }
+          if (active.merge(level, delta, Integer::sum) == 0) {
+            active.remove(level);
+          }
+          min[j] = active.isEmpty() ? Double.NaN : active.firstKey();
+        }
+        band = null;
+      }
+    }
+
+    /**
+     * Get the band of the current levels, merging adjacent intervals with
+     * the same power.
+     */
+    private Band band() {
+      if (band == null) {
+        double[] lo = new double[min.length];
+        double[] hi = new double[min.length];
+        double[] dbm = new double[min.length];
+        int size = 0;
+        for (int j = 0; j < min.length; j++) {
+          if (Double.isNaN(min[j])) {
+            continue;
+          }
+          if (size > 0 && hi[size - 1] == edges[j] && dbm[size - 1] == min[j]) {
+            hi[size - 1] = edges[j + 1];
+          } else {
+            lo[size] = edges[j];
+            hi[size] = edges[j + 1];
+            dbm[size] = min[j];
+            size++;
+          }
+        }
+        band = new Band(Arrays.copyOf(lo, size), Arrays.copyOf(hi, size), Arrays.copyOf(dbm, size));
+      }
+      return band;
+    }
+  }
+
+  /**
+   * Sorted, disjoint frequency segments each with a constant power level.
+   */
+  private static final class Band {
+
+    private final double[] lo;
+    private final double[] hi;
+    private final double[] dbm;
+
+    private Band(double[] lo, double[] hi, double[] dbm) {
+      this.lo = lo;
+      this.hi = hi;
+      this.dbm = dbm;
+    }
+
+    /**
+     * Merge packed segment arrays: covered frequencies take the lowest power
+     * of the segments covering them.
+     */
+    private static Band merge(List<double[]> packed) {
+      int count = 0;
+      for (double[] segments : packed) {
+        count += segments.length / 3;
+      }
+      /**
+       * Sort the segment end points; an end sorts before a start at the same
+       * frequency so touching segments do not overlap.
+       */
+      double[] hz = new double[2 * count];
+      double[] power = new double[count];
+      int k = 0;
+      for (double[] segments : packed) {
+        for (int i = 0; i < segments.length; i += 3) {
+          hz[2 * k] = segments[i];
+          hz[2 * k + 1] = segments[i + 1];
+          power[k] = segments[i + 2];
+          k++;
+        }
+      }
+      Integer[] events = new Integer[2 * count];
+      for (int i = 0; i < events.length; i++) {
+        events[i] = i;
+      }
+      Arrays.sort(events, (a, b) -> {
+        int c = Double.compare(hz[a], hz[b]);
+        return c != 0 ? c : Integer.compare(b & 1, a & 1); // ends (odd) first
+      });
+      /**
+       * Sweep, keeping a multiset of the active power levels.
+       */
+      TreeMap<Double, Integer> active = new TreeMap<>();
+      double[] lo = new double[2 * count];
+      double[] hi = new double[2 * count];
+      double[] dbm = new double[2 * count];
+      int size = 0;
+      for (int i = 0; i < events.length; i++) {
+        int event = events[i];
+        Double level = power[event >> 1];
+        if ((event & 1) == 0) {
+          active.merge(level, 1, Integer::sum);
+        } else if (active.merge(level, -1, Integer::sum) == 0) {
+          active.remove(level);
+        }
+        if (i + 1 == events.length || active.isEmpty() || hz[events[i + 1]] == hz[event]) {
+          continue;
+        }
+        double from = hz[event];
+        double to = hz[events[i + 1]];
+        double min = active.firstKey();
+        if (size > 0 && hi[size - 1] == from && dbm[size - 1] == min) {
+          hi[size - 1] = to;
+        } else {
+          lo[size] = from;
+          hi[size] = to;
+          dbm[size] = min;
+          size++;
+        }
+      }
+      return new Band(Arrays.copyOf(lo, size), Arrays.copyOf(hi, size), Arrays.copyOf(dbm, size));
+    }
+
+    private int size() {
+      return lo.length;
+    }
+
+    private double[] packed() {
+      double[] packed = new double[3 * lo.length];
+      for (int i = 0; i < lo.length; i++) {
+        packed[3 * i] = lo[i];
+        packed[3 * i + 1] = hi[i];
+        packed[3 * i + 2] = dbm[i];
+      }
+      return packed;
+    }
+
+    private double dbmAt(double hz) {
+      int index = Arrays.binarySearch(lo, hz);
+      if (index < 0) {
+        index = -index - 2;
+      }
+      return index >= 0 && hz < hi[index] ? dbm[index] : Double.NaN;
+    }
+
+    private List<SpectrumProfile> toSpectrumProfiles() {
+      List<SpectrumProfile> profiles = new ArrayList<>();
+      int i = 0;
+      while (i < lo.length) {
+        int j = i + 1;
+        while (j < lo.length && lo[j] == hi[j - 1]) {
+          j++;
+        }
+        double[] hz = new double[2 * (j - i)];
+        double[] power = new double[hz.length];
+        for (int k = i; k < j; k++) {
+          hz[2 * (k - i)] = lo[k];
+          hz[2 * (k - i) + 1] = hi[k];
+          power[2 * (k - i)] = dbm[k];
+          power[2 * (k - i) + 1] = dbm[k];
+        }
+        profiles.add(SpectrumProfile.getInstance(hz, power));
+        i = j;
+      }
+      return profiles;
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(lo) ^ Arrays.hashCode(hi) ^ Arrays.hashCode(dbm);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof Band)) {
+        return false;
+      }
+      Band other = (Band) obj;
+      return Arrays.equals(lo, other.lo) && Arrays.equals(hi, other.hi) && Arrays.equals(dbm, other.dbm);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("[");
+      for (int i = 0; i < lo.length; i++) {
+        sb.append(i > 0 ? ", " : "").append(lo[i]).append('-').append(hi[i]).append(':').append(dbm[i]);
+      }
+      return sb.append(']').toString();
+    }
+  }
+
+}
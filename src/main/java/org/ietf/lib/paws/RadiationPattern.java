@@ -0,0 +1,213 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.util.Map;
+import java.util.TreeMap;
+import org.ietf.lib.paws.adapter.XmlRadiationPatternAdapter;
+
+/**
+ * Immutable antenna radiation pattern lookup table.
+ * <p>
+ * A radiation pattern is a set of [azimuth, relative gain] points, with the
+ * azimuth in degrees clockwise from true North and the gain in dB relative to
+ * the antenna maximum gain. The gain between points is linearly interpolated
+ * around the full circle, wrapping from the last point back to the first.
+ * <p>
+ * The interpolated pattern is sampled once into a {@code double[]} table at a
+ * fixed resolution (one degree by default) so that the gain toward any
+ * azimuth is an array lookup and a linear interpolation between two table
+ * entries. The lookup is exact at the table resolution: a pattern whose
+ * points fall on multiples of the resolution is reproduced without error.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public final class RadiationPattern {
+
+  /**
+   * The default table resolution in degrees.
+   */
+  public static final double DEFAULT_RESOLUTION = 1.0;
+
+  /**
+   * The relative gain at each table azimuth {@code i * step}.
+   */
+  private final double[] table;
+  /**
+   * The table step in degrees.
+   */
+  private final double step;
+  /**
+   * The table entries per degree, 1 / step.
+   */
+  private final double scale;
+
+  private RadiationPattern(double[] table) {
+    this.table = table;
+    this.step = 360.0 / table.length;
+    this.scale = table.length / 360.0;
+  }
+
+  /**
+   * Build a radiation pattern lookup table at the default one degree
+   * resolution.
+   *
+   * @param pattern the [azimuth, relative gain] points
+   * @return a radiation pattern
+   * @throws IllegalArgumentException if the pattern is empty
+   */
+  public static RadiationPattern getInstance(Map<Double, Double> pattern) {
+    return getInstance(pattern, DEFAULT_RESOLUTION);
+  }
+
+  /**
+   * Build a radiation pattern lookup table.
+   *
+   * @param pattern    the [azimuth, relative gain] points. Azimuths are taken
+   *                   modulo 360 degrees; null keys or values are ignored.
+   * @param resolution the table resolution in degrees. This is adjusted to
+   *                   divide the circle evenly.
+   * @return a radiation pattern
+   * @throws IllegalArgumentException if the pattern is empty or the resolution
+   *                                  is not in (0, 360]
+   */
+  public static RadiationPattern getInstance(Map<Double, Double> pattern, double resolution) {
+    if (!(resolution > 0 && resolution <= 360)) {
+      throw new IllegalArgumentException("Radiation pattern resolution must be in (0, 360] degrees.");
+    }
+    /**
+     * Normalize and sort the points. Where two keys are the same direction
+     * (e.g. 0 and 360) the first in key order is kept.
+     */
+    TreeMap<Double, Double> points = new TreeMap<>();
+    for (Map.Entry<Double, Double> entry : pattern.entrySet()) {
+      if (entry.getKey() != null && entry.getValue() != null && Double.isFinite(entry.getKey())) {
+        points.putIfAbsent(normalize(entry.getKey()), entry.getValue());
+      }
+    }
+    if (points.isEmpty()) {
+      throw new IllegalArgumentException("Radiation pattern must contain at least one point.");
+    }
+    int m = points.size();
+    double[] azimuth = new double[m];
+    double[] gain = new double[m];
+    int k = 0;
+    for (Map.Entry<Double, Double> entry : points.entrySet()) {
+      azimuth[k] = entry.getKey();
+      gain[k++] = entry.getValue();
+    }
+    /**
+     * Sample the interpolated pattern. The table angle increases monotonically
+     * so the enclosing points are found by a single forward sweep.
+     */
+    int n = Math.max(1, (int) Math.round(360.0 / resolution));
+    double[] table = new double[n];
+    int next = 0; // the first point at or after the table angle
+    for (int i = 0; i < n; i++) {
+      double angle = i * 360.0 / n;
+      while (next < m && azimuth[next] < angle) {
+        next++;
+      }
+      if (next < m && azimuth[next] == angle) {
+        table[i] = gain[next];
+        continue;
+      }
+      double fromAzimuth = next == 0 ? azimuth[m - 1] - 360 : azimuth[next - 1];
+      double fromGain = next == 0 ? gain[m - 1] : gain[next - 1];
+      double toAzimuth = next == m ? azimuth[0] + 360 : azimuth[next];
+      double toGain = next == m ? gain[0] : gain[next];
+      table[i] = toAzimuth == fromAzimuth
+                 ? fromGain
+                 : fromGain + (toGain - fromGain) * (angle - fromAzimuth) / (toAzimuth - fromAzimuth);
+    }
+    return new RadiationPattern(table);
+  }
+
+  /**
+   * Build a radiation pattern lookup table from its text encoding.
+   *
+   * @param text a text-encoded antenna PATTERN
+   * @return a radiation pattern; null if the text cannot be parsed or has no
+   *         points
+   */
+  public static RadiationPattern valueOf(String text) {
+    Map<Double, Double> pattern = XmlRadiationPatternAdapter.parse(text);
+    return pattern == null || pattern.isEmpty() ? null : getInstance(pattern);
+  }
+
+  /**
+   * Get the table resolution.
+   *
+   * @return the table step in degrees
+   */
+  public double getResolution() {
+    return step;
+  }
+
+  /**
+   * Get the relative gain toward an azimuth.
+   *
+   * @param azimuth the azimuth in degrees from true North; any finite value
+   * @return the relative gain in dB; NaN if the azimuth is not finite
+   */
+  public double gainAt(double azimuth) {
+    if (!Double.isFinite(azimuth)) {
+      return Double.NaN;
+    }
+    double position = normalize(azimuth) * scale;
+    int index = (int) position;
+    if (index >= table.length) {
+      index = table.length - 1; // rounding at the top of the circle
+    }
+    double fraction = position - index;
+    double from = table[index];
+    double to = table[index + 1 == table.length ? 0 : index + 1];
+    return fraction == 0 ? from : from + (to - from) * fraction;
+  }
+
+  /**
+   * Get the relative gain toward an azimuth of a rotated antenna.
+   *
+   * @param azimuth  the azimuth in degrees from true North
+   * @param rotation the offset in degrees azimuth from true North that the
+   *                 pattern is rotated
+   * @return the relative gain in dB; NaN if either value is not finite
+   */
+  public double gainAt(double azimuth, double rotation) {
+    return gainAt(azimuth - rotation);
+  }
+
+  /**
+   * Normalize an angle to [0, 360).
+   */
+  private static double normalize(double degrees) {
+    double angle = degrees % 360;
+    if (angle < 0) {
+      angle += 360;
+    }
+    return angle == 360 ? 0 : angle;
+  }
+
+  @Override
+  public String toString() {
+    return "RadiationPattern{" + "resolution=" + step + ", size=" + table.length + '}';
+  }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Immutable time index over a collection of spectrum schedules.
+ * <p>
+ * Each schedule is treated as the half-open time interval
+ * {@code [startTime, stopTime)} of its event time. The distinct start and stop
+ * times are held in a sorted {@code long[]} of epoch milliseconds; between two
+ * consecutive change points the set of active schedules is constant and is
+ * computed once when the index is built. A query is a binary search on the
+ * change points and returns a shared, unmodifiable list.
+ * <p>
+ * Use {@code activeAt} to find the schedules in effect at an instant and
+ * {@code nextTransitionAfter} to find when that answer next changes, so a
+ * device can schedule its next re-evaluation exactly instead of polling.
+ * <p>
+ * Schedules without an event time, start or stop time, or with an empty time
+ * range are not indexed. The index is a snapshot of the source collection.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public final class ScheduleTimeIndex {
+
+  /**
+   * The sorted distinct schedule start and stop times, in epoch milliseconds.
+   */
+  private final long[] transitions;
+  /**
+   * The schedules active from each change point until the next, in source
+   * order. The list at index i applies to {@code [transitions[i],
+   * transitions[i + 1])}; the last list is always empty.
+   */
+  private final List<List<SpectrumSchedule>> active;
+
+  /**
+   * Build a time index over a collection of spectrum schedules.
+   *
+   * @param schedules the spectrum schedules; null entries and entries without
+   *                  a complete event time are ignored
+   */
+  public ScheduleTimeIndex(Collection<SpectrumSchedule> schedules) {
+    List<SpectrumSchedule> list = new ArrayList<>(schedules == null ? 0 : schedules.size());
+    List<long[]> bounds = new ArrayList<>(list.size());
+    if (schedules != null) {
+      for (SpectrumSchedule schedule : schedules) {
+        EventTime eventTime = schedule == null ? null : schedule.getEventTime();
+        if (eventTime == null || eventTime.getStartInstant() == null || eventTime.getStopInstant() == null) {
+          continue;
+        }
+        long start = eventTime.getStartInstant().toEpochMilli();
+        long stop = eventTime.getStopInstant().toEpochMilli();
+        if (start < stop) {
+          list.add(schedule);
+          bounds.add(new long[]{start, stop});
+        }
+      }
+    }
+    long[] times = new long[2 * list.size()];
+    for (int i = 0; i < list.size(); i++) {
+      times[2 * i] = bounds.get(i)[0];
+      times[2 * i + 1] = bounds.get(i)[1];
+    }
+    Arrays.sort(times);
+    int size = 0;
+    for (int i = 0; i < times.length; i++) {
+      if (i == 0 || times[i] != times[i - 1]) {
+        times[size++] = times[i];
+      }
+    }
+    this.transitions = Arrays.copyOf(times, size);
+    /**
+     * Mark each schedule active over the change point range it spans. Adjacent
+     * ranges with the same schedules share one list instance.
+     */
+    List<List<SpectrumSchedule>> sets = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      sets.add(new ArrayList<>());
+    }
+    for (int i = 0; i < list.size(); i++) {
+      int from = Arrays.binarySearch(transitions, bounds.get(i)[0]);
+      int to = Arrays.binarySearch(transitions, bounds.get(i)[1]);
+      for (int j = from; j < to; j++) {
+        sets.get(j).add(list.get(i));
+      }
+    }
+    this.active = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      List<SpectrumSchedule> set = sets.get(i);
+      this.active.add(i > 0 && set.equals(sets.get(i - 1))
+                      ? this.active.get(i - 1)
+                      : set.isEmpty() ? Collections.<SpectrumSchedule>emptyList() : Collections.unmodifiableList(set));
+    }
+  }
+
+  /**
+   * Get the schedules in effect at an instant.
+   *
+   * @param instant the instant
+   * @return an unmodifiable, possibly empty list of the active schedules, in
+   *         source order
+   */
+  public List<SpectrumSchedule> activeAt(Instant instant) {
+    return activeAt(instant.toEpochMilli());
+  }
+
+  /**
+   * Get the schedules in effect at an instant.
+   *
+   * @param epochMilli the instant in epoch milliseconds
+   * @return an unmodifiable, possibly empty list of the active schedules, in
+   *         source order
+   */
+  public List<SpectrumSchedule> activeAt(long epochMilli) {
+    int index = floor(epochMilli);
+    return index < 0 ? Collections.<SpectrumSchedule>emptyList() : active.get(index);
+  }
+
+  /**
+   * Get the first change point strictly after an instant: the next time a
+   * schedule starts or stops.
+   *
+   * @param instant the instant
+   * @return the next change point; null if there are no further changes
+   */
+  public Instant nextTransitionAfter(Instant instant) {
+    int index = floor(instant.toEpochMilli()) + 1;
+    return index < transitions.length ? Instant.ofEpochMilli(transitions[index]) : null;
+  }
+
+  /**
+   * Get the number of change points.
+   *
+   * @return the number of distinct schedule start and stop times
+   */
+  public int size() {
+    return transitions.length;
+  }
+
+  /**
+   * Get a change point.
+   *
+   * @param index the change point index, in time order
+   * @return the change point
+   */
+  public Instant getTransition(int index) {
+    return Instant.ofEpochMilli(transitions[index]);
+  }
+
+  /**
+   * Iterate over the change points in time order.
+   *
+   * @return an iterator over the change points
+   */
+  public Iterator<Instant> transitions() {
+    return new Iterator<Instant>() {
+      private int index;
+
+      @Override
+      public boolean hasNext() {
+        return index < transitions.length;
+      }
+
+      @Override
+      public Instant next() {
+        if (index >= transitions.length) {
+          throw new NoSuchElementException();
+        }
+        return Instant.ofEpochMilli(transitions[index++]);
+      }
+    };
+  }
+
+  /**
+   * Find the last change point at or before a time.
+   *
+   * @return the change point index; -1 if the time precedes all change points
+   */
+  private int floor(long epochMilli) {
+    int index = Arrays.binarySearch(transitions, epochMilli);
+    return index >= 0 ? index : -index - 2;
+  }
+
+}
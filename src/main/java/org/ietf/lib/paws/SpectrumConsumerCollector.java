@@ -0,0 +1,304 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A bounded collection retaining only the K best spectrum consumers offered
+ * to it.
+ * <p>
+ * Consumers are held in a binary heap keyed on a primitive double (the
+ * distance, or the ERP), with the worst retained consumer at the root. Each
+ * {@code add} is O(log K) and a rejected consumer costs a single comparison, so
+ * streaming ten thousand services to show twenty never sorts or stores the
+ * other 9,980.
+ * <p>
+ * Iteration returns the retained consumers best first. A collector may be set
+ * directly as a SpectrumInfo service list; it is marshalled like any other
+ * collection. Removal is not supported.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public class SpectrumConsumerCollector extends AbstractCollection<SpectrumConsumer> {
+
+  /**
+   * The retention order.
+   */
+  public enum Order {
+    /**
+     * Nearest first. Equidistant consumers are ordered by authorization,
+     * consistent with {@link SpectrumConsumer#compareTo(SpectrumConsumer)}.
+     */
+    NEAREST,
+    /**
+     * Most limiting first: highest ERP first, then consumers without an ERP
+     * (receivers); ties are ordered nearest first, then by authorization.
+     */
+    MOST_LIMITING;
+  }
+
+  private final Order order;
+  private final int capacity;
+  /**
+   * Heap storage. Slot 0 holds the worst retained consumer.
+   */
+  private final SpectrumConsumer[] consumers;
+  /**
+   * Primary sort key per heap slot; lower is better.
+   */
+  private final double[] keys;
+  /**
+   * Secondary sort key per heap slot; lower is better.
+   */
+  private final double[] ties;
+  private int size;
+  /**
+   * The number of consumers offered, retained or not.
+   */
+  private long offered;
+  /**
+   * Retained consumers sorted best first. Cleared on modification.
+   */
+  private SpectrumConsumer[] sorted;
+
+  /**
+   * Build a collector.
+   *
+   * @param order    the retention order
+   * @param capacity the maximum number of consumers to retain
+   * @throws NullPointerException     if the order is null
+   * @throws IllegalArgumentException if the capacity is negative
+   */
+  public SpectrumConsumerCollector(Order order, int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Collector capacity must not be negative.");
+    }
+    this.order = Objects.requireNonNull(order, "Collector order is required.");
+    this.capacity = capacity;
+    this.consumers = new SpectrumConsumer[capacity];
+    this.keys = new double[capacity];
+    this.ties = new double[capacity];
+  }
+
+  /**
+   * Build a collector retaining the nearest consumers.
+   *
+   * @param capacity the maximum number of consumers to retain
+   * @return a new collector instance
+   */
+  public static SpectrumConsumerCollector nearest(int capacity) {
+    return new SpectrumConsumerCollector(Order.NEAREST, capacity);
+  }
+
+  /**
+   * Build a collector retaining the most limiting consumers.
+   *
+   * @param capacity the maximum number of consumers to retain
+   * @return a new collector instance
+   */
+  public static SpectrumConsumerCollector mostLimiting(int capacity) {
+    return new SpectrumConsumerCollector(Order.MOST_LIMITING, capacity);
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Getter">
+  public Order getOrder() {
+    return order;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Get the number of consumers offered to this collector, including those
+   * not retained.
+   *
+   * @return the offered count
+   */
+  public long getOfferedCount() {
+    return offered;
+  }//</editor-fold>
+
+  /**
+   * Offer a consumer. The consumer is retained if the collector is not full or
+   * if it is better than the worst retained consumer, which is then dropped.
+   *
+   * @param consumer the consumer; null values are ignored
+   * @return true if the consumer was retained
+   */
+  @Override
+  public boolean add(SpectrumConsumer consumer) {
+    if (consumer == null) {
+      return false;
+    }
+    offered++;
+    if (capacity == 0) {
+      return false;
+    }
+    double key = key(consumer);
+    double tie = tie(consumer);
+    if (size < capacity) {
+      sorted = null;
+      siftUp(size++, consumer, key, tie);
+      return true;
+    }
+    if (compare(key, tie, consumer, keys[0], ties[0], consumers[0]) >= 0) {
+      return false;
+    }
+    sorted = null;
+    siftDown(0, consumer, key, tie);
+    return true;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(consumers, 0, size, null);
+    size = 0;
+    offered = 0;
+    sorted = null;
+  }
+
+  /**
+   * Iterate the retained consumers, best first.
+   *
+   * @return a read-only iterator
+   */
+  @Override
+  public Iterator<SpectrumConsumer> iterator() {
+    final SpectrumConsumer[] snapshot = toSortedArray();
+    return new Iterator<SpectrumConsumer>() {
+      private int index;
+
+      @Override
+      public boolean hasNext() {
+        return index < snapshot.length;
+      }
+
+      @Override
+      public SpectrumConsumer next() {
+        if (index >= snapshot.length) {
+          throw new NoSuchElementException();
+        }
+        return snapshot[index++];
+      }
+    };
+  }
+
+  /**
+   * Sort the retained consumers, best first. The heap is sorted in a copy of
+   * the primitive keys so the heap itself is left intact.
+   */
+  private SpectrumConsumer[] toSortedArray() {
+    if (sorted == null) {
+      Integer[] index = new Integer[size];
+      for (int i = 0; i < size; i++) {
+        index[i] = i;
+      }
+      Arrays.sort(index, (a, b) -> compare(keys[a], ties[a], consumers[a], keys[b], ties[b], consumers[b]));
+      SpectrumConsumer[] array = new SpectrumConsumer[size];
+      for (int i = 0; i < size; i++) {
+        array[i] = consumers[index[i]];
+      }
+      sorted = array;
+    }
+    return sorted;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Heap">
+  private double key(SpectrumConsumer consumer) {
+    if (order == Order.NEAREST) {
+      return consumer.getDistance();
+    }
+    return consumer.getErp() == null ? Double.POSITIVE_INFINITY : -consumer.getErp();
+  }
+
+  private double tie(SpectrumConsumer consumer) {
+    return order == Order.NEAREST ? 0 : consumer.getDistance();
+  }
+
+  /**
+   * Compare two entries; a negative value indicates the first is better.
+   */
+  private static int compare(double key1, double tie1, SpectrumConsumer c1, double key2, double tie2, SpectrumConsumer c2) {
+    int c = Double.compare(key1, key2);
+    if (c == 0) {
+      c = Double.compare(tie1, tie2);
+    }
+    if (c == 0) {
+      String a1 = c1.getAuthorization();
+      String a2 = c2.getAuthorization();
+      c = a1 == null ? (a2 == null ? 0 : 1) : (a2 == null ? -1 : a1.compareTo(a2));
+    }
+    return c;
+  }
+
+  /**
+   * Insert at a leaf and move toward the root while worse than the parent.
+   */
+  private void siftUp(int index, SpectrumConsumer consumer, double key, double tie) {
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (compare(key, tie, consumer, keys[parent], ties[parent], consumers[parent]) <= 0) {
+        break;
+      }
+      set(index, consumers[parent], keys[parent], ties[parent]);
+      index = parent;
+    }
+    set(index, consumer, key, tie);
+  }
+
+  /**
+   * Replace a slot and move away from the root while better than the worst
+   * child.
+   */
+  private void siftDown(int index, SpectrumConsumer consumer, double key, double tie) {
+    int half = size >>> 1;
+    while (index < half) {
+      int child = 2 * index + 1;
+      int right = child + 1;
+      if (right < size && compare(keys[right], ties[right], consumers[right], keys[child], ties[child], consumers[child]) > 0) {
+        child = right;
+      }
+      if (compare(key, tie, consumer, keys[child], ties[child], consumers[child]) >= 0) {
+        break;
+      }
+      set(index, consumers[child], keys[child], ties[child]);
+      index = child;
+    }
+    set(index, consumer, key, tie);
+  }
+
+  private void set(int index, SpectrumConsumer consumer, double key, double tie) {
+    consumers[index] = consumer;
+    keys[index] = key;
+    ties[index] = tie;
+  }//</editor-fold>
+
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.util.*;
+
+/**
+ * Columnar (struct of arrays) storage for a list of spectrum consumers.
+ * <p>
+ * Azimuth, distance and ERP are held in primitive {@code double[]} columns (a
+ * missing ERP is NaN). The type and authorization columns are dictionary
+ * encoded: each row holds an {@code int} code into a per-column array of
+ * distinct strings. The UUID, which is unique per service, is held in a plain
+ * {@code String[]}. A table of N consumers therefore holds a handful of arrays
+ * instead of N objects and N boxed Double values.
+ * <p>
+ * The table is a List of SpectrumConsumer, so it may be set directly as a
+ * SpectrumInfo service list and is marshalled like any other list. Elements
+ * read through the List view are created on demand; they are copies and
+ * editing them does not change the table. Use the indexed column accessors to
+ * read or filter a table without allocation. Rows may be appended but not
+ * removed or replaced.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public class SpectrumConsumerTable extends AbstractList<SpectrumConsumer> implements RandomAccess {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private double[] azimuth;
+  private double[] distance;
+  private double[] erp;
+  private final Column type;
+  private final Column authorization;
+  private String[] uuid;
+  private int size;
+
+  /**
+   * Build an empty table.
+   */
+  public SpectrumConsumerTable() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Build an empty table with an initial row capacity.
+   *
+   * @param capacity the initial number of rows
+   */
+  public SpectrumConsumerTable(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Table capacity must not be negative.");
+    }
+    this.azimuth = new double[capacity];
+    this.distance = new double[capacity];
+    this.erp = new double[capacity];
+    this.type = new Column(capacity);
+    this.authorization = new Column(capacity);
+    this.uuid = new String[capacity];
+  }
+
+  /**
+   * Build a table from a collection of consumers. Null elements are skipped.
+   *
+   * @param consumers the consumers
+   * @return a new table with the consumers in iteration order
+   */
+  public static SpectrumConsumerTable of(Collection<SpectrumConsumer> consumers) {
+    SpectrumConsumerTable table = new SpectrumConsumerTable(consumers == null ? 0 : consumers.size());
+    if (consumers != null) {
+      table.addAll(consumers);
+    }
+    return table;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Column accessors">
+  public double getAzimuth(int index) {
+    return azimuth[checkIndex(index)];
+  }
+
+  public double getDistance(int index) {
+    return distance[checkIndex(index)];
+  }
+
+  /**
+   * Get the ERP of a row.
+   *
+   * @param index the row index
+   * @return the ERP (dBW), or NaN if not provided
+   */
+  public double getErp(int index) {
+    return erp[checkIndex(index)];
+  }
+
+  public String getType(int index) {
+    return type.get(checkIndex(index));
+  }
+
+  public String getAuthorization(int index) {
+    return authorization.get(checkIndex(index));
+  }
+
+  public String getUuid(int index) {
+    return uuid[checkIndex(index)];
+  }//</editor-fold>
+
+  /**
+   * Append a consumer. The consumer values are copied into the table.
+   *
+   * @param consumer the consumer; null values are ignored
+   * @return true if a row was added
+   */
+  @Override
+  public boolean add(SpectrumConsumer consumer) {
+    if (consumer == null) {
+      return false;
+    }
+    ensureCapacity();
+    azimuth[size] = consumer.getAzimuth();
+    distance[size] = consumer.getDistance();
+    erp[size] = consumer.getErp() == null ? Double.NaN : consumer.getErp();
+    type.add(size, consumer.getType());
+    authorization.add(size, consumer.getAuthorization());
+    uuid[size] = consumer.getUuid();
+    size++;
+    modCount++;
+    return true;
+  }
+
+  @Override
+  public SpectrumConsumer get(int index) {
+    checkIndex(index);
+    SpectrumConsumer consumer = new SpectrumConsumer();
+    consumer.setAzimuth(azimuth[index]);
+    consumer.setDistance(distance[index]);
+    consumer.setErp(Double.isNaN(erp[index]) ? null : erp[index]);
+    consumer.setType(type.get(index));
+    consumer.setAuthorization(authorization.get(index));
+    consumer.setUuid(uuid[index]);
+    return consumer;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Filter">
+  /**
+   * Select the rows within a distance.
+   *
+   * @param maximum the maximum distance (km), inclusive
+   * @return a new table
+   */
+  public SpectrumConsumerTable withinDistance(double maximum) {
+    SpectrumConsumerTable table = new SpectrumConsumerTable();
+    for (int i = 0; i < size; i++) {
+      if (distance[i] <= maximum) {
+        table.copyRow(this, i);
+      }
+    }
+    return table;
+  }
+
+  /**
+   * Select the rows of a service type. The type is compared by dictionary
+   * code, so each row costs one int comparison.
+   *
+   * @param serviceType the service type code; null selects rows without a
+   *                    type
+   * @return a new table; empty if no row has the type
+   */
+  public SpectrumConsumerTable ofType(String serviceType) {
+    SpectrumConsumerTable table = new SpectrumConsumerTable();
+    int code = type.codeOf(serviceType);
+    if (code < 0 && serviceType != null) {
+      return table;
+    }
+    for (int i = 0; i < size; i++) {
+      if (type.codes[i] == code) {
+        table.copyRow(this, i);
+      }
+    }
+    return table;
+  }
+
+  private void copyRow(SpectrumConsumerTable source, int index) {
+    ensureCapacity();
+    azimuth[size] = source.azimuth[index];
+    distance[size] = source.distance[index];
+    erp[size] = source.erp[index];
+    type.add(size, source.type.get(index));
+    authorization.add(size, source.authorization.get(index));
+    uuid[size] = source.uuid[index];
+    size++;
+    modCount++;
+  }//</editor-fold>
+
+  /**
+   * Grow the row arrays by half when full. Dictionary columns grow their own
+   * code arrays on add.
+   */
+  private void ensureCapacity() {
+    if (size == distance.length) {
+      int capacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+      azimuth = Arrays.copyOf(azimuth, capacity);
+      distance = Arrays.copyOf(distance, capacity);
+      erp = Arrays.copyOf(erp, capacity);
+      uuid = Arrays.copyOf(uuid, capacity);
+    }
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    return index;
+  }
+
+  /**
+   * A dictionary encoded string column. Code -1 encodes null.
+   */
+  private static final class Column {
+
+    private int[] codes;
+    private String[] values = new String[0];
+    private int count;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    private Column(int capacity) {
+      this.codes = new int[capacity];
+    }
+
+    private void add(int index, String value) {
+      if (index == codes.length) {
+        codes = Arrays.copyOf(codes, Math.max(DEFAULT_CAPACITY, index + (index >> 1)));
+      }
+      if (value == null) {
+        codes[index] = -1;
+        return;
+      }
+      Integer code = dictionary.get(value);
+      if (code == null) {
+        if (count == values.length) {
+          values = Arrays.copyOf(values, Math.max(DEFAULT_CAPACITY, count + (count >> 1)));
+        }
+        code = count++;
+        values[code] = value;
+        dictionary.put(value, code);
+      }
+      codes[index] = code;
+    }
+
+    private String get(int index) {
+      int code = codes[index];
+      return code < 0 ? null : values[code];
+    }
+
+    private int codeOf(String value) {
+      if (value == null) {
+        return -1;
+      }
+      Integer code = dictionary.get(value);
+      return code == null ? -1 : code;
+    }
+  }
+
+}
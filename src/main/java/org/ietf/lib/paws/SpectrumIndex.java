@@ -0,0 +1,285 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.util.*;
+
+/**
+ * Immutable interval index over a collection of spectrum entries.
+ * <p>
+ * Each entry is treated as the half-open frequency interval
+ * {@code [frequencyMin, frequencyMax)} in MHz. Entries are held in a sorted
+ * array, ordered by minimum then maximum frequency, and arranged as an
+ * implicit balanced search tree: the node for the index range {@code [lo, hi)}
+ * is the middle element and each node records the largest maximum frequency
+ * and the smallest maximum frequency in its range. Queries prune every subtree
+ * that cannot contain a match and run in O(log n + k) for k results.
+ * <p>
+ * Results are returned in frequency order. Entries without a minimum or
+ * maximum frequency are not indexed. The index is a snapshot: it does not see
+ * entries added to (or removed from) the source collection after it was built.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public final class SpectrumIndex {
+
+  /**
+   * The indexed entries, sorted by minimum then maximum frequency.
+   */
+  private final AbstractSpectrum[] entries;
+  /**
+   * The minimum frequency of each entry.
+   */
+  private final double[] mins;
+  /**
+   * The maximum frequency of each entry.
+   */
+  private final double[] maxs;
+  /**
+   * The largest maximum frequency in the subtree rooted at each node.
+   */
+  private final double[] subtreeMax;
+  /**
+   * The smallest maximum frequency in the subtree rooted at each node.
+   */
+  private final double[] subtreeMinMax;
+
+  /**
+   * Build an interval index over a spectrum collection.
+   *
+   * @param spectrum the spectrum entries; null entries and entries without a
+   *                 frequency range are ignored
+   */
+  public SpectrumIndex(Collection<? extends AbstractSpectrum> spectrum) {
+    List<AbstractSpectrum> list = new ArrayList<>(spectrum == null ? 0 : spectrum.size());
+    if (spectrum != null) {
+      for (AbstractSpectrum entry : spectrum) {
+        if (entry != null && entry.frequencyMin != null && entry.frequencyMax != null) {
+          list.add(entry);
+        }
+      }
+    }
+    list.sort(Comparator.comparingDouble((AbstractSpectrum s) -> s.frequencyMin).thenComparingDouble(s -> s.frequencyMax));
+    int size = list.size();
+    this.entries = list.toArray(new AbstractSpectrum[size]);
+    this.mins = new double[size];
+    this.maxs = new double[size];
+    for (int i = 0; i < size; i++) {
+      mins[i] = entries[i].frequencyMin;
+      maxs[i] = entries[i].frequencyMax;
+    }
+    this.subtreeMax = new double[size];
+    this.subtreeMinMax = new double[size];
+    augment(0, size);
+  }
+
+  /**
+   * Get the number of indexed entries.
+   *
+   * @return the number of indexed entries
+   */
+  public int size() {
+    return entries.length;
+  }
+
+  /**
+   * Find all entries overlapping the frequency range {@code [min, max)}.
+   *
+   * @param min the inclusive start frequency in MHz
+   * @param max the exclusive end frequency in MHz
+   * @return the overlapping entries in frequency order; never null
+   */
+  public List<AbstractSpectrum> overlapping(double min, double max) {
+    List<AbstractSpectrum> result = new ArrayList<>();
+    overlapping(0, entries.length, min, max, result);
+    return result;
+  }
+
+  /**
+   * Find all entries that lie entirely within a frequency range.
+   *
+   * @param range the frequency range
+   * @return the contained entries in frequency order; never null
+   */
+  public List<AbstractSpectrum> containedIn(FrequencyRange range) {
+    List<AbstractSpectrum> result = new ArrayList<>();
+    if (range != null && range.getStartMHz() != null && range.getStopMHz() != null) {
+      containedIn(0, entries.length, lowerBound(range.getStartMHz()), range.getStopMHz(), index -> result.add(entries[index]));
+    }
+    return result;
+  }
+
+  /**
+   * Find all entries that lie entirely within at least one of several
+   * frequency ranges; for example the {@code frequencyRanges} of a device's
+   * {@link DeviceCapabilities}. An entry inside several ranges is returned
+   * once.
+   *
+   * @param ranges the frequency ranges
+   * @return the contained entries in frequency order; never null
+   */
+  public List<AbstractSpectrum> containedIn(Collection<FrequencyRange> ranges) {
+    if (ranges == null || ranges.isEmpty()) {
+      return new ArrayList<>();
+    }
+    if (ranges.size() == 1) {
+      return containedIn(ranges.iterator().next());
+    }
+    BitSet matches = new BitSet(entries.length);
+    for (FrequencyRange range : ranges) {
+      if (range != null && range.getStartMHz() != null && range.getStopMHz() != null) {
+        containedIn(0, entries.length, lowerBound(range.getStartMHz()), range.getStopMHz(), matches::set);
+      }
+    }
+    List<AbstractSpectrum> result = new ArrayList<>(matches.cardinality());
+    for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+      result.add(entries[i]);
+    }
+    return result;
+  }
+
+  /**
+   * Find all entries containing a frequency; that is, all entries where
+   * {@code frequencyMin <= frequency < frequencyMax}.
+   *
+   * @param frequency the frequency in MHz
+   * @return the entries containing the frequency in frequency order; never
+   *         null
+   */
+  public List<AbstractSpectrum> at(double frequency) {
+    List<AbstractSpectrum> result = new ArrayList<>();
+    at(0, entries.length, frequency, result);
+    return result;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Implicit tree">
+  /**
+   * Record the subtree maximum frequency bounds for the node covering the
+   * index range [lo, hi).
+   */
+  private void augment(int lo, int hi) {
+    if (lo >= hi) {
+      return;
+    }
+    int mid = (lo + hi) >>> 1;
+    augment(lo, mid);
+    augment(mid + 1, hi);
+    double max = maxs[mid];
+    double minMax = maxs[mid];
+    if (lo < mid) {
+      max = Math.max(max, subtreeMax[(lo + mid) >>> 1]);
+      minMax = Math.min(minMax, subtreeMinMax[(lo + mid) >>> 1]);
+    }
+    if (mid + 1 < hi) {
+      max = Math.max(max, subtreeMax[(mid + 1 + hi) >>> 1]);
+      minMax = Math.min(minMax, subtreeMinMax[(mid + 1 + hi) >>> 1]);
+    }
+    subtreeMax[mid] = max;
+    subtreeMinMax[mid] = minMax;
+  }
+
+  /**
+   * Collect entries in [lo, hi) with frequencyMin &lt; max and frequencyMax
+   * &gt; min.
+   */
+  private void overlapping(int lo, int hi, double min, double max, List<AbstractSpectrum> result) {
+    if (lo >= hi) {
+      return;
+    }
+    int mid = (lo + hi) >>> 1;
+    if (subtreeMax[mid] <= min) {
+      return;
+    }
+    overlapping(lo, mid, min, max, result);
+    if (mins[mid] >= max) {
+      return;
+    }
+    if (maxs[mid] > min) {
+      result.add(entries[mid]);
+    }
+    overlapping(mid + 1, hi, min, max, result);
+  }
+
+  /**
+   * Collect entries in [lo, hi) with frequencyMin &lt;= frequency &lt;
+   * frequencyMax.
+   */
+  private void at(int lo, int hi, double frequency, List<AbstractSpectrum> result) {
+    if (lo >= hi) {
+      return;
+    }
+    int mid = (lo + hi) >>> 1;
+    if (subtreeMax[mid] <= frequency) {
+      return;
+    }
+    at(lo, mid, frequency, result);
+    if (mins[mid] > frequency) {
+      return;
+    }
+    if (maxs[mid] > frequency) {
+      result.add(entries[mid]);
+    }
+    at(mid + 1, hi, frequency, result);
+  }
+
+  /**
+   * Report entries in [lo, hi) at or after index {@code from} with
+   * frequencyMax &lt;= stop. Every entry at or after {@code from} starts at or
+   * after the range start.
+   */
+  private void containedIn(int lo, int hi, int from, double stop, IndexConsumer consumer) {
+    if (lo >= hi || hi <= from) {
+      return;
+    }
+    int mid = (lo + hi) >>> 1;
+    if (subtreeMinMax[mid] > stop || mins[lo] > stop) {
+      return;
+    }
+    containedIn(lo, mid, from, stop, consumer);
+    if (mid >= from && maxs[mid] <= stop) {
+      consumer.accept(mid);
+    }
+    containedIn(mid + 1, hi, from, stop, consumer);
+  }
+
+  /**
+   * Get the index of the first entry with a minimum frequency at or above the
+   * indicated frequency.
+   */
+  private int lowerBound(double frequency) {
+    int low = 0;
+    int high = entries.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (mins[mid] < frequency) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private interface IndexConsumer {
+
+    void accept(int index);
+  }//</editor-fold>
+
+}
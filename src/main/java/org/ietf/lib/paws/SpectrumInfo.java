@@ -18,6 +18,7 @@ import java.util.Collection;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
 import javax.xml.bind.annotation.XmlType;
 
 /**
@@ -36,6 +37,8 @@ import javax.xml.bind.annotation.XmlType;
  * @since v0.7.0 created 07/27/19 to support LPA channel detail inquiries
  * @since v0.13.0 rename from PawsInfo to SpectrumInfo
  * @since v0.20.0 rewrite 08/04/19 with SpectrumConsumer lists instead of UUID
+ * @since v0.23.0 optional bounded service lists 10/17/26
+ * @since v0.23.0 optional columnar service lists 10/17/26
  */
 @XmlType(name = "SpectrumInfo")
 @XmlRootElement(name = "SpectrumInfo")
@@ -79,6 +82,19 @@ public class SpectrumInfo extends AbstractSpectrum {
    */
   private Collection<String> messages;
 
+  /**
+   * The maximum number of services to retain per service list. When set, the
+   * service lists are bounded SpectrumConsumerCollector instances. Zero
+   * indicates unbounded lists.
+   */
+  @XmlTransient
+  private int servicesLimit;
+  /**
+   * The retention order for bounded service lists.
+   */
+  @XmlTransient
+  private SpectrumConsumerCollector.Order servicesOrder;
+
   /**
    * Make the empty constructor protected directing users to the
    * {@code getInstance} constructor.
@@ -139,7 +155,7 @@ public class SpectrumInfo extends AbstractSpectrum {
 
   public Collection<SpectrumConsumer> getServicesCo() {
     if (servicesCo == null) {
-      servicesCo = new ArrayList<>();
+      servicesCo = newServices();
     }
     return servicesCo;
   }
@@ -154,7 +170,7 @@ public class SpectrumInfo extends AbstractSpectrum {
 
   public Collection<SpectrumConsumer> getServicesAdj() {
     if (servicesAdj == null) {
-      servicesAdj = new ArrayList<>();
+      servicesAdj = newServices();
     }
     return servicesAdj;
   }
@@ -169,7 +185,7 @@ public class SpectrumInfo extends AbstractSpectrum {
 
   public Collection<SpectrumConsumer> getServicesTaboo() {
     if (servicesTaboo == null) {
-      servicesTaboo = new ArrayList<>();
+      servicesTaboo = newServices();
     }
     return servicesTaboo;
   }
@@ -184,7 +200,7 @@ public class SpectrumInfo extends AbstractSpectrum {
 
   public Collection<SpectrumConsumer> getServicesSecondAdjacent() {
     if (servicesSecondAdjacent == null) {
-      servicesSecondAdjacent = new ArrayList<>();
+      servicesSecondAdjacent = newServices();
     }
     return servicesSecondAdjacent;
   }
@@ -234,4 +250,114 @@ public class SpectrumInfo extends AbstractSpectrum {
     getMessages().add(message);
   }//</editor-fold>
 
+  //<editor-fold defaultstate="collapsed" desc="Bounded service lists">
+  /**
+   * Bound each service list to the best {@code limit} consumers in the given
+   * order. Existing entries are carried over; services added afterward are
+   * retained only if they rank within the limit. This avoids holding and
+   * sorting every co-channel and adjacent channel service when only the
+   * nearest (or most limiting) few are reported.
+   *
+   * @param order the retention order
+   * @param limit the maximum number of services per list; zero removes the
+   *              bound for lists created afterward
+   * @since v0.23.0 added 10/17/26
+   */
+  public void setServicesLimit(SpectrumConsumerCollector.Order order, int limit) {
+    if (limit < 0) {
+      throw new IllegalArgumentException("Services limit must not be negative.");
+    }
+    this.servicesOrder = order;
+    this.servicesLimit = limit;
+    if (limit > 0) {
+      servicesCo = bound(servicesCo);
+      servicesAdj = bound(servicesAdj);
+      servicesSecondAdjacent = bound(servicesSecondAdjacent);
+      servicesTaboo = bound(servicesTaboo);
+    }
+  }
+
+  /**
+   * Add a co-channel service. If the service lists are bounded the service is
+   * retained only if it ranks within the limit.
+   *
+   * @param consumer the service
+   * @since v0.23.0 added 10/17/26
+   */
+  public void addServiceCo(SpectrumConsumer consumer) {
+    getServicesCo().add(consumer);
+  }
+
+  /**
+   * Add an adjacent channel service.
+   *
+   * @param consumer the service
+   * @since v0.23.0 added 10/17/26
+   */
+  public void addServiceAdj(SpectrumConsumer consumer) {
+    getServicesAdj().add(consumer);
+  }
+
+  /**
+   * Add a second adjacent channel service.
+   *
+   * @param consumer the service
+   * @since v0.23.0 added 10/17/26
+   */
+  public void addServiceSecondAdjacent(SpectrumConsumer consumer) {
+    getServicesSecondAdjacent().add(consumer);
+  }
+
+  /**
+   * Add a taboo channel service.
+   *
+   * @param consumer the service
+   * @since v0.23.0 added 10/17/26
+   */
+  public void addServiceTaboo(SpectrumConsumer consumer) {
+    getServicesTaboo().add(consumer);
+  }
+
+  private Collection<SpectrumConsumer> newServices() {
+    return servicesLimit > 0
+           ? new SpectrumConsumerCollector(servicesOrder, servicesLimit)
+           : new ArrayList<>();
+  }
+
+  private Collection<SpectrumConsumer> bound(Collection<SpectrumConsumer> services) {
+    if (services == null) {
+      return null;
+    }
+    SpectrumConsumerCollector collector = new SpectrumConsumerCollector(servicesOrder, servicesLimit);
+    collector.addAll(services);
+    return collector;
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Compact storage">
+  /**
+   * Convert each service list to columnar SpectrumConsumerTable storage. The
+   * list order is kept. Lists that are already compact are left unchanged.
+   * <p>
+   * Developer note: a bounded list becomes an unbounded table; services added
+   * afterward are appended without ranking. Compact the lists once they are
+   * complete.
+   *
+   * @return this instance
+   * @since v0.23.0 added 10/17/26
+   */
+  public SpectrumInfo compactServices() {
+    servicesCo = compact(servicesCo);
+    servicesAdj = compact(servicesAdj);
+    servicesSecondAdjacent = compact(servicesSecondAdjacent);
+    servicesTaboo = compact(servicesTaboo);
+    return this;
+  }
+
+  private static Collection<SpectrumConsumer> compact(Collection<SpectrumConsumer> services) {
+    if (services == null || services instanceof SpectrumConsumerTable) {
+      return services;
+    }
+    return SpectrumConsumerTable.of(services);
+  }//</editor-fold>
+
 }
@@ -13,8 +13,7 @@
  */
 package org.ietf.lib.paws;
 
-import java.util.Collection;
-import java.util.TreeSet;
+import java.util.*;
 import javax.xml.bind.annotation.*;
 
 /**
@@ -54,15 +53,65 @@ import javax.xml.bind.annotation.*;
  * </pre>
  *
  * @author Key Bridge LLC
+ * @since v0.23.0 optional compact, array-backed storage 10/17/26
  */
 @XmlRootElement(name = "SpectrumProfile")
 @XmlType(name = "SpectrumProfile")
 @XmlAccessorType(XmlAccessType.FIELD)
 public class SpectrumProfile {
 
+  /**
+   * The profile points. This is either a sorted collection of
+   * SpectrumProfilePoint instances (the default) or, once the profile is
+   * compact, a read-only view over parallel primitive arrays. Both are
+   * marshalled identically.
+   */
   @XmlElement(required = true)
   private Collection<SpectrumProfilePoint> list;
 
+  /**
+   * Build a compact, array-backed spectrum profile. The arrays are copied.
+   * <p>
+   * A compact profile holds two {@code double[]} arrays instead of one
+   * SpectrumProfilePoint (and two boxed Double values) per point, supports
+   * binary search power lookup and has the same XML and JSON representation
+   * as a point list.
+   *
+   * @param hz  the frequencies in hertz, in non-decreasing order
+   * @param dbm the power levels in dBm per resolution bandwidth, one per
+   *            frequency
+   * @return a compact SpectrumProfile instance
+   * @throws IllegalArgumentException if the arrays differ in length, a value
+   *                                  is not finite or the frequencies are not
+   *                                  sorted
+   * @since v0.23.0 added 10/17/26
+   */
+  public static SpectrumProfile getInstance(double[] hz, double[] dbm) {
+    if (hz.length != dbm.length) {
+      throw new IllegalArgumentException("Spectrum profile frequency and power arrays must have the same length.");
+    }
+    for (int i = 0; i < hz.length; i++) {
+      if (!Double.isFinite(hz[i]) || !Double.isFinite(dbm[i])) {
+        throw new IllegalArgumentException("Spectrum profile point " + i + " is not finite.");
+      }
+      if (i > 0 && hz[i] < hz[i - 1]) {
+        throw new IllegalArgumentException("Spectrum profile frequencies must be in non-decreasing order.");
+      }
+    }
+    SpectrumProfile profile = new SpectrumProfile();
+    profile.list = new CompactList(hz.clone(), dbm.clone());
+    return profile;
+  }
+
+  /**
+   * Get the profile points.
+   * <p>
+   * Developer note: if this profile is compact the returned collection is a
+   * read-only view that creates point instances on demand. Use the indexed
+   * accessors to read a compact profile without allocation.
+   *
+   * @return the profile points, sorted by frequency
+   */
   public Collection<SpectrumProfilePoint> getList() {
     if (list == null) {
       list = new TreeSet<>(); // Use TreeSet to enforce sorting
@@ -70,8 +119,199 @@ public class SpectrumProfile {
     return list;
   }
 
+  /**
+   * Set the profile points. The points are copied and stably sorted by
+   * frequency, so both points of a step (two points at the same frequency)
+   * are kept in their given order, as when the profile is unmarshalled.
+   * <p>
+   * Developer note: as with an unmarshalled profile, points added afterwards
+   * through {@link #getList()} are appended without sorting.
+   *
+   * @param list the profile points
+   * @since v0.23.0 keep points sharing a frequency 10/17/26
+   */
   public void setList(Collection<SpectrumProfilePoint> list) {
-    this.list = list == null ? null : new TreeSet<>(this.list);
+    if (list == null) {
+      this.list = null;
+      return;
+    }
+    List<SpectrumProfilePoint> sorted = new ArrayList<>(list);
+    if (!(list instanceof SortedSet)) {
+      sorted.sort(null);
+    }
+    this.list = sorted;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Compact storage">
+  /**
+   * Convert this profile to compact, array-backed storage. Points missing a
+   * frequency or power value are dropped. Does nothing if the profile is
+   * already compact.
+   *
+   * @return this instance
+   * @since v0.23.0 added 10/17/26
+   */
+  public SpectrumProfile compact() {
+    if (!(list instanceof CompactList)) {
+      list = CompactList.of(list);
+    }
+    return this;
+  }
+
+  /**
+   * Indicator that this profile uses compact, array-backed storage.
+   *
+   * @return true if the profile is compact
+   * @since v0.23.0 added 10/17/26
+   */
+  public boolean isCompact() {
+    return list instanceof CompactList;
+  }
+
+  /**
+   * Get the number of points in this profile.
+   *
+   * @return the number of points
+   * @since v0.23.0 added 10/17/26
+   */
+  public int size() {
+    return list == null ? 0 : list.size();
+  }
+
+  /**
+   * Get the frequency of a point in a compact profile.
+   *
+   * @param index the point index
+   * @return the frequency in hertz
+   * @throws IllegalStateException if the profile is not compact
+   * @since v0.23.0 added 10/17/26
+   */
+  public double getHz(int index) {
+    return compactList().hz[checkIndex(index)];
+  }
+
+  /**
+   * Get the power level of a point in a compact profile.
+   *
+   * @param index the point index
+   * @return the power level in dBm per resolution bandwidth
+   * @throws IllegalStateException if the profile is not compact
+   * @since v0.23.0 added 10/17/26
+   */
+  public double getDbm(int index) {
+    return compactList().dbm[checkIndex(index)];
+  }
+
+  /**
+   * Get the maximum permissible power level at a frequency. The profile is a
+   * piecewise linear curve: the power is interpolated between the two
+   * enclosing points. At a step (two points sharing a frequency) the second
+   * point applies. The first frequency is inclusive and the last frequency is
+   * exclusive.
+   * <p>
+   * Lookup is a binary search on a compact profile. A point list is packed on
+   * every call; call {@link #compact()} first for repeated lookups.
+   *
+   * @param hz the frequency in hertz
+   * @return the power level in dBm per resolution bandwidth, or NaN if the
+   *         frequency is outside the profile
+   * @since v0.23.0 added 10/17/26
+   */
+  public double getDbmAt(double hz) {
+    CompactList compact = list instanceof CompactList ? (CompactList) list : CompactList.of(list);
+    return compact.dbmAt(hz);
+  }
+
+  private CompactList compactList() {
+    if (!(list instanceof CompactList)) {
+      throw new IllegalStateException("Spectrum profile is not compact.");
+    }
+    return (CompactList) list;
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= list.size()) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + list.size());
+    }
+    return index;
   }
 
+  /**
+   * Read-only point list backed by sorted parallel frequency and power arrays.
+   * Points are created on demand so JAXB and existing readers see the same
+   * SpectrumProfilePoint list as before.
+   */
+  private static final class CompactList extends AbstractList<SpectrumProfilePoint> implements RandomAccess {
+
+    private final double[] hz;
+    private final double[] dbm;
+
+    private CompactList(double[] hz, double[] dbm) {
+      this.hz = hz;
+      this.dbm = dbm;
+    }
+
+    /**
+     * Pack a point collection, sorting by frequency. The sort is stable, so
+     * step points keep their order.
+     */
+    private static CompactList of(Collection<SpectrumProfilePoint> points) {
+      if (points == null) {
+        return new CompactList(new double[0], new double[0]);
+      }
+      List<SpectrumProfilePoint> sorted = new ArrayList<>(points.size());
+      for (SpectrumProfilePoint point : points) {
+        if (point != null && point.getHz() != null && point.getDbm() != null) {
+          sorted.add(point);
+        }
+      }
+      if (!(points instanceof SortedSet)) {
+        sorted.sort(null);
+      }
+      double[] hz = new double[sorted.size()];
+      double[] dbm = new double[sorted.size()];
+      for (int i = 0; i < hz.length; i++) {
+        hz[i] = sorted.get(i).getHz();
+        dbm[i] = sorted.get(i).getDbm();
+      }
+      return new CompactList(hz, dbm);
+    }
+
+    private double dbmAt(double frequency) {
+      /**
+       * Find the last point at or below the frequency. The segment from that
+       * point to the next one encloses the frequency.
+       */
+      int low = 0;
+      int high = hz.length - 1;
+      int index = -1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        if (hz[mid] <= frequency) {
+          index = mid;
+          low = mid + 1;
+        } else {
+          high = mid - 1;
+        }
+      }
+      if (index < 0 || index == hz.length - 1) {
+        return Double.NaN;
+      }
+      return dbm[index] + (dbm[index + 1] - dbm[index]) * (frequency - hz[index]) / (hz[index + 1] - hz[index]);
+    }
+
+    @Override
+    public SpectrumProfilePoint get(int index) {
+      SpectrumProfilePoint point = new SpectrumProfilePoint();
+      point.setHz(hz[index]);
+      point.setDbm(dbm[index]);
+      return point;
+    }
+
+    @Override
+    public int size() {
+      return hz.length;
+    }
+  }//</editor-fold>
+
 }
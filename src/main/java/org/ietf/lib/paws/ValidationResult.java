@@ -0,0 +1,248 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.util.Arrays;
+import org.ietf.lib.paws.type.PawsErrorType;
+
+/**
+ * Reusable collector for message validation violations.
+ * <p>
+ * The {@code validate(ValidationResult)} methods record every violation they
+ * find here instead of throwing on the first one, so a malformed request is
+ * rejected without building an exception and its stack trace. Each violation
+ * carries a PAWS error type (typically {@code MISSING} or
+ * {@code INVALID_VALUE}), the dotted path of the offending parameter (e.g.
+ * {@code masterDeviceDesc.serialNumber}) and a human readable message.
+ * <p>
+ * Use {@link #toError()} to build the PAWS Error response body. Instances are
+ * not thread-safe but may be reused: call {@link #clear()} before validating
+ * the next message.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public final class ValidationResult {
+
+  /**
+   * The violation error types.
+   */
+  private PawsErrorType[] types = new PawsErrorType[4];
+  /**
+   * The violation parameter paths.
+   */
+  private String[] parameters = new String[4];
+  /**
+   * The violation messages.
+   */
+  private String[] messages = new String[4];
+  /**
+   * The number of recorded violations.
+   */
+  private int size;
+
+  /**
+   * The names of the enclosing parameters currently being validated.
+   */
+  private String[] scopes = new String[4];
+  /**
+   * The number of enclosing parameters.
+   */
+  private int depth;
+
+  /**
+   * Discard all recorded violations and enclosing parameters so this instance
+   * can be reused.
+   *
+   * @return this instance
+   */
+  public ValidationResult clear() {
+    Arrays.fill(parameters, 0, size, null);
+    Arrays.fill(messages, 0, size, null);
+    Arrays.fill(scopes, 0, depth, null);
+    size = 0;
+    depth = 0;
+    return this;
+  }
+
+  /**
+   * Indicator that no violations were recorded.
+   *
+   * @return true if valid
+   */
+  public boolean isValid() {
+    return size == 0;
+  }
+
+  /**
+   * Get the number of recorded violations.
+   *
+   * @return the number of violations
+   */
+  public int size() {
+    return size;
+  }
+
+  public PawsErrorType getType(int index) {
+    return types[checkIndex(index)];
+  }
+
+  public String getParameter(int index) {
+    return parameters[checkIndex(index)];
+  }
+
+  public String getMessage(int index) {
+    return messages[checkIndex(index)];
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Recording">
+  /**
+   * Begin validating a nested parameter. Violations recorded until the
+   * matching {@link #exit()} are qualified with the parameter name.
+   *
+   * @param parameter the nested parameter name
+   */
+  public void enter(String parameter) {
+    if (depth == scopes.length) {
+      scopes = Arrays.copyOf(scopes, depth * 2);
+    }
+    scopes[depth++] = parameter;
+  }
+
+  /**
+   * Finish validating a nested parameter.
+   */
+  public void exit() {
+    if (depth == 0) {
+      throw new IllegalStateException("No nested parameter to exit.");
+    }
+    scopes[--depth] = null;
+  }
+
+  /**
+   * Record a required parameter that is not present.
+   *
+   * @param parameter the parameter name
+   * @param message   the violation description
+   */
+  public void missing(String parameter, String message) {
+    add(PawsErrorType.MISSING, parameter, message);
+  }
+
+  /**
+   * Record a parameter with an invalid value.
+   *
+   * @param parameter the parameter name
+   * @param message   the violation description
+   */
+  public void invalid(String parameter, String message) {
+    add(PawsErrorType.INVALID_VALUE, parameter, message);
+  }
+
+  /**
+   * Record a violation.
+   *
+   * @param type      the PAWS error type
+   * @param parameter the parameter name
+   * @param message   the violation description
+   */
+  public void add(PawsErrorType type, String parameter, String message) {
+    if (size == types.length) {
+      types = Arrays.copyOf(types, size * 2);
+      parameters = Arrays.copyOf(parameters, size * 2);
+      messages = Arrays.copyOf(messages, size * 2);
+    }
+    types[size] = type;
+    parameters[size] = qualify(parameter, ".");
+    messages[size] = qualify(message, "::");
+    size++;
+  }
+
+  private String qualify(String name, String separator) {
+    if (depth == 0) {
+      return name;
+    }
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < depth; i++) {
+      sb.append(scopes[i]).append(separator);
+    }
+    return sb.append(name).toString();
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Reporting">
+  /**
+   * Get the error type of the first recorded violation.
+   *
+   * @return the error type; null if valid
+   */
+  public PawsErrorType getErrorType() {
+    return size == 0 ? null : types[0];
+  }
+
+  /**
+   * Build a PAWS Error describing the recorded violations. The error type is
+   * that of the first violation and the error data lists the parameters of
+   * every violation having that type, separated by a comma.
+   *
+   * @return a PAWS error; null if valid
+   */
+  public Error toError() {
+    if (size == 0) {
+      return null;
+    }
+    Error error = Error.getInstance(types[0]);
+    StringBuilder data = new StringBuilder();
+    for (int i = 0; i < size; i++) {
+      if (types[i] == types[0]) {
+        data.append(data.length() == 0 ? "" : ", ").append(parameters[i]);
+      }
+    }
+    error.setData(data.toString());
+    return error;
+  }
+
+  /**
+   * Throw an exception describing the first recorded violation. This supports
+   * the legacy {@code validate()} methods.
+   *
+   * @throws Exception if any violations were recorded
+   */
+  public void throwIfInvalid() throws Exception {
+    if (size > 0) {
+      throw new Exception(messages[0]);
+    }
+  }//</editor-fold>
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    return index;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("ValidationResult{");
+    for (int i = 0; i < size; i++) {
+      sb.append(i == 0 ? "" : ", ").append(types[i]).append(' ').append(messages[i]);
+    }
+    return sb.append('}').toString();
+  }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.adapter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-precision decimal rounding of double values without BigDecimal.
+ * <p>
+ * Produces results bit-identical to
+ * {@code new BigDecimal(v).setScale(scale, RoundingMode.HALF_UP).doubleValue()}
+ * for every finite input:
+ * <ol>
+ * <li>The scaled value {@code |v| * 10^scale} is computed exactly as the
+ * unevaluated sum of two doubles (Dekker's two-product).</li>
+ * <li>The exact sum is rounded HALF_UP (ties away from zero) to an integer
+ * {@code k} by an exact comparison against one half.</li>
+ * <li>The result {@code k / 10^scale} is a single correctly rounded IEEE
+ * division, which is also the double nearest to the decimal value, as
+ * returned by {@code BigDecimal.doubleValue()}.</li>
+ * </ol>
+ * Values whose scaled magnitude reaches 2^52 are delegated to BigDecimal.
+ * BigDecimal has no negative zero, so a value that rounds to zero is always
+ * returned as positive zero.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+final class DecimalRounding {
+
+  /**
+   * Exact powers of ten. Each has at most 26 significant bits so that its
+   * product with one half of a split double is exact.
+   */
+  private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9};
+  private static final long[] LONG_POWERS_OF_TEN = {
+    1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L,
+    10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L, 1000000000000000L,
+    10000000000000000L};
+  /**
+   * Veltkamp splitting constant 2^27 + 1.
+   */
+  private static final double SPLITTER = 134217729.0;
+  /**
+   * The scaled magnitude limit 2^52 of the fast path. Below this limit the
+   * rounding error of the scaled product is at most 1/4.
+   */
+  private static final double LIMIT = 4503599627370496.0;
+  /**
+   * The maximum number of significant digits written directly by
+   * {@link #append(StringBuilder, double, int)}. Distinct decimals of at most
+   * 15 digits always map to distinct doubles, so the digits are also the
+   * shortest representation printed by {@code Double.toString}.
+   */
+  private static final long MAX_DIGITS = 1000000000000000L;
+
+  private DecimalRounding() {
+  }
+
+  /**
+   * Round a value to the indicated number of decimal places using HALF_UP
+   * rounding.
+   *
+   * @param value the value
+   * @param scale the number of decimal places [0, 9]
+   * @return the rounded value, NaN if the value is NaN or infinite
+   */
+  static double round(double value, int scale) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      return Double.NaN;
+    }
+    double s = POWERS_OF_TEN[scale];
+    double magnitude = Math.abs(value);
+    double hi = magnitude * s;
+    if (hi < 0.25) {
+      return 0.0;
+    }
+    if (hi >= LIMIT) {
+      return new BigDecimal(value).setScale(scale, RoundingMode.HALF_UP).doubleValue();
+    }
+    long k = scaled(magnitude, s, hi);
+    double rounded = k / s;
+    return value < 0 && k != 0 ? -rounded : rounded;
+  }
+
+  /**
+   * Append the rounded value exactly as {@code String.valueOf(round(value,
+   * scale))} would print it, without creating intermediate objects.
+   *
+   * @param sb    the output buffer
+   * @param value the value
+   * @param scale the number of decimal places [0, 9]
+   * @return TRUE if a value was appended, FALSE if the value is NaN or
+   *         infinite and nothing was appended
+   */
+  static boolean append(StringBuilder sb, double value, int scale) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      return false;
+    }
+    double s = POWERS_OF_TEN[scale];
+    double magnitude = Math.abs(value);
+    double hi = magnitude * s;
+    if (hi < 0.25) {
+      sb.append("0.0");
+      return true;
+    }
+    if (hi >= LIMIT) {
+      sb.append(new BigDecimal(value).setScale(scale, RoundingMode.HALF_UP).doubleValue());
+      return true;
+    }
+    long k = scaled(magnitude, s, hi);
+    /**
+     * Double.toString uses plain notation in [1e-3, 1e7) and computerized
+     * scientific notation otherwise. Write plain values directly from the
+     * scaled digits; leave the others to the JDK.
+     */
+    if (k >= MAX_DIGITS || k < LONG_POWERS_OF_TEN[scale] / 1000 || k >= LONG_POWERS_OF_TEN[scale + 7] || k == 0) {
+      double rounded = k / s;
+      sb.append(value < 0 && k != 0 ? -rounded : rounded);
+      return true;
+    }
+    if (value < 0) {
+      sb.append('-');
+    }
+    long unit = LONG_POWERS_OF_TEN[scale];
+    sb.append(k / unit).append('.');
+    long fraction = k % unit;
+    if (fraction == 0) {
+      sb.append('0');
+      return true;
+    }
+    /**
+     * Write the fraction zero-padded to the scale, without trailing zeros.
+     */
+    int digits = scale;
+    while (fraction % 10 == 0) {
+      fraction /= 10;
+      digits--;
+    }
+    for (long p = LONG_POWERS_OF_TEN[digits - 1]; p > fraction; p /= 10) {
+      sb.append('0');
+    }
+    sb.append(fraction);
+    return true;
+  }
+
+  /**
+   * Compute {@code k = round_half_up(magnitude * s)}.
+   *
+   * @param magnitude a non-negative value
+   * @param s         the power of ten
+   * @param hi        the floating point product {@code magnitude * s}, which
+   *                  must be in [0.25, 2^52)
+   * @return the exactly rounded scaled integer
+   */
+  private static long scaled(double magnitude, double s, double hi) {
+    /**
+     * Dekker's two-product: the exact product is hi + lo. The power of ten
+     * has few significant bits and needs no split.
+     */
+    double c = SPLITTER * magnitude;
+    double high = c - (c - magnitude);
+    double low = magnitude - high;
+    double lo = (high * s - hi) + low * s;
+    /**
+     * hi < 2^52, so |lo| <= ulp(hi) / 2 <= 1/4. The fraction d = hi - floor(hi)
+     * is exact. If d < 1/4 the exact fraction d + lo is within (-1/4, 1/2) and
+     * rounds to floor(hi). Otherwise d - 1/2 is exact (Sterbenz) and the
+     * rounding direction is given by the sign of (d - 1/2) + lo.
+     */
+    double floor = Math.floor(hi);
+    double d = hi - floor;
+    long k = (long) floor;
+    if (d >= 0.25 && d - 0.5 >= -lo) {
+      k++;
+    }
+    return k;
+  }
+
+}
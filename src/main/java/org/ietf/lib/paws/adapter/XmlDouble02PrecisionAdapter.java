@@ -5,7 +5,6 @@
  */
 package org.ietf.lib.paws.adapter;
 
-import java.math.BigDecimal;
 import javax.xml.bind.annotation.adapters.XmlAdapter;
 
 /**
@@ -14,6 +13,7 @@ import javax.xml.bind.annotation.adapters.XmlAdapter;
  *
  * @author Key Bridge LLC
  * @since v1.3.3 added 07/25/16
+ * @since v0.23.0 round without BigDecimal 10/17/26
  */
 public class XmlDouble02PrecisionAdapter extends XmlAdapter<Double, Double> {
 
@@ -42,13 +42,37 @@ public class XmlDouble02PrecisionAdapter extends XmlAdapter<Double, Double> {
      * Intercept invalid double values, which may be produced by the abstract
      * properties parser.
      */
-    try {
-      if (v == null || v.isNaN()) {
-        return null;
-      }
-      return new BigDecimal(v).setScale(2, BigDecimal.ROUND_HALF_UP).doubleValue();
-    } catch (Exception e) {
+    if (v == null) {
       return null;
     }
+    double rounded = round(v);
+    return Double.isNaN(rounded) ? null : rounded;
+  }
+
+  /**
+   * Round a value to 2 decimal places using HALF_UP rounding. The result is
+   * bit-identical to
+   * {@code new BigDecimal(v).setScale(2, ROUND_HALF_UP).doubleValue()} but
+   * does not allocate.
+   *
+   * @param v the double value
+   * @return the rounded value, NaN if the value is NaN or infinite
+   */
+  public static double round(double v) {
+    return DecimalRounding.round(v, 2);
+  }
+
+  /**
+   * Append the rounded value to a buffer as it is printed by the XML binding
+   * (i.e. {@code String.valueOf(round(v))}) without creating intermediate
+   * objects.
+   *
+   * @param sb the output buffer
+   * @param v  the double value
+   * @return TRUE if a value was appended, FALSE if the value is NaN or
+   *         infinite and nothing was appended
+   */
+  public static boolean append(StringBuilder sb, double v) {
+    return DecimalRounding.append(sb, v, 2);
   }
 }
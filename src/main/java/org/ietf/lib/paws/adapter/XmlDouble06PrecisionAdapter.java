@@ -5,7 +5,6 @@
  */
 package org.ietf.lib.paws.adapter;
 
-import java.math.BigDecimal;
 import javax.xml.bind.annotation.adapters.XmlAdapter;
 
 /**
@@ -14,6 +13,7 @@ import javax.xml.bind.annotation.adapters.XmlAdapter;
  *
  * @author Key Bridge LLC
  * @since v1.3.3 added 07/25/16
+ * @since v0.23.0 round without BigDecimal 10/17/26
  */
 public class XmlDouble06PrecisionAdapter extends XmlAdapter<Double, Double> {
 
@@ -38,13 +38,37 @@ public class XmlDouble06PrecisionAdapter extends XmlAdapter<Double, Double> {
    */
   @Override
   public Double marshal(Double v) throws Exception {
-    try {
-      if (v == null || v.isNaN()) {
-        return null;
-      }
-      return new BigDecimal(v).setScale(6, BigDecimal.ROUND_HALF_UP).doubleValue();
-    } catch (Exception e) {
+    if (v == null) {
       return null;
     }
+    double rounded = round(v);
+    return Double.isNaN(rounded) ? null : rounded;
+  }
+
+  /**
+   * Round a value to 6 decimal places using HALF_UP rounding. The result is
+   * bit-identical to
+   * {@code new BigDecimal(v).setScale(6, ROUND_HALF_UP).doubleValue()} but
+   * does not allocate.
+   *
+   * @param v the double value
+   * @return the rounded value, NaN if the value is NaN or infinite
+   */
+  public static double round(double v) {
+    return DecimalRounding.round(v, 6);
+  }
+
+  /**
+   * Append the rounded value to a buffer as it is printed by the XML binding
+   * (i.e. {@code String.valueOf(round(v))}) without creating intermediate
+   * objects.
+   *
+   * @param sb the output buffer
+   * @param v  the double value
+   * @return TRUE if a value was appended, FALSE if the value is NaN or
+   *         infinite and nothing was appended
+   */
+  public static boolean append(StringBuilder sb, double v) {
+    return DecimalRounding.append(sb, v, 6);
   }
 }
@@ -14,30 +14,299 @@
  */
 package org.ietf.lib.paws.adapter;
 
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
 import org.locationtech.jts.io.WKTReader;
 import org.locationtech.jts.io.WKTWriter;
-import javax.xml.bind.annotation.adapters.XmlAdapter;
 
 /**
  * XmlAdapter implementation to marshal and unmarshal Geometry class types.
+ * <p>
+ * Nearly all geometries exchanged are {@code GeoLocation.point} values. These
+ * are formatted and parsed directly by a specialized POINT codec producing
+ * exactly the same text as the JTS 3D WKTWriter, which tags a point having a
+ * Z coordinate as {@code POINT Z(x y z)}. All other geometries (e.g.
+ * POLYGON regions), and any POINT the fast path cannot represent exactly, are
+ * handled by per-thread JTS WKTReader and WKTWriter instances.
  *
  * @author Jesse Caulfield
+ * @since v0.23.0 added 10/17/26 fast path for POINT geometries
  */
 public class XmlGeometryAdapter extends XmlAdapter<String, Geometry> {
 
+  /**
+   * The geometry factory used to create parsed POINT geometries. This is the
+   * same default (floating precision, SRID 0) factory used by the JTS
+   * WKTReader. GeometryFactory is immutable and thread-safe.
+   */
+  private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+  /**
+   * Exact powers of ten representable as a double.
+   */
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+    1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+  /**
+   * The maximum number of fraction digits written by the JTS WKTWriter for a
+   * floating precision model.
+   */
+  private static final int MAX_FRACTION_DIGITS = 16;
+
+  /**
+   * Per-thread JTS WKTReader. The reader is not thread-safe.
+   */
+  private static final ThreadLocal<WKTReader> WKT_READER = ThreadLocal.withInitial(() -> new WKTReader(GEOMETRY_FACTORY));
+  /**
+   * Per-thread JTS 3D WKTWriter. The writer is not thread-safe.
+   * <p>
+   * 09/01/2016 - Important. Must specify a 3D WKT Writer to output the
+   * Z-component of the geometry. "toString()" and the default WKTWriter are
+   * 2-dimensional and do not output the Z-component.
+   */
+  private static final ThreadLocal<WKTWriter> WKT_WRITER = ThreadLocal.withInitial(() -> new WKTWriter(3));
+  /**
+   * Per-thread text buffer used to format POINT geometries.
+   */
+  private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
   @Override
   public String marshal(Geometry v) throws Exception {
-    /**
-     * 09/01/2016 - Important. Must specify a 3D WKT Writer to output the
-     * Z-component of the geometry. "toString()" and the default WKTWriter are
-     * 2-dimensional and do not output the Z-component.
-     */
-    return v != null ? new WKTWriter(3).write(v) : null;
+    if (v == null) {
+      return null;
+    }
+    if (v instanceof Point) {
+      StringBuilder sb = BUFFER.get();
+      sb.setLength(0);
+      if (appendPoint(sb, (Point) v)) {
+        return sb.toString();
+      }
+    }
+    return WKT_WRITER.get().write(v);
   }
 
   @Override
   public Geometry unmarshal(String v) throws Exception {
-    return v != null && !v.isEmpty() ? new WKTReader().read(v) : null;
+    if (v == null || v.isEmpty()) {
+      return null;
+    }
+    Point point = parsePoint(v);
+    return point != null ? point : WKT_READER.get().read(v);
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="POINT formatter">
+  /**
+   * Append a POINT geometry in the JTS 3D WKTWriter format, e.g.
+   * {@code POINT (-77.0365 38.8977)} or, when the point has a Z coordinate,
+   * {@code POINT Z(-77.0365 38.8977 10)}.
+   *
+   * @param sb    the output buffer
+   * @param point the point
+   * @return TRUE if the point was written, FALSE if the point must be written
+   *         by the JTS WKTWriter
+   */
+  private static boolean appendPoint(StringBuilder sb, Point point) {
+    /**
+     * Fixed precision models are written with a reduced number of fraction
+     * digits. Leave those, and empty points, to JTS.
+     */
+    if (point.isEmpty() || point.getPrecisionModel().getType() != PrecisionModel.FLOATING) {
+      return false;
+    }
+    Coordinate coordinate = point.getCoordinate();
+    sb.append(Double.isNaN(coordinate.z) ? "POINT (" : "POINT Z(");
+    if (!appendOrdinate(sb, coordinate.x)) {
+      return false;
+    }
+    sb.append(' ');
+    if (!appendOrdinate(sb, coordinate.y)) {
+      return false;
+    }
+    if (!Double.isNaN(coordinate.z)) {
+      sb.append(' ');
+      if (!appendOrdinate(sb, coordinate.z)) {
+        return false;
+      }
+    }
+    sb.append(')');
+    return true;
   }
+
+  /**
+   * Append an ordinate value as formatted by the JTS WKTWriter decimal format
+   * {@code 0.################}.
+   * <p>
+   * The decimal format prints the shortest decimal representation of the
+   * value, rounded to 16 fraction digits, without trailing zeros. Within the
+   * plain (non-exponent) range of {@code Double.toString} that representation
+   * is exactly the {@code Double.toString} digits, and no rounding applies
+   * when there are at most 16 fraction digits. Values outside this range are
+   * rejected.
+   *
+   * @param sb    the output buffer
+   * @param value the ordinate value
+   * @return TRUE if the value was written
+   */
+  private static boolean appendOrdinate(StringBuilder sb, double value) {
+    double magnitude = Math.abs(value);
+    if (magnitude != 0 && !(magnitude >= 1e-3 && magnitude < 1e7)) {
+      return false;
+    }
+    int start = sb.length();
+    sb.append(value);
+    int point = sb.indexOf(".", start);
+    int length = sb.length();
+    if (length - point - 1 > MAX_FRACTION_DIGITS) {
+      return false;
+    }
+    if (length - point == 2 && sb.charAt(point + 1) == '0') {
+      sb.setLength(point);
+    }
+    return true;
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="POINT parser">
+  /**
+   * Parse a POINT geometry of the form {@code POINT (x y)},
+   * {@code POINT (x y z)} or {@code POINT Z (x y z)}. The tag is not case
+   * sensitive.
+   *
+   * @param text the WKT text
+   * @return the point, or null if the text is not a simple POINT and must be
+   *         parsed by the JTS WKTReader
+   */
+  private static Point parsePoint(String text) {
+    int length = text.length();
+    int i = skipWhitespace(text, 0);
+    if (!text.regionMatches(true, i, "POINT", 0, 5)) {
+      return null;
+    }
+    i = skipWhitespace(text, i + 5);
+    boolean z = false;
+    if (i < length && (text.charAt(i) == 'Z' || text.charAt(i) == 'z')) {
+      z = true;
+      i = skipWhitespace(text, i + 1);
+    }
+    if (i >= length || text.charAt(i) != '(') {
+      return null;
+    }
+    double[] ordinates = new double[3];
+    int count = 0;
+    i = skipWhitespace(text, i + 1);
+    while (i < length && text.charAt(i) != ')') {
+      if (count == 3) {
+        return null;
+      }
+      int end = scanNumber(text, i);
+      if (end == i) {
+        return null;
+      }
+      ordinates[count++] = parseNumber(text, i, end);
+      i = skipWhitespace(text, end);
+      if (i == end && i < length && text.charAt(i) != ')') {
+        return null;
+      }
+    }
+    if (i >= length || skipWhitespace(text, i + 1) != length || count < 2 || (z && count != 3)) {
+      return null;
+    }
+    return GEOMETRY_FACTORY.createPoint(count == 3
+                                        ? new Coordinate(ordinates[0], ordinates[1], ordinates[2])
+                                        : new Coordinate(ordinates[0], ordinates[1]));
+  }
+
+  /**
+   * Scan a decimal number {@code [+-]digits[.digits][(e|E)[+-]digits]}.
+   *
+   * @return the end (exclusive) of the number, or start if not a number
+   */
+  private static int scanNumber(String text, int start) {
+    int length = text.length();
+    int i = start;
+    if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+      i++;
+    }
+    int digits = i;
+    while (i < length && isDigit(text.charAt(i))) {
+      i++;
+    }
+    if (i < length && text.charAt(i) == '.') {
+      i++;
+      while (i < length && isDigit(text.charAt(i))) {
+        i++;
+      }
+    }
+    if (i == digits || (i == digits + 1 && text.charAt(digits) == '.')) {
+      return start;
+    }
+    if (i < length && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+      int exponent = i + 1;
+      if (exponent < length && (text.charAt(exponent) == '-' || text.charAt(exponent) == '+')) {
+        exponent++;
+      }
+      int end = exponent;
+      while (end < length && isDigit(text.charAt(end))) {
+        end++;
+      }
+      if (end == exponent) {
+        return start;
+      }
+      i = end;
+    }
+    return i;
+  }
+
+  /**
+   * Parse a scanned decimal number. Numbers of at most 15 significant digits
+   * without an exponent are converted exactly by a single correctly rounded
+   * division by a power of ten; all others are delegated to
+   * {@code Double.parseDouble}.
+   */
+  private static double parseNumber(String text, int start, int end) {
+    int i = start;
+    char sign = text.charAt(i);
+    if (sign == '-' || sign == '+') {
+      i++;
+    }
+    long mantissa = 0;
+    int digits = 0;
+    int scale = 0;
+    boolean fraction = false;
+    for (; i < end; i++) {
+      char c = text.charAt(i);
+      if (c == '.') {
+        fraction = true;
+        continue;
+      }
+      if (!isDigit(c) || digits == 15) {
+        return Double.parseDouble(text.substring(start, end));
+      }
+      if (mantissa != 0 || c != '0') {
+        digits++;
+      }
+      mantissa = mantissa * 10 + (c - '0');
+      if (fraction) {
+        scale++;
+      }
+    }
+    if (scale > 22) {
+      return Double.parseDouble(text.substring(start, end));
+    }
+    double value = mantissa / POWERS_OF_TEN[scale];
+    return sign == '-' ? -value : value;
+  }
+
+  private static int skipWhitespace(String text, int i) {
+    while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }//</editor-fold>
 }
@@ -13,6 +13,8 @@
  */
 package org.ietf.lib.paws.adapter;
 
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -25,13 +27,41 @@ import org.locationtech.jts.io.WKTReader;
 /**
  * XmlAdapter implementation to marshal and unmarshal MAP instances of DOUBLE
  * value pairs to and from a "PATTERN" labeled WKT-encoded MULTIPOINT.
+ * <p>
+ * The PATTERN text is read and written directly, producing the same values
+ * and text as the JTS WKTReader and WKTWriter. Text that is not in the plain
+ * {@code PATTERN ((x y), (x y))} or {@code PATTERN (x y, x y)} form is handed
+ * to the JTS WKTReader.
  *
  * @author Key Bridge LLC
  * @since 7.5.0 - created 11/28/15
+ * @since v0.23.0 read and write PATTERN text without JTS 10/17/26
  */
 @XmlTransient
 public class XmlRadiationPatternAdapter extends XmlAdapter<String, Map<Double, Double>> {
 
+  /**
+   * The WKT label.
+   */
+  private static final String PATTERN = "PATTERN";
+  /**
+   * Number formatter equivalent to the JTS WKTWriter formatter for a fixed
+   * precision model of scale 1000: at most four decimal places. Used for
+   * values the direct formatter does not handle. DecimalFormat is not thread
+   * safe.
+   */
+  private static final ThreadLocal<DecimalFormat> FORMATTER = ThreadLocal.withInitial(() -> {
+    DecimalFormatSymbols symbols = new DecimalFormatSymbols();
+    symbols.setDecimalSeparator('.');
+    return new DecimalFormat("0.####", symbols);
+  });
+  /**
+   * The largest magnitude formatted directly. Below 2^33 a double has more
+   * than four exact decimal places, so a value that round trips through four
+   * decimal places prints as those decimals.
+   */
+  private static final double DIRECT_LIMIT = 8589934592.0;
+
   /**
    * Unmarshal a text-encoded antenna PATTERN into an antenna Map of Double
    * values [radial, gain].
@@ -41,8 +71,34 @@ public class XmlRadiationPatternAdapter extends XmlAdapter<String, Map<Double, D
    */
   @Override
   public Map<Double, Double> unmarshal(String v) {
+    return parse(v);
+  }
+
+  /**
+   * Marshal a Map of Double pairs into a JTS MULTIPOINT geometry WKT.
+   *
+   * @param v the antenna pattern
+   * @return a text-encoded MULTIPOINT geometry
+   */
+  @Override
+  public String marshal(Map<Double, Double> v) {
+    return format(v);
+  }
+
+  /**
+   * Parse a text-encoded antenna PATTERN into a sorted Map of Double values
+   * [radial, gain].
+   *
+   * @param v a text-encoded MULTIPOINT geometry
+   * @return a sorted Map of Double pairs; null if the text cannot be parsed
+   */
+  public static TreeMap<Double, Double> parse(String v) {
+    TreeMap<Double, Double> treeMap = new TreeMap<>();
+    if (parseDirect(v, treeMap)) {
+      return treeMap;
+    }
     try {
-      TreeMap<Double, Double> treeMap = new TreeMap<>();
+      treeMap.clear();
       Geometry geometry = new WKTReader().read(v.replace("PATTERN", "MULTIPOINT"));
       if (geometry instanceof MultiPoint) {
         for (Coordinate coordinate : geometry.getCoordinates()) {
@@ -56,41 +112,142 @@ public class XmlRadiationPatternAdapter extends XmlAdapter<String, Map<Double, D
   }
 
   /**
-   * Marshal a Map of Double pairs into a JTS MULTIPOINT geometry WKT.
+   * Format a Map of Double pairs as a text-encoded antenna PATTERN. Entries
+   * are written in key order with at most four decimal places, for example
+   * {@code PATTERN ((0 -1.5), (10 -2.25))}.
    *
    * @param v the antenna pattern
    * @return a text-encoded MULTIPOINT geometry
    */
-  @Override
-  public String marshal(Map<Double, Double> v) {
+  public static String format(Map<Double, Double> v) {
     /**
      * If the provided map is not sorted, enforce the natural ordering of keys.
      */
     if (!(v instanceof SortedMap)) {
       v = new TreeMap<>(v);
     }
-    /**
-     * Encode the key/value [radial, gain] pairs as Coordinates [x, y], place
-     * the Coordinates into an array.
-     */
-    Coordinate[] coordinates = new Coordinate[v.size()];
-    int idx = 0;
+    if (v.isEmpty()) {
+      return "PATTERN EMPTY";
+    }
+    StringBuilder sb = new StringBuilder(16 + 16 * v.size()).append("PATTERN (");
+    boolean first = true;
     for (Map.Entry<Double, Double> entry : v.entrySet()) {
-      coordinates[idx++] = new Coordinate(entry.getKey(), entry.getValue());
+      if (!first) {
+        sb.append(", ");
+      }
+      first = false;
+      sb.append('(');
+      appendNumber(sb, entry.getKey());
+      sb.append(' ');
+      appendNumber(sb, entry.getValue());
+      sb.append(')');
     }
-    /**
-     * Convert the array of Coordinates [radial, gain] into a JTS MULTIPOINT
-     * geometry. Applying the Precision Model will trim the numbers (key and
-     * value) to 4 decimal places. (Scale of 10^3 = 10000, where scale is the
-     * amount by which to multiply a coordinate after subtracting the offset, to
-     * obtain a precise coordinate).
-     * <p>
-     * Finally convert the MULTIPOINT to an antenna PATTERN (to avoid any
-     * possible confusion).
-     */
-    return new GeometryFactory(new PrecisionModel(Math.pow(10, 3)))
-      .createMultiPointFromCoords(coordinates)
-      .toText()
-      .replace("MULTIPOINT", "PATTERN");
+    return sb.append(')').toString();
+  }
+
+  /**
+   * Parse the plain PATTERN forms: {@code PATTERN EMPTY},
+   * {@code PATTERN ((x y), ...)} and {@code PATTERN (x y, ...)}, with an
+   * optional third ordinate that is ignored.
+   *
+   * @return true if the text was parsed; false if it is in another form
+   */
+  private static boolean parseDirect(String v, Map<Double, Double> map) {
+    int length = v.length();
+    int i = skipSpace(v, 0);
+    if (!v.startsWith(PATTERN, i)) {
+      return false;
+    }
+    i = skipSpace(v, i + PATTERN.length());
+    if (v.startsWith("EMPTY", i)) {
+      return skipSpace(v, i + 5) == length;
+    }
+    if (i >= length || v.charAt(i++) != '(') {
+      return false;
+    }
+    double[] ordinates = new double[3];
+    while (true) {
+      i = skipSpace(v, i);
+      boolean nested = i < length && v.charAt(i) == '(';
+      if (nested) {
+        i++;
+      }
+      int count = 0;
+      while (true) {
+        i = skipSpace(v, i);
+        int start = i;
+        while (i < length && "+-.0123456789eE".indexOf(v.charAt(i)) >= 0) {
+          i++;
+        }
+        if (i == start || count == 3) {
+          break;
+        }
+        try {
+          ordinates[count++] = Double.parseDouble(v.substring(start, i));
+        } catch (NumberFormatException exception) {
+          return false;
+        }
+      }
+      if (count < 2) {
+        return false;
+      }
+      if (nested) {
+        if (i >= length || v.charAt(i++) != ')') {
+          return false;
+        }
+        i = skipSpace(v, i);
+      }
+      map.put(ordinates[0], ordinates[1]);
+      if (i < length && v.charAt(i) == ',') {
+        i++;
+      } else if (i < length && v.charAt(i) == ')') {
+        return skipSpace(v, i + 1) == length;
+      } else {
+        return false;
+      }
+    }
+  }
+
+  private static int skipSpace(String v, int i) {
+    while (i < v.length() && Character.isWhitespace(v.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Append a number with at most four decimal places, trailing zeros removed,
+   * rounding half even.
+   */
+  private static void appendNumber(StringBuilder sb, double value) {
+    if (Math.abs(value) < DIRECT_LIMIT) {
+      /**
+       * The value has at most four decimal places if it equals its scaled and
+       * rounded representation; print those digits directly.
+       */
+      long scaled = (long) Math.rint(value * 10000);
+      if (scaled / 10000.0 == value) {
+        if (value < 0 || (value == 0 && 1 / value < 0)) {
+          sb.append('-');
+          scaled = -scaled;
+        }
+        sb.append(scaled / 10000);
+        long fraction = scaled % 10000;
+        if (fraction != 0) {
+          int digits = 4;
+          while (fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+          }
+          sb.append('.');
+          for (long p = (long) Math.pow(10, digits - 1); p > fraction && p > 1; p /= 10) {
+            sb.append('0');
+          }
+          sb.append(fraction);
+        }
+        return;
+      }
+    }
+    sb.append(FORMATTER.get().format(value));
   }
 }
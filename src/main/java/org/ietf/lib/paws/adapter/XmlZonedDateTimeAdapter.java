@@ -6,7 +6,7 @@
 package org.ietf.lib.paws.adapter;
 
 import java.text.ParseException;
-import java.time.ZonedDateTime;
+import java.time.*;
 import java.time.format.DateTimeFormatter;
 import javax.xml.bind.annotation.adapters.XmlAdapter;
 
@@ -14,6 +14,12 @@ import javax.xml.bind.annotation.adapters.XmlAdapter;
  * Java XML adapter to translate between a standard java.time.ZonedDateTime
  * instance and the ISO 8601 Date format. The ISO instant formatter that formats
  * or parses an instant in UTC, such as '2011-12-03T10:15:30Z'.
+ * <p>
+ * UTC values, such as '2011-12-03T10:15:30.123Z' or
+ * '2011-12-03T10:15:30Z[UTC]', are formatted and parsed directly to and from
+ * characters; values in other zones use the ISO_ZONED_DATE_TIME formatter. Both
+ * paths produce identical text. The date and time text of the most recently
+ * formatted second is cached, since consecutive timestamps usually share it.
  *
  * @see
  * <a href="http://docs.oracle.com/javase/7/docs/api/java/text/DateFormat.html">DateFormat</a>
@@ -22,6 +28,7 @@ import javax.xml.bind.annotation.adapters.XmlAdapter;
  * @author Key Bridge LLC
  * @since v1.1.1 added 10/22/15
  * @since v2.0.3 change format from ISO_ZONED_DATE_TIME to ISO_INSTANT
+ * @since v0.23.0 format and parse UTC values without DateTimeFormatter 10/17/26
  */
 public class XmlZonedDateTimeAdapter extends XmlAdapter<String, ZonedDateTime> {
 
@@ -32,13 +39,27 @@ public class XmlZonedDateTimeAdapter extends XmlAdapter<String, ZonedDateTime> {
    * format.
    */
   private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ISO_ZONED_DATE_TIME;
+  /**
+   * The "UTC" region zone, printed as "Z[UTC]".
+   */
+  private static final ZoneId UTC_REGION = ZoneId.of("UTC");
+  /**
+   * The length of the "yyyy-MM-ddTHH:mm:ss" date and time text.
+   */
+  private static final int SECOND_LENGTH = 19;
+
+  /**
+   * The most recently formatted second. Replaced, never modified, so it may be
+   * read without locking.
+   */
+  private static volatile CachedSecond cachedSecond = new CachedSecond(Long.MIN_VALUE, null);
 
   /**
    * {@inheritDoc}
    */
   @Override
   public ZonedDateTime unmarshal(String v) throws ParseException {
-    return v != null ? ZonedDateTime.parse(v, DATETIME_FORMATTER) : null;
+    return v != null ? parse(v) : null;
   }
 
   /**
@@ -48,6 +69,175 @@ public class XmlZonedDateTimeAdapter extends XmlAdapter<String, ZonedDateTime> {
    */
   @Override
   public String marshal(ZonedDateTime v) {
-    return v != null ? v.format(DATETIME_FORMATTER) : null;
+    return v != null ? format(v) : null;
+  }
+
+  /**
+   * Format a date-time as {@code ISO_ZONED_DATE_TIME} does.
+   *
+   * @param value the date-time
+   * @return the date-time text
+   */
+  public static String format(ZonedDateTime value) {
+    ZoneId zone = value.getZone();
+    int year = value.getYear();
+    if ((zone != ZoneOffset.UTC && !UTC_REGION.equals(zone)) || year < 0 || year > 9999) {
+      return value.format(DATETIME_FORMATTER);
+    }
+    long epochSecond = value.toEpochSecond();
+    CachedSecond cached = cachedSecond;
+    String second;
+    if (cached.epochSecond == epochSecond) {
+      second = cached.text;
+    } else {
+      char[] chars = new char[SECOND_LENGTH];
+      digits(chars, 0, year, 4);
+      chars[4] = '-';
+      digits(chars, 5, value.getMonthValue(), 2);
+      chars[7] = '-';
+      digits(chars, 8, value.getDayOfMonth(), 2);
+      chars[10] = 'T';
+      digits(chars, 11, value.getHour(), 2);
+      chars[13] = ':';
+      digits(chars, 14, value.getMinute(), 2);
+      chars[16] = ':';
+      digits(chars, 17, value.getSecond(), 2);
+      second = new String(chars);
+      cachedSecond = new CachedSecond(epochSecond, second);
+    }
+    int nano = value.getNano();
+    boolean region = zone != ZoneOffset.UTC;
+    if (nano == 0 && !region) {
+      return second.concat("Z");
+    }
+    StringBuilder sb = new StringBuilder(SECOND_LENGTH + 16).append(second);
+    if (nano != 0) {
+      /**
+       * Print the fraction with trailing zeros removed.
+       */
+      int digits = 9;
+      while (nano % 10 == 0) {
+        nano /= 10;
+        digits--;
+      }
+      char[] fraction = new char[digits + 1];
+      fraction[0] = '.';
+      digits(fraction, 1, nano, digits);
+      sb.append(fraction);
+    }
+    sb.append('Z');
+    if (region) {
+      sb.append("[UTC]");
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Parse date-time text as {@code ISO_ZONED_DATE_TIME} does.
+   *
+   * @param text the date-time text
+   * @return the date-time
+   * @throws java.time.format.DateTimeParseException if the text cannot be
+   *                                                 parsed
+   */
+  public static ZonedDateTime parse(CharSequence text) {
+    ZonedDateTime value = parseUtc(text);
+    return value != null ? value : ZonedDateTime.parse(text, DATETIME_FORMATTER);
+  }
+
+  /**
+   * Parse the {@code yyyy-MM-ddTHH:mm:ss[.S{1,9}]Z[[UTC]]} form.
+   *
+   * @return the date-time; null if the text is not in this form or is not a
+   *         valid date-time
+   */
+  private static ZonedDateTime parseUtc(CharSequence text) {
+    int length = text.length();
+    if (length < SECOND_LENGTH + 1
+        || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+        || text.charAt(13) != ':' || text.charAt(16) != ':') {
+      return null;
+    }
+    int year = number(text, 0, 4);
+    int month = number(text, 5, 2);
+    int day = number(text, 8, 2);
+    int hour = number(text, 11, 2);
+    int minute = number(text, 14, 2);
+    int second = number(text, 17, 2);
+    if ((year | month | day | hour | minute | second) < 0) {
+      return null;
+    }
+    int index = SECOND_LENGTH;
+    int nano = 0;
+    if (text.charAt(index) == '.') {
+      int start = ++index;
+      while (index < length && index - start < 9 && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+        nano = nano * 10 + text.charAt(index++) - '0';
+      }
+      if (index == start) {
+        return null;
+      }
+      for (int i = index - start; i < 9; i++) {
+        nano *= 10;
+      }
+    }
+    if (index >= length || text.charAt(index++) != 'Z') {
+      return null;
+    }
+    ZoneId zone;
+    if (index == length) {
+      zone = ZoneOffset.UTC;
+    } else if (length - index == 5 && text.charAt(index) == '[' && text.charAt(index + 1) == 'U'
+               && text.charAt(index + 2) == 'T' && text.charAt(index + 3) == 'C' && text.charAt(index + 4) == ']') {
+      zone = UTC_REGION;
+    } else {
+      return null;
+    }
+    try {
+      return ZonedDateTime.ofStrict(LocalDateTime.of(year, month, day, hour, minute, second, nano), ZoneOffset.UTC, zone);
+    } catch (DateTimeException exception) {
+      return null; // let the standard parser report the error
+    }
+  }
+
+  /**
+   * Write a non-negative number as fixed width, zero padded decimal digits.
+   */
+  private static void digits(char[] chars, int offset, int value, int width) {
+    for (int i = offset + width - 1; i >= offset; i--) {
+      chars[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+  }
+
+  /**
+   * Read fixed width decimal digits.
+   *
+   * @return the number; negative if a character is not a digit
+   */
+  private static int number(CharSequence text, int offset, int width) {
+    int value = 0;
+    for (int i = offset; i < offset + width; i++) {
+      char c = text.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      value = value * 10 + c - '0';
+    }
+    return value;
+  }
+
+  /**
+   * The date and time text of one epoch second.
+   */
+  private static final class CachedSecond {
+
+    private final long epochSecond;
+    private final String text;
+
+    private CachedSecond(long epochSecond, String text) {
+      this.epochSecond = epochSecond;
+      this.text = text;
+    }
   }
 }
@@ -0,0 +1,643 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.ietf.lib.paws.Error;
+import org.ietf.lib.paws.*;
+import org.ietf.lib.paws.adapter.*;
+import org.ietf.lib.paws.message.AvailableSpectrumResponse;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Streaming XML writer for the AVAIL_SPECTRUM_RESP message.
+ * <p>
+ * INFO responses carrying {@code SpectrumInfo} entries with full service lists
+ * can run to several megabytes. JAXB buffers the complete output before it is
+ * written. This writer instead emits the message header fields and then
+ * iterates the spectrum entries, writing each {@code SpectrumChannel} or
+ * {@code SpectrumInfo} directly to the output stream through an
+ * {@code XMLStreamWriter}. Output starts before the last entry is visited and
+ * peak heap use does not grow with the number of entries.
+ * <p>
+ * The output is byte-compatible with the {@link PawsCodec} (JAXB) output for
+ * the same message: element order, namespace prefixes, {@code xsi:type}
+ * attributes, empty-element form, value adapters and character escaping are
+ * all reproduced.
+ * <p>
+ * Developer note: Every public spectrum constructor sets the required
+ * {@code frequencyMin}, {@code frequencyMax} and {@code allowed} fields. These
+ * must be present on every entry written.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public final class AvailableSpectrumResponseWriter {
+
+  /**
+   * The XML declaration written by the JAXB reference implementation.
+   */
+  private static final byte[] XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>".getBytes(StandardCharsets.UTF_8);
+  /**
+   * The PAWS message namespace. Written as the default namespace.
+   */
+  private static final String NS_MESSAGE = "http://ietf.org/lib/paws/message";
+  /**
+   * The PAWS object namespace.
+   */
+  private static final String NS_PAWS = "http://ietf.org/lib/paws";
+  /**
+   * The namespace prefixes assigned by the shared JAXB context.
+   */
+  private static final String MESSAGE = "";
+  private static final String PAWS = "ns2";
+  private static final String XSI = "xsi";
+  private static final String XS = "xs";
+  /**
+   * The XML stream writer factory. Thread-safe once configured.
+   */
+  private static final XMLOutputFactory FACTORY = XMLOutputFactory.newInstance();
+  /**
+   * XML value adapters. These are stateless and thread-safe.
+   */
+  private static final XmlDurationAdapter DURATION = new XmlDurationAdapter();
+  private static final XmlGeometryAdapter GEOMETRY = new XmlGeometryAdapter();
+  private static final XmlZonedDateTimeAdapter ZONED_DATE_TIME = new XmlZonedDateTimeAdapter();
+
+  /**
+   * The underlying XML stream writer.
+   */
+  private final XMLStreamWriter xml;
+  /**
+   * Reusable character buffer for writing text content.
+   */
+  private char[] buffer = new char[256];
+  /**
+   * Reusable text buffer for formatting fixed precision decimal values.
+   */
+  private final StringBuilder decimal = new StringBuilder(32);
+
+  /**
+   * The element start tag not yet written. A start tag is held until its first
+   * child or text content is written so that elements without content can be
+   * written in the empty-element form, as JAXB does.
+   */
+  private String pendingPrefix;
+  private String pendingName;
+  private String pendingXsiType;
+
+  private AvailableSpectrumResponseWriter(XMLStreamWriter xml) {
+    this.xml = xml;
+  }
+
+  /**
+   * Write an AVAIL_SPECTRUM_RESP message to the output stream. The message
+   * spectrum entries are iterated and written one at a time.
+   *
+   * @param response the message
+   * @param out      the output stream; flushed but not closed
+   * @throws XMLStreamException if the message cannot be written
+   * @throws IOException        if the output stream cannot be written
+   */
+  public static void write(AvailableSpectrumResponse response, OutputStream out) throws XMLStreamException, IOException {
+    write(response, response.getSpectrum(), out);
+  }
+
+  /**
+   * Write an AVAIL_SPECTRUM_RESP message to the output stream, taking the
+   * spectrum entries from the provided source instead of the message.
+   * <p>
+   * This allows spectrum entries to be computed lazily, for example by an
+   * iterator that builds each entry on demand, so that the entries need never
+   * all be resident in memory. The source should iterate entries in ascending
+   * {@code frequencyMin} order, consistent with the message spectrum set.
+   *
+   * @param response the message header fields
+   * @param spectrum the spectrum entries; may be null
+   * @param out      the output stream; flushed but not closed
+   * @throws XMLStreamException if the message cannot be written
+   * @throws IOException        if the output stream cannot be written
+   */
+  public static void write(AvailableSpectrumResponse response, Iterable<? extends AbstractSpectrum> spectrum, OutputStream out) throws XMLStreamException, IOException {
+    out.write(XML_DECLARATION);
+    XMLStreamWriter xml = FACTORY.createXMLStreamWriter(out, "UTF-8");
+    try {
+      new AvailableSpectrumResponseWriter(xml).writeResponse(response, spectrum);
+      xml.flush();
+    } finally {
+      xml.close();
+    }
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Message and object writers">
+  private void writeResponse(AvailableSpectrumResponse response, Iterable<? extends AbstractSpectrum> spectrum) throws XMLStreamException {
+    xml.writeStartElement(MESSAGE, "AvailableSpectrumResponse", NS_MESSAGE);
+    xml.writeDefaultNamespace(NS_MESSAGE);
+    xml.writeNamespace(PAWS, NS_PAWS);
+    writeText(MESSAGE, "responseType", EnumValues.print(response.getResponseType()));
+    writeText(MESSAGE, "timestamp", marshal(response.getTimestamp()));
+    writeDeviceDescriptor(MESSAGE, "deviceDesc", response.getDeviceDesc());
+    writeGeoLocation(MESSAGE, "location", response.getLocation());
+    for (SpectrumSpec spectrumSpec : response.getSpectrumSpecs()) {
+      writeSpectrumSpec(MESSAGE, "spectrumSpecs", spectrumSpec);
+    }
+    writeDbUpdateSpec(MESSAGE, "databaseChange", response.getDatabaseChange());
+    writeRulesetInfo(MESSAGE, "rulesetInfo", response.getRulesetInfo());
+    writeEventTime(MESSAGE, "timeRange", response.getTimeRange());
+    writeText(MESSAGE, "needsSpectrumReport", String.valueOf(response.getNeedsSpectrumReport()));
+    writeText(MESSAGE, "exception", String.valueOf(response.isException()));
+    writeStrings(MESSAGE, "messages", response.getMessages());
+    /**
+     * Push the header out before iterating the (potentially large) spectrum
+     * collection.
+     */
+    xml.flush();
+    if (spectrum != null) {
+      for (AbstractSpectrum entry : spectrum) {
+        if (entry instanceof SpectrumChannel) {
+          writeSpectrumChannel((SpectrumChannel) entry);
+        } else if (entry instanceof SpectrumInfo) {
+          writeSpectrumInfo((SpectrumInfo) entry);
+        } else if (entry != null) {
+          throw new XMLStreamException("Unsupported spectrum type " + entry.getClass().getName());
+        }
+      }
+    }
+    writeError(MESSAGE, "error", response.getError());
+    xml.writeEndElement();
+    xml.writeEndDocument();
+  }
+
+  private void writeSpectrumChannel(SpectrumChannel channel) throws XMLStreamException {
+    startElement(MESSAGE, "spectrum", "ns2:SpectrumChannel");
+    writeAbstractSpectrum(channel);
+    writeEventTime(PAWS, "maxTimeRange", channel.getTimeRange());
+    endElement();
+  }
+
+  private void writeSpectrumInfo(SpectrumInfo info) throws XMLStreamException {
+    startElement(MESSAGE, "spectrum", "ns2:SpectrumInfo");
+    writeAbstractSpectrum(info);
+    writeText(PAWS, "blocked", toString(info.getEnforcementBlocking()));
+    writeText(PAWS, "fastPoll", toString(info.getEnforcementFastPoll()));
+    writeSpectrumConsumers("servicesCo", info.getServicesCo());
+    writeSpectrumConsumers("servicesAdj", info.getServicesAdj());
+    writeSpectrumConsumers("servicesSecondAdjacent", info.getServicesSecondAdjacent());
+    writeSpectrumConsumers("servicesTaboo", info.getServicesTaboo());
+    writeStrings(PAWS, "messages", info.getMessages());
+    endElement();
+  }
+
+  private void writeAbstractSpectrum(AbstractSpectrum spectrum) throws XMLStreamException {
+    writeText(PAWS, "name", spectrum.getName());
+    writeDouble06(PAWS, "frequencyMax", spectrum.getFrequencyMax());
+    writeDouble06(PAWS, "frequencyMin", spectrum.getFrequencyMin());
+    writeText(PAWS, "allowed", String.valueOf(spectrum.isAllowed()));
+    writeDouble02(PAWS, "power", spectrum.getPower());
+  }
+
+  /**
+   * SpectrumConsumer is bound to its public properties, which JAXB writes in
+   * alphabetical order.
+   */
+  private void writeSpectrumConsumers(String name, Collection<SpectrumConsumer> consumers) throws XMLStreamException {
+    for (SpectrumConsumer consumer : consumers) {
+      if (consumer == null) {
+        continue;
+      }
+      startElement(PAWS, name, null);
+      writeText(PAWS, "authorization", consumer.getAuthorization());
+      writeText(PAWS, "azimuth", printDouble(consumer.getAzimuth()));
+      writeText(PAWS, "distance", printDouble(consumer.getDistance()));
+      writeText(PAWS, "erp", printDouble(consumer.getErp()));
+      writeText(PAWS, "type", consumer.getType());
+      writeText(PAWS, "uuid", consumer.getUuid());
+      endElement();
+    }
+  }
+
+  private void writeDeviceDescriptor(String prefix, String name, DeviceDescriptor deviceDesc) throws XMLStreamException {
+    if (deviceDesc == null) {
+      return;
+    }
+    startElement(prefix, name, null);
+    writeText(PAWS, "rulesetId", EnumValues.print(deviceDesc.getRulesetId()));
+    writeText(PAWS, "deviceMode", deviceDesc.getDeviceMode());
+    writeText(PAWS, "deviceId", deviceDesc.getDeviceId());
+    writeText(PAWS, "serialNumber", deviceDesc.getSerialNumber());
+    writeText(PAWS, "manufacturerId", deviceDesc.getManufacturerId());
+    writeText(PAWS, "modelId", deviceDesc.getModelId());
+    writeText(PAWS, "emissionDesignator", deviceDesc.getEmissionDesignator());
+    writeText(PAWS, "etsiEnTechnologyId", deviceDesc.getEtsiEnTechnologyId());
+    writeText(PAWS, "etsiEnDeviceCategory", EnumValues.print(deviceDesc.getEtsiEnDeviceCategory()));
+    writeText(PAWS, "etsiEnDeviceEmissionsClass", deviceDesc.getEtsiEnDeviceEmissionsClass() == null
+                                                  ? null
+                                                  : String.valueOf(deviceDesc.getEtsiEnDeviceEmissionsClass().getCode()));
+    endElement();
+  }
+
+  private void writeGeoLocation(String prefix, String name, GeoLocation location) throws XMLStreamException {
+    if (location == null) {
+      return;
+    }
+    startElement(prefix, name, null);
+    writeText(PAWS, "point", marshal(location.getPoint()));
+    writeText(PAWS, "region", marshal(location.getRegion()));
+    writeText(PAWS, "confidence", toString(location.getConfidence()));
+    writeText(PAWS, "uncertainty", toString(location.getUncertainty()));
+    endElement();
+  }
+
+  private void writeRulesetInfo(String prefix, String name, RulesetInfo rulesetInfo) throws XMLStreamException {
+    if (rulesetInfo == null) {
+      return;
+    }
+    startElement(prefix, name, null);
+    writeText(PAWS, "authority", rulesetInfo.getAuthority());
+    writeText(PAWS, "rulesetId", EnumValues.print(rulesetInfo.getRulesetId()));
+    writeText(PAWS, "maxLocationChange", printDouble(rulesetInfo.getMaxLocationChange()));
+    writeText(PAWS, "maxPollingSecs", toString(rulesetInfo.getMaxPollingSecs()));
+    endElement();
+  }
+
+  private void writeEventTime(String prefix, String name, EventTime eventTime) throws XMLStreamException {
+    if (eventTime == null) {
+      return;
+    }
+    startElement(prefix, name, null);
+    writeText(PAWS, "startTime", marshal(eventTime.getStartTime()));
+    writeText(PAWS, "stopTime", marshal(eventTime.getStopTime()));
+    writeText(PAWS, "duration", marshal(eventTime.getDuration()));
+    endElement();
+  }
+
+  private void writeDbUpdateSpec(String prefix, String name, DbUpdateSpec databaseChange) throws XMLStreamException {
+    if (databaseChange == null) {
+      return;
+    }
+    startElement(prefix, name, null);
+    if (databaseChange.getDatabases() != null) {
+      for (DatabaseSpec database : databaseChange.getDatabases()) {
+        if (database == null) {
+          continue;
+        }
+        startElement(PAWS, "databases", null);
+        writeText(PAWS, "name", database.getName());
+        writeText(PAWS, "uri", database.getUri());
+        endElement();
+      }
+    }
+    endElement();
+  }
+
+  private void writeSpectrumSpec(String prefix, String name, SpectrumSpec spectrumSpec) throws XMLStreamException {
+    if (spectrumSpec == null) {
+      return;
+    }
+    startElement(prefix, name, null);
+    writeRulesetInfo(PAWS, "rulesetInfo", spectrumSpec.getRulesetInfo());
+    for (SpectrumSchedule schedule : spectrumSpec.getSpectrumSchedules()) {
+      if (schedule == null) {
+        continue;
+      }
+      startElement(PAWS, "spectrumSchedules", null);
+      writeEventTime(PAWS, "eventTime", schedule.getEventTime());
+      for (Spectrum spectrum : schedule.getSpectra()) {
+        if (spectrum == null) {
+          continue;
+        }
+        startElement(PAWS, "spectra", null);
+        writeText(PAWS, "resolutionBwHz", printDouble(spectrum.getResolutionBwHz()));
+        if (spectrum.getProfiles() != null) {
+          for (SpectrumProfile profile : spectrum.getProfiles()) {
+            if (profile == null) {
+              continue;
+            }
+            startElement(PAWS, "profiles", null);
+            if (profile.isCompact()) {
+              for (int i = 0; i < profile.size(); i++) {
+                startElement(PAWS, "list", null);
+                writeText(PAWS, "hz", String.valueOf(profile.getHz(i)));
+                writeText(PAWS, "dbm", String.valueOf(profile.getDbm(i)));
+                endElement();
+              }
+              endElement();
+              continue;
+            }
+            for (SpectrumProfilePoint point : profile.getList()) {
+              if (point == null) {
+                continue;
+              }
+              startElement(PAWS, "list", null);
+              writeText(PAWS, "hz", printDouble(point.getHz()));
+              writeText(PAWS, "dbm", printDouble(point.getDbm()));
+              endElement();
+            }
+            endElement();
+          }
+        }
+        endElement();
+      }
+      endElement();
+    }
+    writeEventTime(PAWS, "timeRange", spectrumSpec.getTimeRange());
+    for (FrequencyRange frequencyRange : spectrumSpec.getFrequencyRanges()) {
+      if (frequencyRange == null) {
+        continue;
+      }
+      startElement(PAWS, "frequencyRanges", null);
+      writeDouble06(PAWS, "startMHz", frequencyRange.startMHz);
+      writeDouble06(PAWS, "stopMHz", frequencyRange.stopMHz);
+      endElement();
+    }
+    writeText(PAWS, "needsSpectrumReport", toString(spectrumSpec.getNeedsSpectrumReport()));
+    writeText(PAWS, "maxTotalBwHz", printDouble(spectrumSpec.getMaxTotalBwHz()));
+    writeText(PAWS, "maxContiguousBwHz", printDouble(spectrumSpec.getMaxContiguousBwHz()));
+    writeText(PAWS, "etsiEnSimultaneousChannelOperationRestriction", EnumValues.print(spectrumSpec.getEtsiEnSimultaneousChannelOperationRestriction()));
+    endElement();
+  }
+
+  private void writeError(String prefix, String name, Error error) throws XMLStreamException {
+    if (error == null) {
+      return;
+    }
+    startElement(prefix, name, null);
+    writeText(PAWS, "type", EnumValues.print(error.getType()));
+    writeText(PAWS, "code", toString(error.getCode()));
+    writeText(PAWS, "message", error.getMessage());
+    Object data = error.getData();
+    if (data != null) {
+      /**
+       * The data field is untyped. JAXB writes simple values with an XML Schema
+       * type declaration.
+       */
+      String xsiType;
+      if (data instanceof String) {
+        xsiType = "xs:string";
+      } else if (data instanceof Integer) {
+        xsiType = "xs:int";
+      } else if (data instanceof Long) {
+        xsiType = "xs:long";
+      } else if (data instanceof Double) {
+        xsiType = "xs:double";
+      } else if (data instanceof Boolean) {
+        xsiType = "xs:boolean";
+      } else {
+        throw new XMLStreamException("Unsupported error data type " + data.getClass().getName());
+      }
+      flushStartElement();
+      xml.writeStartElement(PAWS, "data", NS_PAWS);
+      xml.writeNamespace(XSI, XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI);
+      xml.writeNamespace(XS, XMLConstants.W3C_XML_SCHEMA_NS_URI);
+      xml.writeAttribute(XSI, XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "type", xsiType);
+      writeCharacters(data instanceof Double ? printDouble((Double) data) : data.toString());
+      xml.writeEndElement();
+    }
+    endElement();
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Element writers">
+  /**
+   * Begin an element. The start tag is written when the first child or text
+   * content is written, or as an empty element when the element is ended.
+   *
+   * @param prefix  the namespace prefix
+   * @param name    the element local name
+   * @param xsiType the xsi:type attribute value; null if none
+   * @throws XMLStreamException on error
+   */
+  private void startElement(String prefix, String name, String xsiType) throws XMLStreamException {
+    flushStartElement();
+    pendingPrefix = prefix;
+    pendingName = name;
+    pendingXsiType = xsiType;
+  }
+
+  /**
+   * Write the pending start tag (if any).
+   *
+   * @throws XMLStreamException on error
+   */
+  private void flushStartElement() throws XMLStreamException {
+    if (pendingName != null) {
+      xml.writeStartElement(pendingPrefix, pendingName, namespace(pendingPrefix));
+      writeXsiType(pendingXsiType);
+      pendingName = null;
+    }
+  }
+
+  /**
+   * End the current element. An element without content is written in the
+   * empty-element form.
+   *
+   * @throws XMLStreamException on error
+   */
+  private void endElement() throws XMLStreamException {
+    if (pendingName != null) {
+      xml.writeEmptyElement(pendingPrefix, pendingName, namespace(pendingPrefix));
+      writeXsiType(pendingXsiType);
+      pendingName = null;
+    } else {
+      xml.writeEndElement();
+    }
+  }
+
+  private void writeXsiType(String xsiType) throws XMLStreamException {
+    if (xsiType != null) {
+      xml.writeNamespace(XSI, XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI);
+      xml.writeAttribute(XSI, XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "type", xsiType);
+    }
+  }
+
+  /**
+   * Write a simple text element. Nothing is written if the value is null.
+   *
+   * @param prefix the namespace prefix
+   * @param name   the element local name
+   * @param value  the text value
+   * @throws XMLStreamException on error
+   */
+  private void writeText(String prefix, String name, String value) throws XMLStreamException {
+    if (value == null) {
+      return;
+    }
+    flushStartElement();
+    xml.writeStartElement(prefix, name, namespace(prefix));
+    writeCharacters(value);
+    xml.writeEndElement();
+  }
+
+  /**
+   * Write a decimal element rounded to 2 places, as XmlDouble02PrecisionAdapter
+   * does. Nothing is written if the value is null, NaN or infinite.
+   */
+  private void writeDouble02(String prefix, String name, Double value) throws XMLStreamException {
+    if (value != null) {
+      decimal.setLength(0);
+      if (XmlDouble02PrecisionAdapter.append(decimal, value)) {
+        writeDecimal(prefix, name);
+      }
+    }
+  }
+
+  /**
+   * Write a decimal element rounded to 6 places, as XmlDouble06PrecisionAdapter
+   * does. Nothing is written if the value is null, NaN or infinite.
+   */
+  private void writeDouble06(String prefix, String name, Double value) throws XMLStreamException {
+    if (value != null) {
+      decimal.setLength(0);
+      if (XmlDouble06PrecisionAdapter.append(decimal, value)) {
+        writeDecimal(prefix, name);
+      }
+    }
+  }
+
+  /**
+   * Write the formatted decimal buffer as a simple text element. Decimal text
+   * never requires escaping.
+   */
+  private void writeDecimal(String prefix, String name) throws XMLStreamException {
+    int length = decimal.length();
+    if (buffer.length < length) {
+      buffer = new char[Math.max(length, buffer.length * 2)];
+    }
+    decimal.getChars(0, length, buffer, 0);
+    flushStartElement();
+    xml.writeStartElement(prefix, name, namespace(prefix));
+    xml.writeCharacters(buffer, 0, length);
+    xml.writeEndElement();
+  }
+
+  /**
+   * Write a repeated simple text element.
+   */
+  private void writeStrings(String prefix, String name, Collection<String> values) throws XMLStreamException {
+    if (values != null) {
+      for (String value : values) {
+        writeText(prefix, name, value);
+      }
+    }
+  }
+
+  /**
+   * Write escaped text content. Markup characters are written as character
+   * references exactly as JAXB does; the remaining runs are written verbatim.
+   * Escaping here (rather than in the stream writer) keeps the output
+   * identical whichever StAX implementation is installed.
+   *
+   * @param value the text value
+   * @throws XMLStreamException on error
+   */
+  private void writeCharacters(String value) throws XMLStreamException {
+    int length = value.length();
+    if (buffer.length < length) {
+      buffer = new char[Math.max(length, buffer.length * 2)];
+    }
+    value.getChars(0, length, buffer, 0);
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      String entity;
+      switch (buffer[i]) {
+        case '<':
+          entity = "lt";
+          break;
+        case '>':
+          entity = "gt";
+          break;
+        case '&':
+          entity = "amp";
+          break;
+        case '\r':
+          entity = "#xD";
+          break;
+        default:
+          continue;
+      }
+      if (i > start) {
+        xml.writeCharacters(buffer, start, i - start);
+      }
+      xml.writeEntityRef(entity);
+      start = i + 1;
+    }
+    /**
+     * Always write the (possibly empty) trailing run so that an empty string is
+     * written as a start and end tag pair, as JAXB does.
+     */
+    xml.writeCharacters(buffer, start, length - start);
+  }
+
+  private static String namespace(String prefix) {
+    return MESSAGE.equals(prefix) ? NS_MESSAGE : NS_PAWS;
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Value printers">
+  /**
+   * Print a double value as JAXB does ({@code xs:double} lexical form).
+   *
+   * @param value the value
+   * @return the lexical value, null if the value is null
+   */
+  private static String printDouble(Double value) {
+    if (value == null) {
+      return null;
+    }
+    double v = value;
+    if (Double.isNaN(v)) {
+      return "NaN";
+    }
+    if (v == Double.POSITIVE_INFINITY) {
+      return "INF";
+    }
+    if (v == Double.NEGATIVE_INFINITY) {
+      return "-INF";
+    }
+    return String.valueOf(v);
+  }
+
+  private static String toString(Object value) {
+    return value == null ? null : value.toString();
+  }
+
+  private static String marshal(ZonedDateTime value) {
+    return ZONED_DATE_TIME.marshal(value);
+  }
+
+  private static String marshal(Duration value) {
+    return DURATION.marshal(value);
+  }
+
+  private static String marshal(Geometry value) throws XMLStreamException {
+    try {
+      return GEOMETRY.marshal(value);
+    } catch (Exception exception) {
+      throw new XMLStreamException(exception);
+    }
+  }//</editor-fold>
+
+}
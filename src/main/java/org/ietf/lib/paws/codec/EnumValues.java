@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.codec;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.xml.bind.annotation.XmlEnumValue;
+
+/**
+ * Lookup table of the XML (and JSON) lexical values of an enumerated type.
+ * <p>
+ * JAXB writes an enum constant using its {@code XmlEnumValue} annotation when
+ * present, otherwise the constant name. The streaming and JSON codecs must
+ * write identical values. The annotations are read once per enumerated type
+ * and cached; encoding and decoding is then a simple array or hash lookup.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+final class EnumValues {
+
+  /**
+   * Lazily computed lookup tables, one per enumerated type.
+   */
+  private static final ClassValue<EnumValues> VALUES = new ClassValue<EnumValues>() {
+    @Override
+    protected EnumValues computeValue(Class<?> type) {
+      return new EnumValues(type);
+    }
+  };
+
+  /**
+   * The lexical value of each enum constant, indexed by ordinal.
+   */
+  private final String[] printed;
+  /**
+   * The enum constant of each lexical value.
+   */
+  private final Map<String, Enum<?>> parsed;
+
+  private EnumValues(Class<?> type) {
+    Object[] constants = type.getEnumConstants();
+    this.printed = new String[constants.length];
+    this.parsed = new HashMap<>(constants.length * 2);
+    for (Object object : constants) {
+      Enum<?> constant = (Enum<?>) object;
+      String value = constant.name();
+      try {
+        XmlEnumValue annotation = type.getField(constant.name()).getAnnotation(XmlEnumValue.class);
+        if (annotation != null) {
+          value = annotation.value();
+        }
+      } catch (NoSuchFieldException exception) {
+        // not possible: every enum constant is a public field
+      }
+      printed[constant.ordinal()] = value;
+      parsed.put(value, constant);
+    }
+  }
+
+  /**
+   * Get the lexical value of an enum constant.
+   *
+   * @param constant the enum constant; may be null
+   * @return the lexical value, null if the constant is null
+   */
+  static String print(Enum<?> constant) {
+    return constant == null
+           ? null
+           : VALUES.get(constant.getDeclaringClass()).printed[constant.ordinal()];
+  }
+
+  /**
+   * Get the enum constant having the indicated lexical value.
+   *
+   * @param <E>   the enumerated type
+   * @param type  the enumerated class
+   * @param value the lexical value; may be null
+   * @return the enum constant, null if the value is null
+   * @throws IllegalArgumentException if the value is not recognized
+   */
+  static <E extends Enum<E>> E parse(Class<E> type, String value) {
+    if (value == null) {
+      return null;
+    }
+    Enum<?> constant = VALUES.get(type).parsed.get(value);
+    if (constant == null) {
+      throw new IllegalArgumentException("Unrecognized " + type.getSimpleName() + " value \"" + value + "\"");
+    }
+    return type.cast(constant);
+  }
+
+}
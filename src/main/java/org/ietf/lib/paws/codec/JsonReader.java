@@ -0,0 +1,649 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.codec;
+
+import java.math.BigDecimal;
+import java.text.ParseException;
+
+/**
+ * Minimal pull-style JSON text reader.
+ * <p>
+ * Reads JSON tokens directly from the source text without building an
+ * intermediate tree. Member names are resolved through a shared cache so that
+ * the small, fixed PAWS vocabulary does not allocate a new string for every
+ * member of every message. Simple decimal numbers are converted without an
+ * intermediate string.
+ * <p>
+ * All syntax errors are reported as a {@code ParseException} carrying the
+ * offending character offset. Objects and arrays may be nested at most
+ * {@value #MAX_DEPTH} levels deep, which bounds the recursion of the readers
+ * and of {@link #skipValue()} on hostile input.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+final class JsonReader {
+
+  /**
+   * Exact powers of ten representable as a double.
+   */
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+    1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+  /**
+   * Shared member name cache. Entries are immutable strings, so concurrent
+   * unsynchronized replacement is benign: a lost update only costs a cache
+   * miss.
+   */
+  private static final String[] NAMES = new String[1024];
+  /**
+   * The maximum object and array nesting depth. PAWS messages nest fewer than
+   * ten levels.
+   */
+  static final int MAX_DEPTH = 64;
+
+  /**
+   * The source text.
+   */
+  private final String text;
+  /**
+   * The end (exclusive) of the readable text.
+   */
+  private final int limit;
+  /**
+   * The current read position.
+   */
+  private int position;
+  /**
+   * Indicator, per nesting level, that the next member or element is the
+   * first in its container and is not preceded by a separator.
+   */
+  private boolean[] first = new boolean[16];
+  /**
+   * The current nesting level.
+   */
+  private int depth;
+
+  JsonReader(String text) {
+    this(text, 0, text.length());
+  }
+
+  /**
+   * Construct a reader over a span of the source text.
+   *
+   * @param text  the source text
+   * @param start the first character to read
+   * @param limit the end (exclusive) of the span
+   */
+  JsonReader(String text, int start, int limit) {
+    this.text = text;
+    this.position = start;
+    this.limit = limit;
+  }
+
+  /**
+   * Get the current read position.
+   *
+   * @return the current character offset into the source text
+   */
+  int position() {
+    return position;
+  }
+
+  /**
+   * Confirm that only whitespace follows the value just read.
+   *
+   * @throws ParseException if other content follows
+   */
+  void endDocument() throws ParseException {
+    skipWhitespace();
+    if (position < limit) {
+      throw error("Unexpected content after the JSON value");
+    }
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Structure">
+  void beginObject() throws ParseException {
+    expect('{');
+    push();
+  }
+
+  void endObject() throws ParseException {
+    expect('}');
+    depth--;
+  }
+
+  void beginArray() throws ParseException {
+    expect('[');
+    push();
+  }
+
+  void endArray() throws ParseException {
+    expect(']');
+    depth--;
+  }
+
+  /**
+   * Determine if the current object or array has another member or element.
+   * Consumes the separator preceding that member or element.
+   *
+   * @return TRUE if another member or element follows
+   * @throws ParseException if the text is malformed
+   */
+  boolean hasNext() throws ParseException {
+    char c = peekChar();
+    if (c == '}' || c == ']') {
+      return false;
+    }
+    if (first[depth]) {
+      first[depth] = false;
+    } else {
+      expect(',');
+    }
+    return true;
+  }
+
+  /**
+   * Read an object member name and the following colon.
+   *
+   * @return the member name
+   * @throws ParseException if the text is malformed
+   */
+  String nextName() throws ParseException {
+    expect('"');
+    int start = position;
+    int hash = 0;
+    while (position < limit) {
+      char c = text.charAt(position);
+      if (c == '"') {
+        String name = cachedName(start, position, hash);
+        position++;
+        expect(':');
+        return name;
+      }
+      if (c == '\\') {
+        position = start;
+        String name = readEscaped();
+        expect(':');
+        return name;
+      }
+      hash = 31 * hash + c;
+      position++;
+    }
+    throw error("Unterminated name");
+  }
+
+  /**
+   * Determine if the next value is a JSON null literal and consume it if so.
+   *
+   * @return TRUE if a null literal was consumed
+   * @throws ParseException if the text is malformed
+   */
+  boolean nextNull() throws ParseException {
+    if (peekChar() == 'n') {
+      literal("null");
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Get the first character of the next value without consuming it.
+   *
+   * @return the next non-white-space character
+   * @throws ParseException on end of input
+   */
+  char peek() throws ParseException {
+    return peekChar();
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Values">
+  /**
+   * Read a string value.
+   *
+   * @return the string value, null if the value is a JSON null
+   * @throws ParseException if the next value is not a string
+   */
+  String nextString() throws ParseException {
+    if (nextNull()) {
+      return null;
+    }
+    expect('"');
+    int start = position;
+    while (position < limit) {
+      char c = text.charAt(position);
+      if (c == '"') {
+        return text.substring(start, position++);
+      }
+      if (c == '\\') {
+        position = start;
+        return readEscaped();
+      }
+      position++;
+    }
+    throw error("Unterminated string");
+  }
+
+  /**
+   * Read a boolean value.
+   *
+   * @return the boolean value, null if the value is a JSON null
+   * @throws ParseException if the next value is not a boolean
+   */
+  Boolean nextBoolean() throws ParseException {
+    char c = peekChar();
+    if (c == 't') {
+      literal("true");
+      return Boolean.TRUE;
+    }
+    if (c == 'f') {
+      literal("false");
+      return Boolean.FALSE;
+    }
+    if (c == 'n') {
+      literal("null");
+      return null;
+    }
+    throw error("Expected boolean");
+  }
+
+  /**
+   * Read a numeric value.
+   *
+   * @return the numeric value, null if the value is a JSON null
+   * @throws ParseException if the next value is not a number
+   */
+  Double nextDouble() throws ParseException {
+    return nextNull() ? null : readDouble();
+  }
+
+  /**
+   * Read an integer value.
+   *
+   * @return the integer value, null if the value is a JSON null
+   * @throws ParseException if the next value is not an integer in range
+   */
+  Integer nextInteger() throws ParseException {
+    if (nextNull()) {
+      return null;
+    }
+    int start = position;
+    long value = readLong();
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      throw new ParseException("Integer out of range", start);
+    }
+    return (int) value;
+  }
+
+  /**
+   * Read a scalar value of any type. Numbers are returned as an Integer or Long
+   * when they are integers of at most 18 characters and as a Double otherwise. Objects
+   * and arrays are returned as their verbatim JSON text.
+   *
+   * @return the value, null if the value is a JSON null
+   * @throws ParseException if the text is malformed
+   */
+  Object nextValue() throws ParseException {
+    return nextValue(false);
+  }
+
+  /**
+   * Read a scalar value of any type, optionally keeping numbers exact.
+   *
+   * @param exact true to return numbers that are not Integer or Long values
+   *              as a BigDecimal holding the exact JSON text, rather than a
+   *              Double
+   * @return the value, null if the value is a JSON null
+   * @throws ParseException if the text is malformed
+   */
+  Object nextValue(boolean exact) throws ParseException {
+    char c = peekChar();
+    switch (c) {
+      case '"':
+        return nextString();
+      case 't':
+      case 'f':
+      case 'n':
+        return nextBoolean();
+      case '{':
+      case '[':
+        int start = position;
+        skipValue();
+        return text.substring(start, position);
+      default:
+        int begin = position;
+        int end = scanNumber();
+        position = begin;
+        if (isInteger(begin, end) && end - begin <= 18) {
+          long value = readLong();
+          return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (Object) (int) value : (Object) value;
+        }
+        if (exact) {
+          position = end;
+          return new BigDecimal(text.substring(begin, end));
+        }
+        return readDouble();
+    }
+  }
+
+  /**
+   * Skip the next value, including any nested objects or arrays.
+   *
+   * @throws ParseException if the text is malformed
+   */
+  void skipValue() throws ParseException {
+    char c = peekChar();
+    switch (c) {
+      case '{':
+        beginObject();
+        while (hasNext()) {
+          nextName();
+          skipValue();
+        }
+        endObject();
+        break;
+      case '[':
+        beginArray();
+        while (hasNext()) {
+          skipValue();
+        }
+        endArray();
+        break;
+      case '"':
+        nextString();
+        break;
+      case 't':
+      case 'f':
+      case 'n':
+        nextBoolean();
+        break;
+      default:
+        position = scanNumber();
+    }
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Numbers">
+  /**
+   * Read a long integer value.
+   */
+  private long readLong() throws ParseException {
+    int start = position;
+    int end = scanNumber();
+    if (!isInteger(start, end)) {
+      throw new ParseException("Expected integer", start);
+    }
+    int i = start;
+    boolean negative = text.charAt(i) == '-';
+    if (negative) {
+      i++;
+    }
+    if (end - i > 18) {
+      try {
+        position = end;
+        return Long.parseLong(text.substring(start, end));
+      } catch (NumberFormatException exception) {
+        throw new ParseException("Integer out of range", start);
+      }
+    }
+    long value = 0;
+    for (; i < end; i++) {
+      value = value * 10 + (text.charAt(i) - '0');
+    }
+    position = end;
+    return negative ? -value : value;
+  }
+
+  /**
+   * Read a double value. Numbers with at most 15 significant digits and a
+   * small decimal exponent are converted exactly using a single correctly
+   * rounded multiplication or division by an exact power of ten. All other
+   * numbers are delegated to {@code Double.parseDouble}.
+   */
+  private double readDouble() throws ParseException {
+    int start = position;
+    int end = scanNumber();
+    int i = start;
+    boolean negative = text.charAt(i) == '-';
+    if (negative) {
+      i++;
+    }
+    long mantissa = 0;
+    int digits = 0;
+    int scale = 0;
+    boolean fraction = false;
+    for (; i < end; i++) {
+      char c = text.charAt(i);
+      if (c == '.') {
+        fraction = true;
+      } else if (c >= '0' && c <= '9') {
+        if (mantissa != 0 || c != '0') {
+          digits++;
+        }
+        mantissa = mantissa * 10 + (c - '0');
+        if (fraction) {
+          scale--;
+        }
+        if (digits > 15) {
+          break;
+        }
+      } else {
+        break;
+      }
+    }
+    if (i < end && digits <= 15) {
+      /**
+       * Exponent.
+       */
+      char c = text.charAt(++i);
+      boolean negativeExponent = c == '-';
+      if (c == '-' || c == '+') {
+        i++;
+      }
+      int exponent = 0;
+      for (; i < end && exponent < 1000; i++) {
+        exponent = exponent * 10 + (text.charAt(i) - '0');
+      }
+      scale += negativeExponent ? -exponent : exponent;
+    }
+    position = end;
+    if (digits <= 15 && scale >= -22 && scale <= 22) {
+      double value = scale < 0 ? mantissa / POWERS_OF_TEN[-scale] : mantissa * POWERS_OF_TEN[scale];
+      return negative ? -value : value;
+    }
+    return Double.parseDouble(text.substring(start, end));
+  }
+
+  /**
+   * Validate the number at the current position and return its end offset.
+   * The read position is not changed.
+   */
+  private int scanNumber() throws ParseException {
+    skipWhitespace();
+    int i = position;
+    if (i < limit && text.charAt(i) == '-') {
+      i++;
+    }
+    int digits = i;
+    while (i < limit && isDigit(text.charAt(i))) {
+      i++;
+    }
+    if (i == digits) {
+      throw error("Expected value");
+    }
+    if (i < limit && text.charAt(i) == '.') {
+      int fraction = ++i;
+      while (i < limit && isDigit(text.charAt(i))) {
+        i++;
+      }
+      if (i == fraction) {
+        throw new ParseException("Malformed number", i);
+      }
+    }
+    if (i < limit && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+      i++;
+      if (i < limit && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+        i++;
+      }
+      int exponent = i;
+      while (i < limit && isDigit(text.charAt(i))) {
+        i++;
+      }
+      if (i == exponent) {
+        throw new ParseException("Malformed number", i);
+      }
+    }
+    return i;
+  }
+
+  private boolean isInteger(int start, int end) {
+    for (int i = start; i < end; i++) {
+      char c = text.charAt(i);
+      if (c == '.' || c == 'e' || c == 'E') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Characters">
+  private void push() throws ParseException {
+    if (depth == MAX_DEPTH) {
+      throw error("JSON nesting exceeds " + MAX_DEPTH + " levels");
+    }
+    if (++depth == first.length) {
+      first = java.util.Arrays.copyOf(first, depth * 2);
+    }
+    first[depth] = true;
+  }
+
+  /**
+   * Resolve a member name through the shared cache.
+   */
+  private String cachedName(int start, int end, int hash) {
+    int index = (hash ^ (hash >>> 16)) & (NAMES.length - 1);
+    String name = NAMES[index];
+    int length = end - start;
+    if (name != null && name.length() == length && text.regionMatches(start, name, 0, length)) {
+      return name;
+    }
+    name = text.substring(start, end);
+    NAMES[index] = name;
+    return name;
+  }
+
+  /**
+   * Read a string containing escape sequences. The position must be at the
+   * first character following the opening quote.
+   */
+  private String readEscaped() throws ParseException {
+    StringBuilder sb = new StringBuilder();
+    while (position < limit) {
+      char c = text.charAt(position++);
+      if (c == '"') {
+        return sb.toString();
+      }
+      if (c != '\\') {
+        sb.append(c);
+        continue;
+      }
+      if (position >= limit) {
+        break;
+      }
+      c = text.charAt(position++);
+      switch (c) {
+        case '"':
+        case '\\':
+        case '/':
+          sb.append(c);
+          break;
+        case 'b':
+          sb.append('\b');
+          break;
+        case 'f':
+          sb.append('\f');
+          break;
+        case 'n':
+          sb.append('\n');
+          break;
+        case 'r':
+          sb.append('\r');
+          break;
+        case 't':
+          sb.append('\t');
+          break;
+        case 'u':
+          if (position + 4 > limit) {
+            throw error("Malformed unicode escape");
+          }
+          try {
+            sb.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+          } catch (NumberFormatException exception) {
+            throw error("Malformed unicode escape");
+          }
+          position += 4;
+          break;
+        default:
+          throw new ParseException("Illegal escape character '" + c + "'", position - 1);
+      }
+    }
+    throw error("Unterminated string");
+  }
+
+  private void literal(String literal) throws ParseException {
+    skipWhitespace();
+    if (!text.startsWith(literal, position) || position + literal.length() > limit) {
+      throw error("Expected " + literal);
+    }
+    position += literal.length();
+  }
+
+  private void expect(char c) throws ParseException {
+    if (peekChar() != c) {
+      throw error("Expected '" + c + "'");
+    }
+    position++;
+  }
+
+  private char peekChar() throws ParseException {
+    skipWhitespace();
+    if (position >= limit) {
+      throw error("Unexpected end of input");
+    }
+    return text.charAt(position);
+  }
+
+  private void skipWhitespace() {
+    while (position < limit) {
+      char c = text.charAt(position);
+      if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+        return;
+      }
+      position++;
+    }
+  }
+
+  private ParseException error(String message) {
+    return new ParseException(message + " at offset " + position, position);
+  }//</editor-fold>
+
+}
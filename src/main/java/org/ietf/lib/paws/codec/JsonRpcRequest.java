@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.codec;
+
+/**
+ * A decoded JSON-RPC 2.0 request envelope.
+ * <p>
+ * RFC 7545 Section 5 transports each PAWS request as a JSON-RPC method call.
+ * This class carries the method name, the request identifier and the decoded
+ * PAWS request message (the JSON-RPC {@code params}).
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public final class JsonRpcRequest {
+
+  /**
+   * The JSON-RPC method name. e.g. "spectrum.paws.getSpectrum"
+   */
+  private final String method;
+  /**
+   * The JSON-RPC request identifier. This is a String, Integer or Long, or null
+   * if the request is a notification.
+   */
+  private final Object id;
+  /**
+   * The decoded PAWS request message.
+   */
+  private final Object params;
+
+  JsonRpcRequest(String method, Object id, Object params) {
+    this.method = method;
+    this.id = id;
+    this.params = params;
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public Object getId() {
+    return id;
+  }
+
+  public Object getParams() {
+    return params;
+  }
+
+  /**
+   * Get the decoded PAWS request message as the indicated type.
+   *
+   * @param <T>  the message type
+   * @param type the message class
+   * @return the message
+   * @throws ClassCastException if the message is not of the indicated type
+   */
+  public <T> T getParams(Class<T> type) {
+    return type.cast(params);
+  }
+
+  @Override
+  public String toString() {
+    return "JsonRpcRequest{" + "method=" + method + ", id=" + id + ", params=" + params + '}';
+  }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.codec;
+
+/**
+ * Minimal, allocation-lean JSON text writer.
+ * <p>
+ * Writes JSON tokens into a caller-supplied {@code StringBuilder}. Value
+ * separators are inserted automatically. No reflection is used; the caller
+ * writes each name and value explicitly.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+final class JsonWriter {
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  /**
+   * The output buffer.
+   */
+  private final StringBuilder out;
+  /**
+   * Indicator, per nesting level, that a value has already been written at
+   * that level and the next value must be preceded by a separator.
+   */
+  private boolean[] separate = new boolean[16];
+  /**
+   * The current nesting level.
+   */
+  private int depth;
+
+  JsonWriter(StringBuilder out) {
+    this.out = out;
+  }
+
+  JsonWriter beginObject() {
+    beforeValue();
+    out.append('{');
+    push();
+    return this;
+  }
+
+  JsonWriter endObject() {
+    depth--;
+    out.append('}');
+    return this;
+  }
+
+  JsonWriter beginArray() {
+    beforeValue();
+    out.append('[');
+    push();
+    return this;
+  }
+
+  JsonWriter endArray() {
+    depth--;
+    out.append(']');
+    return this;
+  }
+
+  /**
+   * Write an object member name. The member value must be written next.
+   *
+   * @param name the member name
+   * @return this writer
+   */
+  JsonWriter name(String name) {
+    beforeValue();
+    string(name);
+    out.append(':');
+    /**
+     * The value that follows the name must not be preceded by a separator.
+     */
+    separate[depth] = false;
+    return this;
+  }
+
+  JsonWriter value(String value) {
+    if (value == null) {
+      return nullValue();
+    }
+    beforeValue();
+    string(value);
+    return this;
+  }
+
+  JsonWriter value(boolean value) {
+    beforeValue();
+    out.append(value);
+    return this;
+  }
+
+  JsonWriter value(long value) {
+    beforeValue();
+    out.append(value);
+    return this;
+  }
+
+  /**
+   * Write a number. JSON cannot represent NaN or infinite values; these are
+   * written as null.
+   *
+   * @param value the value
+   * @return this writer
+   */
+  JsonWriter value(double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      return nullValue();
+    }
+    beforeValue();
+    out.append(value);
+    return this;
+  }
+
+  /**
+   * Begin a value that the caller appends directly to the output buffer. The
+   * caller must append exactly one complete JSON value.
+   *
+   * @return the output buffer
+   */
+  StringBuilder rawValue() {
+    beforeValue();
+    return out;
+  }
+
+  JsonWriter nullValue() {
+    beforeValue();
+    out.append("null");
+    return this;
+  }
+
+  private void push() {
+    if (++depth == separate.length) {
+      separate = java.util.Arrays.copyOf(separate, depth * 2);
+    }
+    separate[depth] = false;
+  }
+
+  private void beforeValue() {
+    if (separate[depth]) {
+      out.append(',');
+    }
+    separate[depth] = true;
+  }
+
+  /**
+   * Write a quoted and escaped string.
+   */
+  private void string(String value) {
+    out.append('"');
+    int length = value.length();
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c >= 0x20 && c != '"' && c != '\\') {
+        continue;
+      }
+      out.append(value, start, i);
+      switch (c) {
+        case '"':
+          out.append("\\\"");
+          break;
+        case '\\':
+          out.append("\\\\");
+          break;
+        case '\n':
+          out.append("\\n");
+          break;
+        case '\r':
+          out.append("\\r");
+          break;
+        case '\t':
+          out.append("\\t");
+          break;
+        case '\b':
+          out.append("\\b");
+          break;
+        case '\f':
+          out.append("\\f");
+          break;
+        default:
+          out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+      }
+      start = i + 1;
+    }
+    out.append(value, start, length).append('"');
+  }
+
+}
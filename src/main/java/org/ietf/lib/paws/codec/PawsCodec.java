@@ -0,0 +1,443 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.codec;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.transform.stream.StreamSource;
+import org.ietf.lib.paws.Error;
+import org.ietf.lib.paws.*;
+import org.ietf.lib.paws.message.*;
+
+/**
+ * Shared, thread-safe XML codec for all PAWS messages.
+ * <p>
+ * A single {@code JAXBContext} is built (once, on first use) over every class
+ * in the {@code org.ietf.lib.paws} and {@code org.ietf.lib.paws.message}
+ * packages. Building a context is expensive (hundreds of milliseconds) while
+ * the context itself is thread-safe, so it is shared by all callers.
+ * <p>
+ * {@code Marshaller} and {@code Unmarshaller} instances are NOT thread-safe
+ * but are cheap to reuse. Each thread is therefore handed its own pooled
+ * instance, created on first use and retained for the life of the thread.
+ * <p>
+ * Developer note: The pooled instances are held in a {@code ThreadLocal}. In a
+ * container that recycles class loaders the pool is released when the worker
+ * threads are retired.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26 to share one JAXBContext across all services
+ */
+public final class PawsCodec {
+
+  /**
+   * The complete set of PAWS message and object classes bound into the shared
+   * context. Enumerated types are discovered through the class references.
+   */
+  private static final Class<?>[] CLASSES = new Class<?>[]{
+    // message classes
+    AvailableSpectrumRequest.class,
+    AvailableSpectrumResponse.class,
+    DeviceValidationRequest.class,
+    DeviceValidationResponse.class,
+    InitializationRequest.class,
+    InitializationResponse.class,
+    RegistrationRequest.class,
+    RegistrationResponse.class,
+    SpectrumUseNotify.class,
+    SpectrumUseResponse.class,
+    // object classes
+    AbstractSpectrum.class,
+    AntennaCharacteristics.class,
+    DatabaseSpec.class,
+    DbUpdateSpec.class,
+    DeviceCapabilities.class,
+    DeviceDescriptor.class,
+    DeviceOwner.class,
+    DeviceValidity.class,
+    Error.class,
+    EventTime.class,
+    FrequencyRange.class,
+    GeoLocation.class,
+    GeoSpectrumSpec.class,
+    RulesetInfo.class,
+    Spectrum.class,
+    SpectrumProfile.class,
+    SpectrumProfilePoint.class,
+    SpectrumSchedule.class,
+    SpectrumSpec.class,
+    // key bridge proprietary
+    SpectrumChannel.class,
+    SpectrumConsumer.class,
+    SpectrumInfo.class
+  };
+
+  /**
+   * The shared JAXB context. Created lazily on first use.
+   */
+  private static volatile JAXBContext context;
+
+  /**
+   * Per-thread pooled marshaller instances.
+   */
+  private static final ThreadLocal<Marshaller> MARSHALLER = new ThreadLocal<>();
+  /**
+   * Per-thread pooled unmarshaller instances.
+   */
+  private static final ThreadLocal<Unmarshaller> UNMARSHALLER = new ThreadLocal<>();
+
+  /**
+   * Private constructor. This is a static utility class.
+   */
+  private PawsCodec() {
+  }
+
+  /**
+   * Get the shared JAXB context. The context is built on first call and then
+   * reused for the life of the application.
+   *
+   * @return the shared JAXB context
+   * @throws JAXBException if the context cannot be created
+   */
+  public static JAXBContext getContext() throws JAXBException {
+    JAXBContext jaxb = context;
+    if (jaxb == null) {
+      synchronized (PawsCodec.class) {
+        jaxb = context;
+        if (jaxb == null) {
+          jaxb = JAXBContext.newInstance(CLASSES);
+          context = jaxb;
+        }
+      }
+    }
+    return jaxb;
+  }
+
+  /**
+   * Get the marshaller pooled for the current thread.
+   *
+   * @return the current thread marshaller
+   * @throws JAXBException if the marshaller cannot be created
+   */
+  static Marshaller getMarshaller() throws JAXBException {
+    Marshaller marshaller = MARSHALLER.get();
+    if (marshaller == null) {
+      marshaller = getContext().createMarshaller();
+      marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+      MARSHALLER.set(marshaller);
+    }
+    return marshaller;
+  }
+
+  /**
+   * Get the unmarshaller pooled for the current thread.
+   *
+   * @return the current thread unmarshaller
+   * @throws JAXBException if the unmarshaller cannot be created
+   */
+  static Unmarshaller getUnmarshaller() throws JAXBException {
+    Unmarshaller unmarshaller = UNMARSHALLER.get();
+    if (unmarshaller == null) {
+      unmarshaller = getContext().createUnmarshaller();
+      UNMARSHALLER.set(unmarshaller);
+    }
+    return unmarshaller;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Generic encode and decode">
+  /**
+   * Encode a PAWS message (or object) to XML, writing the UTF-8 encoded output
+   * directly to the output stream.
+   *
+   * @param message the PAWS message
+   * @param out     the output stream
+   * @throws JAXBException if the message cannot be marshalled
+   */
+  public static void encode(Object message, OutputStream out) throws JAXBException {
+    getMarshaller().marshal(message, out);
+  }
+
+  /**
+   * Decode a PAWS message (or object) from a UTF-8 encoded XML input stream.
+   *
+   * @param <T>  the message type
+   * @param in   the input stream
+   * @param type the message class
+   * @return the message instance
+   * @throws JAXBException if the message cannot be unmarshalled
+   */
+  public static <T> T decode(InputStream in, Class<T> type) throws JAXBException {
+    return getUnmarshaller().unmarshal(new StreamSource(in), type).getValue();
+  }
+
+  /**
+   * Decode a PAWS message (or object) from an XML string.
+   *
+   * @param <T>  the message type
+   * @param xml  the XML string
+   * @param type the message class
+   * @return the message instance
+   * @throws JAXBException if the message cannot be unmarshalled
+   */
+  public static <T> T decode(String xml, Class<T> type) throws JAXBException {
+    return getUnmarshaller().unmarshal(new StreamSource(new StringReader(xml)), type).getValue();
+  }
+
+  /**
+   * Internal method to encode a PAWS message (or object) to an XML string.
+   *
+   * @param message the PAWS message
+   * @return the XML string
+   * @throws JAXBException if the message cannot be marshalled
+   */
+  private static String marshal(Object message) throws JAXBException {
+    StringWriter writer = new StringWriter();
+    getMarshaller().marshal(message, writer);
+    return writer.toString();
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Typed message encoders">
+  /**
+   * Encode an INIT_REQ message to XML.
+   *
+   * @param message the message
+   * @return the XML string
+   * @throws JAXBException if the message cannot be marshalled
+   */
+  public static String encode(InitializationRequest message) throws JAXBException {
+    return marshal(message);
+  }
+
+  /**
+   * Encode an INIT_RESP message to XML.
+   *
+   * @param message the message
+   * @return the XML string
+   * @throws JAXBException if the message cannot be marshalled
+   */
+  public static String encode(InitializationResponse message) throws JAXBException {
+    return marshal(message);
+  }
+
+  /**
+   * Encode a REGISTRATION_REQ message to XML.
+   *
+   * @param message the message
+   * @return the XML string
+   * @throws JAXBException if the message cannot be marshalled
+   */
+  public static String encode(RegistrationRequest message) throws JAXBException {
+    return marshal(message);
+  }
+
+  /**
+   * Encode a REGISTRATION_RESP message to XML.
+   *
+   * @param message the message
+   * @return the XML string
+   * @throws JAXBException if the message cannot be marshalled
+   */
+  public static String encode(RegistrationResponse message) throws JAXBException {
+    return marshal(message);
+  }
+
+  /**
+   * Encode an AVAIL_SPECTRUM_REQ message to XML.
+   *
+   * @param message the message
+   * @return the XML string
+   * @throws JAXBException if the message cannot be marshalled
+   */
+  public static String encode(AvailableSpectrumRequest message) throws JAXBException {
+    return marshal(message);
+  }
+
+  /**
+   * Encode an AVAIL_SPECTRUM_RESP message to XML.
+   *
+   * @param message the message
+   * @return the XML string
+   * @throws JAXBException if the message cannot be marshalled
+   */
+  public static String encode(AvailableSpectrumResponse message) throws JAXBException {
+    return marshal(message);
+  }
+
+  /**
+   * Encode a SPECTRUM_USE_NOTIFY message to XML.
+   *
+   * @param message the message
+   * @return the XML string
+   * @throws JAXBException if the message cannot be marshalled
+   */
+  public static String encode(SpectrumUseNotify message) throws JAXBException {
+    return marshal(message);
+  }
+
+  /**
+   * Encode a SPECTRUM_USE_RESP message to XML.
+   *
+   * @param message the message
+   * @return the XML string
+   * @throws JAXBException if the message cannot be marshalled
+   */
+  public static String encode(SpectrumUseResponse message) throws JAXBException {
+    return marshal(message);
+  }
+
+  /**
+   * Encode a DEV_VALID_REQ message to XML.
+   *
+   * @param message the message
+   * @return the XML string
+   * @throws JAXBException if the message cannot be marshalled
+   */
+  public static String encode(DeviceValidationRequest message) throws JAXBException {
+    return marshal(message);
+  }
+
+  /**
+   * Encode a DEV_VALID_RESP message to XML.
+   *
+   * @param message the message
+   * @return the XML string
+   * @throws JAXBException if the message cannot be marshalled
+   */
+  public static String encode(DeviceValidationResponse message) throws JAXBException {
+    return marshal(message);
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Typed message decoders">
+  /**
+   * Decode an INIT_REQ message from XML.
+   *
+   * @param xml the XML string
+   * @return the message
+   * @throws JAXBException if the message cannot be unmarshalled
+   */
+  public static InitializationRequest decodeInitializationRequest(String xml) throws JAXBException {
+    return decode(xml, InitializationRequest.class);
+  }
+
+  /**
+   * Decode an INIT_RESP message from XML.
+   *
+   * @param xml the XML string
+   * @return the message
+   * @throws JAXBException if the message cannot be unmarshalled
+   */
+  public static InitializationResponse decodeInitializationResponse(String xml) throws JAXBException {
+    return decode(xml, InitializationResponse.class);
+  }
+
+  /**
+   * Decode a REGISTRATION_REQ message from XML.
+   *
+   * @param xml the XML string
+   * @return the message
+   * @throws JAXBException if the message cannot be unmarshalled
+   */
+  public static RegistrationRequest decodeRegistrationRequest(String xml) throws JAXBException {
+    return decode(xml, RegistrationRequest.class);
+  }
+
+  /**
+   * Decode a REGISTRATION_RESP message from XML.
+   *
+   * @param xml the XML string
+   * @return the message
+   * @throws JAXBException if the message cannot be unmarshalled
+   */
+  public static RegistrationResponse decodeRegistrationResponse(String xml) throws JAXBException {
+    return decode(xml, RegistrationResponse.class);
+  }
+
+  /**
+   * Decode an AVAIL_SPECTRUM_REQ message from XML.
+   *
+   * @param xml the XML string
+   * @return the message
+   * @throws JAXBException if the message cannot be unmarshalled
+   */
+  public static AvailableSpectrumRequest decodeAvailableSpectrumRequest(String xml) throws JAXBException {
+    return decode(xml, AvailableSpectrumRequest.class);
+  }
+
+  /**
+   * Decode an AVAIL_SPECTRUM_RESP message from XML.
+   *
+   * @param xml the XML string
+   * @return the message
+   * @throws JAXBException if the message cannot be unmarshalled
+   */
+  public static AvailableSpectrumResponse decodeAvailableSpectrumResponse(String xml) throws JAXBException {
+    return decode(xml, AvailableSpectrumResponse.class);
+  }
+
+  /**
+   * Decode a SPECTRUM_USE_NOTIFY message from XML.
+   *
+   * @param xml the XML string
+   * @return the message
+   * @throws JAXBException if the message cannot be unmarshalled
+   */
+  public static SpectrumUseNotify decodeSpectrumUseNotify(String xml) throws JAXBException {
+    return decode(xml, SpectrumUseNotify.class);
+  }
+
+  /**
+   * Decode a SPECTRUM_USE_RESP message from XML.
+   *
+   * @param xml the XML string
+   * @return the message
+   * @throws JAXBException if the message cannot be unmarshalled
+   */
+  public static SpectrumUseResponse decodeSpectrumUseResponse(String xml) throws JAXBException {
+    return decode(xml, SpectrumUseResponse.class);
+  }
+
+  /**
+   * Decode a DEV_VALID_REQ message from XML.
+   *
+   * @param xml the XML string
+   * @return the message
+   * @throws JAXBException if the message cannot be unmarshalled
+   */
+  public static DeviceValidationRequest decodeDeviceValidationRequest(String xml) throws JAXBException {
+    return decode(xml, DeviceValidationRequest.class);
+  }
+
+  /**
+   * Decode a DEV_VALID_RESP message from XML.
+   *
+   * @param xml the XML string
+   * @return the message
+   * @throws JAXBException if the message cannot be unmarshalled
+   */
+  public static DeviceValidationResponse decodeDeviceValidationResponse(String xml) throws JAXBException {
+    return decode(xml, DeviceValidationResponse.class);
+  }//</editor-fold>
+
+}
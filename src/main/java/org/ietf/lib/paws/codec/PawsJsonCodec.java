@@ -0,0 +1,1964 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.codec;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.ietf.lib.paws.Error;
+import org.ietf.lib.paws.*;
+import org.ietf.lib.paws.adapter.*;
+import org.ietf.lib.paws.message.*;
+import org.ietf.lib.paws.type.*;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Reflection-free JSON-RPC 2.0 codec for all PAWS messages.
+ * <p>
+ * RFC 7545 Section 5 specifies JSON-RPC as the PAWS message transport. Each
+ * request is a method call ({@code spectrum.paws.init},
+ * {@code spectrum.paws.register}, {@code spectrum.paws.getSpectrum},
+ * {@code spectrum.paws.notifySpectrumUse}, {@code spectrum.paws.verifyDevice})
+ * whose {@code params} member is the PAWS request message. Each response is
+ * carried in the JSON-RPC {@code result} member or, if the PAWS response
+ * carries an {@code Error}, in the JSON-RPC {@code error} member.
+ * <p>
+ * Every message and object is written and read by hand. JSON member names are
+ * the XML element names, members are written in the XML element order and null
+ * values are omitted. Numbers honour the same precision rules as the XML
+ * binding ({@code XmlDouble02PrecisionAdapter},
+ * {@code XmlDouble06PrecisionAdapter}); geometries, times, durations and
+ * antenna patterns are written as the same text strings as the XML binding.
+ * <p>
+ * Spectrum entries in an AVAIL_SPECTRUM_RESP are polymorphic and are written
+ * with a leading {@code type} member ({@code SpectrumChannel} or
+ * {@code SpectrumInfo}).
+ * <p>
+ * All methods are thread-safe.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public final class PawsJsonCodec {
+
+  /**
+   * The JSON-RPC protocol version.
+   */
+  public static final String JSONRPC = "2.0";
+  /**
+   * The PAWS protocol version.
+   */
+  public static final String VERSION = "1.0";
+
+  public static final String METHOD_INIT = "spectrum.paws.init";
+  public static final String METHOD_REGISTER = "spectrum.paws.register";
+  public static final String METHOD_GET_SPECTRUM = "spectrum.paws.getSpectrum";
+  public static final String METHOD_NOTIFY_SPECTRUM_USE = "spectrum.paws.notifySpectrumUse";
+  public static final String METHOD_VERIFY_DEVICE = "spectrum.paws.verifyDevice";
+
+  private static final String SPECTRUM_CHANNEL = "SpectrumChannel";
+  private static final String SPECTRUM_INFO = "SpectrumInfo";
+
+  private static final XmlDurationAdapter DURATION = new XmlDurationAdapter();
+  private static final XmlGeometryAdapter GEOMETRY = new XmlGeometryAdapter();
+  private static final XmlRadiationPatternAdapter RADIATION_PATTERN = new XmlRadiationPatternAdapter();
+  private static final XmlZonedDateTimeAdapter ZONED_DATE_TIME = new XmlZonedDateTimeAdapter();
+
+  /**
+   * Writes the members of an object.
+   */
+  @FunctionalInterface
+  private interface MemberWriter<T> {
+
+    void write(JsonWriter out, T value);
+  }
+
+  /**
+   * Reads an object value.
+   */
+  @FunctionalInterface
+  private interface ObjectReader<T> {
+
+    T read(JsonReader in) throws ParseException;
+  }
+
+  /**
+   * Private constructor. This is a static utility class.
+   */
+  private PawsJsonCodec() {
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Typed message encoders">
+  /**
+   * Encode an INIT_REQ message as a JSON-RPC request.
+   *
+   * @param message the message
+   * @param id      the JSON-RPC request identifier (String or Number)
+   * @return the JSON string
+   */
+  public static String encode(InitializationRequest message, Object id) {
+    return request(METHOD_INIT, "INIT_REQ", message, id, PawsJsonCodec::writeInitializationRequest);
+  }
+
+  /**
+   * Encode an INIT_RESP message as a JSON-RPC response.
+   *
+   * @param message the message
+   * @param id      the JSON-RPC request identifier (String or Number)
+   * @return the JSON string
+   */
+  public static String encode(InitializationResponse message, Object id) {
+    return response("INIT_RESP", message, message.getError(), id, PawsJsonCodec::writeInitializationResponse);
+  }
+
+  /**
+   * Encode a REGISTRATION_REQ message as a JSON-RPC request.
+   *
+   * @param message the message
+   * @param id      the JSON-RPC request identifier (String or Number)
+   * @return the JSON string
+   */
+  public static String encode(RegistrationRequest message, Object id) {
+    return request(METHOD_REGISTER, "REGISTRATION_REQ", message, id, PawsJsonCodec::writeRegistrationRequest);
+  }
+
+  /**
+   * Encode a REGISTRATION_RESP message as a JSON-RPC response.
+   *
+   * @param message the message
+   * @param id      the JSON-RPC request identifier (String or Number)
+   * @return the JSON string
+   */
+  public static String encode(RegistrationResponse message, Object id) {
+    return response("REGISTRATION_RESP", message, message.getError(), id, PawsJsonCodec::writeRegistrationResponse);
+  }
+
+  /**
+   * Encode an AVAIL_SPECTRUM_REQ message as a JSON-RPC request.
+   *
+   * @param message the message
+   * @param id      the JSON-RPC request identifier (String or Number)
+   * @return the JSON string
+   */
+  public static String encode(AvailableSpectrumRequest message, Object id) {
+    return request(METHOD_GET_SPECTRUM, "AVAIL_SPECTRUM_REQ", message, id, PawsJsonCodec::writeAvailableSpectrumRequest);
+  }
+
+  /**
+   * Encode an AVAIL_SPECTRUM_RESP message as a JSON-RPC response.
+   *
+   * @param message the message
+   * @param id      the JSON-RPC request identifier (String or Number)
+   * @return the JSON string
+   */
+  public static String encode(AvailableSpectrumResponse message, Object id) {
+    return response("AVAIL_SPECTRUM_RESP", message, message.getError(), id, PawsJsonCodec::writeAvailableSpectrumResponse);
+  }
+
+  /**
+   * Encode a SPECTRUM_USE_NOTIFY message as a JSON-RPC request.
+   *
+   * @param message the message
+   * @param id      the JSON-RPC request identifier (String or Number)
+   * @return the JSON string
+   */
+  public static String encode(SpectrumUseNotify message, Object id) {
+    return request(METHOD_NOTIFY_SPECTRUM_USE, "SPECTRUM_USE_NOTIFY", message, id, PawsJsonCodec::writeSpectrumUseNotify);
+  }
+
+  /**
+   * Encode a SPECTRUM_USE_RESP message as a JSON-RPC response.
+   *
+   * @param message the message
+   * @param id      the JSON-RPC request identifier (String or Number)
+   * @return the JSON string
+   */
+  public static String encode(SpectrumUseResponse message, Object id) {
+    return response("SPECTRUM_USE_RESP", message, message.getError(), id, PawsJsonCodec::writeSpectrumUseResponse);
+  }
+
+  /**
+   * Encode a DEV_VALID_REQ message as a JSON-RPC request.
+   *
+   * @param message the message
+   * @param id      the JSON-RPC request identifier (String or Number)
+   * @return the JSON string
+   */
+  public static String encode(DeviceValidationRequest message, Object id) {
+    return request(METHOD_VERIFY_DEVICE, "DEV_VALID_REQ", message, id, PawsJsonCodec::writeDeviceValidationRequest);
+  }
+
+  /**
+   * Encode a DEV_VALID_RESP message as a JSON-RPC response.
+   *
+   * @param message the message
+   * @param id      the JSON-RPC request identifier (String or Number)
+   * @return the JSON string
+   */
+  public static String encode(DeviceValidationResponse message, Object id) {
+    return response("DEV_VALID_RESP", message, message.getError(), id, PawsJsonCodec::writeDeviceValidationResponse);
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Typed message decoders">
+  /**
+   * Decode a JSON-RPC request. The PAWS request message type is determined by
+   * the JSON-RPC method. The {@code params} member may appear before or after
+   * the {@code method} member.
+   *
+   * @param json the JSON string
+   * @return the decoded request envelope
+   * @throws ParseException if the request is malformed or the method is not
+   *                        supported
+   */
+  public static JsonRpcRequest decodeRequest(String json) throws ParseException {
+    JsonReader in = new JsonReader(json);
+    String method = null;
+    Object id = null;
+    Object params = null;
+    int paramsStart = -1;
+    int paramsEnd = -1;
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "jsonrpc":
+          String jsonrpc = in.nextString();
+          if (!JSONRPC.equals(jsonrpc)) {
+            throw new ParseException("Unsupported JSON-RPC version " + jsonrpc, in.position());
+          }
+          break;
+        case "method":
+          method = in.nextString();
+          break;
+        case "id":
+          id = in.nextValue(true);
+          break;
+        case "params":
+          if (method != null) {
+            params = readParams(method, in);
+          } else {
+            /**
+             * The method is not yet known. Record the params span and decode it
+             * once the method has been read.
+             */
+            paramsStart = in.position();
+            in.skipValue();
+            paramsEnd = in.position();
+          }
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    in.endDocument();
+    if (method == null) {
+      throw new ParseException("Missing JSON-RPC method", 0);
+    }
+    if (params == null && paramsStart >= 0) {
+      params = readParams(method, new JsonReader(json, paramsStart, paramsEnd));
+    }
+    if (params == null) {
+      throw new ParseException("Missing JSON-RPC params", 0);
+    }
+    return new JsonRpcRequest(method, id, params);
+  }
+
+  /**
+   * Decode an INIT_REQ message from a JSON-RPC request.
+   *
+   * @param json the JSON string
+   * @return the message
+   * @throws ParseException if the request is malformed or is not an INIT_REQ
+   */
+  public static InitializationRequest decodeInitializationRequest(String json) throws ParseException {
+    return params(decodeRequest(json), InitializationRequest.class);
+  }
+
+  /**
+   * Decode an INIT_RESP message from a JSON-RPC response.
+   *
+   * @param json the JSON string
+   * @return the message
+   * @throws ParseException if the response is malformed
+   */
+  public static InitializationResponse decodeInitializationResponse(String json) throws ParseException {
+    return decodeResponse(json, PawsJsonCodec::readInitializationResponse, error -> {
+                        InitializationResponse message = new InitializationResponse((RulesetInfo) null);
+                        message.setError(error);
+                        return message;
+                      });
+  }
+
+  /**
+   * Decode a REGISTRATION_REQ message from a JSON-RPC request.
+   *
+   * @param json the JSON string
+   * @return the message
+   * @throws ParseException if the request is malformed or is not a
+   *                        REGISTRATION_REQ
+   */
+  public static RegistrationRequest decodeRegistrationRequest(String json) throws ParseException {
+    return params(decodeRequest(json), RegistrationRequest.class);
+  }
+
+  /**
+   * Decode a REGISTRATION_RESP message from a JSON-RPC response.
+   *
+   * @param json the JSON string
+   * @return the message
+   * @throws ParseException if the response is malformed
+   */
+  public static RegistrationResponse decodeRegistrationResponse(String json) throws ParseException {
+    return decodeResponse(json, PawsJsonCodec::readRegistrationResponse, error -> {
+                        RegistrationResponse message = new RegistrationResponse();
+                        message.setError(error);
+                        return message;
+                      });
+  }
+
+  /**
+   * Decode an AVAIL_SPECTRUM_REQ message from a JSON-RPC request.
+   *
+   * @param json the JSON string
+   * @return the message
+   * @throws ParseException if the request is malformed or is not an
+   *                        AVAIL_SPECTRUM_REQ
+   */
+  public static AvailableSpectrumRequest decodeAvailableSpectrumRequest(String json) throws ParseException {
+    return params(decodeRequest(json), AvailableSpectrumRequest.class);
+  }
+
+  /**
+   * Decode an AVAIL_SPECTRUM_RESP message from a JSON-RPC response.
+   *
+   * @param json the JSON string
+   * @return the message
+   * @throws ParseException if the response is malformed
+   */
+  public static AvailableSpectrumResponse decodeAvailableSpectrumResponse(String json) throws ParseException {
+    return decodeResponse(json, PawsJsonCodec::readAvailableSpectrumResponse, error -> {
+                        AvailableSpectrumResponse message = new AvailableSpectrumResponse();
+                        message.setError(error);
+                        return message;
+                      });
+  }
+
+  /**
+   * Decode a SPECTRUM_USE_NOTIFY message from a JSON-RPC request.
+   *
+   * @param json the JSON string
+   * @return the message
+   * @throws ParseException if the request is malformed or is not a
+   *                        SPECTRUM_USE_NOTIFY
+   */
+  public static SpectrumUseNotify decodeSpectrumUseNotify(String json) throws ParseException {
+    return params(decodeRequest(json), SpectrumUseNotify.class);
+  }
+
+  /**
+   * Decode a SPECTRUM_USE_RESP message from a JSON-RPC response.
+   *
+   * @param json the JSON string
+   * @return the message
+   * @throws ParseException if the response is malformed
+   */
+  public static SpectrumUseResponse decodeSpectrumUseResponse(String json) throws ParseException {
+    return decodeResponse(json, PawsJsonCodec::readSpectrumUseResponse, error -> {
+                        SpectrumUseResponse message = new SpectrumUseResponse();
+                        message.setError(error);
+                        return message;
+                      });
+  }
+
+  /**
+   * Decode a DEV_VALID_REQ message from a JSON-RPC request.
+   *
+   * @param json the JSON string
+   * @return the message
+   * @throws ParseException if the request is malformed or is not a
+   *                        DEV_VALID_REQ
+   */
+  public static DeviceValidationRequest decodeDeviceValidationRequest(String json) throws ParseException {
+    return params(decodeRequest(json), DeviceValidationRequest.class);
+  }
+
+  /**
+   * Decode a DEV_VALID_RESP message from a JSON-RPC response.
+   *
+   * @param json the JSON string
+   * @return the message
+   * @throws ParseException if the response is malformed
+   */
+  public static DeviceValidationResponse decodeDeviceValidationResponse(String json) throws ParseException {
+    return decodeResponse(json, PawsJsonCodec::readDeviceValidationResponse, error -> {
+                        DeviceValidationResponse message = new DeviceValidationResponse();
+                        message.setError(error);
+                        return message;
+                      });
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="JSON-RPC envelope">
+  private static <T> String request(String method, String type, T message, Object id, MemberWriter<T> members) {
+    StringBuilder sb = new StringBuilder(512);
+    JsonWriter out = new JsonWriter(sb);
+    out.beginObject();
+    out.name("jsonrpc").value(JSONRPC);
+    out.name("method").value(method);
+    out.name("params").beginObject();
+    out.name("type").value(type);
+    out.name("version").value(VERSION);
+    members.write(out, message);
+    out.endObject();
+    if (id != null) {
+      writeId(out, id);
+    }
+    out.endObject();
+    return sb.toString();
+  }
+
+  private static <T> String response(String type, T message, Error error, Object id, MemberWriter<T> members) {
+    StringBuilder sb = new StringBuilder(512);
+    JsonWriter out = new JsonWriter(sb);
+    out.beginObject();
+    out.name("jsonrpc").value(JSONRPC);
+    if (error != null) {
+      out.name("error");
+      writeError(out, error);
+    } else {
+      out.name("result").beginObject();
+      out.name("type").value(type);
+      out.name("version").value(VERSION);
+      members.write(out, message);
+      out.endObject();
+    }
+    writeId(out, id);
+    out.endObject();
+    return sb.toString();
+  }
+
+  /**
+   * Write the request ID. A number is written as its exact text so that a
+   * fractional or large ID is echoed unchanged; a non-finite floating point
+   * value, which JSON cannot represent, is written as null.
+   */
+  private static void writeId(JsonWriter out, Object id) {
+    out.name("id");
+    if (id instanceof Double || id instanceof Float) {
+      out.value(((Number) id).doubleValue());
+    } else if (id instanceof Number) {
+      out.rawValue().append(id.toString());
+    } else {
+      out.value(id == null ? null : id.toString());
+    }
+  }
+
+  private static Object readParams(String method, JsonReader in) throws ParseException {
+    switch (method) {
+      case METHOD_INIT:
+        return readInitializationRequest(in);
+      case METHOD_REGISTER:
+        return readRegistrationRequest(in);
+      case METHOD_GET_SPECTRUM:
+        return readAvailableSpectrumRequest(in);
+      case METHOD_NOTIFY_SPECTRUM_USE:
+        return readSpectrumUseNotify(in);
+      case METHOD_VERIFY_DEVICE:
+        return readDeviceValidationRequest(in);
+      default:
+        throw new ParseException("Unsupported JSON-RPC method " + method, 0);
+    }
+  }
+
+  private static <T> T params(JsonRpcRequest request, Class<T> type) throws ParseException {
+    if (!type.isInstance(request.getParams())) {
+      throw new ParseException("Unexpected JSON-RPC method " + request.getMethod() + " for " + type.getSimpleName(), 0);
+    }
+    return type.cast(request.getParams());
+  }
+
+  /**
+   * Decode a JSON-RPC response. If the response carries a JSON-RPC error in
+   * place of a result then an otherwise empty PAWS response message carrying
+   * the error is returned.
+   */
+  private static <T> T decodeResponse(String json, ObjectReader<T> reader, Function<Error, T> errorResponse) throws ParseException {
+    JsonReader in = new JsonReader(json);
+    T result = null;
+    Error error = null;
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "result":
+          result = reader.read(in);
+          break;
+        case "error":
+          error = readError(in);
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    in.endDocument();
+    if (result != null) {
+      return result;
+    }
+    if (error == null) {
+      throw new ParseException("Missing JSON-RPC result or error", 0);
+    }
+    return errorResponse.apply(error);
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Message writers">
+  private static void writeInitializationRequest(JsonWriter out, InitializationRequest message) {
+    object(out, "deviceDesc", message.getDeviceDesc(), PawsJsonCodec::writeDeviceDescriptor);
+    object(out, "location", message.getLocation(), PawsJsonCodec::writeGeoLocation);
+  }
+
+  private static void writeInitializationResponse(JsonWriter out, InitializationResponse message) {
+    object(out, "rulesetInfo", message.getRulesetInfo(), PawsJsonCodec::writeRulesetInfo);
+    object(out, "databaseChange", message.getDatabaseChange(), PawsJsonCodec::writeDbUpdateSpec);
+  }
+
+  private static void writeRegistrationRequest(JsonWriter out, RegistrationRequest message) {
+    object(out, "deviceDesc", message.getDeviceDesc(), PawsJsonCodec::writeDeviceDescriptor);
+    object(out, "location", message.getLocation(), PawsJsonCodec::writeGeoLocation);
+    object(out, "antenna", message.getAntenna(), PawsJsonCodec::writeAntennaCharacteristics);
+    object(out, "deviceOwner", message.getDeviceOwner(), PawsJsonCodec::writeDeviceOwner);
+    field(out, "authorization", message.getAuthorization());
+    object(out, "capabilities", message.getCapabilities(), PawsJsonCodec::writeDeviceCapabilities);
+    object(out, "masterDeviceDesc", message.getMasterDeviceDesc(), PawsJsonCodec::writeDeviceDescriptor);
+    field(out, "serviceGroupId", message.getServiceGroupId());
+    field(out, "serviceName", message.getServiceName());
+    field(out, "serviceDescription", message.getServiceDescription());
+  }
+
+  private static void writeRegistrationResponse(JsonWriter out, RegistrationResponse message) {
+    field(out, "rulesetId", message.getRulesetId());
+    object(out, "databaseChange", message.getDatabaseChange(), PawsJsonCodec::writeDbUpdateSpec);
+  }
+
+  private static void writeAvailableSpectrumRequest(JsonWriter out, AvailableSpectrumRequest message) {
+    field(out, "requestType", message.getRequestType());
+    object(out, "deviceDesc", message.getDeviceDesc(), PawsJsonCodec::writeDeviceDescriptor);
+    object(out, "location", message.getLocation(), PawsJsonCodec::writeGeoLocation);
+    object(out, "antenna", message.getAntenna(), PawsJsonCodec::writeAntennaCharacteristics);
+    object(out, "communicatingWith", message.getCommunicatingWith(), PawsJsonCodec::writeDeviceDescriptor);
+    object(out, "deviceOwner", message.getDeviceOwner(), PawsJsonCodec::writeDeviceOwner);
+    object(out, "masterDeviceDesc", message.getMasterDeviceDesc(), PawsJsonCodec::writeDeviceDescriptor);
+    object(out, "masterDeviceLocation", message.getMasterDeviceLocation(), PawsJsonCodec::writeGeoLocation);
+    object(out, "capabilities", message.getCapabilities(), PawsJsonCodec::writeDeviceCapabilities);
+  }
+
+  private static void writeAvailableSpectrumResponse(JsonWriter out, AvailableSpectrumResponse message) {
+    field(out, "responseType", message.getResponseType());
+    field(out, "timestamp", message.getTimestamp());
+    object(out, "deviceDesc", message.getDeviceDesc(), PawsJsonCodec::writeDeviceDescriptor);
+    object(out, "location", message.getLocation(), PawsJsonCodec::writeGeoLocation);
+    array(out, "spectrumSpecs", message.getSpectrumSpecs(), PawsJsonCodec::writeSpectrumSpec);
+    object(out, "databaseChange", message.getDatabaseChange(), PawsJsonCodec::writeDbUpdateSpec);
+    object(out, "rulesetInfo", message.getRulesetInfo(), PawsJsonCodec::writeRulesetInfo);
+    object(out, "timeRange", message.getTimeRange(), PawsJsonCodec::writeEventTime);
+    out.name("needsSpectrumReport").value(message.getNeedsSpectrumReport());
+    out.name("exception").value(message.isException());
+    strings(out, "messages", message.getMessages());
+    array(out, "spectrum", message.getSpectrum(), PawsJsonCodec::writeAbstractSpectrum);
+  }
+
+  private static void writeSpectrumUseNotify(JsonWriter out, SpectrumUseNotify message) {
+    object(out, "deviceDesc", message.getDeviceDesc(), PawsJsonCodec::writeDeviceDescriptor);
+    object(out, "location", message.getLocation(), PawsJsonCodec::writeGeoLocation);
+    object(out, "masterDeviceDesc", message.getMasterDeviceDesc(), PawsJsonCodec::writeDeviceDescriptor);
+    object(out, "masterDeviceLocation", message.getMasterDeviceLocation(), PawsJsonCodec::writeGeoLocation);
+    array(out, "spectra", message.getSpectra(), PawsJsonCodec::writeSpectrum);
+    object(out, "transmitChannel", message.getTransmitChannel(), PawsJsonCodec::writeAbstractSpectrum);
+    object(out, "receiveChannel", message.getReceiveChannel(), PawsJsonCodec::writeAbstractSpectrum);
+    object(out, "timeRange", message.getTimeRange(), PawsJsonCodec::writeEventTime);
+  }
+
+  private static void writeSpectrumUseResponse(JsonWriter out, SpectrumUseResponse message) {
+    object(out, "databaseChange", message.getDatabaseChange(), PawsJsonCodec::writeDbUpdateSpec);
+  }
+
+  private static void writeDeviceValidationRequest(JsonWriter out, DeviceValidationRequest message) {
+    object(out, "deviceDesc", message.getDeviceDesc(), PawsJsonCodec::writeDeviceDescriptor);
+    object(out, "masterDeviceDesc", message.getMasterDeviceDesc(), PawsJsonCodec::writeDeviceDescriptor);
+  }
+
+  private static void writeDeviceValidationResponse(JsonWriter out, DeviceValidationResponse message) {
+    object(out, "deviceValidity", message.getDeviceValidity(), PawsJsonCodec::writeDeviceValidity);
+    object(out, "databaseChange", message.getDatabaseChange(), PawsJsonCodec::writeDbUpdateSpec);
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Object writers">
+  private static void writeAbstractSpectrum(JsonWriter out, AbstractSpectrum spectrum) {
+    field(out, "type", spectrum instanceof SpectrumInfo ? SPECTRUM_INFO : SPECTRUM_CHANNEL);
+    field(out, "name", spectrum.getName());
+    field06(out, "frequencyMax", spectrum.getFrequencyMax());
+    field06(out, "frequencyMin", spectrum.getFrequencyMin());
+    out.name("allowed").value(spectrum.isAllowed());
+    field02(out, "power", spectrum.getPower());
+    if (spectrum instanceof SpectrumChannel) {
+      object(out, "maxTimeRange", ((SpectrumChannel) spectrum).getTimeRange(), PawsJsonCodec::writeEventTime);
+    } else if (spectrum instanceof SpectrumInfo) {
+      SpectrumInfo info = (SpectrumInfo) spectrum;
+      field(out, "blocked", info.getEnforcementBlocking());
+      field(out, "fastPoll", info.getEnforcementFastPoll());
+      array(out, "servicesCo", info.getServicesCo(), PawsJsonCodec::writeSpectrumConsumer);
+      array(out, "servicesAdj", info.getServicesAdj(), PawsJsonCodec::writeSpectrumConsumer);
+      array(out, "servicesSecondAdjacent", info.getServicesSecondAdjacent(), PawsJsonCodec::writeSpectrumConsumer);
+      array(out, "servicesTaboo", info.getServicesTaboo(), PawsJsonCodec::writeSpectrumConsumer);
+      strings(out, "messages", info.getMessages());
+    }
+  }
+
+  private static void writeAntennaCharacteristics(JsonWriter out, AntennaCharacteristics antenna) {
+    field02(out, "height", antenna.getHeight());
+    field(out, "heightType", antenna.getHeightType());
+    field02(out, "heightUncertainty", antenna.getHeightUncertainty());
+    field(out, "polarization", antenna.getPolarization());
+    Map<Double, Double> radiationPattern = antenna.getRadiationPattern();
+    if (!radiationPattern.isEmpty()) {
+      field(out, "radiationPattern", RADIATION_PATTERN.marshal(radiationPattern));
+    }
+    field02(out, "gain", antenna.getGain());
+    field02(out, "beamWidthElevation", antenna.getBeamWidthElevation());
+    field02(out, "beamWidthAzimuth", antenna.getBeamWidthAzimuth());
+    field02(out, "rotation", antenna.getRotation());
+  }
+
+  private static void writeDatabaseSpec(JsonWriter out, DatabaseSpec database) {
+    field(out, "name", database.getName());
+    field(out, "uri", database.getUri());
+  }
+
+  private static void writeDbUpdateSpec(JsonWriter out, DbUpdateSpec dbUpdateSpec) {
+    array(out, "databases", dbUpdateSpec.getDatabases(), PawsJsonCodec::writeDatabaseSpec);
+  }
+
+  private static void writeDeviceCapabilities(JsonWriter out, DeviceCapabilities capabilities) {
+    object(out, "timeRange", capabilities.getTimeRange(), PawsJsonCodec::writeEventTime);
+    array(out, "frequencyRanges", capabilities.getFrequencyRanges(), PawsJsonCodec::writeFrequencyRange);
+  }
+
+  private static void writeDeviceDescriptor(JsonWriter out, DeviceDescriptor deviceDesc) {
+    field(out, "rulesetId", deviceDesc.getRulesetId());
+    field(out, "deviceMode", deviceDesc.getDeviceMode());
+    field(out, "deviceId", deviceDesc.getDeviceId());
+    field(out, "serialNumber", deviceDesc.getSerialNumber());
+    field(out, "manufacturerId", deviceDesc.getManufacturerId());
+    field(out, "modelId", deviceDesc.getModelId());
+    field(out, "emissionDesignator", deviceDesc.getEmissionDesignator());
+    field(out, "etsiEnTechnologyId", deviceDesc.getEtsiEnTechnologyId());
+    field(out, "etsiEnDeviceCategory", deviceDesc.getEtsiEnDeviceCategory());
+    EtsiEmissionClassType emissionsClass = deviceDesc.getEtsiEnDeviceEmissionsClass();
+    if (emissionsClass != null) {
+      out.name("etsiEnDeviceEmissionsClass").value(emissionsClass.getCode());
+    }
+  }
+
+  private static void writeDeviceOwner(JsonWriter out, DeviceOwner deviceOwner) {
+    field(out, "owner", deviceOwner.getOwner());
+    field(out, "operator", deviceOwner.getOperator());
+  }
+
+  private static void writeDeviceValidity(JsonWriter out, DeviceValidity deviceValidity) {
+    object(out, "deviceDesc", deviceValidity.getDeviceDesc(), PawsJsonCodec::writeDeviceDescriptor);
+    field(out, "isValid", deviceValidity.getIsValid());
+    field(out, "reason", deviceValidity.getReason());
+  }
+
+  /**
+   * Write a PAWS error as a JSON-RPC error object. The error type is implied
+   * by the code and is not written.
+   */
+  private static void writeError(JsonWriter out, Error error) {
+    out.beginObject();
+    field(out, "code", error.getCode());
+    field(out, "message", error.getMessage());
+    Object data = error.getData();
+    if (data instanceof Boolean) {
+      out.name("data").value((Boolean) data);
+    } else if (data instanceof Integer || data instanceof Long || data instanceof Short || data instanceof Byte) {
+      out.name("data").value(((Number) data).longValue());
+    } else if (data instanceof Number) {
+      out.name("data").value(((Number) data).doubleValue());
+    } else if (data != null) {
+      out.name("data").value(data.toString());
+    }
+    out.endObject();
+  }
+
+  private static void writeEventTime(JsonWriter out, EventTime eventTime) {
+    field(out, "startTime", eventTime.getStartTime());
+    field(out, "stopTime", eventTime.getStopTime());
+    Duration duration = eventTime.getDuration();
+    if (duration != null) {
+      field(out, "duration", DURATION.marshal(duration));
+    }
+  }
+
+  private static void writeFrequencyRange(JsonWriter out, FrequencyRange frequencyRange) {
+    field06(out, "startMHz", frequencyRange.getStartMHz());
+    field06(out, "stopMHz", frequencyRange.getStopMHz());
+  }
+
+  private static void writeGeoLocation(JsonWriter out, GeoLocation location) {
+    field(out, "point", location.getPoint());
+    field(out, "region", location.getRegion());
+    field(out, "confidence", location.getConfidence());
+    field(out, "uncertainty", location.getUncertainty());
+  }
+
+  private static void writeRulesetInfo(JsonWriter out, RulesetInfo rulesetInfo) {
+    field(out, "authority", rulesetInfo.getAuthority());
+    field(out, "rulesetId", rulesetInfo.getRulesetId());
+    field(out, "maxLocationChange", rulesetInfo.getMaxLocationChange());
+    field(out, "maxPollingSecs", rulesetInfo.getMaxPollingSecs());
+  }
+
+  private static void writeSpectrum(JsonWriter out, Spectrum spectrum) {
+    out.name("resolutionBwHz").value(spectrum.getResolutionBwHz());
+    array(out, "profiles", spectrum.getProfiles(), PawsJsonCodec::writeSpectrumProfile);
+  }
+
+  private static void writeSpectrumConsumer(JsonWriter out, SpectrumConsumer consumer) {
+    field(out, "authorization", consumer.getAuthorization());
+    out.name("azimuth").value(consumer.getAzimuth());
+    out.name("distance").value(consumer.getDistance());
+    field(out, "erp", consumer.getErp());
+    field(out, "type", consumer.getType());
+    field(out, "uuid", consumer.getUuid());
+  }
+
+  private static void writeSpectrumProfile(JsonWriter out, SpectrumProfile profile) {
+    if (!profile.isCompact()) {
+      array(out, "list", profile.getList(), PawsJsonCodec::writeSpectrumProfilePoint);
+    } else if (profile.size() > 0) {
+      out.name("list").beginArray();
+      for (int i = 0; i < profile.size(); i++) {
+        out.beginObject();
+        out.name("hz").value(profile.getHz(i));
+        out.name("dbm").value(profile.getDbm(i));
+        out.endObject();
+      }
+      out.endArray();
+    }
+  }
+
+  private static void writeSpectrumProfilePoint(JsonWriter out, SpectrumProfilePoint point) {
+    field(out, "hz", point.getHz());
+    field(out, "dbm", point.getDbm());
+  }
+
+  private static void writeSpectrumSchedule(JsonWriter out, SpectrumSchedule schedule) {
+    object(out, "eventTime", schedule.getEventTime(), PawsJsonCodec::writeEventTime);
+    array(out, "spectra", schedule.getSpectra(), PawsJsonCodec::writeSpectrum);
+  }
+
+  private static void writeSpectrumSpec(JsonWriter out, SpectrumSpec spectrumSpec) {
+    object(out, "rulesetInfo", spectrumSpec.getRulesetInfo(), PawsJsonCodec::writeRulesetInfo);
+    array(out, "spectrumSchedules", spectrumSpec.getSpectrumSchedules(), PawsJsonCodec::writeSpectrumSchedule);
+    object(out, "timeRange", spectrumSpec.getTimeRange(), PawsJsonCodec::writeEventTime);
+    array(out, "frequencyRanges", spectrumSpec.getFrequencyRanges(), PawsJsonCodec::writeFrequencyRange);
+    field(out, "needsSpectrumReport", spectrumSpec.getNeedsSpectrumReport());
+    field(out, "maxTotalBwHz", spectrumSpec.getMaxTotalBwHz());
+    field(out, "maxContiguousBwHz", spectrumSpec.getMaxContiguousBwHz());
+    field(out, "etsiEnSimultaneousChannelOperationRestriction", spectrumSpec.getEtsiEnSimultaneousChannelOperationRestriction());
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Message readers">
+  private static InitializationRequest readInitializationRequest(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    InitializationRequest message = new InitializationRequest();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "deviceDesc":
+          message.setDeviceDesc(readDeviceDescriptor(in));
+          break;
+        case "location":
+          message.setLocation(readGeoLocation(in));
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return message;
+  }
+
+  private static InitializationResponse readInitializationResponse(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    InitializationResponse message = new InitializationResponse((RulesetInfo) null);
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "rulesetInfo":
+          message.setRulesetInfo(readRulesetInfo(in));
+          break;
+        case "databaseChange":
+          message.setDatabaseChange(readDbUpdateSpec(in));
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return message;
+  }
+
+  private static RegistrationRequest readRegistrationRequest(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    RegistrationRequest message = new RegistrationRequest();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "deviceDesc":
+          message.setDeviceDesc(readDeviceDescriptor(in));
+          break;
+        case "location":
+          message.setLocation(readGeoLocation(in));
+          break;
+        case "antenna":
+          message.setAntenna(readAntennaCharacteristics(in));
+          break;
+        case "deviceOwner":
+          message.setDeviceOwner(readDeviceOwner(in));
+          break;
+        case "authorization":
+          message.setAuthorization(in.nextString());
+          break;
+        case "capabilities":
+          message.setCapabilities(readDeviceCapabilities(in));
+          break;
+        case "masterDeviceDesc":
+          message.setMasterDeviceDesc(readDeviceDescriptor(in));
+          break;
+        case "serviceGroupId":
+          message.setServiceGroupId(in.nextString());
+          break;
+        case "serviceName":
+          message.setServiceName(in.nextString());
+          break;
+        case "serviceDescription":
+          message.setServiceDescription(in.nextString());
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return message;
+  }
+
+  private static RegistrationResponse readRegistrationResponse(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    RegistrationResponse message = new RegistrationResponse();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "rulesetId":
+          message.setRulesetIds(readEnum(in, PawsRulesetType.class));
+          break;
+        case "databaseChange":
+          message.setDatabaseChange(readDbUpdateSpec(in));
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return message;
+  }
+
+  private static AvailableSpectrumRequest readAvailableSpectrumRequest(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    AvailableSpectrumRequest message = new AvailableSpectrumRequest();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "requestType":
+          message.setRequestType(readEnum(in, SpectrumRequestType.class));
+          break;
+        case "deviceDesc":
+          message.setDeviceDesc(readDeviceDescriptor(in));
+          break;
+        case "location":
+          message.setLocation(readGeoLocation(in));
+          break;
+        case "antenna":
+          message.setAntenna(readAntennaCharacteristics(in));
+          break;
+        case "communicatingWith":
+          message.setCommunicatingWith(readDeviceDescriptor(in));
+          break;
+        case "deviceOwner":
+          message.setDeviceOwner(readDeviceOwner(in));
+          break;
+        case "masterDeviceDesc":
+          message.setMasterDeviceDesc(readDeviceDescriptor(in));
+          break;
+        case "masterDeviceLocation":
+          message.setMasterDeviceLocation(readGeoLocation(in));
+          break;
+        case "capabilities":
+          message.setCapabilities(readDeviceCapabilities(in));
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return message;
+  }
+
+  private static AvailableSpectrumResponse readAvailableSpectrumResponse(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    AvailableSpectrumResponse message = new AvailableSpectrumResponse();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "responseType":
+          message.setResponseType(readEnum(in, SpectrumRequestType.class));
+          break;
+        case "timestamp":
+          message.setTimestamp(readZonedDateTime(in));
+          break;
+        case "deviceDesc":
+          message.setDeviceDesc(readDeviceDescriptor(in));
+          break;
+        case "location":
+          message.setLocation(readGeoLocation(in));
+          break;
+        case "spectrumSpecs":
+          message.setSpectrumSpecs(readArray(in, PawsJsonCodec::readSpectrumSpec));
+          break;
+        case "databaseChange":
+          message.setDatabaseChange(readDbUpdateSpec(in));
+          break;
+        case "rulesetInfo":
+          message.setRulesetInfo(readRulesetInfo(in));
+          break;
+        case "timeRange":
+          message.setTimeRange(readEventTime(in));
+          break;
+        case "needsSpectrumReport":
+          Boolean needsSpectrumReport = in.nextBoolean();
+          if (needsSpectrumReport != null) {
+            message.setNeedsSpectrumReport(needsSpectrumReport);
+          }
+          break;
+        case "exception":
+          Boolean exception = in.nextBoolean();
+          if (exception != null) {
+            message.setException(exception);
+          }
+          break;
+        case "messages":
+          message.setMessages(readStrings(in));
+          break;
+        case "spectrum":
+          List<AbstractSpectrum> spectrum = readArray(in, PawsJsonCodec::readAbstractSpectrum);
+          if (spectrum != null) {
+            spectrum.forEach(message::addSpectrumEntry);
+          }
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return message;
+  }
+
+  private static SpectrumUseNotify readSpectrumUseNotify(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    SpectrumUseNotify message = new SpectrumUseNotify();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "deviceDesc":
+          message.setDeviceDesc(readDeviceDescriptor(in));
+          break;
+        case "location":
+          message.setLocation(readGeoLocation(in));
+          break;
+        case "masterDeviceDesc":
+          message.setMasterDeviceDesc(readDeviceDescriptor(in));
+          break;
+        case "masterDeviceLocation":
+          message.setMasterDeviceLocation(readGeoLocation(in));
+          break;
+        case "spectra":
+          message.setSpectra(readArray(in, PawsJsonCodec::readSpectrum));
+          break;
+        case "transmitChannel":
+          message.setTransmitChannel(readSpectrumChannel(in));
+          break;
+        case "receiveChannel":
+          message.setReceiveChannel(readSpectrumChannel(in));
+          break;
+        case "timeRange":
+          message.setTimeRange(readEventTime(in));
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return message;
+  }
+
+  private static SpectrumUseResponse readSpectrumUseResponse(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    SpectrumUseResponse message = new SpectrumUseResponse();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "databaseChange":
+          message.setDatabaseChange(readDbUpdateSpec(in));
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return message;
+  }
+
+  private static DeviceValidationRequest readDeviceValidationRequest(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    DeviceValidationRequest message = new DeviceValidationRequest();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "deviceDesc":
+          message.setDeviceDesc(readDeviceDescriptor(in));
+          break;
+        case "masterDeviceDesc":
+          message.setMasterDeviceDesc(readDeviceDescriptor(in));
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return message;
+  }
+
+  private static DeviceValidationResponse readDeviceValidationResponse(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    DeviceValidationResponse message = new DeviceValidationResponse();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "deviceValidity":
+          message.setDeviceValidity(readDeviceValidity(in));
+          break;
+        case "databaseChange":
+          message.setDatabaseChange(readDbUpdateSpec(in));
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return message;
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Object readers">
+  /**
+   * Read a polymorphic spectrum entry. The entry type is taken from the
+   * {@code type} member if present and otherwise inferred from the members
+   * present. Members are collected first since the type member need not be
+   * the first member.
+   */
+  private static AbstractSpectrum readAbstractSpectrum(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    int start = in.position();
+    String type = null;
+    String name = null;
+    Double frequencyMax = null;
+    Double frequencyMin = null;
+    Boolean allowed = null;
+    Double power = null;
+    EventTime maxTimeRange = null;
+    Boolean blocked = null;
+    Boolean fastPoll = null;
+    List<SpectrumConsumer> servicesCo = null;
+    List<SpectrumConsumer> servicesAdj = null;
+    List<SpectrumConsumer> servicesSecondAdjacent = null;
+    List<SpectrumConsumer> servicesTaboo = null;
+    List<String> messages = null;
+    boolean info = false;
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "type":
+          type = in.nextString();
+          break;
+        case "name":
+          name = in.nextString();
+          break;
+        case "frequencyMax":
+          frequencyMax = in.nextDouble();
+          break;
+        case "frequencyMin":
+          frequencyMin = in.nextDouble();
+          break;
+        case "allowed":
+          allowed = in.nextBoolean();
+          break;
+        case "power":
+          power = in.nextDouble();
+          break;
+        case "maxTimeRange":
+          maxTimeRange = readEventTime(in);
+          break;
+        case "blocked":
+          blocked = in.nextBoolean();
+          info = true;
+          break;
+        case "fastPoll":
+          fastPoll = in.nextBoolean();
+          info = true;
+          break;
+        case "servicesCo":
+          servicesCo = readArray(in, PawsJsonCodec::readSpectrumConsumer);
+          info = true;
+          break;
+        case "servicesAdj":
+          servicesAdj = readArray(in, PawsJsonCodec::readSpectrumConsumer);
+          info = true;
+          break;
+        case "servicesSecondAdjacent":
+          servicesSecondAdjacent = readArray(in, PawsJsonCodec::readSpectrumConsumer);
+          info = true;
+          break;
+        case "servicesTaboo":
+          servicesTaboo = readArray(in, PawsJsonCodec::readSpectrumConsumer);
+          info = true;
+          break;
+        case "messages":
+          messages = readStrings(in);
+          info = true;
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    if (frequencyMin == null || frequencyMax == null) {
+      throw new ParseException("Spectrum entry requires frequencyMin and frequencyMax", start);
+    }
+    AbstractSpectrum spectrum;
+    if (SPECTRUM_INFO.equals(type) || (type == null && info)) {
+      SpectrumInfo spectrumInfo = new SpectrumInfo(name, frequencyMin, frequencyMax);
+      spectrumInfo.setBlocked(blocked);
+      spectrumInfo.setFastPoll(fastPoll);
+      spectrumInfo.setServicesCo(servicesCo);
+      spectrumInfo.setServicesAdj(servicesAdj);
+      spectrumInfo.setServicesSecondAdjacent(servicesSecondAdjacent);
+      spectrumInfo.setServicesTaboo(servicesTaboo);
+      spectrumInfo.setMessages(messages);
+      spectrum = spectrumInfo;
+    } else if (SPECTRUM_CHANNEL.equals(type) || type == null) {
+      SpectrumChannel spectrumChannel = new SpectrumChannel(name, frequencyMin, frequencyMax);
+      spectrumChannel.setTimeRange(maxTimeRange);
+      spectrum = spectrumChannel;
+    } else {
+      throw new ParseException("Unsupported spectrum type " + type, start);
+    }
+    if (allowed != null) {
+      spectrum.setAllowed(allowed);
+    }
+    spectrum.setPower(power);
+    return spectrum;
+  }
+
+  private static SpectrumChannel readSpectrumChannel(JsonReader in) throws ParseException {
+    int start = in.position();
+    AbstractSpectrum spectrum = readAbstractSpectrum(in);
+    if (spectrum != null && !(spectrum instanceof SpectrumChannel)) {
+      throw new ParseException("Expected a SpectrumChannel", start);
+    }
+    return (SpectrumChannel) spectrum;
+  }
+
+  private static AntennaCharacteristics readAntennaCharacteristics(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    AntennaCharacteristics antenna = new AntennaCharacteristics();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "height":
+          antenna.setHeight(in.nextDouble());
+          break;
+        case "heightType":
+          antenna.setHeightType(readEnum(in, AntennaHeightType.class));
+          break;
+        case "heightUncertainty":
+          antenna.setHeightUncertainty(in.nextDouble());
+          break;
+        case "polarization":
+          antenna.setPolarization(readEnum(in, AntennaPolarizationType.class));
+          break;
+        case "radiationPattern":
+          String radiationPattern = in.nextString();
+          antenna.setRadiationPattern(radiationPattern == null ? null : RADIATION_PATTERN.unmarshal(radiationPattern));
+          break;
+        case "gain":
+          antenna.setGain(in.nextDouble());
+          break;
+        case "beamWidthElevation":
+          antenna.setBeamWidthElevation(in.nextDouble());
+          break;
+        case "beamWidthAzimuth":
+          antenna.setBeamWidthAzimuth(in.nextDouble());
+          break;
+        case "rotation":
+          antenna.setRotation(in.nextDouble());
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return antenna;
+  }
+
+  private static DatabaseSpec readDatabaseSpec(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    DatabaseSpec database = new DatabaseSpec();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "name":
+          database.setName(in.nextString());
+          break;
+        case "uri":
+          database.setUri(in.nextString());
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return database;
+  }
+
+  private static DbUpdateSpec readDbUpdateSpec(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    DbUpdateSpec dbUpdateSpec = new DbUpdateSpec();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "databases":
+          dbUpdateSpec.setDatabases(readArray(in, PawsJsonCodec::readDatabaseSpec));
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return dbUpdateSpec;
+  }
+
+  private static DeviceCapabilities readDeviceCapabilities(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    DeviceCapabilities capabilities = new DeviceCapabilities();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "timeRange":
+          capabilities.setTimeRange(readEventTime(in));
+          break;
+        case "frequencyRanges":
+          capabilities.setFrequencyRanges(readArray(in, PawsJsonCodec::readFrequencyRange));
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return capabilities;
+  }
+
+  private static DeviceDescriptor readDeviceDescriptor(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    DeviceDescriptor deviceDesc = new DeviceDescriptor();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "rulesetId":
+          deviceDesc.setRulesetIds(readEnum(in, PawsRulesetType.class));
+          break;
+        case "deviceMode":
+          deviceDesc.setDeviceMode(in.nextString());
+          break;
+        case "deviceId":
+          deviceDesc.setDeviceId(in.nextString());
+          break;
+        case "serialNumber":
+          deviceDesc.setSerialNumber(in.nextString());
+          break;
+        case "manufacturerId":
+          deviceDesc.setManufacturerId(in.nextString());
+          break;
+        case "modelId":
+          deviceDesc.setModelId(in.nextString());
+          break;
+        case "emissionDesignator":
+          deviceDesc.setEmissionDesignator(in.nextString());
+          break;
+        case "etsiEnTechnologyId":
+          deviceDesc.setEtsiEnTechnologyId(in.nextString());
+          break;
+        case "etsiEnDeviceCategory":
+          deviceDesc.setEtsiEnDeviceCategory(readEnum(in, EtsiDeviceCategory.class));
+          break;
+        case "etsiEnDeviceEmissionsClass":
+          int start = in.position();
+          Integer code = in.nextInteger();
+          if (code != null) {
+            try {
+              deviceDesc.setEtsiEnDeviceEmissionsClass(EtsiEmissionClassType.fromCode(code));
+            } catch (IllegalArgumentException exception) {
+              throw new ParseException("Unknown etsiEnDeviceEmissionsClass " + code, start);
+            }
+          }
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return deviceDesc;
+  }
+
+  private static DeviceOwner readDeviceOwner(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    DeviceOwner deviceOwner = new DeviceOwner();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "owner":
+          deviceOwner.setOwner(in.nextString());
+          break;
+        case "operator":
+          deviceOwner.setOperator(in.nextString());
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return deviceOwner;
+  }
+
+  private static DeviceValidity readDeviceValidity(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    DeviceValidity deviceValidity = new DeviceValidity();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "deviceDesc":
+          deviceValidity.setDeviceDesc(readDeviceDescriptor(in));
+          break;
+        case "isValid":
+          deviceValidity.setIsValid(in.nextBoolean());
+          break;
+        case "reason":
+          deviceValidity.setReason(in.nextString());
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return deviceValidity;
+  }
+
+  /**
+   * Read a JSON-RPC error object into a PAWS error. The error type is derived
+   * from the code where the code is a defined RFC 7545 error code.
+   */
+  private static Error readError(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    Error error = new Error();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "code":
+          Integer code = in.nextInteger();
+          error.setCode(code);
+          if (code != null) {
+            try {
+              error.setType(PawsErrorType.fromCode(code));
+            } catch (IllegalArgumentException exception) {
+              // reserved or unassigned code; leave the type unset
+            }
+          }
+          break;
+        case "message":
+          error.setMessage(in.nextString());
+          break;
+        case "data":
+          error.setData(in.nextValue());
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return error;
+  }
+
+  /**
+   * Read an event time. The start time is applied first so that the stop time
+   * and duration are resolved against it.
+   */
+  private static EventTime readEventTime(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    ZonedDateTime startTime = null;
+    ZonedDateTime stopTime = null;
+    Duration duration = null;
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "startTime":
+          startTime = readZonedDateTime(in);
+          break;
+        case "stopTime":
+          stopTime = readZonedDateTime(in);
+          break;
+        case "duration":
+          duration = readDuration(in);
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    EventTime eventTime = new EventTime();
+    if (startTime != null) {
+      eventTime.setStartTime(startTime);
+    }
+    if (stopTime != null) {
+      eventTime.setStopTime(stopTime);
+    } else if (duration != null) {
+      eventTime.setDuration(duration);
+    }
+    return eventTime;
+  }
+
+  private static FrequencyRange readFrequencyRange(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    FrequencyRange frequencyRange = new FrequencyRange();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "startMHz":
+          frequencyRange.setStartMHz(in.nextDouble());
+          break;
+        case "stopMHz":
+          frequencyRange.setStopMHz(in.nextDouble());
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return frequencyRange;
+  }
+
+  private static GeoLocation readGeoLocation(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    GeoLocation location = new GeoLocation();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "point":
+          location.setPoint(readGeometry(in, Point.class));
+          break;
+        case "region":
+          location.setRegion(readGeometry(in, Polygon.class));
+          break;
+        case "confidence":
+          location.setConfidence(in.nextInteger());
+          break;
+        case "uncertainty":
+          location.setUncertainty(in.nextInteger());
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return location;
+  }
+
+  private static RulesetInfo readRulesetInfo(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    RulesetInfo rulesetInfo = new RulesetInfo();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "authority":
+          rulesetInfo.setAuthority(in.nextString());
+          break;
+        case "rulesetId":
+          rulesetInfo.setRulesetId(readEnum(in, PawsRulesetType.class));
+          break;
+        case "maxLocationChange":
+          rulesetInfo.setMaxLocationChange(in.nextDouble());
+          break;
+        case "maxPollingSecs":
+          rulesetInfo.setMaxPollingSecs(in.nextInteger());
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return rulesetInfo;
+  }
+
+  private static Spectrum readSpectrum(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    Spectrum spectrum = new Spectrum();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "resolutionBwHz":
+          Double resolutionBwHz = in.nextDouble();
+          if (resolutionBwHz != null) {
+            spectrum.setResolutionBwHz(resolutionBwHz);
+          }
+          break;
+        case "profiles":
+          spectrum.setProfiles(readArray(in, PawsJsonCodec::readSpectrumProfile));
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return spectrum;
+  }
+
+  private static SpectrumConsumer readSpectrumConsumer(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    SpectrumConsumer consumer = new SpectrumConsumer();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "authorization":
+          consumer.setAuthorization(in.nextString());
+          break;
+        case "azimuth":
+          Double azimuth = in.nextDouble();
+          if (azimuth != null) {
+            consumer.setAzimuth(azimuth);
+          }
+          break;
+        case "distance":
+          Double distance = in.nextDouble();
+          if (distance != null) {
+            consumer.setDistance(distance);
+          }
+          break;
+        case "erp":
+          consumer.setErp(in.nextDouble());
+          break;
+        case "type":
+          consumer.setType(in.nextString());
+          break;
+        case "uuid":
+          consumer.setUuid(in.nextString());
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return consumer;
+  }
+
+  private static SpectrumProfile readSpectrumProfile(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    SpectrumProfile profile = new SpectrumProfile();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "list":
+          List<SpectrumProfilePoint> list = readArray(in, PawsJsonCodec::readSpectrumProfilePoint);
+          if (list != null) {
+            profile.setList(list); // keeps both points of a step
+          }
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return profile;
+  }
+
+  private static SpectrumProfilePoint readSpectrumProfilePoint(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    SpectrumProfilePoint point = new SpectrumProfilePoint();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "hz":
+          point.setHz(in.nextDouble());
+          break;
+        case "dbm":
+          point.setDbm(in.nextDouble());
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return point;
+  }
+
+  private static SpectrumSchedule readSpectrumSchedule(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    SpectrumSchedule schedule = new SpectrumSchedule();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "eventTime":
+          schedule.setEventTime(readEventTime(in));
+          break;
+        case "spectra":
+          schedule.setSpectra(readArray(in, PawsJsonCodec::readSpectrum));
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return schedule;
+  }
+
+  private static SpectrumSpec readSpectrumSpec(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    SpectrumSpec spectrumSpec = new SpectrumSpec();
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "rulesetInfo":
+          spectrumSpec.setRulesetInfo(readRulesetInfo(in));
+          break;
+        case "spectrumSchedules":
+          spectrumSpec.setSpectrumSchedules(readArray(in, PawsJsonCodec::readSpectrumSchedule));
+          break;
+        case "timeRange":
+          spectrumSpec.setTimeRange(readEventTime(in));
+          break;
+        case "frequencyRanges":
+          spectrumSpec.setFrequencyRanges(readArray(in, PawsJsonCodec::readFrequencyRange));
+          break;
+        case "needsSpectrumReport":
+          spectrumSpec.setNeedsSpectrumReport(in.nextBoolean());
+          break;
+        case "maxTotalBwHz":
+          spectrumSpec.setMaxTotalBwHz(in.nextDouble());
+          break;
+        case "maxContiguousBwHz":
+          spectrumSpec.setMaxContiguousBwHz(in.nextDouble());
+          break;
+        case "etsiEnSimultaneousChannelOperationRestriction":
+          spectrumSpec.setEtsiEnSimultaneousChannelOperationRestriction(readEnum(in, EtsiChannelRestrictionType.class));
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
+    return spectrumSpec;
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Value writers">
+  private static <T> void object(JsonWriter out, String name, T value, MemberWriter<T> members) {
+    if (value != null) {
+      out.name(name).beginObject();
+      members.write(out, value);
+      out.endObject();
+    }
+  }
+
+  /**
+   * Write an array of objects. Null and empty collections are not written.
+   */
+  private static <T> void array(JsonWriter out, String name, Collection<? extends T> values, MemberWriter<T> members) {
+    if (values != null && !values.isEmpty()) {
+      out.name(name).beginArray();
+      for (T value : values) {
+        out.beginObject();
+        members.write(out, value);
+        out.endObject();
+      }
+      out.endArray();
+    }
+  }
+
+  private static void strings(JsonWriter out, String name, Collection<String> values) {
+    if (values != null && !values.isEmpty()) {
+      out.name(name).beginArray();
+      for (String value : values) {
+        out.value(value);
+      }
+      out.endArray();
+    }
+  }
+
+  private static void field(JsonWriter out, String name, String value) {
+    if (value != null) {
+      out.name(name).value(value);
+    }
+  }
+
+  private static void field(JsonWriter out, String name, Boolean value) {
+    if (value != null) {
+      out.name(name).value(value.booleanValue());
+    }
+  }
+
+  private static void field(JsonWriter out, String name, Integer value) {
+    if (value != null) {
+      out.name(name).value(value.longValue());
+    }
+  }
+
+  private static void field(JsonWriter out, String name, Double value) {
+    if (value != null) {
+      out.name(name).value(value.doubleValue());
+    }
+  }
+
+  private static void field(JsonWriter out, String name, Enum<?> value) {
+    if (value != null) {
+      out.name(name).value(EnumValues.print(value));
+    }
+  }
+
+  private static void field(JsonWriter out, String name, ZonedDateTime value) {
+    if (value != null) {
+      out.name(name).value(ZONED_DATE_TIME.marshal(value));
+    }
+  }
+
+  private static void field(JsonWriter out, String name, Geometry value) {
+    if (value != null) {
+      try {
+        out.name(name).value(GEOMETRY.marshal(value));
+      } catch (Exception exception) {
+        throw new IllegalArgumentException("Unable to encode " + name + " geometry", exception);
+      }
+    }
+  }
+
+  /**
+   * Write a number rounded to 2 decimal places, consistent with the XML
+   * binding. Nothing is written if the value is null, NaN or infinite.
+   */
+  private static void field02(JsonWriter out, String name, Double value) {
+    if (value != null && !value.isNaN() && !value.isInfinite()) {
+      XmlDouble02PrecisionAdapter.append(out.name(name).rawValue(), value);
+    }
+  }
+
+  /**
+   * Write a number rounded to 6 decimal places, consistent with the XML
+   * binding. Nothing is written if the value is null, NaN or infinite.
+   */
+  private static void field06(JsonWriter out, String name, Double value) {
+    if (value != null && !value.isNaN() && !value.isInfinite()) {
+      XmlDouble06PrecisionAdapter.append(out.name(name).rawValue(), value);
+    }
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Value readers">
+  /**
+   * Read an array of objects.
+   *
+   * @return a list of objects, null if the value is a JSON null
+   */
+  private static <T> List<T> readArray(JsonReader in, ObjectReader<T> reader) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    List<T> list = new ArrayList<>();
+    in.beginArray();
+    while (in.hasNext()) {
+      T value = reader.read(in);
+      if (value != null) {
+        list.add(value);
+      }
+    }
+    in.endArray();
+    return list;
+  }
+
+  private static List<String> readStrings(JsonReader in) throws ParseException {
+    if (in.nextNull()) {
+      return null;
+    }
+    List<String> list = new ArrayList<>();
+    in.beginArray();
+    while (in.hasNext()) {
+      String value = in.nextString();
+      if (value != null) {
+        list.add(value);
+      }
+    }
+    in.endArray();
+    return list;
+  }
+
+  private static <E extends Enum<E>> E readEnum(JsonReader in, Class<E> type) throws ParseException {
+    int start = in.position();
+    String value = in.nextString();
+    if (value == null) {
+      return null;
+    }
+    try {
+      return EnumValues.parse(type, value);
+    } catch (IllegalArgumentException exception) {
+      throw new ParseException("Unknown " + type.getSimpleName() + " value " + value, start);
+    }
+  }
+
+  private static ZonedDateTime readZonedDateTime(JsonReader in) throws ParseException {
+    int start = in.position();
+    String value = in.nextString();
+    if (value == null) {
+      return null;
+    }
+    try {
+      return ZONED_DATE_TIME.unmarshal(value);
+    } catch (DateTimeParseException exception) {
+      throw new ParseException("Malformed date-time " + value, start);
+    }
+  }
+
+  private static Duration readDuration(JsonReader in) throws ParseException {
+    int start = in.position();
+    String value = in.nextString();
+    if (value == null) {
+      return null;
+    }
+    try {
+      return DURATION.unmarshal(value);
+    } catch (DateTimeParseException exception) {
+      throw new ParseException("Malformed duration " + value, start);
+    }
+  }
+
+  private static <G extends Geometry> G readGeometry(JsonReader in, Class<G> type) throws ParseException {
+    int start = in.position();
+    String value = in.nextString();
+    if (value == null) {
+      return null;
+    }
+    Geometry geometry;
+    try {
+      geometry = GEOMETRY.unmarshal(value);
+    } catch (Exception exception) {
+      throw new ParseException("Malformed WKT geometry " + value, start);
+    }
+    if (geometry != null && !type.isInstance(geometry)) {
+      throw new ParseException("Expected a " + type.getSimpleName() + " geometry but found " + geometry.getGeometryType(), start);
+    }
+    return type.cast(geometry);
+  }//</editor-fold>
+
+}
@@ -252,8 +252,22 @@ public class AvailableSpectrumRequest {
    *                   message will describe the invalid configuration.
    */
   public void validate() throws Exception {
+    ValidationResult result = new ValidationResult();
+    validate(result);
+    result.throwIfInvalid();
+  }
+
+  /**
+   * Validate this instance, recording all violations. The required parameters
+   * depend upon the request type.
+   *
+   * @param result the validation result to record violations
+   * @since v0.23.0 added 10/17/26
+   */
+  public void validate(ValidationResult result) {
     if (requestType == null) {
-      throw new Exception("requestType is required");
+      result.missing("requestType", "requestType is required");
+      return;
     }
     switch (requestType) {
       /**
@@ -262,60 +276,37 @@ public class AvailableSpectrumRequest {
        */
       case SLAVE: // flow through to master
         if (masterDeviceDesc == null) {
-          throw new Exception("masterDeviceDesc is required");
-        }
-        try {
-          masterDeviceDesc.isValid();
-        } catch (Exception exception) {
-          throw new Exception("masterDeviceDesc::" + exception.getMessage());
+          result.missing("masterDeviceDesc", "masterDeviceDesc is required");
         }
         if (masterDeviceLocation == null) {
-          throw new Exception("masterDeviceLocation is required when masterDeviceDesc is present.");
-        }
-        try {
-          masterDeviceLocation.isValid();
-        } catch (Exception exception) {
-          throw new Exception("masterDeviceLocation::" + exception.getMessage());
+          result.missing("masterDeviceLocation", "masterDeviceLocation is required when masterDeviceDesc is present.");
         }
       /**
        * SLAVE + MASTER requires [deviceDesc, antenna] + [location]
        */
       case MASTER: // flow through from slave to lpa
         if (antenna == null) {
-          throw new Exception("antenna is required");
+          result.missing("antenna", "antenna is required");
         }
-        antenna.isValid();
         if (deviceDesc == null) {
-          throw new Exception("deviceDesc is required");
+          result.missing("deviceDesc", "deviceDesc is required");
         }
-        deviceDesc.isValid();
-
       /**
        * SLAVE + MASTER + LPA requires [location]
        */
       case LPA: // flow through from master
-        if (location == null) {
-          throw new Exception("location is required");
-        }
-        location.isValid();
-        break;
-
       /**
        * INFO requires Location
        */
       case INFO:
         if (location == null) {
-          throw new Exception("location is required");
+          result.missing("location", "location is required");
         }
-        location.isValid();
-
         break;
 
       default:
         throw new AssertionError(requestType.name());
-
     }
-//    return false;
   }
 
 }
@@ -239,6 +239,17 @@ public class AvailableSpectrumResponse {
    */
   private Error error;
 
+  /**
+   * Interval index over the spectrum collection, built on first query. Not
+   * serialized.
+   */
+  private transient SpectrumIndex spectrumIndex;
+  /**
+   * The spectrum collection size when the index was built. Used to detect
+   * entries added or removed via the collection returned by getSpectrum().
+   */
+  private transient int spectrumIndexSize;
+
   public AvailableSpectrumResponse() {
     this.timestamp = ZonedDateTime.now(ZONE_ID);
     this.needsSpectrumReport = true;
@@ -354,6 +365,7 @@ public class AvailableSpectrumResponse {
    */
   public void clearSpectrum() {
     this.spectrum = null;
+    this.spectrumIndex = null;
   }
 
   /**
@@ -364,6 +376,7 @@ public class AvailableSpectrumResponse {
   public void setSpectrumChannels(Collection<SpectrumChannel> spectrum) {
     if (spectrum == null) {
       this.spectrum = null;
+      this.spectrumIndex = null;
     } else {
       this.spectrum = null; // first clear the list
       spectrum.forEach(s -> addSpectrumEntry(s));
@@ -378,6 +391,7 @@ public class AvailableSpectrumResponse {
   public void setSpectrumInfos(Collection<SpectrumInfo> spectrum) {
     if (spectrum == null) {
       this.spectrum = null;
+      this.spectrumIndex = null;
     } else {
       this.spectrum = null; // first clear the list
       spectrum.forEach(s -> addSpectrumEntry(s));
@@ -391,6 +405,54 @@ public class AvailableSpectrumResponse {
    */
   public void addSpectrumEntry(AbstractSpectrum channel) {
     getSpectrum().add(channel);
+    this.spectrumIndex = null;
+  }
+
+  /**
+   * Get an interval index over the spectrum collection for frequency range
+   * queries. The index is built on first use and rebuilt when the spectrum is
+   * changed through this class or the collection size changes.
+   * <p>
+   * Developer note: an entry whose frequencies are edited in place is not
+   * detected; call {@code clearSpectrumIndex()} after such changes.
+   *
+   * @return the spectrum interval index
+   * @since v0.23.0 added 10/17/26
+   */
+  public SpectrumIndex getSpectrumIndex() {
+    SpectrumIndex index = spectrumIndex;
+    if (index == null || spectrumIndexSize != getSpectrum().size()) {
+      index = new SpectrumIndex(getSpectrum());
+      spectrumIndexSize = getSpectrum().size();
+      spectrumIndex = index;
+    }
+    return index;
+  }
+
+  /**
+   * Discard the spectrum interval index so that it is rebuilt on next use.
+   *
+   * @since v0.23.0 added 10/17/26
+   */
+  public void clearSpectrumIndex() {
+    this.spectrumIndex = null;
+  }
+
+  /**
+   * Build a time index over the spectrum schedules of every spectrum
+   * specification, to find the schedules in effect at an instant and the next
+   * time they change. The index is a snapshot; keep it for as long as this
+   * response is current.
+   *
+   * @return a new schedule time index
+   * @since v0.23.0 added 10/17/26
+   */
+  public ScheduleTimeIndex buildScheduleTimeIndex() {
+    List<SpectrumSchedule> schedules = new ArrayList<>();
+    for (SpectrumSpec spectrumSpec : getSpectrumSpecs()) {
+      schedules.addAll(spectrumSpec.getSpectrumSchedules());
+    }
+    return new ScheduleTimeIndex(schedules);
   }
 
   public Error getError() {
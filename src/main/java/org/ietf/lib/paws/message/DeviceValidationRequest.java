@@ -20,6 +20,7 @@ package org.ietf.lib.paws.message;
 
 import javax.xml.bind.annotation.*;
 import org.ietf.lib.paws.DeviceDescriptor;
+import org.ietf.lib.paws.ValidationResult;
 
 /**
  * 4.6.1. DEV_VALID_REQ
@@ -100,17 +101,29 @@ public class DeviceValidationRequest {
    * @since v0.21.0 added 09/14/19
    */
   public void validate() throws Exception {
+    ValidationResult result = new ValidationResult();
+    validate(result);
+    result.throwIfInvalid();
+  }
+
+  /**
+   * Validate a device validation request message, recording all violations.
+   *
+   * @param result the validation result to record violations
+   * @since v0.23.0 added 10/17/26
+   */
+  public void validate(ValidationResult result) {
     if (deviceDesc == null) {
-      throw new Exception("deviceDesc is required.");
+      result.missing("deviceDesc", "deviceDesc is required.");
+    } else {
+      result.enter("deviceDesc");
+      deviceDesc.validate(result);
+      result.exit();
     }
-    deviceDesc.validate();
-
     if (masterDeviceDesc != null) {
-      try {
-        masterDeviceDesc.validate();
-      } catch (Exception exception) {
-        throw new Exception("masterDeviceDesc::" + exception.getMessage());
-      }
+      result.enter("masterDeviceDesc");
+      masterDeviceDesc.validate(result);
+      result.exit();
     }
   }
 
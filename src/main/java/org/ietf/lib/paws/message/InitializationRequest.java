@@ -16,6 +16,7 @@ package org.ietf.lib.paws.message;
 import javax.xml.bind.annotation.*;
 import org.ietf.lib.paws.DeviceDescriptor;
 import org.ietf.lib.paws.GeoLocation;
+import org.ietf.lib.paws.ValidationResult;
 
 /**
  * 4.3.1. INIT_REQ
@@ -90,13 +91,27 @@ public class InitializationRequest {
    * @since v0.21.0 added 09/14/19
    */
   public void validate() throws Exception {
+    ValidationResult result = new ValidationResult();
+    validate(result);
+    result.throwIfInvalid();
+  }
+
+  /**
+   * Validate a request message, recording all violations.
+   *
+   * @param result the validation result to record violations
+   * @since v0.23.0 added 10/17/26
+   */
+  public void validate(ValidationResult result) {
     if (deviceDesc == null) {
-      throw new Exception("deviceDesc is required.");
+      result.missing("deviceDesc", "deviceDesc is required.");
+    } else {
+      result.enter("deviceDesc");
+      deviceDesc.validate(result);
+      result.exit();
     }
-    deviceDesc.validate();
     if (location == null) {
-      throw new Exception("location is required");
+      result.missing("location", "location is required");
     }
-    location.isValid();
   }
 }
@@ -244,25 +244,53 @@ public class RegistrationRequest {
    * @throws Exception describing the invalid configuration
    */
   public void validate() throws Exception {
+    ValidationResult result = new ValidationResult();
+    validate(result);
+    result.throwIfInvalid();
+  }
+
+  /**
+   * Validate this instance, recording all violations.
+   *
+   * @param result the validation result to record violations
+   * @since v0.23.0 added 10/17/26
+   */
+  public void validate(ValidationResult result) {
     if (deviceDesc == null) {
-      throw new Exception("deviceDesc is required");
+      result.missing("deviceDesc", "deviceDesc is required");
     }
     if (location == null) {
-      throw new Exception("location is required");
+      result.missing("location", "location is required");
     }
     if (antenna == null) {
-      throw new Exception("antenna is required");
+      result.missing("antenna", "antenna is required");
     }
     if (deviceOwner == null) {
-      throw new Exception("deviceOwner is required");
+      result.missing("deviceOwner", "deviceOwner is required");
     }
     /**
      * Validate all my children.
      */
-    deviceDesc.validate();
-    location.validate();
-    antenna.validate();
-    deviceOwner.validate();
+    if (deviceDesc != null) {
+      result.enter("deviceDesc");
+      deviceDesc.validate(result);
+      result.exit();
+    }
+    if (location != null) {
+      result.enter("location");
+      location.validate(result);
+      result.exit();
+    }
+    if (antenna != null) {
+      result.enter("antenna");
+      antenna.validate(result);
+      result.exit();
+    }
+    if (deviceOwner != null) {
+      result.enter("deviceOwner");
+      deviceOwner.validate(result);
+      result.exit();
+    }
   }
 
 }
@@ -219,66 +219,71 @@ public class SpectrumUseNotify {
    * @since v0.21.0 added 09/14/19
    */
   public void validate() throws Exception {
+    ValidationResult result = new ValidationResult();
+    validate(result);
+    result.throwIfInvalid();
+  }
+
+  /**
+   * Validate a spectrum use notify message, recording all violations.
+   *
+   * @param result the validation result to record violations
+   * @since v0.23.0 added 10/17/26
+   */
+  public void validate(ValidationResult result) {
     /**
      * Confirm the device is properly described.
      */
     if (deviceDesc == null) {
-      throw new Exception("deviceDesc is required.");
+      result.missing("deviceDesc", "deviceDesc is required.");
+    } else {
+      result.enter("deviceDesc");
+      deviceDesc.validate(result);
+      result.exit();
     }
-    deviceDesc.validate();
-
     if (location == null) {
-      throw new Exception("location is required.");
+      result.missing("location", "location is required.");
+    } else {
+      result.enter("location");
+      location.validate(result);
+      result.exit();
     }
-    location.validate();
-
     /**
      * Conditionally validate the master configuration.
      */
     if (masterDeviceDesc != null) {
-      try {
-        masterDeviceDesc.validate();
-      } catch (Exception exception) {
-        throw new Exception("masterDeviceDesc::" + exception.getMessage());
-      }
-
+      result.enter("masterDeviceDesc");
+      masterDeviceDesc.validate(result);
+      result.exit();
       if (masterDeviceLocation == null) {
-        throw new Exception("masterDeviceLocation is required when masterDeviceDesc is present.");
-      }
-      try {
-        masterDeviceLocation.validate();
-      } catch (Exception exception) {
-        throw new Exception("masterDeviceLocation::" + exception.getMessage());
+        result.missing("masterDeviceLocation", "masterDeviceLocation is required when masterDeviceDesc is present.");
+      } else {
+        result.enter("masterDeviceLocation");
+        masterDeviceLocation.validate(result);
+        result.exit();
       }
-
     }
-
     /**
      * Ensure that either a transmit channel or receive channel is provided. If
-     * a transmit channel is indicated, then tnsure the transmit power is
+     * a transmit channel is indicated, then ensure the transmit power is
      * present when required.
      */
     if (transmitChannel == null && receiveChannel == null) {
-      throw new Exception("no channel provided");
+      result.missing("transmitChannel", "no channel provided");
     }
     if (transmitChannel != null) {
-      try {
-        transmitChannel.validate();
-      } catch (Exception exception) {
-        throw new Exception("transmitChannel::" + exception.getMessage());
-      }
+      result.enter("transmitChannel");
+      transmitChannel.validate(result);
       if (transmitChannel.getPower() == null) {
-        throw new Exception("transmitChannel::power (dBW) is required.");
+        result.missing("power", "power (dBW) is required.");
       }
+      result.exit();
     }
     if (receiveChannel != null) {
-      try {
-        receiveChannel.validate();
-      } catch (Exception exception) {
-        throw new Exception("receiveChannel::" + exception.getMessage());
-      }
+      result.enter("receiveChannel");
+      receiveChannel.validate(result);
+      result.exit();
     }
-
   }
 
 }
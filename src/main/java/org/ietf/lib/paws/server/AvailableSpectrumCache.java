@@ -0,0 +1,399 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.server;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import org.ietf.lib.paws.AntennaCharacteristics;
+import org.ietf.lib.paws.DeviceCapabilities;
+import org.ietf.lib.paws.DeviceDescriptor;
+import org.ietf.lib.paws.EventTime;
+import org.ietf.lib.paws.FrequencyRange;
+import org.ietf.lib.paws.GeoLocation;
+import org.ietf.lib.paws.message.AvailableSpectrumRequest;
+import org.ietf.lib.paws.message.AvailableSpectrumResponse;
+import org.ietf.lib.paws.type.AntennaHeightType;
+import org.ietf.lib.paws.type.PawsRulesetType;
+import org.ietf.lib.paws.type.SpectrumRequestType;
+import org.locationtech.jts.geom.Point;
+
+/**
+ * Size-bounded cache of available spectrum responses for database servers.
+ * <p>
+ * Fixed and Mode II devices poll from (nearly) the same position every
+ * {@code maxPollingSecs}. This cache keys responses on the ruleset, device
+ * mode, request type, antenna height bucket and height type, the device
+ * capabilities (frequency ranges and time range) and the request position
+ * quantized to a grid whose cell diagonal is half the ruleset maximum
+ * location change. Positions are compared exactly when the ruleset does not
+ * define a maximum location change.
+ * <p>
+ * Sharing a response across a cell is a relaxation of the location rule. A
+ * ruleset permits a device to move up to {@code maxLocationChange} meters from
+ * the position its spectrum was computed for before it must query again. A
+ * device answered with a response computed for another position in its cell
+ * starts up to half that distance away, so it may operate up to 1.5
+ * {@code maxLocationChange} from the computed position before it queries
+ * again. Use this cache only where the spectrum calculation margins accept
+ * that bound.
+ * <p>
+ * Entries expire at the response {@code timeRange.stopTime} and the least
+ * recently used entry is evicted when the cache is full. Responses carrying an
+ * error or exception, and requests without a location point, are never
+ * cached.
+ * <p>
+ * Each hit returns a new AvailableSpectrumResponse addressed to the requesting
+ * device (deviceDesc, location and timestamp). The spectrum entries and other
+ * nested values are shared with the cached response and must be treated as
+ * read-only. This class is thread-safe.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public class AvailableSpectrumCache {
+
+  /**
+   * The largest number of meters per degree of latitude (at the poles). Using
+   * the largest value keeps quantized cells no taller than requested.
+   */
+  private static final double METERS_PER_DEGREE_LATITUDE = 111_694.0;
+  /**
+   * The number of meters per degree of longitude at the equator.
+   */
+  private static final double METERS_PER_DEGREE_LONGITUDE = 111_320.0;
+  /**
+   * The default antenna height bucket size, in meters.
+   */
+  private static final double HEIGHT_BUCKET_DEFAULT = 1.0;
+
+  /**
+   * The maximum number of cached responses.
+   */
+  private final int maximumSize;
+  /**
+   * The antenna height bucket size, in meters.
+   */
+  private final double heightBucket;
+  /**
+   * The clock used to expire entries.
+   */
+  private final Clock clock;
+  /**
+   * Access-ordered map providing LRU eviction. Guarded by itself.
+   */
+  private final LinkedHashMap<Key, AvailableSpectrumResponse> cache;
+
+  /**
+   * Build a new cache with a one meter antenna height bucket.
+   *
+   * @param maximumSize the maximum number of cached responses
+   */
+  public AvailableSpectrumCache(int maximumSize) {
+    this(maximumSize, HEIGHT_BUCKET_DEFAULT, Clock.systemUTC());
+  }
+
+  /**
+   * Build a new cache.
+   *
+   * @param maximumSize  the maximum number of cached responses
+   * @param heightBucket the antenna height bucket size, in meters. Requests
+   *                     with antenna heights in the same bucket share a
+   *                     cache entry.
+   * @param clock        the clock used to expire entries
+   */
+  public AvailableSpectrumCache(int maximumSize, double heightBucket, Clock clock) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("Maximum cache size must be positive.");
+    }
+    if (!(heightBucket > 0)) {
+      throw new IllegalArgumentException("Antenna height bucket must be positive.");
+    }
+    this.maximumSize = maximumSize;
+    this.heightBucket = heightBucket;
+    this.clock = Objects.requireNonNull(clock, "clock");
+    this.cache = new LinkedHashMap<Key, AvailableSpectrumResponse>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, AvailableSpectrumResponse> eldest) {
+        return size() > AvailableSpectrumCache.this.maximumSize;
+      }
+    };
+  }
+
+  /**
+   * Get a cached response for a request.
+   *
+   * @param request the available spectrum request
+   * @return a response addressed to the requesting device; null if there is
+   *         no current cached response
+   */
+  public AvailableSpectrumResponse get(AvailableSpectrumRequest request) {
+    Key key = getKey(request);
+    if (key == null) {
+      return null;
+    }
+    AvailableSpectrumResponse response;
+    synchronized (cache) {
+      response = cache.get(key);
+      if (response != null && isExpired(response)) {
+        cache.remove(key);
+        response = null;
+      }
+    }
+    return response == null ? null : copyFor(response, request);
+  }
+
+  /**
+   * Get a cached response for a request, or compute and cache a new one. The
+   * loader is called without holding any lock, so concurrent misses for the
+   * same key may each compute a response.
+   *
+   * @param request the available spectrum request
+   * @param loader  the function computing a response on a cache miss
+   * @return the response
+   */
+  public AvailableSpectrumResponse get(AvailableSpectrumRequest request, Function<AvailableSpectrumRequest, AvailableSpectrumResponse> loader) {
+    AvailableSpectrumResponse response = get(request);
+    if (response == null) {
+      response = loader.apply(request);
+      put(request, response);
+    }
+    return response;
+  }
+
+  /**
+   * Cache a response. Responses that are already expired or that carry an
+   * error or exception are ignored, as are requests without a location point.
+   *
+   * @param request  the available spectrum request
+   * @param response the response to the request
+   */
+  @SuppressWarnings("deprecation")
+  public void put(AvailableSpectrumRequest request, AvailableSpectrumResponse response) {
+    Key key = getKey(request);
+    if (key == null || response == null || response.getError() != null || response.isException()
+        || response.getTimeRange() == null || response.getTimeRange().getStopInstant() == null || isExpired(response)) {
+      return;
+    }
+    /**
+     * Initialize the lazily created collections now so that concurrent hits
+     * only ever read the cached response.
+     */
+    response.getSpectrum();
+    response.getSpectrumSpecs();
+    synchronized (cache) {
+      cache.put(key, response);
+    }
+  }
+
+  /**
+   * Remove all expired entries.
+   */
+  public void purge() {
+    synchronized (cache) {
+      cache.values().removeIf(this::isExpired);
+    }
+  }
+
+  /**
+   * Remove all entries; for example after a database update.
+   */
+  public void clear() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  /**
+   * Get the number of cached responses, including expired responses not yet
+   * purged.
+   *
+   * @return the number of cached responses
+   */
+  public int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * Build the cache key for a request.
+   *
+   * @param request the available spectrum request
+   * @return the cache key; null if the request does not have a location point
+   */
+  public Key getKey(AvailableSpectrumRequest request) {
+    GeoLocation location = request == null ? null : request.getLocation();
+    Point point = location == null ? null : location.getPoint();
+    if (point == null || point.isEmpty()) {
+      return null;
+    }
+    DeviceDescriptor deviceDesc = request.getDeviceDesc();
+    PawsRulesetType rulesetId = deviceDesc == null ? null : deviceDesc.getRulesetId();
+    String deviceMode = deviceDesc == null ? null : deviceDesc.getDeviceMode();
+    double latitude = point.getY();
+    double longitude = point.getX();
+    long latitudeCell;
+    long longitudeCell;
+    double maxLocationChange = rulesetId == null ? 0 : rulesetId.getMaxLocationChange();
+    if (maxLocationChange > 0) {
+      /**
+       * Square cells of side maxLocationChange / (2 sqrt 2) have a diagonal
+       * of half the maxLocationChange. Longitude cells are sized at the row
+       * edge closest to the equator, where a degree of longitude is longest.
+       */
+      double side = maxLocationChange / (2 * Math.sqrt(2));
+      double rowHeight = side / METERS_PER_DEGREE_LATITUDE;
+      latitudeCell = (long) Math.floor(latitude / rowHeight);
+      double rowLatitude = latitudeCell >= 0 ? latitudeCell * rowHeight : (latitudeCell + 1) * rowHeight;
+      double metersPerDegree = Math.max(METERS_PER_DEGREE_LONGITUDE * Math.cos(Math.toRadians(Math.abs(rowLatitude))), 1);
+      longitudeCell = (long) Math.floor(longitude * metersPerDegree / side);
+    } else {
+      latitudeCell = Double.doubleToLongBits(latitude);
+      longitudeCell = Double.doubleToLongBits(longitude);
+    }
+    AntennaCharacteristics antenna = request.getAntenna();
+    long heightCell = antenna == null || antenna.getHeight() == null
+                      ? Long.MIN_VALUE
+                      : (long) Math.floor(antenna.getHeight() / heightBucket);
+    AntennaHeightType heightType = antenna == null ? null : antenna.getHeightType();
+    return new Key(rulesetId, deviceMode, request.getRequestType(), latitudeCell, longitudeCell, heightCell, heightType,
+                   capabilities(request.getCapabilities()));
+  }
+
+  /**
+   * Pack the device capabilities that limit the response: the time range
+   * bounds (epoch milliseconds) then the start and stop of each frequency
+   * range, with NaN for missing values. Null if the request has no
+   * capabilities.
+   */
+  private static double[] capabilities(DeviceCapabilities capabilities) {
+    if (capabilities == null) {
+      return null;
+    }
+    EventTime timeRange = capabilities.getTimeRange();
+    List<FrequencyRange> frequencyRanges = capabilities.getFrequencyRanges();
+    double[] packed = new double[2 + 2 * frequencyRanges.size()];
+    packed[0] = timeRange == null || timeRange.getStartInstant() == null ? Double.NaN : timeRange.getStartInstant().toEpochMilli();
+    packed[1] = timeRange == null || timeRange.getStopInstant() == null ? Double.NaN : timeRange.getStopInstant().toEpochMilli();
+    int i = 2;
+    for (FrequencyRange frequencyRange : frequencyRanges) {
+      packed[i++] = frequencyRange == null || frequencyRange.getStartMHz() == null ? Double.NaN : frequencyRange.getStartMHz();
+      packed[i++] = frequencyRange == null || frequencyRange.getStopMHz() == null ? Double.NaN : frequencyRange.getStopMHz();
+    }
+    return packed;
+  }
+
+  private boolean isExpired(AvailableSpectrumResponse response) {
+    return !clock.instant().isBefore(response.getTimeRange().getStopInstant());
+  }
+
+  /**
+   * Address a cached response to the requesting device.
+   */
+  @SuppressWarnings("deprecation")
+  private static AvailableSpectrumResponse copyFor(AvailableSpectrumResponse cached, AvailableSpectrumRequest request) {
+    AvailableSpectrumResponse response = new AvailableSpectrumResponse();
+    response.setResponseType(cached.getResponseType());
+    response.setDeviceDesc(request.getDeviceDesc());
+    response.setLocation(request.getLocation());
+    response.setDatabaseChange(cached.getDatabaseChange());
+    response.setRulesetInfo(cached.getRulesetInfo());
+    response.setTimeRange(cached.getTimeRange());
+    response.setNeedsSpectrumReport(cached.getNeedsSpectrumReport());
+    response.setMessages(cached.getMessages());
+    if (!cached.getSpectrumSpecs().isEmpty()) {
+      response.setSpectrumSpecs(cached.getSpectrumSpecs());
+    }
+    response.getSpectrum().addAll(cached.getSpectrum());
+    return response;
+  }
+
+  /**
+   * Immutable response cache key.
+   */
+  public static final class Key {
+
+    private final PawsRulesetType rulesetId;
+    private final String deviceMode;
+    private final SpectrumRequestType requestType;
+    private final long latitudeCell;
+    private final long longitudeCell;
+    private final long heightCell;
+    private final AntennaHeightType heightType;
+    private final double[] capabilities;
+
+    private Key(PawsRulesetType rulesetId, String deviceMode, SpectrumRequestType requestType, long latitudeCell, long longitudeCell, long heightCell,
+                AntennaHeightType heightType, double[] capabilities) {
+      this.rulesetId = rulesetId;
+      this.deviceMode = deviceMode;
+      this.requestType = requestType;
+      this.latitudeCell = latitudeCell;
+      this.longitudeCell = longitudeCell;
+      this.heightCell = heightCell;
+      this.heightType = heightType;
+      this.capabilities = capabilities;
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = 7;
+      hash = 59 * hash + Objects.hashCode(this.rulesetId);
+      hash = 59 * hash + Objects.hashCode(this.deviceMode);
+      hash = 59 * hash + Objects.hashCode(this.requestType);
+      hash = 59 * hash + Long.hashCode(this.latitudeCell);
+      hash = 59 * hash + Long.hashCode(this.longitudeCell);
+      hash = 59 * hash + Long.hashCode(this.heightCell);
+      hash = 59 * hash + Objects.hashCode(this.heightType);
+      hash = 59 * hash + Arrays.hashCode(this.capabilities);
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (obj == null || getClass() != obj.getClass()) {
+        return false;
+      }
+      final Key other = (Key) obj;
+      return this.latitudeCell == other.latitudeCell
+             && this.longitudeCell == other.longitudeCell
+             && this.heightCell == other.heightCell
+             && this.rulesetId == other.rulesetId
+             && this.requestType == other.requestType
+             && this.heightType == other.heightType
+             && Objects.equals(this.deviceMode, other.deviceMode)
+             && Arrays.equals(this.capabilities, other.capabilities);
+    }
+
+    @Override
+    public String toString() {
+      return "Key{" + "rulesetId=" + rulesetId + ", deviceMode=" + deviceMode + ", requestType=" + requestType
+             + ", latitudeCell=" + latitudeCell + ", longitudeCell=" + longitudeCell + ", heightCell=" + heightCell
+             + ", heightType=" + heightType + ", capabilities=" + Arrays.toString(capabilities) + '}';
+    }
+  }
+
+}
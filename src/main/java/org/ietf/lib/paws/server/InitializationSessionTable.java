@@ -0,0 +1,434 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.server;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.ietf.lib.paws.DeviceDescriptor;
+import org.ietf.lib.paws.DeviceKey;
+import org.ietf.lib.paws.GeoLocation;
+import org.ietf.lib.paws.message.InitializationRequest;
+import org.ietf.lib.paws.type.PawsErrorType;
+import org.ietf.lib.paws.type.PawsRulesetType;
+
+/**
+ * Device initialization sessions for database servers.
+ * <p>
+ * RFC 7545 requires a device to send INIT_REQ before other requests. This
+ * table records each initialized device and location, keyed by
+ * {@link DeviceKey}, until its lease expires: the ruleset LPA lease time for
+ * LPA devices and the WSD lease time for all others.
+ * <p>
+ * Lookups ({@link #get}, {@link #check}) are a single ConcurrentHashMap read
+ * and never lock; an expired session is reported as missing even before it is
+ * removed. Expiry is driven by a hierarchical timing wheel of five 64-slot
+ * levels with a one second tick, spanning 2^30 seconds (about 34 years); a
+ * longer lease is parked in the top level and rescheduled as the wheel turns.
+ * Each session is a node in a doubly linked slot list, so scheduling,
+ * replacing and expiring a session are constant time and nothing scans the
+ * table. Expired sessions are removed when the wheel advances: on each
+ * {@link #initialize} and on each call to {@link #expire()}, which a server
+ * should call periodically. The wheel jumps directly to the next tick that has
+ * sessions to expire or cascade, so advancing after a long idle period costs
+ * at most a few hundred slot checks per such tick, not one step per elapsed
+ * second.
+ * <p>
+ * Hit, miss and expiry counts are kept in LongAdder counters. This class is
+ * thread-safe.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public class InitializationSessionTable {
+
+  /**
+   * Bits per wheel level (64 slots).
+   */
+  private static final int LEVEL_BITS = 6;
+  private static final int SLOTS = 1 << LEVEL_BITS;
+  private static final int SLOT_MASK = SLOTS - 1;
+  private static final int LEVELS = 5;
+  /**
+   * The largest number of ticks ahead a session is scheduled. Later sessions
+   * are parked at this distance, in a top level slot the wheel is not
+   * draining, and rescheduled when it is reached.
+   */
+  private static final long MAX_DELTA = (1L << (LEVEL_BITS * LEVELS)) - 1;
+  /**
+   * The device mode name that selects the LPA lease time.
+   */
+  private static final String LPA = "LPA";
+
+  /**
+   * The current sessions.
+   */
+  private final ConcurrentHashMap<DeviceKey, Session> sessions = new ConcurrentHashMap<>();
+  /**
+   * The clock used to time sessions.
+   */
+  private final Clock clock;
+  /**
+   * Wheel slot list heads (sentinels), indexed by level and slot. Guarded by
+   * the wheel lock.
+   */
+  private final Session[][] wheel = new Session[LEVELS][SLOTS];
+  /**
+   * The last processed tick (epoch seconds). Guarded by the wheel lock.
+   */
+  private long current;
+  /**
+   * The number of sessions in the wheel. Guarded by the wheel lock.
+   */
+  private int scheduled;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder expired = new LongAdder();
+
+  /**
+   * Build a session table using the system UTC clock.
+   */
+  public InitializationSessionTable() {
+    this(Clock.systemUTC());
+  }
+
+  /**
+   * Build a session table.
+   *
+   * @param clock the clock used to time sessions
+   */
+  public InitializationSessionTable(Clock clock) {
+    this.clock = Objects.requireNonNull(clock, "clock");
+    for (Session[] level : wheel) {
+      for (int i = 0; i < SLOTS; i++) {
+        Session head = new Session();
+        head.previous = head;
+        head.next = head;
+        level[i] = head;
+      }
+    }
+    this.current = clock.millis() / 1000;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Sessions">
+  /**
+   * Record an initialized device, replacing any previous session for the
+   * device.
+   *
+   * @param request the initialization request; the device descriptor and its
+   *                ruleset are required
+   * @return the session
+   * @throws IllegalArgumentException if the device descriptor or ruleset is
+   *                                  missing
+   */
+  public Session initialize(InitializationRequest request) {
+    DeviceDescriptor deviceDesc = request.getDeviceDesc();
+    if (deviceDesc == null || deviceDesc.getRulesetId() == null) {
+      throw new IllegalArgumentException("Initialization requires a device descriptor with a ruleset.");
+    }
+    long now = clock.millis();
+    long expires = now + getLeaseTime(deviceDesc).toMillis();
+    DeviceKey key = deviceDesc.getDeviceKey();
+    Session session = new Session(key, deviceDesc, request.getLocation(), now, expires);
+    synchronized (wheel) {
+      advance(now / 1000);
+      Session previous = sessions.put(key, session);
+      if (previous != null) {
+        unlink(previous);
+      }
+      session.tick = Math.max((expires + 999) / 1000, current + 1);
+      schedule(session);
+    }
+    return session;
+  }
+
+  /**
+   * Get the current session for a device. Lock-free.
+   *
+   * @param deviceDesc the device descriptor
+   * @return the session; null if the device is not initialized or its session
+   *         has expired
+   */
+  public Session get(DeviceDescriptor deviceDesc) {
+    Session session = deviceDesc == null ? null : sessions.get(deviceDesc.getDeviceKey());
+    if (session == null || session.expires <= clock.millis()) {
+      misses.increment();
+      return null;
+    }
+    hits.increment();
+    return session;
+  }
+
+  /**
+   * Check that a device has a current session. Lock-free.
+   *
+   * @param deviceDesc the device descriptor
+   * @return NOT_INITIALIZED, or null if the device has a current session
+   */
+  public PawsErrorType check(DeviceDescriptor deviceDesc) {
+    return get(deviceDesc) == null ? PawsErrorType.NOT_INITIALIZED : null;
+  }
+
+  /**
+   * Remove the session for a device.
+   *
+   * @param deviceDesc the device descriptor
+   * @return true if the device had a session
+   */
+  public boolean remove(DeviceDescriptor deviceDesc) {
+    synchronized (wheel) {
+      Session session = sessions.remove(deviceDesc.getDeviceKey());
+      if (session == null) {
+        return false;
+      }
+      unlink(session);
+      return true;
+    }
+  }
+
+  /**
+   * Remove all expired sessions by advancing the timing wheel to the current
+   * time.
+   *
+   * @return the number of sessions removed
+   */
+  public int expire() {
+    long before = expired.sum();
+    synchronized (wheel) {
+      advance(clock.millis() / 1000);
+    }
+    return (int) (expired.sum() - before);
+  }
+
+  /**
+   * Get the number of sessions, including expired sessions not yet removed.
+   *
+   * @return the number of sessions
+   */
+  public int size() {
+    return sessions.size();
+  }
+
+  /**
+   * Get the lease time for a device: the ruleset LPA lease time for LPA
+   * devices and the WSD lease time for all others.
+   *
+   * @param deviceDesc the device descriptor
+   * @return the lease time
+   */
+  public static Duration getLeaseTime(DeviceDescriptor deviceDesc) {
+    PawsRulesetType rulesetId = deviceDesc.getRulesetId();
+    Enum<?> mode = deviceDesc.getDeviceModeType();
+    return mode != null && LPA.equals(mode.name()) ? rulesetId.getLpaLeaseTime() : rulesetId.getWsdLeaseTime();
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Counters">
+  /**
+   * Get the number of lookups that found a current session.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Get the number of lookups that found no current session.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Get the number of sessions removed on lease expiry.
+   *
+   * @return the expiry count
+   */
+  public long getExpiredCount() {
+    return expired.sum();
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Timing wheel">
+  /**
+   * Link a session into the wheel slot for its tick: the lowest level whose
+   * span covers the remaining ticks. A session expires on the first tick at or
+   * after its expiry time. Must be called holding the wheel lock.
+   */
+  private void schedule(Session session) {
+    long delta = Math.min(session.tick - current, MAX_DELTA);
+    long tick = current + delta;
+    int level = 0;
+    while (level < LEVELS - 1 && delta >= 1L << (LEVEL_BITS * (level + 1))) {
+      level++;
+    }
+    Session head = wheel[level][(int) ((tick >>> (LEVEL_BITS * level)) & SLOT_MASK)];
+    session.next = head;
+    session.previous = head.previous;
+    head.previous.next = session;
+    head.previous = session;
+    scheduled++;
+  }
+
+  /**
+   * Must be called holding the wheel lock.
+   */
+  private void unlink(Session session) {
+    if (session.next != null) {
+      session.previous.next = session.next;
+      session.next.previous = session.previous;
+      session.previous = null;
+      session.next = null;
+      scheduled--;
+    }
+  }
+
+  /**
+   * Process each tick up to and including the given tick. At a tick that
+   * completes a rotation of level k - 1, the current level k slot is cascaded:
+   * its sessions are rescheduled into the lower levels. Then the current
+   * level 0 slot is expired. Ticks with nothing to cascade or expire are
+   * skipped. Must be called holding the wheel lock.
+   */
+  private void advance(long tick) {
+    while (current < tick) {
+      long next = scheduled == 0 ? Long.MAX_VALUE : nextTick();
+      if (next > tick) {
+        current = tick;
+        return;
+      }
+      current = next;
+      for (int level = LEVELS - 1; level > 0; level--) {
+        if ((current & ((1L << (LEVEL_BITS * level)) - 1)) == 0) {
+          cascade(wheel[level][(int) ((current >>> (LEVEL_BITS * level)) & SLOT_MASK)]);
+        }
+      }
+      Session head = wheel[0][(int) (current & SLOT_MASK)];
+      while (head.next != head) {
+        Session session = head.next;
+        unlink(session);
+        if (session.tick > current) {
+          schedule(session);
+        } else if (sessions.remove(session.key, session)) {
+          expired.increment();
+        }
+      }
+    }
+  }
+
+  /**
+   * Find the next tick after the current tick at which a non-empty slot is
+   * reached: a level 0 slot, or a level k slot at the start of its level k - 1
+   * rotation. Must be called holding the wheel lock.
+   */
+  private long nextTick() {
+    long next = Long.MAX_VALUE;
+    for (int level = 0; level < LEVELS; level++) {
+      int shift = LEVEL_BITS * level;
+      for (long i = (current >>> shift) + 1; i <= (current >>> shift) + SLOTS; i++) {
+        long tick = i << shift;
+        if (tick >= next) {
+          break;
+        }
+        Session head = wheel[level][(int) (i & SLOT_MASK)];
+        if (head.next != head) {
+          next = tick;
+          break;
+        }
+      }
+    }
+    return next;
+  }
+
+  private void cascade(Session head) {
+    while (head.next != head) {
+      Session session = head.next;
+      unlink(session);
+      schedule(session);
+    }
+  }//</editor-fold>
+
+  /**
+   * A device initialization session.
+   */
+  public static final class Session {
+
+    /**
+     * The map key, captured at initialization. The device descriptor belongs
+     * to the request and may change afterwards.
+     */
+    private final DeviceKey key;
+    private final DeviceDescriptor deviceDesc;
+    private final GeoLocation location;
+    /**
+     * The initialization and expiry times (epoch milliseconds).
+     */
+    private final long initialized;
+    private final long expires;
+    /**
+     * The expiry tick (epoch seconds) and wheel linkage. Guarded by the wheel
+     * lock.
+     */
+    private long tick;
+    private Session previous;
+    private Session next;
+
+    /**
+     * Build a slot list sentinel.
+     */
+    private Session() {
+      this(null, null, null, 0, 0);
+    }
+
+    private Session(DeviceKey key, DeviceDescriptor deviceDesc, GeoLocation location, long initialized, long expires) {
+      this.key = key;
+      this.deviceDesc = deviceDesc;
+      this.location = location;
+      this.initialized = initialized;
+      this.expires = expires;
+    }
+
+    public DeviceDescriptor getDeviceDesc() {
+      return deviceDesc;
+    }
+
+    public GeoLocation getLocation() {
+      return location;
+    }
+
+    public Instant getInitialized() {
+      return Instant.ofEpochMilli(initialized);
+    }
+
+    public Instant getExpires() {
+      return Instant.ofEpochMilli(expires);
+    }
+
+    @Override
+    public String toString() {
+      return "Session{" + "deviceDesc=" + deviceDesc + ", expires=" + getExpires() + '}';
+    }
+  }
+
+}
@@ -0,0 +1,729 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.server;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import org.ietf.lib.paws.*;
+import org.ietf.lib.paws.codec.JsonRpcRequest;
+import org.ietf.lib.paws.codec.PawsJsonCodec;
+import org.ietf.lib.paws.message.RegistrationRequest;
+import org.ietf.lib.paws.type.PawsErrorType;
+import org.locationtech.jts.geom.Point;
+
+/**
+ * Device registration store for database servers.
+ * <p>
+ * Registrations are held in a concurrent map keyed by {@link DeviceKey}; reads
+ * never lock. Each registration records the device descriptor, location,
+ * antenna characteristics, device owner and master device descriptor of the
+ * REGISTRATION_REQ that created it.
+ * <p>
+ * When built with a directory the registry is durable. Each change is
+ * appended to a log file as a length and CRC32 framed record (the
+ * REGISTRATION_REQ in its JSON-RPC encoding, or the binary DeviceKey of a
+ * removed device, which names the ruleset and so does not depend on the
+ * ruleset declaration order). Writers group commit: concurrent changes are
+ * written and forced to disk in one batch by whichever writer arrives first,
+ * so one fsync covers many registrations. A change is visible to readers
+ * once it is queued; if the log write fails every change that is not yet
+ * durable is rolled back and the registry rejects further changes.
+ * <p>
+ * When the log grows past the compaction threshold the writer that crossed
+ * it rotates the log to a retired file and writes the current state to a
+ * snapshot file, atomically renamed into place, then deletes the retired
+ * log. Other writers wait only for the rotation; the snapshot is encoded and
+ * written outside the commit lock, so only the writer performing the
+ * compaction pays for it, in time proportional to the number of
+ * registrations. On startup the snapshot, the retired log (if a compaction
+ * was interrupted) and then the log are replayed through a memory map, one
+ * window at a time; a torn record at the end of the log (from a crash
+ * mid-write) is discarded.
+ * <p>
+ * The registration values are shared with the registry and must be treated
+ * as read-only. This class is thread-safe.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public class RegistrationRegistry implements Closeable {
+
+  /**
+   * The log file name.
+   */
+  public static final String LOG_FILE = "registry.log";
+  /**
+   * The retired log file name. A log is retired during compaction and
+   * deleted once the snapshot is written.
+   */
+  public static final String RETIRED_LOG_FILE = "registry.log.retired";
+  /**
+   * The snapshot file name.
+   */
+  public static final String SNAPSHOT_FILE = "registry.snapshot";
+  /**
+   * The default log size (bytes) that triggers compaction.
+   */
+  public static final long COMPACT_THRESHOLD_DEFAULT = 64L * 1024 * 1024;
+
+  private static final byte OP_REGISTER = 1;
+  private static final byte OP_REMOVE = 2;
+  /**
+   * Record header: payload length (int) and CRC32 (int) of the op code and
+   * payload.
+   */
+  private static final int HEADER = 8;
+  /**
+   * The size (bytes) of the memory map window used to replay a file. A record
+   * larger than the window is mapped on its own.
+   */
+  static int replayWindow = 64 * 1024 * 1024;
+
+  /**
+   * The current registrations.
+   */
+  private final ConcurrentHashMap<DeviceKey, Registration> registrations = new ConcurrentHashMap<>();
+  /**
+   * The persistence directory; null for an in-memory registry.
+   */
+  private final Path directory;
+  private final long compactThreshold;
+  /**
+   * Indicator that each batch is forced to disk.
+   */
+  private final boolean sync;
+  private final Clock clock;
+
+  /**
+   * Guards map updates and the pending record queue so the log order matches
+   * the map order.
+   */
+  private final Object lock = new Object();
+  /**
+   * Changes appended but not yet written. Guarded by lock.
+   */
+  private List<Change> pending = new ArrayList<>();
+  /**
+   * The sequence number of the last appended record. Guarded by lock.
+   */
+  private long appended;
+  /**
+   * Serializes log writes. Held by the group commit leader.
+   */
+  private final Object flushLock = new Object();
+  /**
+   * The sequence number of the last durable record. Written under flushLock.
+   */
+  private volatile long durable;
+  /**
+   * The log channel. Guarded by flushLock.
+   */
+  private FileChannel log;
+  /**
+   * The first write failure; the registry rejects changes once set.
+   */
+  private volatile IOException failure;
+  /**
+   * Serializes compactions.
+   */
+  private final Object compactLock = new Object();
+  /**
+   * Indicator that a compaction triggered by the threshold is running.
+   */
+  private final AtomicBoolean compacting = new AtomicBoolean();
+
+  /**
+   * Build an in-memory registry without persistence.
+   */
+  public RegistrationRegistry() {
+    this.directory = null;
+    this.compactThreshold = Long.MAX_VALUE;
+    this.sync = false;
+    this.clock = Clock.systemUTC();
+  }
+
+  /**
+   * Open a durable registry, recovering any existing state. Each change is
+   * forced to disk before it returns.
+   *
+   * @param directory the persistence directory; created if it does not exist
+   * @throws IOException if the state cannot be read
+   */
+  public RegistrationRegistry(Path directory) throws IOException {
+    this(directory, COMPACT_THRESHOLD_DEFAULT, true, Clock.systemUTC());
+  }
+
+  /**
+   * Open a durable registry, recovering any existing state.
+   *
+   * @param directory        the persistence directory; created if it does not
+   *                         exist
+   * @param compactThreshold the log size (bytes) that triggers compaction
+   * @param sync             true to force each batch to disk; false to leave
+   *                         flushing to the operating system
+   * @param clock            the clock used to time stamp registrations
+   * @throws IOException if the state cannot be read
+   */
+  public RegistrationRegistry(Path directory, long compactThreshold, boolean sync, Clock clock) throws IOException {
+    if (compactThreshold < 1) {
+      throw new IllegalArgumentException("Compaction threshold must be positive.");
+    }
+    this.directory = Objects.requireNonNull(directory, "directory");
+    this.compactThreshold = compactThreshold;
+    this.sync = sync;
+    this.clock = Objects.requireNonNull(clock, "clock");
+    Files.createDirectories(directory);
+    replay(directory.resolve(SNAPSHOT_FILE), false);
+    boolean retired = Files.exists(directory.resolve(RETIRED_LOG_FILE));
+    replay(directory.resolve(RETIRED_LOG_FILE), true);
+    long valid = replay(directory.resolve(LOG_FILE), true);
+    this.log = FileChannel.open(directory.resolve(LOG_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    if (log.size() > valid) {
+      log.truncate(valid);
+      log.force(true);
+    }
+    log.position(valid);
+    if (retired) {
+      /**
+       * Finish the interrupted compaction so the retired log is not
+       * overwritten by the next rotation.
+       */
+      compact();
+    }
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Registry">
+  /**
+   * Register a device, replacing any previous registration. Returns once the
+   * registration is durable.
+   *
+   * @param request the registration request; the device descriptor and
+   *                location are required
+   * @return the registration
+   * @throws IllegalArgumentException if the device descriptor or location is
+   *                                  missing
+   * @throws IOException              if the registration cannot be persisted
+   */
+  public Registration register(RegistrationRequest request) throws IOException {
+    if (request.getDeviceDesc() == null || request.getLocation() == null) {
+      throw new IllegalArgumentException("Registration requires a device descriptor and location.");
+    }
+    checkFailure();
+    Registration registration = new Registration(request, clock.millis());
+    DeviceKey key = request.getDeviceDesc().getDeviceKey();
+    byte[] record = directory == null ? null : record(OP_REGISTER, PawsJsonCodec.encode(request, registration.registered).getBytes(StandardCharsets.UTF_8));
+    long sequence;
+    synchronized (lock) {
+      sequence = append(record, key, registrations.put(key, registration));
+    }
+    commit(sequence);
+    return registration;
+  }
+
+  /**
+   * Remove a device registration. Returns once the removal is durable.
+   *
+   * @param deviceDesc the device descriptor
+   * @return true if the device was registered
+   * @throws IOException if the removal cannot be persisted
+   */
+  public boolean deregister(DeviceDescriptor deviceDesc) throws IOException {
+    checkFailure();
+    DeviceKey key = deviceDesc.getDeviceKey();
+    byte[] record = directory == null ? null : record(OP_REMOVE, key.toBytes());
+    long sequence;
+    synchronized (lock) {
+      Registration previous = registrations.remove(key);
+      if (previous == null) {
+        return false;
+      }
+      sequence = append(record, key, previous);
+    }
+    commit(sequence);
+    return true;
+  }
+
+  /**
+   * Get a device registration.
+   *
+   * @param deviceDesc the device descriptor
+   * @return the registration; null if the device is not registered
+   */
+  public Registration get(DeviceDescriptor deviceDesc) {
+    return deviceDesc == null ? null : registrations.get(deviceDesc.getDeviceKey());
+  }
+
+  /**
+   * Get a device registration.
+   *
+   * @param key the device key
+   * @return the registration; null if the device is not registered
+   */
+  public Registration get(DeviceKey key) {
+    return registrations.get(key);
+  }
+
+  /**
+   * Check that a device is registered and, when a location is provided, has
+   * not moved further than its ruleset permits from the registered location.
+   *
+   * @param deviceDesc the device descriptor
+   * @param location   the device's current location; null to skip the
+   *                   location check
+   * @return NOT_REGISTERED, UNREPORTED_MOVE, or null if the device is
+   *         registered at the location
+   */
+  public PawsErrorType check(DeviceDescriptor deviceDesc, GeoLocation location) {
+    Registration registration = get(deviceDesc);
+    if (registration == null) {
+      return PawsErrorType.NOT_REGISTERED;
+    }
+    double maxLocationChange = deviceDesc.getRulesetId() == null ? 0 : deviceDesc.getRulesetId().getMaxLocationChange();
+    Point current = location == null ? null : location.getPoint();
+    Point registered = registration.getLocation().getPoint();
+    if (maxLocationChange > 0 && current != null && !current.isEmpty() && registered != null && !registered.isEmpty()) {
+      double meters = 1000 * Geodesy.distance(Geodesy.Model.ELLIPSOIDAL, registered.getY(), registered.getX(), current.getY(), current.getX());
+      if (meters > maxLocationChange) {
+        return PawsErrorType.UNREPORTED_MOVE;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Get the number of registered devices.
+   *
+   * @return the number of registrations
+   */
+  public int size() {
+    return registrations.size();
+  }//</editor-fold>
+
+  //<editor-fold defaultstate="collapsed" desc="Persistence">
+  /**
+   * Write the current state to a new snapshot and discard the log. This is
+   * called automatically when the log exceeds the compaction threshold.
+   * <p>
+   * Writers are blocked only while the pending changes are written and the
+   * log is rotated; the snapshot is then written by the calling thread.
+   *
+   * @throws IOException if the snapshot cannot be written
+   */
+  public void compact() throws IOException {
+    if (directory == null) {
+      return;
+    }
+    synchronized (compactLock) {
+      Path retired = directory.resolve(RETIRED_LOG_FILE);
+      List<Registration> state;
+      synchronized (flushLock) {
+        checkFailure();
+        /**
+         * Copy the state and take the pending changes together, so the
+         * snapshot holds exactly the changes written to the log being
+         * retired.
+         */
+        List<Change> batch;
+        long last;
+        synchronized (lock) {
+          state = new ArrayList<>(registrations.values());
+          batch = pending;
+          pending = new ArrayList<>();
+          last = appended;
+        }
+        write(batch, last);
+        /**
+         * Retire the log unless a previous compaction failed to write its
+         * snapshot; the retired log must then be kept until this snapshot,
+         * which covers it, is in place.
+         */
+        if (!Files.exists(retired)) {
+          try {
+            Files.move(directory.resolve(LOG_FILE), retired, StandardCopyOption.ATOMIC_MOVE);
+            log.close();
+            log = FileChannel.open(directory.resolve(LOG_FILE), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+          } catch (IOException ex) {
+            failure = ex;
+            throw ex;
+          }
+        }
+      }
+      /**
+       * The state includes every change in the retired log and possibly some
+       * in the new log. Replaying the new log over it is harmless: the last
+       * change of each device in the log is its current state.
+       */
+      Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+      try (FileChannel snapshot = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        OutputStream out = new BufferedOutputStream(Channels.newOutputStream(snapshot), 1 << 16);
+        for (Registration registration : state) {
+          out.write(record(OP_REGISTER, PawsJsonCodec.encode(registration.request, registration.registered).getBytes(StandardCharsets.UTF_8)));
+        }
+        out.flush();
+        snapshot.force(true);
+      }
+      Files.move(temporary, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      Files.deleteIfExists(retired);
+    }
+  }
+
+  /**
+   * Write all pending changes and close the log.
+   *
+   * @throws IOException if the pending changes cannot be written
+   */
+  @Override
+  public void close() throws IOException {
+    if (directory == null) {
+      return;
+    }
+    synchronized (flushLock) {
+      try {
+        if (failure == null) {
+          flush();
+        }
+      } finally {
+        log.close();
+      }
+    }
+  }
+
+  /**
+   * Queue a change. Must be called holding lock, after the change is applied
+   * to the map.
+   *
+   * @param record   the log record; null for an in-memory registry
+   * @param key      the device key
+   * @param previous the registration replaced or removed by the change
+   * @return the record sequence number
+   */
+  private long append(byte[] record, DeviceKey key, Registration previous) {
+    if (record == null) {
+      return 0;
+    }
+    pending.add(new Change(record, key, previous));
+    return ++appended;
+  }
+
+  /**
+   * Wait until a change is durable. The first writer to arrive becomes the
+   * leader and writes every pending change in one batch; writers whose change
+   * was in that batch return without writing.
+   */
+  private void commit(long sequence) throws IOException {
+    if (sequence == 0) {
+      return;
+    }
+    boolean full;
+    synchronized (flushLock) {
+      if (durable >= sequence) {
+        return;
+      }
+      if (failure != null) {
+        rollback(new ArrayList<>());
+        checkFailure();
+      }
+      flush();
+      full = log.position() > compactThreshold;
+    }
+    if (full && compacting.compareAndSet(false, true)) {
+      try {
+        compact();
+      } catch (IOException ex) {
+        /**
+         * The change is durable in the log. A failed snapshot leaves the
+         * retired log in place and is retried at the next threshold check.
+         */
+      } finally {
+        compacting.set(false);
+      }
+    }
+  }
+
+  /**
+   * Write and force all pending changes to the log. Must be called holding
+   * flushLock.
+   */
+  private void flush() throws IOException {
+    List<Change> batch;
+    long last;
+    synchronized (lock) {
+      batch = pending;
+      pending = new ArrayList<>();
+      last = appended;
+    }
+    write(batch, last);
+  }
+
+  /**
+   * Write and force a batch to the log, rolling it back on failure. Must be
+   * called holding flushLock.
+   */
+  private void write(List<Change> batch, long last) throws IOException {
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      writeFully(log, batch);
+      if (sync) {
+        log.force(false);
+      }
+      durable = last;
+    } catch (IOException ex) {
+      failure = ex;
+      rollback(batch);
+      throw ex;
+    }
+  }
+
+  /**
+   * Undo a failed batch and every change queued after it, newest first, so
+   * that the map holds only durable registrations. Must be called holding
+   * flushLock after the failure is set. A change queued by a writer that
+   * checked for failure just before it was set is rolled back by that
+   * writer's own commit.
+   */
+  private void rollback(List<Change> batch) {
+    synchronized (lock) {
+      batch.addAll(pending);
+      pending = new ArrayList<>();
+      for (int i = batch.size() - 1; i >= 0; i--) {
+        Change change = batch.get(i);
+        if (change.previous == null) {
+          registrations.remove(change.key);
+        } else {
+          registrations.put(change.key, change.previous);
+        }
+      }
+    }
+  }
+
+  private static void writeFully(FileChannel channel, List<Change> changes) throws IOException {
+    int size = 0;
+    for (Change change : changes) {
+      size += change.record.length;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    for (Change change : changes) {
+      buffer.put(change.record);
+    }
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private void checkFailure() throws IOException {
+    if (failure != null) {
+      throw new IOException("Registration log is not writable.", failure);
+    }
+  }
+
+  /**
+   * Frame a record: payload length, CRC32 of the op code and payload, op
+   * code, payload.
+   */
+  private static byte[] record(byte op, byte[] payload) {
+    CRC32 crc = new CRC32();
+    crc.update(op);
+    crc.update(payload, 0, payload.length);
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER + 1 + payload.length);
+    buffer.putInt(payload.length);
+    buffer.putInt((int) crc.getValue());
+    buffer.put(op);
+    buffer.put(payload);
+    return buffer.array();
+  }
+
+  /**
+   * Replay a snapshot or log file into the map.
+   *
+   * @param file    the file
+   * @param tolerant true to stop at a torn or corrupt record (the log tail);
+   *                 false to fail (a snapshot is written atomically)
+   * @return the length of the valid prefix of the file
+   */
+  private long replay(Path file, boolean tolerant) throws IOException {
+    if (!Files.exists(file)) {
+      return 0;
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      long position = 0;
+      /**
+       * The mapped window and the file offset of its first byte.
+       */
+      MappedByteBuffer buffer = null;
+      long base = 0;
+      CRC32 crc = new CRC32();
+      while (size - position >= HEADER + 1) {
+        if (buffer == null || position + HEADER + 1 > base + buffer.limit()) {
+          base = position;
+          buffer = channel.map(FileChannel.MapMode.READ_ONLY, base, Math.min(replayWindow, size - base));
+        }
+        buffer.position((int) (position - base));
+        int length = buffer.getInt();
+        int checksum = buffer.getInt();
+        if (length < 0 || length > size - position - HEADER - 1 || length > Integer.MAX_VALUE - HEADER - 1) {
+          return torn(file, tolerant, position);
+        }
+        long end = position + HEADER + 1 + length;
+        if (end > base + buffer.limit()) {
+          /**
+           * The record crosses the window: map a new window starting at the
+           * record, large enough to hold it.
+           */
+          base = position;
+          buffer = channel.map(FileChannel.MapMode.READ_ONLY, base, Math.max(Math.min(replayWindow, size - base), end - base));
+          buffer.position(HEADER);
+        }
+        byte op = buffer.get();
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+        crc.reset();
+        crc.update(op);
+        crc.update(payload, 0, length);
+        if ((int) crc.getValue() != checksum) {
+          return torn(file, tolerant, position);
+        }
+        apply(op, payload, file);
+        position = end;
+      }
+      if (position < size) {
+        return torn(file, tolerant, position);
+      }
+      return size;
+    }
+  }
+
+  private static long torn(Path file, boolean tolerant, long position) throws IOException {
+    if (!tolerant) {
+      throw new IOException(file + " is corrupt at byte " + position + ".");
+    }
+    return position;
+  }
+
+  private void apply(byte op, byte[] payload, Path file) throws IOException {
+    switch (op) {
+      case OP_REGISTER:
+        try {
+          JsonRpcRequest decoded = PawsJsonCodec.decodeRequest(new String(payload, StandardCharsets.UTF_8));
+          RegistrationRequest request = decoded.getParams(RegistrationRequest.class);
+          long registered = decoded.getId() instanceof Number ? ((Number) decoded.getId()).longValue() : 0;
+          registrations.put(request.getDeviceDesc().getDeviceKey(), new Registration(request, registered));
+        } catch (ParseException | ClassCastException ex) {
+          throw new IOException(file + " contains an unreadable registration.", ex);
+        }
+        break;
+      case OP_REMOVE:
+        try {
+          registrations.remove(DeviceKey.fromBytes(payload));
+        } catch (IllegalArgumentException ex) {
+          throw new IOException(file + " contains an unreadable device key.", ex);
+        }
+        break;
+      default:
+        throw new IOException(file + " contains an unknown record type " + op + ".");
+    }
+  }//</editor-fold>
+
+  /**
+   * A queued change: its log record and the registration it replaced or
+   * removed, kept to roll the change back if the record cannot be written.
+   */
+  private static final class Change {
+
+    private final byte[] record;
+    private final DeviceKey key;
+    private final Registration previous;
+
+    private Change(byte[] record, DeviceKey key, Registration previous) {
+      this.record = record;
+      this.key = key;
+      this.previous = previous;
+    }
+  }
+
+  /**
+   * A device registration.
+   */
+  public static final class Registration {
+
+    private final RegistrationRequest request;
+    /**
+     * The registration time (epoch milliseconds).
+     */
+    private final long registered;
+
+    private Registration(RegistrationRequest request, long registered) {
+      this.request = request;
+      this.registered = registered;
+    }
+
+    public DeviceDescriptor getDeviceDesc() {
+      return request.getDeviceDesc();
+    }
+
+    public GeoLocation getLocation() {
+      return request.getLocation();
+    }
+
+    public AntennaCharacteristics getAntenna() {
+      return request.getAntenna();
+    }
+
+    public DeviceOwner getDeviceOwner() {
+      return request.getDeviceOwner();
+    }
+
+    public DeviceDescriptor getMasterDeviceDesc() {
+      return request.getMasterDeviceDesc();
+    }
+
+    public Instant getRegistered() {
+      return Instant.ofEpochMilli(registered);
+    }
+
+    @Override
+    public String toString() {
+      return "Registration{" + "deviceDesc=" + request.getDeviceDesc() + ", registered=" + getRegistered() + '}';
+    }
+  }
+
+}
@@ -0,0 +1,548 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.ietf.lib.paws.Error;
+import org.ietf.lib.paws.ValidationResult;
+import org.ietf.lib.paws.codec.PawsJsonCodec;
+import org.ietf.lib.paws.message.SpectrumUseNotify;
+import org.ietf.lib.paws.message.SpectrumUseResponse;
+import org.ietf.lib.paws.type.PawsErrorType;
+
+/**
+ * Asynchronous SPECTRUM_USE_NOTIFY ingestion for database servers.
+ * <p>
+ * Masters re-poll in bursts, and writing each notify in the request thread
+ * multiplies downstream writes. {@link #ingest(SpectrumUseNotify)} instead
+ * validates the notify, places it in a bounded ring buffer and returns the
+ * SPECTRUM_USE_RESP at once. A single writer thread drains the buffer and
+ * hands the notifies to a {@link Sink} in batches of up to {@code batchSize}.
+ * <p>
+ * The ring buffer is a multi-producer, single-consumer array queue: producers
+ * claim a slot with one compare-and-set on the tail and publish it through a
+ * per-slot sequence number, so request threads never lock. When the buffer is
+ * full the {@link Backpressure} policy applies: block until space is
+ * available, drop the notify (still acknowledging it), or reply with an
+ * INTERNAL_DATABASE_ERROR.
+ * <p>
+ * A notify accepted into the buffer is not yet durable; it is lost if the
+ * process stops before the writer drains it, or if the sink fails. Sink
+ * failures are counted and the writer moves on to the next batch. Should the
+ * writer thread nevertheless die, the ingestor closes itself so producers are
+ * rejected rather than left waiting on a buffer nobody drains. Queue depth
+ * and the accepted, dropped, rejected, invalid, written and failed counts are
+ * exposed for monitoring. This class is thread-safe.
+ *
+ * @author Key Bridge
+ * @since v0.23.0 added 10/17/26
+ */
+public class SpectrumUseIngestor implements Closeable {
+
+  /**
+   * The policy applied when the buffer is full.
+   */
+  public enum Backpressure {
+    /**
+     * Wait for the writer to make space.
+     */
+    BLOCK,
+    /**
+     * Acknowledge the notify without keeping it.
+     */
+    DROP,
+    /**
+     * Reply with an INTERNAL_DATABASE_ERROR.
+     */
+    REJECT;
+  }
+
+  /**
+   * The destination for ingested notifies. Called only from the writer
+   * thread.
+   */
+  public interface Sink extends Closeable {
+
+    /**
+     * Write a batch of notifies.
+     *
+     * @param batch the notifies, in arrival order; the list is reused after
+     *              this method returns
+     * @throws IOException if the batch cannot be written
+     */
+    void write(List<SpectrumUseNotify> batch) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+  }
+
+  /**
+   * How long an idle writer waits before checking the buffer again.
+   */
+  private static final long IDLE_NANOS = 1_000_000L;
+  /**
+   * How long a blocked producer waits before trying again.
+   */
+  private static final long BLOCK_NANOS = 50_000L;
+
+  private final Sink sink;
+  private final int batchSize;
+  private final Backpressure backpressure;
+
+  /**
+   * Ring buffer slots and their sequence numbers. A slot is free for the
+   * producer claiming tail position t when its sequence is t, and holds a
+   * published notify for the consumer at head position h when its sequence
+   * is h + 1.
+   */
+  private final SpectrumUseNotify[] slots;
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  /**
+   * The consumer position. Written only by the writer thread.
+   */
+  private volatile long head;
+
+  private final Thread writer;
+  private volatile boolean writerIdle;
+  private volatile boolean closed;
+  /**
+   * Whether close has been called. Guarded by this.
+   */
+  private boolean shutdown;
+
+  private final LongAdder accepted = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder invalid = new LongAdder();
+  private final LongAdder written = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private volatile Throwable lastFailure;
+
+  /**
+   * Build an ingestor and start its writer thread.
+   *
+   * @param sink         the destination for ingested notifies
+   * @param capacity     the buffer capacity; rounded up to a power of two
+   * @param batchSize    the maximum number of notifies per sink write
+   * @param backpressure the policy applied when the buffer is full
+   */
+  public SpectrumUseIngestor(Sink sink, int capacity, int batchSize, Backpressure backpressure) {
+    if (capacity < 1 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("Buffer capacity must be between 1 and 2^30.");
+    }
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be positive.");
+    }
+    this.sink = Objects.requireNonNull(sink, "sink");
+    this.batchSize = batchSize;
+    this.backpressure = Objects.requireNonNull(backpressure, "backpressure");
+    int size = Integer.highestOneBit(capacity);
+    size = size < capacity ? size << 1 : size;
+    this.slots = new SpectrumUseNotify[size];
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+    this.mask = size - 1;
+    this.writer = new Thread(this::drain, "spectrum-use-writer");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  /**
+   * Ingest a SPECTRUM_USE_NOTIFY message.
+   *
+   * @param notify the notify message
+   * @return the SPECTRUM_USE_RESP: without an error if the notify was
+   *         accepted (or dropped under the DROP policy); with the validation
+   *         error if the notify is invalid; with INTERNAL_DATABASE_ERROR if
+   *         the notify was rejected because the buffer is full or the
+   *         ingestor is closed
+   */
+  public SpectrumUseResponse ingest(SpectrumUseNotify notify) {
+    SpectrumUseResponse response = new SpectrumUseResponse();
+    ValidationResult result = new ValidationResult();
+    notify.validate(result);
+    if (!result.isValid()) {
+      invalid.increment();
+      response.setError(result.toError());
+      return response;
+    }
+    while (!closed) {
+      if (offer(notify)) {
+        accepted.increment();
+        if (writerIdle) {
+          LockSupport.unpark(writer);
+        }
+        return response;
+      }
+      if (backpressure == Backpressure.DROP) {
+        dropped.increment();
+        return response;
+      }
+      if (backpressure == Backpressure.REJECT) {
+        break;
+      }
+      LockSupport.unpark(writer);
+      LockSupport.parkNanos(BLOCK_NANOS);
+    }
+    rejected.increment();
+    response.setError(Error.getInstance(PawsErrorType.INTERNAL_DATABASE_ERROR));
+    return response;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Metrics">
+  /**
+   * Get the number of notifies waiting in the buffer.
+   *
+   * @return the queue depth
+   */
+  public int getQueueDepth() {
+    return (int) Math.max(0, tail.get() - head);
+  }
+
+  public int getCapacity() {
+    return slots.length;
+  }
+
+  public long getAcceptedCount() {
+    return accepted.sum();
+  }
+
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  public long getRejectedCount() {
+    return rejected.sum();
+  }
+
+  public long getInvalidCount() {
+    return invalid.sum();
+  }
+
+  /**
+   * Get the number of notifies written to the sink.
+   *
+   * @return the written count
+   */
+  public long getWrittenCount() {
+    return written.sum();
+  }
+
+  /**
+   * Get the number of notifies lost to sink failures.
+   *
+   * @return the failed count
+   */
+  public long getFailedCount() {
+    return failed.sum();
+  }
+
+  /**
+   * Get the most recent sink or writer failure.
+   *
+   * @return the failure; null if the sink has not failed
+   */
+  public Throwable getLastFailure() {
+    return lastFailure;
+  }//</editor-fold>
+
+  /**
+   * Stop accepting notifies, write every buffered notify and close the sink.
+   * Producers should be stopped first: a notify accepted concurrently with
+   * close may be left unwritten.
+   *
+   * @throws IOException if the sink cannot be closed
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (shutdown) {
+      return;
+    }
+    shutdown = true;
+    closed = true;
+    LockSupport.unpark(writer);
+    boolean interrupted = false;
+    while (writer.isAlive()) {
+      try {
+        writer.join();
+      } catch (InterruptedException ex) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    sink.close();
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="Ring buffer">
+  /**
+   * Claim and publish a slot.
+   *
+   * @return false if the buffer is full
+   */
+  private boolean offer(SpectrumUseNotify notify) {
+    while (true) {
+      long position = tail.get();
+      int index = (int) position & mask;
+      long sequence = sequences.get(index);
+      if (sequence == position) {
+        if (tail.compareAndSet(position, position + 1)) {
+          slots[index] = notify;
+          sequences.set(index, position + 1);
+          return true;
+        }
+      } else if (sequence < position) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Take the next published notify. Called only from the writer thread.
+   *
+   * @return the notify; null if none is published
+   */
+  private SpectrumUseNotify poll() {
+    long position = head;
+    int index = (int) position & mask;
+    if (sequences.get(index) != position + 1) {
+      return null;
+    }
+    SpectrumUseNotify notify = slots[index];
+    slots[index] = null;
+    sequences.set(index, position + slots.length);
+    head = position + 1;
+    return notify;
+  }
+
+  /**
+   * The writer loop. Runs until closed and the buffer is empty. Any sink
+   * failure, including an Error, is counted against its batch; if the loop
+   * itself fails the ingestor is closed so producers stop waiting on it.
+   */
+  private void drain() {
+    try {
+      List<SpectrumUseNotify> batch = new ArrayList<>(batchSize);
+      while (true) {
+        SpectrumUseNotify notify;
+        while (batch.size() < batchSize && (notify = poll()) != null) {
+          batch.add(notify);
+        }
+        if (!batch.isEmpty()) {
+          try {
+            sink.write(batch);
+            written.add(batch.size());
+          } catch (Throwable ex) {
+            failed.add(batch.size());
+            lastFailure = ex;
+          }
+          batch.clear();
+          continue;
+        }
+        if (closed && tail.get() == head) {
+          return;
+        }
+        writerIdle = true;
+        if (tail.get() == head && !closed) {
+          LockSupport.parkNanos(this, IDLE_NANOS);
+        }
+        writerIdle = false;
+      }
+    } catch (Throwable ex) {
+      lastFailure = ex;
+      throw ex;
+    } finally {
+      closed = true;
+    }
+  }//</editor-fold>
+
+  /**
+   * A sink writing notifies to append-only segment files.
+   * <p>
+   * Each notify is written as one line holding its JSON-RPC encoding. A new
+   * segment is started when the current one reaches the segment size; closed
+   * segments are never modified and may be shipped or processed
+   * independently. Segment files are named {@code spectrum-use-N.log} with an
+   * increasing, zero-padded N; an existing directory is continued with the
+   * next N, and JSON-RPC ids continue from the last id written there. A
+   * failed write may leave a partial line, so the next batch starts a new
+   * segment; readers should skip a final line that does not parse.
+   */
+  public static class SegmentFileSink implements Sink {
+
+    private static final String PREFIX = "spectrum-use-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final long segmentSize;
+    private final boolean sync;
+    private FileChannel segment;
+    private long segmentIndex;
+    /**
+     * The JSON-RPC id assigned to the next notify.
+     */
+    private long sequence;
+
+    /**
+     * Build a segment file sink.
+     *
+     * @param directory   the segment directory; created if it does not exist
+     * @param segmentSize the size (bytes) at which a new segment is started
+     * @param sync        true to force each batch to disk
+     * @throws IOException if the directory cannot be read
+     */
+    public SegmentFileSink(Path directory, long segmentSize, boolean sync) throws IOException {
+      if (segmentSize < 1) {
+        throw new IllegalArgumentException("Segment size must be positive.");
+      }
+      this.directory = Objects.requireNonNull(directory, "directory");
+      this.segmentSize = segmentSize;
+      this.sync = sync;
+      Files.createDirectories(directory);
+      List<Long> indexes = new ArrayList<>();
+      try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+        for (Path file : files) {
+          String name = file.getFileName().toString();
+          try {
+            indexes.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+          } catch (NumberFormatException ex) {
+            // not a segment file
+          }
+        }
+      }
+      indexes.sort(Collections.reverseOrder());
+      if (!indexes.isEmpty()) {
+        segmentIndex = indexes.get(0);
+      }
+      for (long index : indexes) {
+        Long id = lastId(segmentPath(index));
+        if (id != null) {
+          sequence = id;
+          break;
+        }
+      }
+    }
+
+    @Override
+    public void write(List<SpectrumUseNotify> batch) throws IOException {
+      StringBuilder sb = new StringBuilder();
+      for (SpectrumUseNotify notify : batch) {
+        sb.append(PawsJsonCodec.encode(notify, ++sequence)).append('\n');
+      }
+      if (segment == null || segment.size() >= segmentSize) {
+        roll();
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+      boolean complete = false;
+      try {
+        while (buffer.hasRemaining()) {
+          segment.write(buffer);
+        }
+        if (sync) {
+          segment.force(false);
+        }
+        complete = true;
+      } finally {
+        if (!complete) {
+          /**
+           * The segment may end in a partial line. Leave it as it is and
+           * start the next batch in a new segment.
+           */
+          try {
+            segment.close();
+          } catch (IOException ex) {
+            // already failed
+          }
+          segment = null;
+        }
+      }
+    }
+
+    /**
+     * Read the JSON-RPC id of the last complete notify in a segment.
+     *
+     * @param file the segment file
+     * @return the id; null if the segment holds no complete notify
+     * @throws IOException if the segment cannot be read
+     */
+    private static Long lastId(Path file) throws IOException {
+      String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+      int end = text.lastIndexOf('\n');
+      while (end >= 0) {
+        int start = text.lastIndexOf('\n', end - 1) + 1;
+        try {
+          Object id = PawsJsonCodec.decodeRequest(text.substring(start, end)).getId();
+          if (id instanceof Number) {
+            return ((Number) id).longValue();
+          }
+        } catch (ParseException ex) {
+          // a partial line left by a failed write
+        }
+        end = start - 1;
+      }
+      return null;
+    }
+
+    private Path segmentPath(long index) {
+      return directory.resolve(String.format("%s%012d%s", PREFIX, index, SUFFIX));
+    }
+
+    private void roll() throws IOException {
+      if (segment != null) {
+        segment.force(false);
+        segment.close();
+      }
+      segmentIndex++;
+      segment = FileChannel.open(segmentPath(segmentIndex), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (segment != null) {
+        segment.force(false);
+        segment.close();
+        segment = null;
+      }
+    }
+  }
+
+}
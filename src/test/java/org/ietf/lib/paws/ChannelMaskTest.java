@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.util.*;
+import org.ietf.lib.paws.type.PawsRulesetType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class ChannelMaskTest {
+
+  private static final ChannelPlan US = ChannelPlan.getInstance(PawsRulesetType.FCC_PART_15_H_2010);
+
+  public ChannelMaskTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  @Test
+  public void testSetAlgebra() {
+    ChannelMask all = ChannelMask.all(US);
+    assertEquals(50, all.cardinality());
+    assertTrue(all.get(2));
+    assertTrue(all.get(51));
+    assertFalse(all.get(52));
+
+    ChannelMask a = new ChannelMask(US).set(21).set(22).set(23);
+    ChannelMask b = new ChannelMask(US).set(22).set(40);
+    assertEquals("[21, 22, 23, 40]", a.copy().or(b).toString());
+    assertEquals("[22]", a.copy().and(b).toString());
+    assertEquals("[21, 23]", a.copy().andNot(b).toString());
+    assertTrue(a.intersects(b));
+    assertFalse(a.copy().clear(22).intersects(b));
+    assertEquals(3, a.cardinality());
+    assertTrue(new ChannelMask(US).isEmpty());
+    assertEquals(a, new ChannelMask(US).set(23).set(21).set(22));
+  }
+
+  @Test
+  public void testPlanMismatch() {
+    try {
+      new ChannelMask(US).or(new ChannelMask(ChannelPlan.getInstance(PawsRulesetType.ETSI_EN_301_598_111)));
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException exception) {
+    }
+  }
+
+  @Test
+  public void testRuns() {
+    ChannelMask mask = new ChannelMask(US).set(3).set(4).set(5).set(6).set(30).set(31).set(32);
+    /**
+     * Channels 4 and 5 are separated by the 72-76 MHz gap.
+     */
+    assertEquals("[3, 5, 30, 31]", mask.runStarts(2).toString());
+    assertEquals(30, mask.firstRun(3).getNumber());
+    assertNull(mask.firstRun(4));
+    assertEquals(mask, mask.runStarts(1));
+
+    ChannelMask europe = ChannelMask.all(ChannelPlan.getInstance(PawsRulesetType.ETSI_EN_301_598_111));
+    assertEquals(1, europe.runStarts(40).cardinality());
+    assertEquals(21, europe.firstRun(40).getNumber());
+  }
+
+  @Test
+  public void testSpectrumConversion() {
+    Collection<AbstractSpectrum> spectrum = new ArrayList<>();
+    spectrum.add(new SpectrumChannel("UHF21", 512, 518));
+    spectrum.add(new SpectrumChannel("wide", 530, 548)); // channels 24-26
+    spectrum.add(new SpectrumChannel("partial", 551, 557)); // no whole channel
+    SpectrumChannel denied = new SpectrumChannel("UHF30", 566, 572);
+    denied.setAllowed(false);
+    spectrum.add(denied);
+    SpectrumInfo blocked = new SpectrumInfo("UHF31", 572, 578);
+    blocked.setBlocked(true);
+    spectrum.add(blocked);
+    spectrum.add(new SpectrumChannel("gap", 73, 82)); // channel 5
+    SpectrumChannel unset = new SpectrumChannel();
+    unset.setFrequencyMin(590);
+    unset.setFrequencyMax(596);
+    spectrum.add(unset); // allowed is not set
+    SpectrumChannel open = new SpectrumChannel();
+    open.setAllowed(true);
+    open.setFrequencyMin(596);
+    spectrum.add(open); // no maximum frequency
+
+    ChannelMask mask = ChannelMask.valueOf(US, spectrum);
+    assertEquals("[5, 21, 24, 25, 26]", mask.toString());
+
+    List<SpectrumChannel> channels = mask.toSpectrumChannels();
+    assertEquals(5, channels.size());
+    assertEquals("UHF21", channels.get(1).getName());
+    assertEquals(mask, ChannelMask.valueOf(US, channels));
+    assertEquals(mask, ChannelMask.valueOf(US, mask.toSpectrumInfos()));
+  }
+
+}
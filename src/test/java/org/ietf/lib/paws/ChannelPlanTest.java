@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import org.ietf.lib.paws.type.PawsRulesetType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class ChannelPlanTest {
+
+  public ChannelPlanTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  @Test
+  public void testRegistry() {
+    for (PawsRulesetType rulesetType : PawsRulesetType.values()) {
+      assertNotNull(rulesetType.name(), ChannelPlan.getInstance(rulesetType));
+    }
+    assertSame(ChannelPlan.getInstance(PawsRulesetType.FCC_PART_15_H_2010), ChannelPlan.getInstance(PawsRulesetType.ISED_DBS_01_2015));
+    assertSame(ChannelPlan.getInstance(PawsRulesetType.ETSI_EN_301_598_111), ChannelPlan.getInstance(PawsRulesetType.ETSI_EN_301_598_211));
+    assertEquals(50, ChannelPlan.getInstance(PawsRulesetType.FCC_PART_15_H_2010).getChannels().size());
+    assertEquals(35, ChannelPlan.getInstance(PawsRulesetType.FCC_PART_15_H_2019).getChannels().size());
+    assertEquals(40, ChannelPlan.getInstance(PawsRulesetType.ETSI_EN_301_598_111).getChannels().size());
+  }
+
+  @Test
+  public void testNorthAmerica() {
+    ChannelPlan plan = ChannelPlan.getInstance(PawsRulesetType.FCC_PART_15_H_2010);
+    assertEquals(6, plan.getChannelWidth());
+    assertEquals("VHF2", plan.getChannel(2).getName());
+    assertEquals(54, plan.getChannel(2).getFrequencyMin(), 0);
+    assertEquals(82, plan.getChannel(6).getFrequencyMin(), 0);
+    assertEquals(174, plan.getChannel(7).getFrequencyMin(), 0);
+    assertEquals(470, plan.getChannel(14).getFrequencyMin(), 0);
+    assertEquals(698, plan.getChannel(51).getFrequencyMax(), 0);
+    assertNull(plan.getChannel(1));
+    assertNull(plan.getChannel(52));
+    // gaps between the VHF bands
+    assertNull(plan.getChannel(74.0));
+    assertNull(plan.getChannel(100.0));
+    assertSame(plan.getChannel(4), plan.getChannel(71.999));
+    assertSame(plan.getChannel(5), plan.getChannel(76.0));
+    assertNull(plan.getChannel(698.0));
+    assertNull(plan.getChannel(Double.NaN));
+    assertSame(plan.getChannel(51), plan.getChannel("UHF51"));
+  }
+
+  @Test
+  public void testEurope() {
+    ChannelPlan plan = ChannelPlan.getInstance(PawsRulesetType.ETSI_EN_301_598_111);
+    assertEquals(8, plan.getChannelWidth());
+    assertEquals(470, plan.getChannel(21).getFrequencyMin(), 0);
+    assertEquals(790, plan.getChannel(60).getFrequencyMax(), 0);
+    assertNull(plan.getChannel(20));
+    assertNull(plan.getChannel(469.9));
+    assertSame(plan.getChannel(21), plan.getChannel(477.5));
+    assertSame(plan.getChannel(22), plan.getChannel(478.0));
+    for (ChannelPlan.Channel channel : plan.getChannels()) {
+      assertSame(channel, plan.getChannel(channel.getFrequencyMin()));
+      assertSame(channel, plan.getChannel((channel.getFrequencyMin() + channel.getFrequencyMax()) / 2));
+      assertTrue(channel.contains(channel.getFrequencyMin()));
+      assertFalse(channel.contains(channel.getFrequencyMax()));
+    }
+  }
+
+  @Test
+  public void testNewSpectrumChannel() {
+    ChannelPlan.Channel channel = ChannelPlan.getInstance(PawsRulesetType.FCC_PART_15_H_2019).getChannel(21);
+    SpectrumChannel a = channel.newSpectrumChannel();
+    SpectrumChannel b = channel.newSpectrumChannel(false, 20.0, null);
+    assertNotSame(a, b);
+    assertEquals("UHF21", a.getName());
+    assertSame(a.getName(), b.getName());
+    assertEquals(512, a.getFrequencyMin(), 0);
+    assertEquals(518, a.getFrequencyMax(), 0);
+    assertTrue(a.isAllowed());
+    assertFalse(b.isAllowed());
+    assertEquals(20.0, b.getPower(), 0);
+    assertTrue(a.equals(new SpectrumChannel("UHF21", 512, 518)));
+
+    SpectrumInfo info = channel.newSpectrumInfo();
+    assertEquals("UHF21", info.getName());
+    assertEquals(512, info.getFrequencyMin(), 0);
+    assertTrue(info.isAllowed());
+  }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.ietf.lib.paws.type.PawsRulesetType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class DeviceKeyTest {
+
+  public DeviceKeyTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  @Test
+  public void testEquality() {
+    DeviceKey key = new DeviceKey(PawsRulesetType.FCC_PART_15_H_2019, "Acme", "FCCID-1", "SN-1");
+    DeviceKey same = new DeviceKey(PawsRulesetType.FCC_PART_15_H_2019, "Acme", "FCCID-1", new String("SN-1"));
+    assertEquals(key, same);
+    assertEquals(key.hashCode(), same.hashCode());
+    assertEquals(key.getHash64(), same.getHash64());
+    assertFalse(key.equals(new DeviceKey(PawsRulesetType.FCC_PART_15_H_2010, "Acme", "FCCID-1", "SN-1")));
+    assertFalse(key.equals(new DeviceKey(PawsRulesetType.FCC_PART_15_H_2019, null, "FCCID-1", "SN-1")));
+    assertFalse(new DeviceKey(null, "ab", "c", null).equals(new DeviceKey(null, "a", "bc", null)));
+    assertFalse(new DeviceKey(null, "ab", "c", null).getHash64() == new DeviceKey(null, "a", "bc", null).getHash64());
+
+    Set<Long> hashes = new HashSet<>();
+    for (int i = 0; i < 100000; i++) {
+      hashes.add(new DeviceKey(PawsRulesetType.FCC_PART_15_H_2019, "Acme", "FCCID-1", "SN-" + i).getHash64());
+    }
+    assertEquals(100000, hashes.size());
+  }
+
+  @Test
+  public void testBytes() {
+    DeviceKey key = new DeviceKey(PawsRulesetType.ISED_DBS_01_2015, "Acéme", "IC-1", "SN-1");
+    byte[] bytes = key.toBytes();
+    assertEquals(1 + 16 + 1 + 6 + 1 + 4 + 1 + 4, bytes.length);
+    assertEquals("ISED_DBS_01_2015", new String(bytes, 1, 16, java.nio.charset.StandardCharsets.UTF_8));
+    DeviceKey decoded = DeviceKey.fromBytes(bytes);
+    assertEquals(key, decoded);
+    assertEquals("Acéme", decoded.getManufacturerId());
+
+    DeviceKey empty = new DeviceKey(null, null, "", null);
+    assertEquals(4, empty.toBytes().length);
+    assertEquals(empty, DeviceKey.fromBytes(empty.toBytes()));
+
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 300; i++) {
+      sb.append('x');
+    }
+    DeviceKey longKey = new DeviceKey(PawsRulesetType.ETSI_EN_301_598_211, null, sb.toString(), "SN");
+    assertEquals(longKey, DeviceKey.fromBytes(longKey.toBytes()));
+
+    try {
+      DeviceKey.fromBytes(new byte[]{0, 5, 'a'});
+      fail("truncated encoding should be rejected");
+    } catch (IllegalArgumentException ex) {
+    }
+    try {
+      DeviceKey.fromBytes(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F, 0, 0, 0});
+      fail("overflowing length should be rejected");
+    } catch (IllegalArgumentException ex) {
+    }
+    try {
+      DeviceKey.fromBytes(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0x87, 0, 0, 0});
+      fail("overlong length should be rejected");
+    } catch (IllegalArgumentException ex) {
+    }
+    try {
+      DeviceKey.fromBytes(new byte[]{5, 'N', 'O', 'N', 'E', 0, 0, 0});
+      fail("unknown ruleset should be rejected");
+    } catch (IllegalArgumentException ex) {
+    }
+  }
+
+  @Test
+  public void testDeviceDescriptor() {
+    DeviceDescriptor device = new DeviceDescriptor(PawsRulesetType.FCC_PART_15_H_2019);
+    device.setDeviceId("FCCID-1");
+    device.setSerialNumber("SN-1");
+    DeviceKey key = device.getDeviceKey();
+    assertSame(key, device.getDeviceKey());
+    assertEquals(new DeviceKey(PawsRulesetType.FCC_PART_15_H_2019, null, "FCCID-1", "SN-1"), key);
+    device.setSerialNumber("SN-2");
+    assertEquals("SN-2", device.getDeviceKey().getSerialNumber());
+  }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import org.ietf.lib.paws.type.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class DeviceRulesTest {
+
+  public DeviceRulesTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  @Test
+  public void testParseMode() {
+    DeviceRules fcc = DeviceRules.getInstance(PawsRulesetType.FCC_PART_15_H_2019);
+    assertSame(fcc, DeviceRules.getInstance(PawsRulesetType.FCC_PART_15_H_2010));
+    assertEquals(FccDeviceMode.class, fcc.getModeType());
+    assertEquals(FccDeviceMode.MODE_2, fcc.parseMode("MODE_2"));
+    assertEquals(FccDeviceMode.MODE_2, fcc.parseMode("MODE2"));
+    assertEquals(FccDeviceMode.FIXED, fcc.parseMode("fixed"));
+    assertNull(fcc.parseMode("DEV"));
+    assertNull(fcc.parseMode(null));
+    assertEquals(IsedDeviceMode.DEV, DeviceRules.getInstance(PawsRulesetType.ISED_DBS_01_2015).parseMode("DEV"));
+    DeviceRules etsi = DeviceRules.getInstance(PawsRulesetType.ETSI_EN_301_598_211);
+    assertTrue(etsi.isEtsi());
+    assertEquals(EtsiDeviceMode.A, etsi.parseMode("A"));
+    assertNull(etsi.parseMode("FIXED"));
+    assertNull(DeviceRules.getInstance(null));
+  }
+
+  @Test
+  public void testDeviceModeType() {
+    DeviceDescriptor device = descriptor(PawsRulesetType.FCC_PART_15_H_2019, "MODE2");
+    assertEquals(FccDeviceMode.MODE_2, device.getDeviceModeType());
+    assertSame(device.getDeviceModeType(), device.getDeviceModeType());
+    device.setDeviceMode("LPA");
+    assertEquals(FccDeviceMode.LPA, device.getDeviceModeType());
+    device.setRulesetIds(PawsRulesetType.ETSI_EN_301_598_211);
+    assertNull(device.getDeviceModeType());
+  }
+
+  @Test
+  public void testValidate() {
+    ValidationResult result = new ValidationResult();
+    descriptor(PawsRulesetType.FCC_PART_15_H_2019, "FIXED").validate(result);
+    assertTrue(result.toString(), result.isValid());
+
+    result.clear();
+    descriptor(PawsRulesetType.FCC_PART_15_H_2019, "A").validate(result);
+    assertEquals(1, result.size());
+    assertEquals("deviceMode", result.getParameter(0));
+    assertEquals(PawsErrorType.INVALID_VALUE, result.getType(0));
+
+    result.clear();
+    DeviceDescriptor etsi = descriptor(PawsRulesetType.ETSI_EN_301_598_211, "B");
+    etsi.validate(result);
+    assertEquals(3, result.size());
+    assertEquals(PawsErrorType.MISSING, result.getType(0));
+
+    result.clear();
+    etsi.setEtsiEnDeviceCategory(EtsiDeviceCategory.MASTER);
+    etsi.setEtsiEnDeviceEmissionsClass(EtsiEmissionClassType.CLASS_3);
+    etsi.setEtsiEnTechnologyId("ETSI-EN-301-598");
+    etsi.validate(result);
+    assertTrue(result.toString(), result.isValid());
+  }
+
+  private static DeviceDescriptor descriptor(PawsRulesetType rulesetId, String deviceMode) {
+    DeviceDescriptor device = new DeviceDescriptor(rulesetId);
+    device.setDeviceId("FCCID");
+    device.setSerialNumber("SN-1");
+    device.setDeviceMode(deviceMode);
+    return device;
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import javax.xml.bind.JAXBContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class EventTimeTest {
+
+  public EventTimeTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  @Test
+  public void testAccessors() {
+    EventTime eventTime = new EventTime();
+    ZonedDateTime start = ZonedDateTime.parse("2026-10-17T01:02:03.456Z[UTC]");
+    eventTime.setStartTime(start);
+    eventTime.setDuration(Duration.ofHours(3));
+    assertEquals(start, eventTime.getStartTime());
+    assertEquals(start.plusHours(3), eventTime.getStopTime());
+    assertEquals(Instant.parse("2026-10-17T04:02:03.456Z"), eventTime.getStopInstant());
+
+    ZonedDateTime stop = ZonedDateTime.parse("2026-10-17T09:00:00-05:00");
+    eventTime.setStopTime(stop);
+    assertEquals(stop, eventTime.getStopTime());
+    assertEquals(Duration.between(start, stop), eventTime.getDuration());
+
+    eventTime.setStartTime(null);
+    assertNull(eventTime.getStartTime());
+    assertNull(eventTime.getStartInstant());
+  }
+
+  @Test
+  public void testXmlRoundTrip() throws Exception {
+    JAXBContext context = JAXBContext.newInstance(EventTime.class);
+    String xml = "<EventTime xmlns=\"http://ietf.org/lib/paws\">"
+                 + "<startTime>2026-10-17T01:02:03-05:00</startTime>"
+                 + "<stopTime>2026-10-17T09:00:00Z[UTC]</stopTime>"
+                 + "<duration>PT5H</duration>"
+                 + "</EventTime>";
+    EventTime eventTime = (EventTime) context.createUnmarshaller().unmarshal(new StringReader(xml));
+    // unmarshalled values are kept as written, even if inconsistent
+    assertEquals(Duration.ofHours(5), eventTime.getDuration());
+    assertEquals(ZonedDateTime.parse("2026-10-17T01:02:03-05:00"), eventTime.getStartTime());
+
+    StringWriter writer = new StringWriter();
+    context.createMarshaller().marshal(eventTime, writer);
+    assertTrue(writer.toString().endsWith(xml));
+
+    EventTime missing = (EventTime) context.createUnmarshaller().unmarshal(new StringReader("<EventTime xmlns=\"http://ietf.org/lib/paws\"/>"));
+    assertNotNull(missing.getStartTime());
+    assertNull(missing.getStopTime());
+    assertNull(missing.getDuration());
+  }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class GeodesyTest {
+
+  public GeodesyTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  @Test
+  public void testEllipsoidal() {
+    /**
+     * Vincenty (1975) reference: Flinders Peak to Buninyong.
+     */
+    double lat1 = -(37 + 57 / 60.0 + 3.72030 / 3600);
+    double lon1 = 144 + 25 / 60.0 + 29.52440 / 3600;
+    double lat2 = -(37 + 39 / 60.0 + 10.15610 / 3600);
+    double lon2 = 143 + 55 / 60.0 + 35.38390 / 3600;
+    assertEquals(54.972271, Geodesy.distance(Geodesy.Model.ELLIPSOIDAL, lat1, lon1, lat2, lon2), 1e-6);
+    assertEquals(306 + 52 / 60.0 + 5.37 / 3600, Geodesy.azimuth(Geodesy.Model.ELLIPSOIDAL, lat1, lon1, lat2, lon2), 1e-5);
+    assertEquals(0, Geodesy.distance(Geodesy.Model.ELLIPSOIDAL, lat1, lon1, lat1, lon1), 0);
+    /**
+     * Nearly antipodal positions fall back to the spherical solution.
+     */
+    double antipodal = Geodesy.distance(Geodesy.Model.ELLIPSOIDAL, 0, 0, 0.5, 179.7);
+    assertFalse(Double.isNaN(antipodal));
+    assertTrue(antipodal > 19900 && antipodal < 20100);
+  }
+
+  @Test
+  public void testSphericalErrorBound() {
+    Random random = new Random(18);
+    int size = 5000;
+    double[] lat = new double[size];
+    double[] lon = new double[size];
+    for (int i = 0; i < size; i++) {
+      lat[i] = random.nextDouble() * 160 - 80;
+      lon[i] = random.nextDouble() * 360 - 180;
+    }
+    double[] sDistance = new double[size];
+    double[] sAzimuth = new double[size];
+    double[] eDistance = new double[size];
+    double[] eAzimuth = new double[size];
+    for (int n = 0; n < 20; n++) {
+      double lat0 = random.nextDouble() * 160 - 80;
+      double lon0 = random.nextDouble() * 360 - 180;
+      Geodesy.inverse(Geodesy.Model.SPHERICAL, lat0, lon0, lat, lon, 0, size, sDistance, sAzimuth);
+      Geodesy.inverse(Geodesy.Model.ELLIPSOIDAL, lat0, lon0, lat, lon, 0, size, eDistance, eAzimuth);
+      for (int i = 0; i < size; i++) {
+        assertTrue(sAzimuth[i] >= 0 && sAzimuth[i] < 360);
+        assertTrue(eAzimuth[i] >= 0 && eAzimuth[i] < 360);
+        assertEquals(eDistance[i], sDistance[i], eDistance[i] * 0.0057);
+        if (eDistance[i] > 1 && eDistance[i] < 5000) {
+          double delta = Math.abs(sAzimuth[i] - eAzimuth[i]);
+          assertTrue(Math.min(delta, 360 - delta) < 0.2);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testFill() {
+    GeometryFactory factory = new GeometryFactory();
+    double[] lat = {39.1, 38.9, 39.0};
+    double[] lon = {-77.0, -77.0, -76.9};
+    List<SpectrumConsumer> consumers = new ArrayList<>();
+    for (int i = 0; i < lat.length; i++) {
+      consumers.add(new SpectrumConsumer());
+    }
+    Geodesy.fill(Geodesy.Model.ELLIPSOIDAL, factory.createPoint(new Coordinate(-77.0, 39.0)), lat, lon, consumers);
+    assertEquals(0, consumers.get(0).getAzimuth(), 1e-9);
+    assertEquals(180, consumers.get(1).getAzimuth(), 1e-9);
+    assertEquals(90, consumers.get(2).getAzimuth(), 0.1);
+    assertEquals(11.1, consumers.get(0).getDistance(), 0.1);
+    assertEquals(8.65, consumers.get(2).getDistance(), 0.1);
+  }
+
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.*;
+import javax.xml.bind.JAXBContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class PowerEnvelopeTest {
+
+  private static final Instant T0 = Instant.parse("2026-10-17T00:00:00Z");
+
+  public PowerEnvelopeTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  /**
+   * Build a schedule with one Spectrum of step profiles.
+   *
+   * @param fromHour the start hour after T0
+   * @param toHour   the stop hour after T0
+   * @param bw       the resolution bandwidth
+   * @param steps    {lo, hi, dbm} triplets
+   */
+  private static SpectrumSchedule schedule(int fromHour, int toHour, double bw, double[]... steps) {
+    EventTime eventTime = new EventTime();
+    eventTime.setStartTime(T0.plusSeconds(3600L * fromHour).atZone(ZoneOffset.UTC));
+    eventTime.setStopTime(T0.plusSeconds(3600L * toHour).atZone(ZoneOffset.UTC));
+    Spectrum spectrum = new Spectrum();
+    spectrum.setResolutionBwHz(bw);
+    for (double[] step : steps) {
+      SpectrumProfile profile = new SpectrumProfile();
+      profile.getList().add(point(step[0], step[2]));
+      profile.getList().add(point(step[1], step[2]));
+      spectrum.getProfiles().add(profile);
+    }
+    SpectrumSchedule schedule = new SpectrumSchedule();
+    schedule.setEventTime(eventTime);
+    schedule.setSpectra(new ArrayList<>(Arrays.asList(spectrum)));
+    return schedule;
+  }
+
+  private static SpectrumProfilePoint point(double hz, double dbm) {
+    SpectrumProfilePoint point = new SpectrumProfilePoint();
+    point.setHz(hz);
+    point.setDbm(dbm);
+    return point;
+  }
+
+  private static Instant hour(double hour) {
+    return T0.plusSeconds((long) (3600 * hour));
+  }
+
+  @Test
+  public void testOverlappingSchedules() {
+    List<SpectrumSchedule> schedules = new ArrayList<>();
+    schedules.add(schedule(0, 4, 6e6, new double[]{470e6, 482e6, 36}));
+    schedules.add(schedule(2, 6, 6e6, new double[]{476e6, 488e6, 30}));
+    PowerEnvelope envelope = PowerEnvelope.getInstance(schedules);
+    assertEquals(3, envelope.size());
+    assertEquals(hour(2), envelope.getStartTime(1));
+
+    assertEquals(36, envelope.getDbm(6e6, hour(1), 478e6), 0);
+    assertTrue(Double.isNaN(envelope.getDbm(6e6, hour(1), 484e6)));
+    // overlap: lowest power applies, coverage is the union
+    assertEquals(36, envelope.getDbm(6e6, hour(3), 470e6), 0);
+    assertEquals(30, envelope.getDbm(6e6, hour(3), 476e6), 0);
+    assertEquals(30, envelope.getDbm(6e6, hour(3), 487e6), 0);
+    assertEquals(30, envelope.getDbm(6e6, hour(5), 480e6), 0);
+    assertTrue(Double.isNaN(envelope.getDbm(6e6, hour(5), 470e6)));
+    assertTrue(Double.isNaN(envelope.getDbm(6e6, hour(6), 480e6)));
+    assertTrue(Double.isNaN(envelope.getDbm(6e6, hour(-1), 480e6)));
+    assertTrue(Double.isNaN(envelope.getDbm(1e5, hour(1), 480e6)));
+  }
+
+  @Test
+  public void testNormalization() {
+    List<SpectrumSchedule> schedules = new ArrayList<>();
+    // identical adjacent slices and touching segments are merged
+    schedules.add(schedule(0, 2, 6e6, new double[]{470e6, 476e6, 36}, new double[]{476e6, 482e6, 36}));
+    schedules.add(schedule(2, 4, 6e6, new double[]{470e6, 482e6, 36}));
+    schedules.add(schedule(1, 3, 6e6, new double[]{470e6, 482e6, 40}));
+    PowerEnvelope envelope = PowerEnvelope.getInstance(schedules);
+    assertEquals(1, envelope.size());
+    assertEquals(hour(0), envelope.getStartTime(0));
+    assertEquals(hour(4), envelope.getStopTime(0));
+
+    List<SpectrumSchedule> compact = envelope.toSpectrumSchedules();
+    assertEquals(1, compact.size());
+    List<SpectrumProfile> profiles = compact.get(0).getSpectra().get(0).getProfiles();
+    assertEquals(1, profiles.size());
+    assertEquals(2, profiles.get(0).size());
+    assertEquals(470e6, profiles.get(0).getHz(0), 0);
+    assertEquals(482e6, profiles.get(0).getHz(1), 0);
+  }
+
+  @Test
+  public void testCompactSpectrumSpec() {
+    SpectrumSpec spec = new SpectrumSpec();
+    spec.getSpectrumSchedules().add(schedule(0, 4, 6e6, new double[]{470e6, 482e6, 36}, new double[]{500e6, 506e6, 20}));
+    spec.getSpectrumSchedules().add(schedule(2, 6, 6e6, new double[]{476e6, 488e6, 30}));
+    spec.getSpectrumSchedules().add(schedule(0, 6, 1e5, new double[]{470e6, 490e6, 10}));
+    spec.setMaxTotalBwHz(12e6);
+    SpectrumSpec compact = PowerEnvelope.compact(spec);
+    assertEquals(12e6, compact.getMaxTotalBwHz(), 0);
+    assertEquals(3, compact.getSpectrumSchedules().size());
+    /**
+     * The compacted schedules are disjoint, so the envelope is unchanged.
+     */
+    PowerEnvelope original = PowerEnvelope.getInstance(spec);
+    PowerEnvelope compacted = PowerEnvelope.getInstance(compact);
+    assertEquals(original.toString(), compacted.toString());
+    for (double h = 0; h < 6.5; h += 0.5) {
+      for (double f = 465e6; f < 510e6; f += 1e6) {
+        assertEquals(original.getDbm(6e6, hour(h), f), compacted.getDbm(6e6, hour(h), f), 0);
+        assertEquals(original.getDbm(1e5, hour(h), f), compacted.getDbm(1e5, hour(h), f), 0);
+      }
+    }
+    SpectrumSchedule middle = compact.getSpectrumSchedules().get(1);
+    assertEquals(2, middle.getSpectra().size());
+    assertEquals(1, middle.getSpectra().get(0).getProfiles().size()); // 1e5: 470-490
+    assertEquals(2, middle.getSpectra().get(1).getProfiles().size()); // 470-488, 500-506
+  }
+
+  @Test
+  public void testStepProfile() throws Exception {
+    /**
+     * An unmarshalled profile keeps both points of a step at a shared
+     * frequency.
+     */
+    String xml = "<SpectrumProfile xmlns=\"http://ietf.org/lib/paws\">"
+                 + "<list><hz>4.7E8</hz><dbm>20.0</dbm></list>"
+                 + "<list><hz>4.76E8</hz><dbm>20.0</dbm></list>"
+                 + "<list><hz>4.76E8</hz><dbm>36.0</dbm></list>"
+                 + "<list><hz>4.82E8</hz><dbm>36.0</dbm></list>"
+                 + "</SpectrumProfile>";
+    SpectrumProfile profile = (SpectrumProfile) JAXBContext.newInstance(SpectrumProfile.class)
+      .createUnmarshaller().unmarshal(new java.io.StringReader(xml));
+    assertFalse(profile.isCompact());
+    assertEquals(4, profile.size());
+    SpectrumSchedule schedule = schedule(0, 1, 6e6);
+    schedule.getSpectra().get(0).getProfiles().add(profile);
+    PowerEnvelope envelope = PowerEnvelope.getInstance(Arrays.asList(schedule));
+    assertEquals(20, envelope.getDbm(6e6, hour(0.5), 472e6), 0);
+    assertEquals(36, envelope.getDbm(6e6, hour(0.5), 478e6), 0);
+    assertEquals(4, profile.size()); // the source is unchanged
+  }
+
+  @Test
+  public void testAgainstReference() {
+    Random random = new Random(13);
+    List<SpectrumSchedule> schedules = new ArrayList<>();
+    List<double[]> reference = new ArrayList<>(); // {from, to, lo, hi, dbm}
+    for (int i = 0; i < 200; i++) {
+      int from = random.nextInt(48);
+      int to = from + 1 + random.nextInt(12);
+      double[][] steps = new double[1 + random.nextInt(3)][];
+      for (int k = 0; k < steps.length; k++) {
+        double lo = 470e6 + 1e6 * random.nextInt(60);
+        steps[k] = new double[]{lo, lo + 1e6 * (1 + random.nextInt(12)), 10 + random.nextInt(30)};
+        reference.add(new double[]{from, to, steps[k][0], steps[k][1], steps[k][2]});
+      }
+      schedules.add(schedule(from, to, 6e6, steps));
+    }
+    PowerEnvelope envelope = PowerEnvelope.getInstance(schedules);
+    for (int h = 0; h < 62; h++) {
+      for (int f = 465; f < 545; f++) {
+        double expected = Double.NaN;
+        for (double[] step : reference) {
+          if (step[0] <= h && h < step[1] && step[2] <= f * 1e6 && f * 1e6 < step[3]) {
+            expected = Double.isNaN(expected) ? step[4] : Math.min(expected, step[4]);
+          }
+        }
+        assertEquals(expected, envelope.getDbm(6e6, hour(h + 0.5), f * 1e6 + 5e5), 0);
+      }
+    }
+  }
+
+  @Test
+  public void testEmptyTimeRange() {
+    List<SpectrumSchedule> schedules = new ArrayList<>();
+    schedules.add(schedule(0, 4, 6e6, new double[]{470e6, 482e6, 36}));
+    schedules.add(schedule(2, 1, 6e6, new double[]{490e6, 496e6, 30})); // stop before start
+    schedules.add(schedule(3, 3, 6e6, new double[]{500e6, 506e6, 30})); // empty
+    PowerEnvelope envelope = PowerEnvelope.getInstance(schedules);
+    assertEquals(1, envelope.size());
+    assertTrue(Double.isNaN(envelope.getDbm(6e6, hour(3), 492e6)));
+    assertTrue(Double.isNaN(envelope.getDbm(6e6, hour(3), 502e6)));
+    assertEquals(36, envelope.getDbm(6e6, hour(3), 476e6), 0);
+  }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.util.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class RadiationPatternTest {
+
+  public RadiationPatternTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  @Test
+  public void testGainAt() {
+    Map<Double, Double> points = new HashMap<>();
+    points.put(0.0, 0.0);
+    points.put(90.0, -10.0);
+    points.put(180.0, -20.0);
+    points.put(270.0, -10.0);
+    RadiationPattern pattern = RadiationPattern.getInstance(points);
+    assertEquals(1.0, pattern.getResolution(), 0);
+    assertEquals(0, pattern.gainAt(0), 1e-12);
+    assertEquals(-10, pattern.gainAt(90), 1e-12);
+    assertEquals(-5, pattern.gainAt(45), 1e-12);
+    assertEquals(-5.5, pattern.gainAt(49.5), 1e-12);
+    assertEquals(-1, pattern.gainAt(351), 1e-12); // wraps from 270 to 360
+    assertEquals(-1, pattern.gainAt(-9), 1e-12);
+    assertEquals(-20, pattern.gainAt(540), 1e-12);
+    assertTrue(Double.isNaN(pattern.gainAt(Double.NaN)));
+    // rotating the antenna by 90 degrees moves the null to 270
+    assertEquals(-20, pattern.gainAt(270, 90), 1e-12);
+    assertEquals(0, pattern.gainAt(90, 90), 1e-12);
+  }
+
+  @Test
+  public void testIrregularPoints() {
+    Map<Double, Double> points = new TreeMap<>();
+    points.put(10.5, -3.0);
+    points.put(200.25, -12.0);
+    points.put(370.0, 99.0); // same direction as 10, ignored if 10 were present
+    RadiationPattern coarse = RadiationPattern.getInstance(points, 7);
+    assertEquals(360.0 / 51, coarse.getResolution(), 1e-12);
+    RadiationPattern fine = RadiationPattern.getInstance(points, 0.25);
+    for (double azimuth = 0; azimuth < 360; azimuth += 0.25) {
+      assertEquals(expected(points, azimuth), fine.gainAt(azimuth), 1e-9);
+    }
+    RadiationPattern single = RadiationPattern.getInstance(Collections.singletonMap(45.0, -2.0));
+    assertEquals(-2, single.gainAt(123), 0);
+  }
+
+  /**
+   * Direct linear interpolation around the circle.
+   */
+  private static double expected(Map<Double, Double> points, double azimuth) {
+    TreeMap<Double, Double> circle = new TreeMap<>();
+    for (Map.Entry<Double, Double> entry : points.entrySet()) {
+      circle.putIfAbsent(entry.getKey() % 360, entry.getValue());
+    }
+    Map.Entry<Double, Double> lo = circle.floorEntry(azimuth);
+    Map.Entry<Double, Double> hi = circle.ceilingEntry(azimuth);
+    double loAz = lo != null ? lo.getKey() : circle.lastKey() - 360;
+    double loGain = lo != null ? lo.getValue() : circle.lastEntry().getValue();
+    double hiAz = hi != null ? hi.getKey() : circle.firstKey() + 360;
+    double hiGain = hi != null ? hi.getValue() : circle.firstEntry().getValue();
+    return hiAz == loAz ? loGain : loGain + (hiGain - loGain) * (azimuth - loAz) / (hiAz - loAz);
+  }
+
+  @Test
+  public void testAntennaCharacteristics() {
+    AntennaCharacteristics antenna = new AntennaCharacteristics();
+    assertNull(antenna.getRadiationPatternTable());
+    assertEquals(0, antenna.getRelativeGainAt(30), 0);
+    antenna.getRadiationPattern().put(0.0, 0.0);
+    antenna.getRadiationPattern().put(180.0, -20.0);
+    antenna.setRotation(45.0);
+    RadiationPattern table = antenna.getRadiationPatternTable();
+    assertSame(table, antenna.getRadiationPatternTable());
+    assertEquals(-20, antenna.getRelativeGainAt(225), 1e-12);
+    antenna.getRadiationPattern().put(90.0, -30.0);
+    assertNotSame(table, antenna.getRadiationPatternTable());
+    assertEquals(-30, antenna.getRelativeGainAt(135), 1e-12);
+    assertEquals(-20, RadiationPattern.valueOf("PATTERN ((0 0), (180 -20))").gainAt(180), 0);
+    assertNull(RadiationPattern.valueOf("PATTERN EMPTY"));
+  }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.*;
+import org.ietf.lib.paws.message.AvailableSpectrumResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class ScheduleTimeIndexTest {
+
+  private static final Instant T0 = Instant.parse("2026-10-17T00:00:00Z");
+
+  public ScheduleTimeIndexTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  private static SpectrumSchedule schedule(int fromHour, int toHour) {
+    EventTime eventTime = new EventTime();
+    eventTime.setStartTime(hour(fromHour).atZone(ZoneOffset.UTC));
+    eventTime.setStopTime(hour(toHour).atZone(ZoneOffset.UTC));
+    SpectrumSchedule schedule = new SpectrumSchedule();
+    schedule.setEventTime(eventTime);
+    return schedule;
+  }
+
+  private static Instant hour(double hour) {
+    return T0.plusSeconds((long) (3600 * hour));
+  }
+
+  @Test
+  public void testActiveAt() {
+    SpectrumSchedule a = schedule(0, 4);
+    SpectrumSchedule b = schedule(2, 6);
+    SpectrumSchedule c = schedule(8, 9);
+    SpectrumSchedule incomplete = new SpectrumSchedule();
+    ScheduleTimeIndex index = new ScheduleTimeIndex(Arrays.asList(b, a, c, incomplete, null));
+
+    assertEquals(6, index.size());
+    assertTrue(index.activeAt(hour(-1)).isEmpty());
+    assertEquals(Arrays.asList(a), index.activeAt(hour(0)));
+    assertEquals(Arrays.asList(a), index.activeAt(hour(1.5)));
+    assertEquals(Arrays.asList(b, a), index.activeAt(hour(2)));
+    assertEquals(Arrays.asList(b), index.activeAt(hour(4)));
+    assertTrue(index.activeAt(hour(7)).isEmpty());
+    assertEquals(Arrays.asList(c), index.activeAt(hour(8.5)));
+    assertTrue(index.activeAt(hour(9)).isEmpty());
+    assertSame(index.activeAt(hour(2)), index.activeAt(hour(3)));
+  }
+
+  @Test
+  public void testTransitions() {
+    ScheduleTimeIndex index = new ScheduleTimeIndex(Arrays.asList(schedule(0, 4), schedule(2, 4)));
+    assertEquals(hour(0), index.nextTransitionAfter(hour(-5)));
+    assertEquals(hour(2), index.nextTransitionAfter(hour(0)));
+    assertEquals(hour(4), index.nextTransitionAfter(hour(3.9)));
+    assertNull(index.nextTransitionAfter(hour(4)));
+
+    List<Instant> transitions = new ArrayList<>();
+    for (Iterator<Instant> iterator = index.transitions(); iterator.hasNext();) {
+      transitions.add(iterator.next());
+    }
+    assertEquals(Arrays.asList(hour(0), hour(2), hour(4)), transitions);
+    assertEquals(hour(2), index.getTransition(1));
+
+    ScheduleTimeIndex empty = new ScheduleTimeIndex(null);
+    assertEquals(0, empty.size());
+    assertTrue(empty.activeAt(T0).isEmpty());
+    assertNull(empty.nextTransitionAfter(T0));
+  }
+
+  @Test
+  public void testResponse() {
+    AvailableSpectrumResponse response = new AvailableSpectrumResponse();
+    SpectrumSpec first = new SpectrumSpec();
+    first.getSpectrumSchedules().add(schedule(0, 2));
+    SpectrumSpec second = new SpectrumSpec();
+    second.getSpectrumSchedules().add(schedule(1, 3));
+    response.getSpectrumSpecs().add(first);
+    response.getSpectrumSpecs().add(second);
+    ScheduleTimeIndex index = response.buildScheduleTimeIndex();
+    assertEquals(4, index.size());
+    assertEquals(2, index.activeAt(hour(1)).size());
+  }
+
+}
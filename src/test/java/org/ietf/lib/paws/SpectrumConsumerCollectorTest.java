@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class SpectrumConsumerCollectorTest {
+
+  public SpectrumConsumerCollectorTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  @Test
+  public void testNearest() {
+    Random random = new Random(19);
+    List<SpectrumConsumer> all = new ArrayList<>();
+    SpectrumConsumerCollector collector = SpectrumConsumerCollector.nearest(20);
+    for (int i = 0; i < 10000; i++) {
+      SpectrumConsumer consumer = consumer("K" + i, random.nextInt(500), null);
+      all.add(consumer);
+      collector.add(consumer);
+    }
+    Collections.sort(all);
+    assertEquals(20, collector.size());
+    assertEquals(10000, collector.getOfferedCount());
+    assertEquals(all.subList(0, 20), new ArrayList<>(collector));
+  }
+
+  @Test
+  public void testMostLimiting() {
+    SpectrumConsumerCollector collector = SpectrumConsumerCollector.mostLimiting(3);
+    collector.add(consumer("A", 10, null));
+    collector.add(consumer("B", 50, 20.0));
+    collector.add(consumer("C", 40, 30.0));
+    collector.add(consumer("D", 5, null));
+    collector.add(consumer("E", 30, 20.0));
+    List<SpectrumConsumer> list = new ArrayList<>(collector);
+    assertEquals("C", list.get(0).getAuthorization());
+    assertEquals("E", list.get(1).getAuthorization());
+    assertEquals("B", list.get(2).getAuthorization());
+  }
+
+  @Test
+  public void testEmpty() {
+    SpectrumConsumerCollector collector = SpectrumConsumerCollector.nearest(0);
+    assertFalse(collector.add(consumer("A", 1, null)));
+    assertTrue(collector.isEmpty());
+    try {
+      SpectrumConsumerCollector.nearest(-1);
+      fail("negative capacity should be rejected");
+    } catch (IllegalArgumentException ex) {
+    }
+  }
+
+  @Test
+  public void testSpectrumInfo() throws Exception {
+    SpectrumInfo info = new SpectrumInfo("21", 512, 518);
+    info.addServiceCo(consumer("Z", 0.5, null));
+    info.setServicesLimit(SpectrumConsumerCollector.Order.NEAREST, 2);
+    for (int i = 0; i < 100; i++) {
+      info.addServiceCo(consumer("K" + i, 100 - i, null));
+      info.addServiceAdj(consumer("K" + i, 100 - i, null));
+    }
+    assertEquals(2, info.getServicesCo().size());
+    assertEquals("Z", info.getServicesCo().iterator().next().getAuthorization());
+    assertEquals(2, info.getServicesAdj().size());
+    assertEquals(1.0, info.getServicesAdj().iterator().next().getDistance(), 0);
+
+    JAXBContext context = JAXBContext.newInstance(SpectrumInfo.class);
+    Marshaller marshaller = context.createMarshaller();
+    StringWriter writer = new StringWriter();
+    marshaller.marshal(info, writer);
+    String xml = writer.toString();
+    assertTrue(xml, xml.contains("<authorization>K99</authorization>"));
+    assertFalse(xml, xml.contains("<authorization>K97</authorization>"));
+    assertFalse(xml, xml.contains("servicesLimit"));
+  }
+
+  private static SpectrumConsumer consumer(String authorization, double distance, Double erp) {
+    SpectrumConsumer consumer = new SpectrumConsumer();
+    consumer.setAuthorization(authorization);
+    consumer.setDistance(distance);
+    consumer.setErp(erp);
+    return consumer;
+  }
+
+}
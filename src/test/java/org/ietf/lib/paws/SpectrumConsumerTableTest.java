@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class SpectrumConsumerTableTest {
+
+  public SpectrumConsumerTableTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  @Test
+  public void testColumns() {
+    List<SpectrumConsumer> consumers = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      consumers.add(consumer("uuid-" + i, "K" + (i % 7), i % 3 == 0 ? "TX" : "RX", i, i % 3 == 0 ? (Double) (10.0 + i) : null));
+    }
+    consumers.add(consumer(null, null, null, 5, null));
+    SpectrumConsumerTable table = SpectrumConsumerTable.of(consumers);
+    assertEquals(101, table.size());
+    assertEquals("uuid-42", table.getUuid(42));
+    assertEquals("K0", table.getAuthorization(42));
+    assertEquals("TX", table.getType(42));
+    assertEquals(52.0, table.getErp(42), 0);
+    assertTrue(Double.isNaN(table.getErp(43)));
+    assertEquals(43.0, table.getDistance(43), 0);
+    assertNull(table.getType(100));
+    assertNull(table.get(43).getErp());
+    assertEquals(consumers.get(42).toString(), table.get(42).toString());
+    try {
+      table.getDistance(101);
+      fail("index out of range should be rejected");
+    } catch (IndexOutOfBoundsException ex) {
+    }
+  }
+
+  @Test
+  public void testFilter() {
+    SpectrumConsumerTable table = new SpectrumConsumerTable(0);
+    for (int i = 0; i < 50; i++) {
+      table.add(consumer("uuid-" + i, "K" + i, i % 2 == 0 ? "TX" : "RX", i, null));
+    }
+    assertEquals(25, table.ofType("TX").size());
+    assertEquals(0, table.ofType("LP").size());
+    assertEquals(11, table.withinDistance(10).size());
+    assertEquals(6, table.withinDistance(10).ofType("TX").size());
+    assertEquals("K10", table.withinDistance(10).ofType("TX").getAuthorization(5));
+  }
+
+  @Test
+  public void testSpectrumInfo() throws Exception {
+    SpectrumInfo info = new SpectrumInfo("21", 512, 518);
+    for (int i = 0; i < 20; i++) {
+      info.addServiceCo(consumer("uuid-" + i, "K" + i, "TX", i, 20.0));
+      info.addServiceTaboo(consumer("uuid-" + i, "K" + i, "RX", i, null));
+    }
+    String before = marshal(info);
+    info.compactServices();
+    assertTrue(info.getServicesCo() instanceof SpectrumConsumerTable);
+    assertEquals(before, marshal(info));
+  }
+
+  private static String marshal(SpectrumInfo info) throws Exception {
+    Marshaller marshaller = JAXBContext.newInstance(SpectrumInfo.class).createMarshaller();
+    StringWriter writer = new StringWriter();
+    marshaller.marshal(info, writer);
+    return writer.toString();
+  }
+
+  private static SpectrumConsumer consumer(String uuid, String authorization, String type, double distance, Double erp) {
+    SpectrumConsumer consumer = new SpectrumConsumer();
+    consumer.setUuid(uuid);
+    consumer.setAuthorization(authorization);
+    consumer.setType(type);
+    consumer.setDistance(distance);
+    consumer.setAzimuth(distance * 3 % 360);
+    consumer.setErp(erp);
+    return consumer;
+  }
+
+}
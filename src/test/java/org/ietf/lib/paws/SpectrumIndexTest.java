@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.util.*;
+import org.ietf.lib.paws.message.AvailableSpectrumResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class SpectrumIndexTest {
+
+  public SpectrumIndexTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  /**
+   * Compare every query against a linear scan over random, overlapping
+   * entries.
+   */
+  @Test
+  public void testAgainstScan() {
+    Random random = new Random(11);
+    for (int round = 0; round < 50; round++) {
+      List<AbstractSpectrum> spectrum = new ArrayList<>();
+      for (int i = 0; i < 1 + random.nextInt(300); i++) {
+        double min = 400 + random.nextInt(400);
+        spectrum.add(new SpectrumChannel("CH" + i, min, min + random.nextInt(round % 2 == 0 ? 7 : 60)));
+      }
+      SpectrumIndex index = new SpectrumIndex(spectrum);
+      assertEquals(spectrum.size(), index.size());
+      for (int q = 0; q < 200; q++) {
+        double min = 390 + random.nextInt(420);
+        double max = min + random.nextInt(50);
+        List<AbstractSpectrum> overlapping = new ArrayList<>();
+        List<AbstractSpectrum> contained = new ArrayList<>();
+        List<AbstractSpectrum> at = new ArrayList<>();
+        for (AbstractSpectrum s : spectrum) {
+          if (s.getFrequencyMin() < max && s.getFrequencyMax() > min) {
+            overlapping.add(s);
+          }
+          if (s.getFrequencyMin() >= min && s.getFrequencyMax() <= max) {
+            contained.add(s);
+          }
+          if (s.getFrequencyMin() <= min && min < s.getFrequencyMax()) {
+            at.add(s);
+          }
+        }
+        assertEquals(identities(overlapping), identities(index.overlapping(min, max)));
+        assertEquals(identities(contained), identities(index.containedIn(range(min, max))));
+        assertEquals(identities(at), identities(index.at(min)));
+        assertSorted(index.overlapping(min, max));
+      }
+    }
+  }
+
+  @Test
+  public void testContainedInRanges() {
+    List<AbstractSpectrum> spectrum = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      spectrum.add(new SpectrumChannel("UHF" + (14 + i), 470 + 6 * i, 476 + 6 * i));
+    }
+    SpectrumIndex index = new SpectrumIndex(spectrum);
+    List<AbstractSpectrum> contained = index.containedIn(Arrays.asList(range(500, 520), range(470, 482), range(506, 530)));
+    List<String> names = new ArrayList<>();
+    contained.forEach(s -> names.add(s.getName()));
+    assertEquals(Arrays.asList("UHF14", "UHF15", "UHF19", "UHF20", "UHF21", "UHF22", "UHF23"), names);
+    assertEquals(1, index.at(476).size());
+    assertEquals("UHF15", index.at(476).get(0).getName());
+    assertTrue(index.at(469.99).isEmpty());
+    assertTrue(new SpectrumIndex(null).overlapping(0, 1000).isEmpty());
+  }
+
+  @Test
+  public void testLazyIndex() {
+    AvailableSpectrumResponse response = new AvailableSpectrumResponse();
+    response.addSpectrumEntry(new SpectrumChannel("UHF14", 470, 476));
+    SpectrumIndex index = response.getSpectrumIndex();
+    assertSame(index, response.getSpectrumIndex());
+    response.getSpectrum().add(new SpectrumChannel("UHF15", 476, 482));
+    assertNotSame(index, response.getSpectrumIndex());
+    assertEquals(2, response.getSpectrumIndex().overlapping(470, 482).size());
+    response.clearSpectrum();
+    assertEquals(0, response.getSpectrumIndex().size());
+  }
+
+  private static FrequencyRange range(double start, double stop) {
+    FrequencyRange range = new FrequencyRange();
+    range.setStartMHz(start);
+    range.setStopMHz(stop);
+    return range;
+  }
+
+  private static Set<Integer> identities(Collection<AbstractSpectrum> spectrum) {
+    Set<Integer> set = new HashSet<>();
+    spectrum.forEach(s -> assertTrue(set.add(System.identityHashCode(s))));
+    return set;
+  }
+
+  private static void assertSorted(List<AbstractSpectrum> spectrum) {
+    for (int i = 1; i < spectrum.size(); i++) {
+      assertTrue(spectrum.get(i - 1).getFrequencyMin() <= spectrum.get(i).getFrequencyMin());
+    }
+  }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.ietf.lib.paws.codec.PawsCodec;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class SpectrumProfileTest {
+
+  public SpectrumProfileTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  @Test
+  public void testDbmAt() {
+    SpectrumProfile profile = SpectrumProfile.getInstance(new double[]{470e6, 476e6, 476e6, 482e6}, new double[]{30, 36, 20, 20});
+    assertTrue(profile.isCompact());
+    assertEquals(4, profile.size());
+    assertTrue(Double.isNaN(profile.getDbmAt(469e6)));
+    assertEquals(30, profile.getDbmAt(470e6), 0);
+    assertEquals(33, profile.getDbmAt(473e6), 1e-9);
+    assertEquals(20, profile.getDbmAt(476e6), 0); // step: the second point applies
+    assertEquals(20, profile.getDbmAt(481e6), 0);
+    assertTrue(Double.isNaN(profile.getDbmAt(482e6))); // last frequency is exclusive
+    assertTrue(Double.isNaN(SpectrumProfile.getInstance(new double[0], new double[0]).getDbmAt(470e6)));
+  }
+
+  @Test
+  public void testCompact() throws Exception {
+    Random random = new Random(7);
+    SpectrumProfile profile = new SpectrumProfile();
+    for (int i = 0; i < 200; i++) {
+      SpectrumProfilePoint point = new SpectrumProfilePoint();
+      point.setHz(470e6 + 1e5 * i);
+      point.setDbm(Math.round(random.nextDouble() * 4000) / 100.0);
+      profile.getList().add(point);
+    }
+    String xml = marshal(profile);
+    double[] expected = new double[1000];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = profile.getDbmAt(469e6 + 22e3 * i);
+    }
+
+    assertFalse(profile.isCompact());
+    assertSame(profile, profile.compact());
+    assertTrue(profile.isCompact());
+    assertEquals(200, profile.size());
+    assertEquals(470e6, profile.getHz(0), 0);
+    assertEquals(xml, marshal(profile));
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], profile.getDbmAt(469e6 + 22e3 * i), 0);
+    }
+    assertEquals(xml, marshal(PawsCodec.decode(xml, SpectrumProfile.class).compact()));
+  }
+
+  @Test
+  public void testSetListStep() {
+    List<SpectrumProfilePoint> points = new ArrayList<>();
+    points.add(point(476e6, 20));
+    points.add(point(476e6, 36)); // rising step at 476 MHz
+    points.add(point(482e6, 36));
+    points.add(point(470e6, 20));
+    SpectrumProfile profile = new SpectrumProfile();
+    profile.setList(points);
+    assertEquals(4, profile.size());
+    List<SpectrumProfilePoint> list = new ArrayList<>(profile.getList());
+    assertEquals(470e6, list.get(0).getHz(), 0);
+    assertEquals(20, list.get(1).getDbm(), 0);
+    assertEquals(36, list.get(2).getDbm(), 0);
+    profile.compact();
+    assertEquals(20, profile.getDbmAt(472e6), 0);
+    assertEquals(36, profile.getDbmAt(478e6), 0);
+  }
+
+  private static SpectrumProfilePoint point(double hz, double dbm) {
+    SpectrumProfilePoint point = new SpectrumProfilePoint();
+    point.setHz(hz);
+    point.setDbm(dbm);
+    return point;
+  }
+
+  @Test
+  public void testInvalid() {
+    try {
+      SpectrumProfile.getInstance(new double[]{470e6, 476e6}, new double[]{30});
+      fail("length mismatch");
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      SpectrumProfile.getInstance(new double[]{476e6, 470e6}, new double[]{30, 30});
+      fail("unsorted");
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      new SpectrumProfile().getHz(0);
+      fail("not compact");
+    } catch (IllegalStateException expected) {
+    }
+    try {
+      SpectrumProfile.getInstance(new double[]{470e6}, new double[]{30}).getList().clear();
+      fail("read only");
+    } catch (UnsupportedOperationException expected) {
+    }
+  }
+
+  private static String marshal(SpectrumProfile profile) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PawsCodec.encode(profile, out);
+    return out.toString("UTF-8");
+  }
+
+}
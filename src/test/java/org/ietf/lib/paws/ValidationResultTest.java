@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws;
+
+import org.ietf.lib.paws.message.RegistrationRequest;
+import org.ietf.lib.paws.message.SpectrumUseNotify;
+import org.ietf.lib.paws.type.PawsErrorType;
+import org.ietf.lib.paws.type.PawsRulesetType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class ValidationResultTest {
+
+  public ValidationResultTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  @Test
+  public void testSpectrumUseNotify() {
+    SpectrumUseNotify notify = new SpectrumUseNotify();
+    DeviceDescriptor deviceDesc = new DeviceDescriptor(PawsRulesetType.FCC_PART_15_H_2019);
+    deviceDesc.setDeviceId("FCC-ID");
+    notify.setDeviceDesc(deviceDesc);
+    notify.setMasterDeviceDesc(new DeviceDescriptor());
+    notify.setTransmitChannel(new SpectrumChannel("UHF14", 470, 476));
+
+    ValidationResult result = new ValidationResult();
+    notify.validate(result);
+    assertFalse(result.isValid());
+    assertEquals("deviceDesc.serialNumber", result.getParameter(0));
+    assertEquals("deviceDesc::serialNumber is required", result.getMessage(0));
+    assertEquals("location", result.getParameter(2));
+    assertEquals("masterDeviceDesc.rulesetId", result.getParameter(3));
+    assertEquals("masterDeviceLocation", result.getParameter(7));
+    assertEquals("transmitChannel.power", result.getParameter(8));
+    assertEquals(9, result.size());
+    assertEquals(PawsErrorType.MISSING, result.getErrorType());
+
+    Error error = result.toError();
+    assertEquals(Integer.valueOf(PawsErrorType.MISSING.getCode()), error.getCode());
+    assertTrue(String.valueOf(error.getData()).startsWith("deviceDesc.serialNumber, deviceDesc.deviceMode, location, "));
+    try {
+      notify.validate();
+      fail("invalid message");
+    } catch (Exception exception) {
+      assertEquals("deviceDesc::serialNumber is required", exception.getMessage());
+    }
+  }
+
+  @Test
+  public void testReuse() throws Exception {
+    ValidationResult result = new ValidationResult();
+    RegistrationRequest request = new RegistrationRequest();
+    for (int i = 0; i < 3; i++) {
+      request.validate(result.clear());
+      assertEquals(4, result.size());
+      assertEquals("deviceOwner", result.getParameter(3));
+    }
+    AntennaCharacteristics antenna = new AntennaCharacteristics();
+    antenna.setHeight(-1.0);
+    antenna.validate(result.clear());
+    assertEquals(PawsErrorType.INVALID_VALUE, result.getErrorType());
+    assertEquals("height", result.getParameter(0));
+    antenna.setHeight(10.0);
+    antenna.validate(result.clear());
+    assertTrue(result.isValid());
+    assertNull(result.toError());
+    antenna.validate();
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.adapter;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class XmlDoublePrecisionAdapterTest {
+
+  public XmlDoublePrecisionAdapterTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  /**
+   * The BigDecimal-free rounding must be bit-identical to the original
+   * BigDecimal HALF_UP implementation, and the direct formatter must print
+   * exactly String.valueOf of the rounded value.
+   */
+  @Test
+  public void testBitIdentical() throws Exception {
+    XmlDouble02PrecisionAdapter adapter02 = new XmlDouble02PrecisionAdapter();
+    XmlDouble06PrecisionAdapter adapter06 = new XmlDouble06PrecisionAdapter();
+    Random random = new Random(42);
+    for (int i = 0; i < 500000; i++) {
+      double base = Math.round(random.nextDouble() * 1e9);
+      double[] values = {
+        random.nextDouble() * 1000,
+        (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(30) - 12),
+        Double.longBitsToDouble(random.nextLong()),
+        base / 100, (base + 0.5) / 100, Math.nextUp((base + 0.5) / 100), Math.nextDown((base + 0.5) / 100),
+        base / 1e6, (base + 0.5) / 1e6, Math.nextUp((base + 0.5) / 1e6), Math.nextDown((base + 0.5) / 1e6)
+      };
+      for (double value : values) {
+        assertRounded(2, value, adapter02.marshal(value), XmlDouble02PrecisionAdapter::append);
+        assertRounded(6, value, adapter06.marshal(value), XmlDouble06PrecisionAdapter::append);
+      }
+    }
+  }
+
+  @Test
+  public void testSpecialValues() throws Exception {
+    double[] values = {0.0, -0.0, -0.001, 0.125, -0.125, 0.005, 1.005, 2.675, 1e-7, -1e-7, 4.7e8, 4.7e14, 4.5e15, 1e300,
+                       Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, 9999999.995, 0.0009995,
+                       Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+    for (double value : values) {
+      assertRounded(2, value, new XmlDouble02PrecisionAdapter().marshal(value), XmlDouble02PrecisionAdapter::append);
+      assertRounded(6, value, new XmlDouble06PrecisionAdapter().marshal(value), XmlDouble06PrecisionAdapter::append);
+    }
+    assertNull(new XmlDouble02PrecisionAdapter().marshal(null));
+    assertEquals(Double.doubleToRawLongBits(0.0), Double.doubleToRawLongBits(XmlDouble02PrecisionAdapter.round(-0.001)));
+  }
+
+  private interface Appender {
+
+    boolean append(StringBuilder sb, double value);
+  }
+
+  private static void assertRounded(int scale, double value, Double actual, Appender appender) {
+    Double expected;
+    try {
+      expected = new BigDecimal(value).setScale(scale, BigDecimal.ROUND_HALF_UP).doubleValue();
+    } catch (NumberFormatException exception) {
+      expected = null;
+    }
+    if (expected == null) {
+      assertNull(actual);
+    } else {
+      assertEquals(value + " scale " + scale, Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual));
+    }
+    StringBuilder sb = new StringBuilder("x");
+    assertEquals(expected != null, appender.append(sb, value));
+    assertEquals(expected == null ? "x" : "x" + expected, sb.toString());
+  }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.adapter;
+
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.io.WKTReader;
+import org.locationtech.jts.io.WKTWriter;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class XmlGeometryAdapterTest {
+
+  public XmlGeometryAdapterTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  /**
+   * The POINT fast path must produce exactly the JTS 3D WKTWriter text and
+   * parse to exactly the JTS WKTReader coordinates.
+   */
+  @Test
+  public void testPointCompatible() throws Exception {
+    XmlGeometryAdapter adapter = new XmlGeometryAdapter();
+    GeometryFactory factory = new GeometryFactory();
+    Random random = new Random(1);
+    for (int i = 0; i < 100000; i++) {
+      double x = random.nextDouble() * 360 - 180;
+      double y = random.nextDouble() * 180 - 90;
+      double z = Double.NaN;
+      switch (i % 4) {
+        case 1:
+          x = Math.round(x * 1e6) / 1e6;
+          y = Math.round(y * 1e4) / 1e4;
+          break;
+        case 2:
+          z = random.nextInt(1000);
+          break;
+        case 3:
+          x = random.nextGaussian() * Math.pow(10, random.nextInt(16) - 8);
+          z = random.nextDouble();
+          break;
+        default:
+      }
+      Point point = factory.createPoint(new Coordinate(x, y, z));
+      String wkt = new WKTWriter(3).write(point);
+      assertEquals(wkt, adapter.marshal(point));
+      Geometry expected = new WKTReader().read(wkt);
+      Geometry actual = adapter.unmarshal(wkt);
+      assertTrue(wkt, expected.equalsExact(actual));
+      assertEquals(wkt, Double.compare(expected.getCoordinate().z, actual.getCoordinate().z), 0);
+    }
+  }
+
+  @Test
+  public void testPointSyntax() throws Exception {
+    XmlGeometryAdapter adapter = new XmlGeometryAdapter();
+    assertEquals("POINT (-77.0365 38.8977)", adapter.marshal(adapter.unmarshal("POINT(-77.0365 38.8977)")));
+    assertEquals("POINT Z(-77.0365 38.8977 10)", adapter.marshal(adapter.unmarshal(" point z ( -77.0365  38.8977  1e1 ) ")));
+    assertEquals("POINT EMPTY", adapter.marshal(adapter.unmarshal("POINT EMPTY")));
+    assertNull(adapter.unmarshal(""));
+    assertNull(adapter.marshal(null));
+  }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.adapter;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class XmlRadiationPatternAdapterTest {
+
+  public XmlRadiationPatternAdapterTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  @Test
+  public void testFormat() {
+    XmlRadiationPatternAdapter adapter = new XmlRadiationPatternAdapter();
+    Map<Double, Double> pattern = new HashMap<>();
+    pattern.put(10.0, -2.25);
+    pattern.put(0.0, -1.5);
+    pattern.put(20.00004, -0.00049);
+    pattern.put(30.0, -0.0);
+    assertEquals("PATTERN ((0 -1.5), (10 -2.25), (20 -0.0005), (30 -0))", adapter.marshal(pattern));
+    assertEquals("PATTERN EMPTY", adapter.marshal(new TreeMap<>()));
+  }
+
+  /**
+   * Numbers must print as the WKTWriter DecimalFormat for a scale 1000
+   * precision model does.
+   */
+  @Test
+  public void testNumberFormat() {
+    DecimalFormatSymbols symbols = new DecimalFormatSymbols();
+    symbols.setDecimalSeparator('.');
+    DecimalFormat format = new DecimalFormat("0.####", symbols);
+    Random random = new Random(7);
+    for (int i = 0; i < 100_000; i++) {
+      double value;
+      switch (i % 4) {
+        case 0:
+          value = (random.nextInt(7_200_000) - 3_600_000) / 10000.0;
+          break;
+        case 1:
+          value = (random.nextInt(2000) - 1000) / 8.0;
+          break;
+        case 2:
+          value = random.nextDouble() * 720 - 360;
+          break;
+        default:
+          value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(24) - 8);
+      }
+      String text = XmlRadiationPatternAdapter.format(Collections.singletonMap(value, value));
+      String number = format.format(value);
+      assertEquals(String.valueOf(value), "PATTERN ((" + number + " " + number + "))", text);
+    }
+  }
+
+  @Test
+  public void testParse() {
+    XmlRadiationPatternAdapter adapter = new XmlRadiationPatternAdapter();
+    Map<Double, Double> expected = new TreeMap<>();
+    expected.put(0.0, -1.5);
+    expected.put(10.0, -2.25);
+    assertEquals(expected, adapter.unmarshal("PATTERN ((0 -1.5), (10 -2.25))"));
+    assertEquals(expected, adapter.unmarshal(" PATTERN( (10 -2.25) ,(0 -1.5 7) ) "));
+    assertEquals(expected, adapter.unmarshal("PATTERN (0 -1.5, 10 -2.25)"));
+    assertEquals(expected, adapter.unmarshal(adapter.marshal(expected)));
+    assertTrue(adapter.unmarshal("PATTERN EMPTY").isEmpty());
+  }
+
+}
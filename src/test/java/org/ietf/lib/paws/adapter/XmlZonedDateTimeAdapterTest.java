@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.adapter;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class XmlZonedDateTimeAdapterTest {
+
+  private static final ZoneId[] ZONES = {ZoneOffset.UTC, ZoneId.of("UTC"), ZoneId.of("America/New_York"), ZoneOffset.ofHours(-5), ZoneId.of("Etc/UTC")};
+
+  public XmlZonedDateTimeAdapterTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  /**
+   * Formatting and parsing must match ISO_ZONED_DATE_TIME exactly.
+   */
+  @Test
+  public void testMatchesIsoFormatter() throws Exception {
+    XmlZonedDateTimeAdapter adapter = new XmlZonedDateTimeAdapter();
+    Random random = new Random(42);
+    int[] nanos = {0, 456_000_000, 450_000_000, 123_456_789, 1_000, 100_000_000, 999_999_999};
+    for (int i = 0; i < 20_000; i++) {
+      long epochSecond = (long) (random.nextDouble() * 4e9) - 1_000_000_000L;
+      Instant instant = Instant.ofEpochSecond(epochSecond, nanos[random.nextInt(nanos.length)]);
+      ZonedDateTime value = instant.atZone(ZONES[random.nextInt(ZONES.length)]);
+      String expected = value.format(DateTimeFormatter.ISO_ZONED_DATE_TIME);
+      String text = adapter.marshal(value);
+      assertEquals(expected, text);
+      assertEquals(text, ZonedDateTime.parse(expected, DateTimeFormatter.ISO_ZONED_DATE_TIME), adapter.unmarshal(text));
+      // the same second formatted again uses the cached text
+      assertEquals(expected, adapter.marshal(value));
+    }
+    ZonedDateTime year1 = ZonedDateTime.of(1, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    assertEquals("0001-01-01T00:00:00Z", adapter.marshal(year1));
+    ZonedDateTime year10000 = ZonedDateTime.of(10000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    assertEquals(year10000.format(DateTimeFormatter.ISO_ZONED_DATE_TIME), adapter.marshal(year10000));
+    assertNull(adapter.marshal(null));
+    assertNull(adapter.unmarshal(null));
+  }
+
+  @Test
+  public void testParse() {
+    assertEquals(ZonedDateTime.of(2026, 10, 17, 1, 2, 3, 400_000_000, ZoneOffset.UTC), XmlZonedDateTimeAdapter.parse("2026-10-17T01:02:03.4Z"));
+    assertEquals(ZoneId.of("UTC"), XmlZonedDateTimeAdapter.parse("2026-10-17T01:02:03Z[UTC]").getZone());
+    assertEquals(ZoneOffset.ofHours(2), XmlZonedDateTimeAdapter.parse("2026-10-17T01:02:03+02:00").getZone());
+    String[] invalid = {"2026-02-30T01:02:03Z", "2026-10-17T24:00:00Z", "2026-10-17T01:02:03.1234567890Z",
+                        "2026-10-17T01:02:03Z[UT", "2026-10-17 01:02:03Z", "2026-10-17T01:02:03"};
+    for (String text : invalid) {
+      try {
+        XmlZonedDateTimeAdapter.parse(text);
+        fail("Expected DateTimeParseException for " + text);
+      } catch (DateTimeParseException exception) {
+      }
+    }
+  }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.ietf.lib.paws.Error;
+import org.ietf.lib.paws.*;
+import org.ietf.lib.paws.message.AvailableSpectrumResponse;
+import org.ietf.lib.paws.type.PawsErrorType;
+import org.ietf.lib.paws.type.PawsRulesetType;
+import org.ietf.lib.paws.type.SpectrumRequestType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class AvailableSpectrumResponseWriterTest {
+
+  public AvailableSpectrumResponseWriterTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  @Test
+  public void testByteCompatible() throws Exception {
+    AvailableSpectrumResponse response = new AvailableSpectrumResponse();
+    response.setResponseType(SpectrumRequestType.INFO);
+    DeviceDescriptor deviceDesc = new DeviceDescriptor(PawsRulesetType.FCC_PART_15_H_2019);
+    deviceDesc.setDeviceMode("MODE_2");
+    deviceDesc.setDeviceId("FCC<ID>&");
+    deviceDesc.setSerialNumber("SN\r1");
+    response.setDeviceDesc(deviceDesc);
+    response.setLocation(new GeoLocation());
+    response.setRulesetInfo(RulesetInfo.getInstance(PawsRulesetType.FCC_PART_15_H_2019));
+    response.setTimeRange(EventTime.getInstance(3600));
+    response.setMessages(new ArrayList<>(Arrays.asList("message", "")));
+
+    for (int i = 0; i < 40; i++) {
+      SpectrumChannel channel = new SpectrumChannel("UHF" + (14 + i), 470 + 6 * i, 476 + 6 * i);
+      channel.setPower(i % 3 == 0 ? null : 36.0 - i / 7.0);
+      channel.setTimeRange(EventTime.getInstance());
+      response.addSpectrumEntry(channel);
+    }
+    SpectrumInfo info = new SpectrumInfo("UHF55", 716.123456789, 722);
+    info.setAllowed(false);
+    info.setBlocked(true);
+    for (int i = 0; i < 10; i++) {
+      SpectrumConsumer consumer = new SpectrumConsumer();
+      consumer.setUuid("uuid-" + i);
+      consumer.setType("TV");
+      consumer.setAzimuth(i * 36.5);
+      consumer.setDistance(i / 3.0);
+      consumer.setErp(i % 2 == 0 ? null : 1000.0 * i);
+      info.getServicesCo().add(consumer);
+    }
+    response.addSpectrumEntry(info);
+    Error error = new Error(PawsErrorType.MISSING);
+    error.setData("deviceDesc");
+    response.setError(error);
+
+    ByteArrayOutputStream jaxb = new ByteArrayOutputStream();
+    PawsCodec.encode(response, jaxb);
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    AvailableSpectrumResponseWriter.write(response, stream);
+    System.out.println(stream.toString("UTF-8"));
+    assertArrayEquals(jaxb.toByteArray(), stream.toByteArray());
+  }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.codec;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.bind.JAXBException;
+import org.ietf.lib.paws.SpectrumChannel;
+import org.ietf.lib.paws.SpectrumInfo;
+import org.ietf.lib.paws.message.AvailableSpectrumResponse;
+import org.ietf.lib.paws.message.InitializationResponse;
+import org.ietf.lib.paws.type.PawsRulesetType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class PawsCodecTest {
+
+  public PawsCodecTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  @Test
+  public void testContextIsShared() throws JAXBException {
+    assertSame(PawsCodec.getContext(), PawsCodec.getContext());
+  }
+
+  @Test
+  public void testRoundTrip() throws JAXBException {
+    AvailableSpectrumResponse response = new AvailableSpectrumResponse();
+    response.addSpectrumEntry(new SpectrumChannel("UHF21", 512, 518));
+    response.addSpectrumEntry(new SpectrumInfo("UHF22", 518, 524));
+
+    String xml = PawsCodec.encode(response);
+    System.out.println(xml);
+
+    AvailableSpectrumResponse decoded = PawsCodec.decodeAvailableSpectrumResponse(xml);
+    assertEquals(2, decoded.getSpectrum().size());
+    assertEquals(xml, PawsCodec.encode(decoded));
+
+    InitializationResponse init = new InitializationResponse(PawsRulesetType.FCC_PART_15_H_2019);
+    InitializationResponse initDecoded = PawsCodec.decodeInitializationResponse(PawsCodec.encode(init));
+    assertEquals(init.getRulesetInfo().getRulesetId(), initDecoded.getRulesetInfo().getRulesetId());
+  }
+
+  @Test
+  public void testConcurrentEncode() throws Exception {
+    AvailableSpectrumResponse response = new AvailableSpectrumResponse();
+    response.addSpectrumEntry(new SpectrumChannel("UHF21", 512, 518));
+    String expected = PawsCodec.encode(response);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<String>> futures = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      futures.add(executor.submit(() -> PawsCodec.encode(response)));
+    }
+    for (Future<String> future : futures) {
+      assertEquals(expected, future.get());
+    }
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+}
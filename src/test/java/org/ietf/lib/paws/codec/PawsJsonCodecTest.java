@@ -0,0 +1,256 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.codec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.ietf.lib.paws.Error;
+import org.ietf.lib.paws.*;
+import org.ietf.lib.paws.message.AvailableSpectrumRequest;
+import org.ietf.lib.paws.message.AvailableSpectrumResponse;
+import org.ietf.lib.paws.message.InitializationRequest;
+import org.ietf.lib.paws.message.InitializationResponse;
+import org.ietf.lib.paws.type.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class PawsJsonCodecTest {
+
+  public PawsJsonCodecTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  @Test
+  public void testAvailableSpectrumResponse() throws Exception {
+    AvailableSpectrumResponse response = new AvailableSpectrumResponse();
+    response.setResponseType(SpectrumRequestType.INFO);
+    DeviceDescriptor deviceDesc = new DeviceDescriptor(PawsRulesetType.ETSI_EN_301_598_211);
+    deviceDesc.setDeviceId("\"quoted\"\\back\tslash");
+    deviceDesc.setEtsiEnDeviceCategory(EtsiDeviceCategory.MASTER);
+    deviceDesc.setEtsiEnDeviceEmissionsClass(EtsiEmissionClassType.CLASS_3);
+    response.setDeviceDesc(deviceDesc);
+    response.setRulesetInfo(RulesetInfo.getInstance(PawsRulesetType.ETSI_EN_301_598_211));
+    response.setTimeRange(EventTime.getInstance(3600));
+    response.setMessages(new ArrayList<>(Arrays.asList("message", "")));
+    for (int i = 0; i < 40; i++) {
+      SpectrumChannel channel = new SpectrumChannel("UHF" + (21 + i), 470.0000004 + 8 * i, 478 + 8 * i);
+      channel.setPower(i % 3 == 0 ? null : 36.0 - i / 7.0);
+      channel.setTimeRange(EventTime.getInstance());
+      response.addSpectrumEntry(channel);
+    }
+    SpectrumInfo info = new SpectrumInfo("UHF61", 790.123456789, 798);
+    info.setAllowed(false);
+    info.setBlocked(true);
+    for (int i = 0; i < 10; i++) {
+      SpectrumConsumer consumer = new SpectrumConsumer();
+      consumer.setUuid("uuid-" + i);
+      consumer.setType("TV");
+      consumer.setAzimuth(i * 36.5);
+      consumer.setDistance(i / 3.0);
+      consumer.setErp(i % 2 == 0 ? null : 1000.0 * i);
+      info.getServicesCo().add(consumer);
+    }
+    response.addSpectrumEntry(info);
+
+    String json = PawsJsonCodec.encode(response, 7);
+    System.out.println(json);
+    AvailableSpectrumResponse decoded = PawsJsonCodec.decodeAvailableSpectrumResponse(json);
+    /**
+     * The decoded message must be identical to the original once bound to XML
+     * and must re-encode to identical JSON.
+     */
+    assertEquals(PawsCodec.encode(response), PawsCodec.encode(decoded));
+    assertEquals(json, PawsJsonCodec.encode(decoded, 7));
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testStepProfile() throws Exception {
+    Spectrum spectrum = new Spectrum();
+    spectrum.setResolutionBwHz(6e6);
+    spectrum.getProfiles().add(SpectrumProfile.getInstance(new double[]{470e6, 476e6, 476e6, 482e6}, new double[]{20, 20, 36, 36}));
+    SpectrumSchedule schedule = new SpectrumSchedule();
+    schedule.setEventTime(EventTime.getInstance(3600));
+    schedule.setSpectra(new ArrayList<>(Arrays.asList(spectrum)));
+    SpectrumSpec spectrumSpec = new SpectrumSpec();
+    spectrumSpec.getSpectrumSchedules().add(schedule);
+    AvailableSpectrumResponse response = new AvailableSpectrumResponse();
+    response.setResponseType(SpectrumRequestType.MASTER);
+    response.setSpectrumSpecs(new ArrayList<>(Arrays.asList(spectrumSpec)));
+
+    String json = PawsJsonCodec.encode(response, 1);
+    AvailableSpectrumResponse decoded = PawsJsonCodec.decodeAvailableSpectrumResponse(json);
+    SpectrumProfile profile = decoded.getSpectrumSpecs().get(0).getSpectrumSchedules().get(0).getSpectra().get(0).getProfiles().get(0);
+    assertEquals(4, profile.size());
+    assertEquals(PawsCodec.encode(response), PawsCodec.encode(decoded));
+    assertEquals(json, PawsJsonCodec.encode(decoded, 1));
+  }
+
+  @Test
+  public void testRequestEnvelope() throws Exception {
+    AvailableSpectrumRequest request = new AvailableSpectrumRequest();
+    request.setRequestType(SpectrumRequestType.SLAVE);
+    request.setDeviceDesc(new DeviceDescriptor(PawsRulesetType.FCC_PART_15_H_2019));
+    AntennaCharacteristics antenna = new AntennaCharacteristics();
+    antenna.setHeight(30.126);
+    antenna.setHeightType(AntennaHeightType.AGL);
+    request.setAntenna(antenna);
+
+    String json = PawsJsonCodec.encode(request, "abc");
+    JsonRpcRequest envelope = PawsJsonCodec.decodeRequest(json);
+    assertEquals(PawsJsonCodec.METHOD_GET_SPECTRUM, envelope.getMethod());
+    assertEquals("abc", envelope.getId());
+    AvailableSpectrumRequest decoded = envelope.getParams(AvailableSpectrumRequest.class);
+    assertEquals(30.13, decoded.getAntenna().getHeight(), 0);
+    assertEquals(json, PawsJsonCodec.encode(decoded, "abc"));
+    /**
+     * The params member may precede the method member.
+     */
+    String reordered = "{\"id\":12, \"params\" : " + json.substring(json.indexOf("{", 1), json.lastIndexOf(",\"id\""))
+      + ", \"method\":\"spectrum.paws.getSpectrum\", \"jsonrpc\":\"2.0\"}";
+    envelope = PawsJsonCodec.decodeRequest(reordered);
+    assertEquals(12, envelope.getId());
+    assertEquals(json, PawsJsonCodec.encode(envelope.getParams(AvailableSpectrumRequest.class), "abc"));
+  }
+
+  @Test
+  public void testErrorResponse() throws Exception {
+    InitializationResponse response = new InitializationResponse(PawsRulesetType.FCC_PART_15_H_2019);
+    Error error = new Error(PawsErrorType.UNSUPPORTED);
+    error.setData("ruleset");
+    response.setError(error);
+
+    String json = PawsJsonCodec.encode(response, 1);
+    assertTrue(json.contains("\"error\":{\"code\":" + PawsErrorType.UNSUPPORTED.getCode()));
+    InitializationResponse decoded = PawsJsonCodec.decodeInitializationResponse(json);
+    assertEquals(PawsErrorType.UNSUPPORTED, decoded.getError().getType());
+    assertEquals(error.getCode(), decoded.getError().getCode());
+    assertEquals("ruleset", decoded.getError().getData());
+  }
+
+  @Test
+  public void testMalformed() throws Exception {
+    String[] malformed = {
+      "",
+      "{\"jsonrpc\":\"2.0\",\"method\":\"spectrum.paws.init\"}",
+      "{\"jsonrpc\":\"2.0\",\"method\":\"spectrum.paws.nope\",\"params\":{}}",
+      "{\"jsonrpc\":\"2.0\",\"method\":\"spectrum.paws.init\",\"params\":{\"deviceDesc\":{\"rulesetId\":\"NOPE\"}}}",
+      "{\"jsonrpc\":\"2.0\",\"method\":\"spectrum.paws.init\",\"params\":{\"deviceDesc\":{} \"location\":{}}}",
+      "{\"jsonrpc\":\"2.0\",\"method\":\"spectrum.paws.init\",\"params\":{\"x\":1.}}"
+    };
+    for (String json : malformed) {
+      try {
+        PawsJsonCodec.decodeRequest(json);
+        fail("Expected ParseException for " + json);
+      } catch (java.text.ParseException expected) {
+      }
+    }
+    try {
+      PawsJsonCodec.decodeRequest("{\"jsonrpc\":\"2.0\",\"method\":\"spectrum.paws.getSpectrum\",\"params\":"
+                                  + "{\"capabilities\":{\"timeRange\":{\"duration\":\"an hour\"}}}}");
+      fail("Expected ParseException for a malformed duration");
+    } catch (java.text.ParseException expected) {
+    }
+    try {
+      PawsJsonCodec.decodeRequest("{\"jsonrpc\":\"2.0\",\"method\":\"spectrum.paws.getSpectrum\",\"params\":"
+                                  + "{\"capabilities\":{\"timeRange\":{\"startTime\":\"tomorrow\"}}}}");
+      fail("Expected ParseException for a malformed startTime");
+    } catch (java.text.ParseException expected) {
+    }
+    try {
+      PawsJsonCodec.decodeAvailableSpectrumResponse("{\"jsonrpc\":\"2.0\",\"result\":{\"type\":\"AVAIL_SPECTRUM_RESP\","
+                                                    + "\"version\":\"1.0\",\"timestamp\":\"2026-13-45T99:00:00Z\"},\"id\":1}");
+      fail("Expected ParseException for a malformed timestamp");
+    } catch (java.text.ParseException expected) {
+    }
+  }
+
+  @Test
+  public void testTrailingContentAndDepth() throws Exception {
+    InitializationRequest request = new InitializationRequest();
+    request.setDeviceDesc(new DeviceDescriptor(PawsRulesetType.FCC_PART_15_H_2019));
+    String json = PawsJsonCodec.encode(request, 1);
+    assertNotNull(PawsJsonCodec.decodeRequest(" " + json + " \n"));
+    try {
+      PawsJsonCodec.decodeRequest(json + "garbage");
+      fail("Expected ParseException for trailing content");
+    } catch (java.text.ParseException expected) {
+    }
+    String response = PawsJsonCodec.encode(new InitializationResponse(PawsRulesetType.FCC_PART_15_H_2019), 1);
+    try {
+      PawsJsonCodec.decodeInitializationResponse(response + "{}");
+      fail("Expected ParseException for trailing content");
+    } catch (java.text.ParseException expected) {
+    }
+    /**
+     * Deeply nested values are rejected, not recursed into.
+     */
+    StringBuilder nested = new StringBuilder();
+    for (int i = 0; i < 200000; i++) {
+      nested.append('[');
+    }
+    try {
+      PawsJsonCodec.decodeRequest("{\"jsonrpc\":\"2.0\",\"x\":" + nested + "}");
+      fail("Expected ParseException for deep nesting");
+    } catch (java.text.ParseException expected) {
+    }
+    try {
+      PawsJsonCodec.decodeRequest(json.replace("\"deviceDesc\"", "\"x\":" + nested + "],\"deviceDesc\""));
+      fail("Expected ParseException for deep nesting");
+    } catch (java.text.ParseException expected) {
+    }
+  }
+
+  @Test
+  public void testNumericId() throws Exception {
+    InitializationRequest request = new InitializationRequest();
+    request.setDeviceDesc(new DeviceDescriptor(PawsRulesetType.FCC_PART_15_H_2019));
+    String json = PawsJsonCodec.encode(request, 1);
+    String[] ids = {"1.5", "-0.25", "12345678901234567890123", "1.0E-7", "4294967296"};
+    for (String id : ids) {
+      String request1 = json.replace("\"id\":1}", "\"id\":" + id + "}");
+      JsonRpcRequest envelope = PawsJsonCodec.decodeRequest(request1);
+      assertEquals(request1, PawsJsonCodec.encode(envelope.getParams(InitializationRequest.class), envelope.getId()));
+      assertTrue(PawsJsonCodec.encode(new InitializationResponse(PawsRulesetType.FCC_PART_15_H_2019), envelope.getId())
+        .endsWith("\"id\":" + id + "}"));
+    }
+    assertTrue(PawsJsonCodec.encode(request, 2.5).endsWith("\"id\":2.5}"));
+    assertTrue(PawsJsonCodec.encode(request, new java.math.BigDecimal("0.1")).endsWith("\"id\":0.1}"));
+  }
+
+}
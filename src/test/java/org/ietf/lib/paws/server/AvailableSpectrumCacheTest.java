@@ -0,0 +1,232 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.server;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.ietf.lib.paws.Error;
+import org.ietf.lib.paws.*;
+import org.ietf.lib.paws.message.AvailableSpectrumRequest;
+import org.ietf.lib.paws.message.AvailableSpectrumResponse;
+import org.ietf.lib.paws.type.AntennaHeightType;
+import org.ietf.lib.paws.type.PawsErrorType;
+import org.ietf.lib.paws.type.PawsRulesetType;
+import org.ietf.lib.paws.type.SpectrumRequestType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class AvailableSpectrumCacheTest {
+
+  private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+  private TestClock clock;
+  private AvailableSpectrumCache cache;
+
+  public AvailableSpectrumCacheTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+    clock = new TestClock();
+    cache = new AvailableSpectrumCache(100, 5.0, clock);
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  @Test
+  public void testQuantizedHit() {
+    AtomicInteger loads = new AtomicInteger();
+    AvailableSpectrumResponse response = cache.get(request("A", 38.8977, -77.0365, 10), r -> response(loads));
+    assertEquals(1, loads.get());
+    assertEquals(40, response.getSpectrum().size());
+
+    // about 1 meter away: same cell (FCC maximum location change is 50 m)
+    AvailableSpectrumResponse hit = cache.get(request("B", 38.89771, -77.03651, 12));
+    assertNotNull(hit);
+    assertEquals("B", hit.getDeviceDesc().getDeviceId());
+    assertEquals(40, hit.getSpectrum().size());
+    assertNotSame(response, hit);
+
+    // about 100 meters away, a different antenna height bucket, mode or type
+    assertNull(cache.get(request("C", 38.8986, -77.0365, 10)));
+    assertNull(cache.get(request("C", 38.8977, -77.0365, 16)));
+    AvailableSpectrumRequest mode = request("C", 38.8977, -77.0365, 10);
+    mode.getDeviceDesc().setDeviceMode("MODE_1");
+    assertNull(cache.get(mode));
+    AvailableSpectrumRequest type = request("C", 38.8977, -77.0365, 10);
+    type.setRequestType(SpectrumRequestType.INFO);
+    assertNull(cache.get(type));
+  }
+
+  @Test
+  public void testHeightTypeAndCapabilities() {
+    AtomicInteger loads = new AtomicInteger();
+    AvailableSpectrumRequest agl = request("A", 38.8977, -77.0365, 30);
+    agl.getAntenna().setHeightType(AntennaHeightType.AGL);
+    cache.get(agl, r -> response(loads));
+    AvailableSpectrumRequest amsl = request("B", 38.8977, -77.0365, 30);
+    amsl.getAntenna().setHeightType(AntennaHeightType.AMSL);
+    assertNull(cache.get(amsl));
+
+    AvailableSpectrumRequest full = request("A", 38.8977, -77.0365, 10);
+    cache.get(full, r -> response(loads));
+    AvailableSpectrumRequest limited = request("B", 38.8977, -77.0365, 10);
+    limited.setCapabilities(new DeviceCapabilities());
+    limited.getCapabilities().getFrequencyRanges().add(frequencyRange(470, 512));
+    assertNull(cache.get(limited));
+    cache.get(limited, r -> response(loads));
+    AvailableSpectrumRequest same = request("C", 38.8977, -77.0365, 10);
+    same.setCapabilities(new DeviceCapabilities());
+    same.getCapabilities().getFrequencyRanges().add(frequencyRange(470, 512));
+    assertNotNull(cache.get(same));
+    same.getCapabilities().getFrequencyRanges().get(0).setStopMHz(608.0);
+    assertNull(cache.get(same));
+    assertEquals(3, loads.get());
+  }
+
+  /**
+   * Any two positions sharing a cache key must be within half the ruleset
+   * maximum location change of each other.
+   */
+  @Test
+  public void testCellSize() {
+    java.util.Random random = new java.util.Random(3);
+    for (int i = 0; i < 200000; i++) {
+      double latitude = random.nextDouble() * 178 - 89;
+      double longitude = random.nextDouble() * 360 - 180;
+      double dLatitude = (random.nextDouble() - 0.5) * 0.001;
+      double dLongitude = (random.nextDouble() - 0.5) * 0.001 / Math.cos(Math.toRadians(latitude));
+      AvailableSpectrumCache.Key a = cache.getKey(request("A", latitude, longitude, 10));
+      AvailableSpectrumCache.Key b = cache.getKey(request("A", latitude + dLatitude, longitude + dLongitude, 10));
+      if (a.equals(b)) {
+        assertTrue(distance(latitude, longitude, latitude + dLatitude, longitude + dLongitude) < 25);
+      }
+    }
+  }
+
+  @Test
+  public void testExpiryAndEviction() {
+    cache.put(request("A", 38.8977, -77.0365, 10), response(new AtomicInteger()));
+    assertNotNull(cache.get(request("A", 38.8977, -77.0365, 10)));
+    clock.instant = clock.instant.plusSeconds(3599);
+    assertNotNull(cache.get(request("A", 38.8977, -77.0365, 10)));
+    clock.instant = clock.instant.plusSeconds(1);
+    assertNull(cache.get(request("A", 38.8977, -77.0365, 10)));
+    assertEquals(0, cache.size());
+
+    for (int i = 0; i < 150; i++) {
+      cache.put(request("A", 38 + i * 0.01, -77.0365, 10), response(new AtomicInteger()));
+      cache.get(request("A", 38, -77.0365, 10)); // keep the first entry recently used
+    }
+    assertEquals(100, cache.size());
+    assertNotNull(cache.get(request("A", 38, -77.0365, 10)));
+    assertNull(cache.get(request("A", 38.01, -77.0365, 10)));
+
+    AvailableSpectrumResponse error = response(new AtomicInteger());
+    error.setError(Error.getInstance(PawsErrorType.OUTSIDE_COVERAGE));
+    cache.clear();
+    cache.put(request("A", 38.8977, -77.0365, 10), error);
+    assertEquals(0, cache.size());
+  }
+
+  private AvailableSpectrumRequest request(String deviceId, double latitude, double longitude, double height) {
+    AvailableSpectrumRequest request = new AvailableSpectrumRequest();
+    request.setRequestType(SpectrumRequestType.MASTER);
+    DeviceDescriptor deviceDesc = new DeviceDescriptor(PawsRulesetType.FCC_PART_15_H_2019);
+    deviceDesc.setDeviceId(deviceId);
+    deviceDesc.setDeviceMode("MODE_2");
+    request.setDeviceDesc(deviceDesc);
+    GeoLocation location = new GeoLocation();
+    location.setPoint(GEOMETRY_FACTORY.createPoint(new Coordinate(longitude, latitude)));
+    request.setLocation(location);
+    AntennaCharacteristics antenna = new AntennaCharacteristics();
+    antenna.setHeight(height);
+    request.setAntenna(antenna);
+    return request;
+  }
+
+  private static FrequencyRange frequencyRange(double startMHz, double stopMHz) {
+    FrequencyRange frequencyRange = new FrequencyRange();
+    frequencyRange.setStartMHz(startMHz);
+    frequencyRange.setStopMHz(stopMHz);
+    return frequencyRange;
+  }
+
+  private AvailableSpectrumResponse response(AtomicInteger loads) {
+    loads.incrementAndGet();
+    AvailableSpectrumResponse response = new AvailableSpectrumResponse();
+    response.setResponseType(SpectrumRequestType.MASTER);
+    EventTime timeRange = new EventTime();
+    timeRange.setStartTime(clock.instant.atZone(ZoneOffset.UTC));
+    timeRange.setDuration(java.time.Duration.ofHours(1));
+    response.setTimeRange(timeRange);
+    for (int i = 0; i < 40; i++) {
+      response.addSpectrumEntry(new SpectrumChannel("UHF" + (14 + i), 470 + 6 * i, 476 + 6 * i));
+    }
+    return response;
+  }
+
+  private static double distance(double latitude1, double longitude1, double latitude2, double longitude2) {
+    double p1 = Math.toRadians(latitude1);
+    double p2 = Math.toRadians(latitude2);
+    double a = Math.pow(Math.sin((p2 - p1) / 2), 2)
+               + Math.cos(p1) * Math.cos(p2) * Math.pow(Math.sin(Math.toRadians(longitude2 - longitude1) / 2), 2);
+    return 2 * 6_371_008.8 * Math.asin(Math.sqrt(a));
+  }
+
+  private static class TestClock extends Clock {
+
+    private Instant instant = Instant.parse("2026-10-17T00:00:00Z");
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+
+}
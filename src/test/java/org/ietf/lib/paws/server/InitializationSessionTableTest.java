@@ -0,0 +1,192 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.server;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.ietf.lib.paws.DeviceDescriptor;
+import org.ietf.lib.paws.message.InitializationRequest;
+import org.ietf.lib.paws.type.PawsErrorType;
+import org.ietf.lib.paws.type.PawsRulesetType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class InitializationSessionTableTest {
+
+  private TestClock clock;
+  private InitializationSessionTable table;
+
+  public InitializationSessionTableTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() {
+    clock = new TestClock();
+    table = new InitializationSessionTable(clock);
+  }
+
+  @After
+  public void tearDown() {
+  }
+
+  @Test
+  public void testLease() {
+    InitializationRequest wsd = request(PawsRulesetType.FCC_PART_15_H_2019, "MODE_2", "SN-1");
+    InitializationRequest lpa = request(PawsRulesetType.FCC_PART_15_H_2019, "LPA", "SN-2");
+    assertEquals(Duration.ofHours(48), InitializationSessionTable.getLeaseTime(wsd.getDeviceDesc()));
+    assertEquals(Duration.ofDays(365), InitializationSessionTable.getLeaseTime(lpa.getDeviceDesc()));
+
+    assertEquals(PawsErrorType.NOT_INITIALIZED, table.check(wsd.getDeviceDesc()));
+    table.initialize(wsd);
+    table.initialize(lpa);
+    assertNull(table.check(wsd.getDeviceDesc()));
+    assertEquals(clock.instant.plus(Duration.ofHours(48)), table.get(wsd.getDeviceDesc()).getExpires());
+    assertEquals(2, table.getHitCount());
+    assertEquals(1, table.getMissCount());
+
+    clock.instant = clock.instant.plus(Duration.ofHours(48)).minusSeconds(1);
+    assertEquals(0, table.expire());
+    assertNotNull(table.get(wsd.getDeviceDesc()));
+    clock.instant = clock.instant.plusSeconds(1);
+    assertNull(table.get(wsd.getDeviceDesc()));
+    assertEquals(1, table.expire());
+    assertEquals(1, table.size());
+    assertEquals(1, table.getExpiredCount());
+    assertNotNull(table.get(lpa.getDeviceDesc()));
+
+    assertTrue(table.remove(lpa.getDeviceDesc()));
+    assertFalse(table.remove(lpa.getDeviceDesc()));
+    assertEquals(0, table.size());
+  }
+
+  @Test
+  public void testReinitialize() {
+    InitializationRequest wsd = request(PawsRulesetType.FCC_PART_15_H_2019, "FIXED", "SN-1");
+    table.initialize(wsd);
+    clock.instant = clock.instant.plus(Duration.ofHours(47));
+    table.initialize(wsd);
+    clock.instant = clock.instant.plus(Duration.ofHours(2));
+    assertEquals(0, table.expire());
+    assertNotNull(table.get(wsd.getDeviceDesc()));
+    clock.instant = clock.instant.plus(Duration.ofHours(46));
+    assertEquals(1, table.expire());
+    assertEquals(0, table.size());
+  }
+
+  @Test
+  public void testDescriptorChangedAfterInitialize() {
+    InitializationRequest wsd = request(PawsRulesetType.FCC_PART_15_H_2019, "FIXED", "SN-1");
+    table.initialize(wsd);
+    wsd.getDeviceDesc().setSerialNumber("SN-2"); // the caller reuses the request
+    clock.instant = clock.instant.plus(Duration.ofHours(48));
+    assertEquals(1, table.expire());
+    assertEquals(0, table.size());
+  }
+
+  @Test
+  public void testLongIdle() {
+    InitializationRequest wsd = request(PawsRulesetType.FCC_PART_15_H_2019, "FIXED", "SN-1");
+    InitializationRequest lpa = request(PawsRulesetType.FCC_PART_15_H_2019, "LPA", "SN-2");
+    table.initialize(lpa);
+    clock.instant = clock.instant.plus(Duration.ofDays(364));
+    table.initialize(wsd);
+    assertEquals(0, table.expire());
+    clock.instant = clock.instant.plus(Duration.ofDays(40 * 365)); // beyond the wheel span
+    table.initialize(wsd);
+    assertEquals(2, table.getExpiredCount());
+    assertEquals(1, table.size());
+    clock.instant = clock.instant.plus(Duration.ofHours(48)).minusSeconds(1);
+    assertEquals(0, table.expire());
+    clock.instant = clock.instant.plusSeconds(1);
+    assertEquals(1, table.expire());
+    assertEquals(0, table.size());
+  }
+
+  @Test
+  public void testWheelAgainstReference() {
+    Random random = new Random(24);
+    PawsRulesetType[] rulesets = {PawsRulesetType.FCC_PART_15_H_2019, PawsRulesetType.ISED_DBS_01_2015, PawsRulesetType.ETSI_EN_301_598_211};
+    String[] modes = {"FIXED", "LPA", "A"};
+    Map<String, Instant> reference = new HashMap<>();
+    long expired = 0;
+    for (int step = 0; step < 3000; step++) {
+      for (int i = 0; i < 5; i++) {
+        int r = random.nextInt(rulesets.length);
+        String serial = "SN-" + random.nextInt(2000);
+        InitializationRequest request = request(rulesets[r], modes[r], serial);
+        reference.put(rulesets[r] + serial, table.initialize(request).getExpires());
+      }
+      clock.instant = clock.instant.plusSeconds(random.nextInt(20000));
+      expired += table.expire();
+      reference.values().removeIf(expires -> !expires.isAfter(clock.instant));
+      assertEquals(reference.size(), table.size());
+    }
+    assertEquals(expired, table.getExpiredCount());
+    assertTrue(expired > 1000);
+  }
+
+  private static InitializationRequest request(PawsRulesetType rulesetId, String deviceMode, String serialNumber) {
+    DeviceDescriptor deviceDesc = new DeviceDescriptor(rulesetId);
+    deviceDesc.setDeviceId("ID");
+    deviceDesc.setSerialNumber(serialNumber);
+    deviceDesc.setDeviceMode(deviceMode);
+    InitializationRequest request = new InitializationRequest();
+    request.setDeviceDesc(deviceDesc);
+    return request;
+  }
+
+  private static class TestClock extends Clock {
+
+    private Instant instant = Instant.parse("2026-10-17T00:00:00Z");
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.ietf.lib.paws.*;
+import org.ietf.lib.paws.message.RegistrationRequest;
+import org.ietf.lib.paws.type.PawsErrorType;
+import org.ietf.lib.paws.type.PawsRulesetType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class RegistrationRegistryTest {
+
+  private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+  private Path directory;
+
+  public RegistrationRegistryTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("registry");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+    }
+  }
+
+  @Test
+  public void testInMemory() throws Exception {
+    RegistrationRegistry registry = new RegistrationRegistry();
+    RegistrationRequest request = request("SN-1", 38.8977, -77.0365);
+    registry.register(request);
+    assertEquals(1, registry.size());
+    assertEquals("Acme", registry.get(request.getDeviceDesc()).getDeviceOwner().getOwner());
+    assertNull(registry.check(request.getDeviceDesc(), request.getLocation()));
+    assertNull(registry.check(request.getDeviceDesc(), location(38.8980, -77.0365)));
+    assertEquals(PawsErrorType.UNREPORTED_MOVE, registry.check(request.getDeviceDesc(), location(38.8990, -77.0365)));
+    assertEquals(PawsErrorType.NOT_REGISTERED, registry.check(request("SN-2", 0, 0).getDeviceDesc(), null));
+    assertTrue(registry.deregister(request.getDeviceDesc()));
+    assertFalse(registry.deregister(request.getDeviceDesc()));
+    assertEquals(0, registry.size());
+  }
+
+  @Test
+  public void testRecovery() throws Exception {
+    try (RegistrationRegistry registry = new RegistrationRegistry(directory)) {
+      for (int i = 0; i < 100; i++) {
+        registry.register(request("SN-" + i, 38 + i / 100.0, -77));
+      }
+      registry.register(request("SN-5", 40, -75));
+      registry.deregister(request("SN-7", 0, 0).getDeviceDesc());
+    }
+    try (RegistrationRegistry registry = new RegistrationRegistry(directory)) {
+      assertEquals(99, registry.size());
+      assertNull(registry.get(request("SN-7", 0, 0).getDeviceDesc()));
+      RegistrationRegistry.Registration registration = registry.get(request("SN-5", 0, 0).getDeviceDesc());
+      assertEquals(40, registration.getLocation().getPoint().getY(), 1e-9);
+      assertEquals("FIXED", registration.getDeviceDesc().getDeviceMode());
+      assertTrue(registration.getRegistered().toEpochMilli() > 0);
+    }
+  }
+
+  @Test
+  public void testTornTail() throws Exception {
+    try (RegistrationRegistry registry = new RegistrationRegistry(directory)) {
+      registry.register(request("SN-1", 38, -77));
+      registry.register(request("SN-2", 38, -77));
+    }
+    Path log = directory.resolve(RegistrationRegistry.LOG_FILE);
+    long size = Files.size(log);
+    try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+      channel.write(ByteBuffer.wrap(new byte[]{0, 0, 1, 0, 1, 2, 3, 4, 1, '{'}));
+    }
+    try (RegistrationRegistry registry = new RegistrationRegistry(directory)) {
+      assertEquals(2, registry.size());
+      assertEquals(size, Files.size(log));
+      registry.register(request("SN-3", 38, -77));
+    }
+    try (RegistrationRegistry registry = new RegistrationRegistry(directory)) {
+      assertEquals(3, registry.size());
+    }
+  }
+
+  @Test
+  public void testCompaction() throws Exception {
+    try (RegistrationRegistry registry = new RegistrationRegistry(directory, 4096, false, Clock.systemUTC())) {
+      for (int n = 0; n < 5; n++) {
+        for (int i = 0; i < 20; i++) {
+          registry.register(request("SN-" + i, 38 + n, -77));
+        }
+      }
+      assertTrue(Files.exists(directory.resolve(RegistrationRegistry.SNAPSHOT_FILE)));
+      assertTrue(Files.size(directory.resolve(RegistrationRegistry.LOG_FILE)) <= 4096 + 1024);
+    }
+    try (RegistrationRegistry registry = new RegistrationRegistry(directory)) {
+      assertEquals(20, registry.size());
+      assertEquals(42, registry.get(request("SN-3", 0, 0).getDeviceDesc()).getLocation().getPoint().getY(), 1e-9);
+      registry.compact();
+      assertEquals(0, Files.size(directory.resolve(RegistrationRegistry.LOG_FILE)));
+    }
+    try (RegistrationRegistry registry = new RegistrationRegistry(directory)) {
+      assertEquals(20, registry.size());
+    }
+  }
+
+  @Test
+  public void testConcurrentWriters() throws Exception {
+    try (RegistrationRegistry registry = new RegistrationRegistry(directory)) {
+      List<Thread> threads = new ArrayList<>();
+      List<Throwable> errors = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        final int thread = t;
+        threads.add(new Thread(() -> {
+          try {
+            for (int i = 0; i < 200; i++) {
+              registry.register(request("SN-" + thread + "-" + i, 38, -77));
+            }
+          } catch (Throwable ex) {
+            synchronized (errors) {
+              errors.add(ex);
+            }
+          }
+        }));
+      }
+      threads.forEach(Thread::start);
+      for (Thread thread : threads) {
+        thread.join();
+      }
+      assertTrue(errors.toString(), errors.isEmpty());
+      assertEquals(1600, registry.size());
+    }
+    try (RegistrationRegistry registry = new RegistrationRegistry(directory)) {
+      assertEquals(1600, registry.size());
+    }
+  }
+
+  @Test
+  public void testRollback() throws Exception {
+    RegistrationRegistry registry = new RegistrationRegistry(directory);
+    registry.register(request("SN-1", 38, -77));
+    registry.close();
+    /**
+     * The log is closed, so the write fails: neither change may remain
+     * visible.
+     */
+    try {
+      registry.register(request("SN-1", 40, -75));
+      fail("a failed write should be reported");
+    } catch (IOException ex) {
+    }
+    assertEquals(38, registry.get(request("SN-1", 0, 0).getDeviceDesc()).getLocation().getPoint().getY(), 1e-9);
+    try {
+      registry.register(request("SN-2", 38, -77));
+      fail("a failed registry should reject changes");
+    } catch (IOException ex) {
+    }
+    assertNull(registry.get(request("SN-2", 0, 0).getDeviceDesc()));
+    assertEquals(1, registry.size());
+  }
+
+  @Test
+  public void testReplayWindow() throws Exception {
+    int window = RegistrationRegistry.replayWindow;
+    RegistrationRegistry.replayWindow = 1000; // a few records per window
+    try {
+      try (RegistrationRegistry registry = new RegistrationRegistry(directory, 20000, false, Clock.systemUTC())) {
+        for (int i = 0; i < 150; i++) {
+          registry.register(request("SN-" + i, 38, -77));
+        }
+        RegistrationRequest large = request("SN-large", 38, -77);
+        StringBuilder owner = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+          owner.append('x');
+        }
+        large.getDeviceOwner().setOwner(owner.toString()); // larger than the window
+        registry.register(large);
+        registry.deregister(request("SN-9", 0, 0).getDeviceDesc());
+      }
+      assertTrue(Files.size(directory.resolve(RegistrationRegistry.SNAPSHOT_FILE)) > 1000);
+      assertTrue(Files.size(directory.resolve(RegistrationRegistry.LOG_FILE)) > 1000);
+      try (RegistrationRegistry registry = new RegistrationRegistry(directory)) {
+        assertEquals(150, registry.size());
+        assertNull(registry.get(request("SN-9", 0, 0).getDeviceDesc()));
+        assertEquals(3000, registry.get(request("SN-large", 0, 0).getDeviceDesc()).getDeviceOwner().getOwner().length());
+      }
+    } finally {
+      RegistrationRegistry.replayWindow = window;
+    }
+  }
+
+  @Test
+  public void testInterruptedCompaction() throws Exception {
+    try (RegistrationRegistry registry = new RegistrationRegistry(directory)) {
+      for (int i = 0; i < 10; i++) {
+        registry.register(request("SN-" + i, 38, -77));
+      }
+    }
+    /**
+     * Simulate a crash after the log was retired but before the snapshot was
+     * written.
+     */
+    Files.move(directory.resolve(RegistrationRegistry.LOG_FILE), directory.resolve(RegistrationRegistry.RETIRED_LOG_FILE));
+    try (RegistrationRegistry registry = new RegistrationRegistry(directory)) {
+      assertEquals(10, registry.size());
+      assertFalse(Files.exists(directory.resolve(RegistrationRegistry.RETIRED_LOG_FILE)));
+      registry.register(request("SN-10", 38, -77));
+    }
+    try (RegistrationRegistry registry = new RegistrationRegistry(directory)) {
+      assertEquals(11, registry.size());
+    }
+  }
+
+  private static RegistrationRequest request(String serialNumber, double latitude, double longitude) {
+    RegistrationRequest request = new RegistrationRequest();
+    DeviceDescriptor deviceDesc = new DeviceDescriptor(PawsRulesetType.FCC_PART_15_H_2019);
+    deviceDesc.setDeviceId("FCCID");
+    deviceDesc.setSerialNumber(serialNumber);
+    deviceDesc.setDeviceMode("FIXED");
+    request.setDeviceDesc(deviceDesc);
+    request.setLocation(location(latitude, longitude));
+    DeviceOwner owner = new DeviceOwner();
+    owner.setOwner("Acme");
+    request.setDeviceOwner(owner);
+    return request;
+  }
+
+  private static GeoLocation location(double latitude, double longitude) {
+    GeoLocation location = new GeoLocation();
+    location.setPoint(GEOMETRY_FACTORY.createPoint(new Coordinate(longitude, latitude)));
+    return location;
+  }
+
+}
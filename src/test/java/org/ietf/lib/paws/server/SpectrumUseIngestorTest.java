@@ -0,0 +1,243 @@
+/*
+ * Copyright 2019 Key Bridge. All rights reserved. Use is subject to license
+ * terms.
+ *
+ * This software code is protected by Copyrights and remains the property of
+ * Key Bridge and its suppliers, if any. Key Bridge reserves all rights in and to
+ * Copyrights and no license is granted under Copyrights in this Software
+ * License Agreement.
+ *
+ * Key Bridge generally licenses Copyrights for commercialization pursuant to
+ * the terms of either a Standard Software Source Code License Agreement or a
+ * Standard Product License Agreement. A copy of either Agreement can be
+ * obtained upon request by sending an email to info@keybridgewireless.com.
+ *
+ * All information contained herein is the property of Key Bridge and its
+ * suppliers, if any. The intellectual and technical concepts contained herein
+ * are proprietary.
+ */
+package org.ietf.lib.paws.server;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+import org.ietf.lib.paws.*;
+import org.ietf.lib.paws.codec.PawsJsonCodec;
+import org.ietf.lib.paws.message.SpectrumUseNotify;
+import org.ietf.lib.paws.message.SpectrumUseResponse;
+import org.ietf.lib.paws.type.PawsErrorType;
+import org.ietf.lib.paws.type.PawsRulesetType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Key Bridge
+ */
+public class SpectrumUseIngestorTest {
+
+  private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+  private Path directory;
+
+  public SpectrumUseIngestorTest() {
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("spectrum-use");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+    }
+  }
+
+  @Test
+  public void testConcurrentProducers() throws Exception {
+    List<SpectrumUseNotify> written = Collections.synchronizedList(new ArrayList<>());
+    List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+    SpectrumUseIngestor ingestor = new SpectrumUseIngestor(batch -> {
+      batches.add(batch.size());
+      written.addAll(batch);
+    }, 100, 32, SpectrumUseIngestor.Backpressure.BLOCK);
+    assertEquals(128, ingestor.getCapacity());
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      final int thread = t;
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < 1000; i++) {
+          assertNull(ingestor.ingest(notify("SN-" + thread + "-" + i)).getError());
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    ingestor.close();
+    assertEquals(8000, ingestor.getAcceptedCount());
+    assertEquals(8000, ingestor.getWrittenCount());
+    assertEquals(8000, written.size());
+    assertEquals(8000, new HashSet<>(written).size());
+    assertEquals(0, ingestor.getQueueDepth());
+    for (int size : batches) {
+      assertTrue(size <= 32);
+    }
+    assertEquals(PawsErrorType.INTERNAL_DATABASE_ERROR, ingestor.ingest(notify("SN-X")).getError().getType());
+  }
+
+  @Test
+  public void testBackpressure() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    List<SpectrumUseNotify> written = Collections.synchronizedList(new ArrayList<>());
+    SpectrumUseIngestor.Sink sink = batch -> {
+      try {
+        release.await();
+      } catch (InterruptedException ex) {
+        throw new IOException(ex);
+      }
+      written.addAll(batch);
+    };
+    SpectrumUseIngestor reject = new SpectrumUseIngestor(sink, 4, 1, SpectrumUseIngestor.Backpressure.REJECT);
+    SpectrumUseIngestor drop = new SpectrumUseIngestor(sink, 4, 1, SpectrumUseIngestor.Backpressure.DROP);
+    int errors = 0;
+    for (int i = 0; i < 10; i++) {
+      SpectrumUseResponse response = reject.ingest(notify("SN-" + i));
+      if (response.getError() != null) {
+        assertEquals(PawsErrorType.INTERNAL_DATABASE_ERROR, response.getError().getType());
+        errors++;
+      }
+      assertNull(drop.ingest(notify("SN-" + i)).getError());
+    }
+    /**
+     * The writer holds one notify in the blocked sink and four wait in the
+     * buffer.
+     */
+    assertTrue(reject.getQueueDepth() >= 4);
+    assertTrue(errors >= 5);
+    assertEquals(errors, reject.getRejectedCount());
+    assertEquals(10 - errors, reject.getAcceptedCount());
+    assertTrue(drop.getDroppedCount() >= 5);
+    release.countDown();
+    reject.close();
+    drop.close();
+    assertEquals(20 - errors - drop.getDroppedCount(), written.size());
+  }
+
+  @Test
+  public void testInvalidAndFailure() throws Exception {
+    SpectrumUseIngestor ingestor = new SpectrumUseIngestor(batch -> {
+      throw new IOException("sink down");
+    }, 16, 8, SpectrumUseIngestor.Backpressure.BLOCK);
+    SpectrumUseNotify invalid = notify("SN-1");
+    invalid.setLocation(null);
+    SpectrumUseResponse response = ingestor.ingest(invalid);
+    assertEquals(PawsErrorType.MISSING, response.getError().getType());
+    assertEquals(1, ingestor.getInvalidCount());
+    ingestor.ingest(notify("SN-2"));
+    ingestor.close();
+    assertEquals(1, ingestor.getFailedCount());
+    assertEquals("sink down", ingestor.getLastFailure().getMessage());
+  }
+
+  @Test
+  public void testSinkError() throws Exception {
+    List<SpectrumUseNotify> written = Collections.synchronizedList(new ArrayList<>());
+    SpectrumUseIngestor ingestor = new SpectrumUseIngestor(batch -> {
+      if (written.isEmpty() && batch.get(0).getDeviceDesc().getSerialNumber().equals("SN-1")) {
+        throw new StackOverflowError("sink broken");
+      }
+      written.addAll(batch);
+    }, 16, 1, SpectrumUseIngestor.Backpressure.BLOCK);
+    assertNull(ingestor.ingest(notify("SN-1")).getError());
+    for (int i = 0; i < 5000 && ingestor.getFailedCount() == 0; i++) {
+      Thread.sleep(1);
+    }
+    assertEquals(1, ingestor.getFailedCount());
+    assertNull(ingestor.ingest(notify("SN-2")).getError());
+    ingestor.close();
+    assertEquals(1, ingestor.getFailedCount());
+    assertEquals(1, ingestor.getWrittenCount());
+    assertTrue(ingestor.getLastFailure() instanceof StackOverflowError);
+  }
+
+  @Test
+  public void testSegmentFileSink() throws Exception {
+    try (SpectrumUseIngestor ingestor = new SpectrumUseIngestor(new SpectrumUseIngestor.SegmentFileSink(directory, 4096, true), 64, 10, SpectrumUseIngestor.Backpressure.BLOCK)) {
+      for (int i = 0; i < 100; i++) {
+        ingestor.ingest(notify("SN-" + i));
+      }
+    }
+    List<Path> segments = segments();
+    assertTrue(segments.size() > 1);
+    Set<String> serials = new HashSet<>();
+    for (Path segment : segments) {
+      for (String line : Files.readAllLines(segment)) {
+        serials.add(PawsJsonCodec.decodeSpectrumUseNotify(line).getDeviceDesc().getSerialNumber());
+      }
+    }
+    assertEquals(100, serials.size());
+
+    try (SpectrumUseIngestor ingestor = new SpectrumUseIngestor(new SpectrumUseIngestor.SegmentFileSink(directory, 4096, false), 64, 10, SpectrumUseIngestor.Backpressure.BLOCK)) {
+      ingestor.ingest(notify("SN-100"));
+    }
+    List<Path> after = segments();
+    assertEquals(segments.size() + 1, after.size());
+    String line = Files.readAllLines(after.get(after.size() - 1)).get(0);
+    assertTrue(line.contains("SN-100"));
+    assertEquals(101, PawsJsonCodec.decodeRequest(line).getId());
+
+    /**
+     * A partial line left by a failed write is skipped when the ids are
+     * continued.
+     */
+    Files.write(after.get(after.size() - 1), line.substring(0, 40).getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    try (SpectrumUseIngestor ingestor = new SpectrumUseIngestor(new SpectrumUseIngestor.SegmentFileSink(directory, 4096, false), 64, 10, SpectrumUseIngestor.Backpressure.BLOCK)) {
+      ingestor.ingest(notify("SN-101"));
+    }
+    after = segments();
+    assertEquals(segments.size() + 2, after.size());
+    assertEquals(102, PawsJsonCodec.decodeRequest(Files.readAllLines(after.get(after.size() - 1)).get(0)).getId());
+  }
+
+  private List<Path> segments() throws IOException {
+    List<Path> segments = new ArrayList<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      files.sorted().forEach(segments::add);
+    }
+    return segments;
+  }
+
+  private static SpectrumUseNotify notify(String serialNumber) {
+    SpectrumUseNotify notify = new SpectrumUseNotify();
+    DeviceDescriptor deviceDesc = new DeviceDescriptor(PawsRulesetType.FCC_PART_15_H_2019);
+    deviceDesc.setDeviceId("FCCID");
+    deviceDesc.setSerialNumber(serialNumber);
+    deviceDesc.setDeviceMode("FIXED");
+    notify.setDeviceDesc(deviceDesc);
+    GeoLocation location = new GeoLocation();
+    location.setPoint(GEOMETRY_FACTORY.createPoint(new Coordinate(-77.0365, 38.8977)));
+    notify.setLocation(location);
+    notify.setTransmitChannel(ChannelPlan.getInstance(PawsRulesetType.FCC_PART_15_H_2019).getChannel(21).newSpectrumChannel(true, 20.0, null));
+    return notify;
+  }
+
+}
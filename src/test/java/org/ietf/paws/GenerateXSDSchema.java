@@ -13,17 +13,13 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.SchemaOutputResolver;
 import javax.xml.transform.Result;
 import javax.xml.transform.stream.StreamResult;
-import org.ietf.lib.paws.Error;
-import org.ietf.lib.paws.*;
-import org.ietf.lib.paws.message.*;
+import org.ietf.lib.paws.codec.PawsCodec;
 import org.junit.Test;
 
 /**
@@ -45,56 +41,10 @@ public class GenerateXSDSchema {
 
     System.out.println("Generate a XML Schema and store it in the docs/xsd directory");
 
-    List<Class> classes = new ArrayList<>();
-    // message classes
-    classes.add(AvailableSpectrumRequest.class);
-    classes.add(AvailableSpectrumResponse.class);
-
-    classes.add(DeviceValidationRequest.class);
-    classes.add(DeviceValidationResponse.class);
-
-    classes.add(InitializationRequest.class);
-    classes.add(InitializationResponse.class);
-
-    classes.add(RegistrationRequest.class);
-    classes.add(RegistrationResponse.class);
-
-    classes.add(SpectrumUseNotify.class);
-    classes.add(SpectrumUseResponse.class);
-
-    // object classes
-    classes.add(AbstractSpectrum.class);
-    classes.add(AntennaCharacteristics.class);
-    classes.add(DatabaseSpec.class);
-    classes.add(DbUpdateSpec.class);
-    classes.add(DeviceCapabilities.class);
-
-    classes.add(DeviceDescriptor.class);
-
-    classes.add(DeviceOwner.class);
-    classes.add(DeviceValidity.class);
-    classes.add(Error.class);
-    classes.add(EventTime.class);
-    classes.add(FrequencyRange.class);
-    classes.add(GeoLocation.class);
-    classes.add(GeoSpectrumSpec.class);
-    classes.add(RulesetInfo.class);
-    classes.add(Spectrum.class);
-
-    classes.add(SpectrumChannel.class);
-    classes.add(SpectrumConsumer.class);
-    classes.add(SpectrumInfo.class);
-
-    classes.add(SpectrumProfile.class);
-    classes.add(SpectrumProfilePoint.class);
-    classes.add(SpectrumSchedule.class);
-    classes.add(SpectrumSpec.class);
-
-    // key bridge proprietary
-    classes.add(SpectrumChannel.class);
-    classes.add(SpectrumInfo.class);
-
-    JAXBContext jaxb = JAXBContext.newInstance(classes.toArray(new Class[classes.size()]));
+    /**
+     * The shared codec context is built over every message and object class.
+     */
+    JAXBContext jaxb = PawsCodec.getContext();
     SchemaOutputResolver resolver = new MySchemaOutputResolver();
     jaxb.generateSchema(resolver);
 